@@ -1,32 +1,222 @@
 package br.com.fiap.salalivre.application.service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import br.com.fiap.salalivre.domain.exception.EntidadeNaoEncontradaException;
 import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
 import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.CriteriosBuscaSala;
+import br.com.fiap.salalivre.domain.valueobject.MapaOcupacaoSala;
+import br.com.fiap.salalivre.domain.valueobject.OcupacaoDiaria;
 import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.agenda.AgendaSalasIndice;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoRecursos;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.mapper.SalaMapper;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.IntervaloReservaView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
 
 @Service
 public class DisponibilidadeAppService {
+    static final int SALAS_POR_CONSULTA = 1_000;
+    private static final List<String> SEM_RECURSOS = List.of("");
+    private static final int MAXIMO_DIAS_MAPA = 31;
+    private static final int MAXIMO_DIAS_BUSCA_LIVRE = 90;
+
     private final SalaJpaRepository salaRepositorio;
+    private final ReservaJpaRepository reservaRepositorio;
+    private final AgendaSalasIndice agendaSalasIndice;
+    private final CatalogoRecursos catalogoRecursos;
+    private final Clock clock;
     private final SalaMapper salaMapper = new SalaMapper();
 
-    public DisponibilidadeAppService(SalaJpaRepository salaRepositorio) {
+    public DisponibilidadeAppService(SalaJpaRepository salaRepositorio,
+                                     ReservaJpaRepository reservaRepositorio,
+                                     AgendaSalasIndice agendaSalasIndice,
+                                     CatalogoRecursos catalogoRecursos,
+                                     Clock clock) {
         this.salaRepositorio = salaRepositorio;
+        this.reservaRepositorio = reservaRepositorio;
+        this.agendaSalasIndice = agendaSalasIndice;
+        this.catalogoRecursos = catalogoRecursos;
+        this.clock = clock;
     }
 
     @Transactional(readOnly = true)
     public List<Sala> listarSalasDisponiveis(PeriodoReserva periodo) {
+        return listarSalasDisponiveis(periodo, CriteriosBuscaSala.semFiltros());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Sala> listarSalasDisponiveis(PeriodoReserva periodo, CriteriosBuscaSala criterios) {
         if (periodo == null) {
             throw new RegraDeNegocioException("Periodo obrigatorio para consultar disponibilidade.");
         }
-        return salaRepositorio.findDisponiveis(periodo.inicio(), periodo.fim()).stream()
-                .map(salaMapper::toDomain)
+        if (criterios == null) {
+            criterios = CriteriosBuscaSala.semFiltros();
+        }
+        String localizacao = criterios.localizacao() == null ? null : criterios.localizacao().toLowerCase(Locale.ROOT);
+        // recursos com bit no dicionario viram um AND na mascara da sala; so os demais sao comparados pelo nome
+        CatalogoRecursos.FiltroRecursos filtroRecursos = catalogoRecursos.filtro(criterios.recursos());
+        List<String> recursos = filtroRecursos.semBit().isEmpty() ? SEM_RECURSOS : filtroRecursos.semBit();
+        long quantidadeRecursos = filtroRecursos.semBit().size();
+
+        List<UUID> ids;
+        if (agendaSalasIndice.suportaConsultaPorSlots(periodo)) {
+            List<UUID> candidatas = salaRepositorio.findIdsAtivosPorCriterios(
+                    criterios.capacidadeMinima(), localizacao, filtroRecursos.mascara(), recursos, quantidadeRecursos);
+            Set<UUID> livres = agendaSalasIndice.filtrarSalasLivres(candidatas, periodo);
+            ids = candidatas.stream()
+                    .filter(livres::contains)
+                    .limit(criterios.limite() == null ? Long.MAX_VALUE : criterios.limite())
+                    .toList();
+        } else {
+            ids = salaRepositorio.findIdsDisponiveisPorCriterios(periodo.inicio(), periodo.fim(),
+                    criterios.capacidadeMinima(), localizacao, filtroRecursos.mascara(), recursos, quantidadeRecursos,
+                    criterios.limite() == null ? Limit.unlimited() : Limit.of(criterios.limite()));
+        }
+        return carregarNaOrdem(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public List<MapaOcupacaoSala> gerarMapaOcupacao(LocalDate de, LocalDate ate) {
+        if (de == null || ate == null) {
+            throw new RegraDeNegocioException("Datas inicial e final obrigatorias para o mapa de ocupacao.");
+        }
+        if (ate.isBefore(de)) {
+            throw new RegraDeNegocioException("Data final deve ser igual ou posterior a data inicial.");
+        }
+        if (ChronoUnit.DAYS.between(de, ate) >= MAXIMO_DIAS_MAPA) {
+            throw new RegraDeNegocioException("Mapa de ocupacao limitado a " + MAXIMO_DIAS_MAPA + " dias.");
+        }
+        LocalDateTime inicio = de.atStartOfDay();
+        LocalDateTime fim = ate.plusDays(1).atStartOfDay();
+
+        Map<UUID, TreeMap<LocalDate, List<PeriodoReserva>>> ocupacaoPorSala = new HashMap<>();
+        try (Stream<IntervaloReservaView> intervalos = reservaRepositorio.streamIntervalosAtivosNoPeriodo(inicio, fim)) {
+            UUID salaAtual = null;
+            LocalDateTime blocoInicio = null;
+            LocalDateTime blocoFim = null;
+            for (IntervaloReservaView intervalo : (Iterable<IntervaloReservaView>) intervalos::iterator) {
+                LocalDateTime intervaloInicio = intervalo.inicio().isBefore(inicio) ? inicio : intervalo.inicio();
+                LocalDateTime intervaloFim = intervalo.fim().isAfter(fim) ? fim : intervalo.fim();
+                if (intervalo.salaId().equals(salaAtual) && !intervaloInicio.isAfter(blocoFim)) {
+                    if (intervaloFim.isAfter(blocoFim)) {
+                        blocoFim = intervaloFim;
+                    }
+                    continue;
+                }
+                if (salaAtual != null) {
+                    distribuirPorDia(ocupacaoPorSala.computeIfAbsent(salaAtual, id -> new TreeMap<>()), blocoInicio, blocoFim);
+                }
+                salaAtual = intervalo.salaId();
+                blocoInicio = intervaloInicio;
+                blocoFim = intervaloFim;
+            }
+            if (salaAtual != null) {
+                distribuirPorDia(ocupacaoPorSala.computeIfAbsent(salaAtual, id -> new TreeMap<>()), blocoInicio, blocoFim);
+            }
+        }
+
+        return salaRepositorio.findByAtivaTrue().stream()
+                .map(sala -> new MapaOcupacaoSala(
+                        sala.getId(),
+                        sala.getNome(),
+                        ocupacaoPorSala.getOrDefault(sala.getId(), new TreeMap<>()).entrySet().stream()
+                                .map(dia -> new OcupacaoDiaria(dia.getKey(), dia.getValue()))
+                                .toList()))
                 .toList();
     }
+
+    @Transactional(readOnly = true)
+    public List<PeriodoReserva> buscarProximosHorariosLivres(UUID salaId, Duration duracao, LocalDateTime aPartirDe,
+                                                             LocalDateTime ate, int quantidade) {
+        if (duracao == null || duracao.isZero() || duracao.isNegative()) {
+            throw new RegraDeNegocioException("Duracao deve ser positiva.");
+        }
+        if (quantidade <= 0) {
+            throw new RegraDeNegocioException("Quantidade de horarios deve ser positiva.");
+        }
+        LocalDateTime inicio = aPartirDe == null ? LocalDateTime.now(clock) : aPartirDe;
+        PeriodoReserva horizonte = new PeriodoReserva(inicio, ate);
+        if (Duration.between(horizonte.inicio(), horizonte.fim()).toDays() > MAXIMO_DIAS_BUSCA_LIVRE) {
+            throw new RegraDeNegocioException("Horizonte de busca limitado a " + MAXIMO_DIAS_BUSCA_LIVRE + " dias.");
+        }
+        SalaEntity sala = salaRepositorio.findById(salaId)
+                .orElseThrow(() -> new EntidadeNaoEncontradaException("Sala nao encontrada."));
+        if (!sala.isAtiva()) {
+            throw new RegraDeNegocioException("Sala inativa.");
+        }
+
+        List<PeriodoReserva> livres = new ArrayList<>(quantidade);
+        LocalDateTime cursor = horizonte.inicio();
+        try (Stream<IntervaloReservaView> intervalos = reservaRepositorio.streamIntervalosAtivosDaSala(
+                salaId, horizonte.inicio(), horizonte.fim())) {
+            for (IntervaloReservaView intervalo : (Iterable<IntervaloReservaView>) intervalos::iterator) {
+                if (!cursor.plus(duracao).isAfter(intervalo.inicio())) {
+                    livres.add(new PeriodoReserva(cursor, intervalo.inicio()));
+                    if (livres.size() == quantidade) {
+                        return livres;
+                    }
+                }
+                if (intervalo.fim().isAfter(cursor)) {
+                    cursor = intervalo.fim();
+                }
+            }
+        }
+        if (!cursor.plus(duracao).isAfter(horizonte.fim())) {
+            livres.add(new PeriodoReserva(cursor, horizonte.fim()));
+        }
+        return livres;
+    }
+
+    private void distribuirPorDia(TreeMap<LocalDate, List<PeriodoReserva>> dias, LocalDateTime inicio, LocalDateTime fim) {
+        LocalDateTime cursor = inicio;
+        while (cursor.isBefore(fim)) {
+            LocalDateTime fimDoDia = cursor.toLocalDate().plusDays(1).atStartOfDay();
+            LocalDateTime trechoFim = fimDoDia.isBefore(fim) ? fimDoDia : fim;
+            dias.computeIfAbsent(cursor.toLocalDate(), dia -> new ArrayList<>()).add(new PeriodoReserva(cursor, trechoFim));
+            cursor = trechoFim;
+        }
+    }
+
+    /**
+     * Carrega as salas em consultas de ate {@value #SALAS_POR_CONSULTA} ids, para que uma busca sem limite
+     * nao vire um unico {@code in} com todas as salas livres.
+     */
+    private List<Sala> carregarNaOrdem(List<UUID> ids) {
+        List<Sala> salas = new ArrayList<>(ids.size());
+        for (int de = 0; de < ids.size(); de += SALAS_POR_CONSULTA) {
+            List<UUID> bloco = ids.subList(de, Math.min(de + SALAS_POR_CONSULTA, ids.size()));
+            Map<UUID, SalaEntity> salasPorId = salaRepositorio.findComRecursosByIdIn(bloco).stream()
+                    .collect(Collectors.toMap(SalaEntity::getId, Function.identity()));
+            for (UUID id : bloco) {
+                SalaEntity sala = salasPorId.get(id);
+                if (sala != null) {
+                    salas.add(salaMapper.toDomain(sala));
+                }
+            }
+        }
+        return salas;
+    }
 }
@@ -1,38 +1,74 @@
 package br.com.fiap.salalivre.application.service;
 
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import br.com.fiap.salalivre.domain.event.ReservaAlteradaEvent;
 import br.com.fiap.salalivre.domain.event.ReservaCanceladaEvent;
 import br.com.fiap.salalivre.domain.event.ReservaCriadaEvent;
+import br.com.fiap.salalivre.domain.event.ReservaLembreteEvent;
+import br.com.fiap.salalivre.infrastructure.notificacao.CaixaSaidaEventos;
 import org.springframework.stereotype.Service;
 
+/**
+ * Os metodos {@code notificar*} so gravam o evento na caixa de saida, na transacao de quem notifica; a
+ * entrega de fato ({@link #entregar(Object)}) e feita depois, pelo relay da caixa de saida.
+ */
 @Service
 public class NotificacaoService {
     private static final Logger LOGGER = Logger.getLogger(NotificacaoService.class.getName());
 
+    private final CaixaSaidaEventos caixaSaida;
+
+    public NotificacaoService(CaixaSaidaEventos caixaSaida) {
+        this.caixaSaida = caixaSaida;
+    }
+
     public void notificarReservaCriada(ReservaCriadaEvent evento) {
-        logEvento("Reserva criada", evento);
+        registrar("Reserva criada", evento);
+    }
+
+    public void notificarReservasCriadas(List<ReservaCriadaEvent> eventos) {
+        if (!eventos.isEmpty()) {
+            caixaSaida.registrarTodos(eventos);
+        }
     }
 
     public void notificarReservaCancelada(ReservaCanceladaEvent evento) {
-        logEvento("Reserva cancelada", evento);
+        registrar("Reserva cancelada", evento);
     }
 
     public void notificarReservaAlterada(ReservaAlteradaEvent evento) {
-        logEvento("Reserva alterada", evento);
+        registrar("Reserva alterada", evento);
     }
 
-    public void logEvento(Object evento) {
-        logEvento("Notificacao", evento);
+    public void notificarLembrete(ReservaLembreteEvent evento) {
+        registrar("Lembrete de reserva", evento);
     }
 
-    private void logEvento(String acao, Object evento) {
+    public void notificarLembretes(List<ReservaLembreteEvent> eventos) {
+        if (!eventos.isEmpty()) {
+            caixaSaida.registrarTodos(eventos);
+        }
+    }
+
+    public void entregar(Object evento) {
+        String acao = switch (evento) {
+            case ReservaCriadaEvent criada -> "Reserva criada";
+            case ReservaCanceladaEvent cancelada -> "Reserva cancelada";
+            case ReservaAlteradaEvent alterada -> "Reserva alterada";
+            case ReservaLembreteEvent lembrete -> "Lembrete de reserva";
+            default -> "Notificacao";
+        };
+        LOGGER.log(Level.INFO, "{0}: {1}", new Object[]{acao, evento});
+    }
+
+    private void registrar(String acao, Object evento) {
         if (evento == null) {
             LOGGER.log(Level.WARNING, "Evento de notificacao nao informado para acao: {0}", acao);
             return;
         }
-        LOGGER.log(Level.INFO, "{0}: {1}", new Object[]{acao, evento});
+        caixaSaida.registrar(evento);
     }
 }
@@ -1,8 +1,18 @@
 package br.com.fiap.salalivre.application.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,30 +27,52 @@ import br.com.fiap.salalivre.domain.model.Reserva;
 import br.com.fiap.salalivre.domain.model.StatusReserva;
 import br.com.fiap.salalivre.domain.model.TipoUsuario;
 import br.com.fiap.salalivre.domain.model.Usuario;
+import br.com.fiap.salalivre.domain.valueobject.CursorReserva;
+import br.com.fiap.salalivre.domain.valueobject.DadosReserva;
+import br.com.fiap.salalivre.domain.valueobject.FiltroReservas;
+import br.com.fiap.salalivre.domain.valueobject.OcorrenciaSerie;
+import br.com.fiap.salalivre.domain.valueobject.PaginaReservas;
 import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.domain.valueobject.RegraRecorrencia;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.SolicitacaoReserva;
+import br.com.fiap.salalivre.infrastructure.catalogo.UsuariosConhecidos;
+import br.com.fiap.salalivre.infrastructure.concorrencia.AgendaSalaDesatualizadaException;
+import br.com.fiap.salalivre.infrastructure.concorrencia.TravasPorSala;
+import br.com.fiap.salalivre.infrastructure.id.GeradorIds;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.AgendaSalaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
-import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.mapper.ReservaMapper;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.IntervaloReservaView;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.ValidacaoReservaView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.AgendaSalaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaEspecificacoes;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
-import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
-import br.com.fiap.salalivre.infrastructure.persistence.repository.UsuarioJpaRepository;
 
 @Service
 public class ReservaAppService {
-    private final SalaJpaRepository salaRepositorio;
-    private final UsuarioJpaRepository usuarioRepositorio;
+    public static final int TAMANHO_MAXIMO_PAGINA = 500;
+
     private final ReservaJpaRepository reservaRepositorio;
+    private final AgendaSalaJpaRepository agendaSalaRepositorio;
+    private final UsuariosConhecidos usuariosConhecidos;
     private final NotificacaoService notificacaoService;
+    private final TravasPorSala travasPorSala;
+    private final GeradorIds geradorIds;
     private final ReservaMapper reservaMapper = new ReservaMapper();
 
-    public ReservaAppService(SalaJpaRepository salaRepositorio,
-                             UsuarioJpaRepository usuarioRepositorio,
-                             ReservaJpaRepository reservaRepositorio,
-                             NotificacaoService notificacaoService) {
-        this.salaRepositorio = salaRepositorio;
-        this.usuarioRepositorio = usuarioRepositorio;
+    public ReservaAppService(ReservaJpaRepository reservaRepositorio,
+                             AgendaSalaJpaRepository agendaSalaRepositorio,
+                             UsuariosConhecidos usuariosConhecidos,
+                             NotificacaoService notificacaoService,
+                             TravasPorSala travasPorSala,
+                             GeradorIds geradorIds) {
         this.reservaRepositorio = reservaRepositorio;
+        this.agendaSalaRepositorio = agendaSalaRepositorio;
+        this.usuariosConhecidos = usuariosConhecidos;
         this.notificacaoService = notificacaoService;
+        this.travasPorSala = travasPorSala;
+        this.geradorIds = geradorIds;
     }
 
     @Transactional
@@ -48,12 +80,12 @@ public class ReservaAppService {
         if (usuarioId == null || salaId == null || periodo == null) {
             throw new RegraDeNegocioException("Dados obrigatorios para criar reserva nao informados.");
         }
-        validarSalaExistente(salaId);
-        validarSalaAtiva(salaId);
-        validarUsuarioExistente(usuarioId);
-        validarConflitoHorario(salaId, periodo, null);
+        UUID reservaId = geradorIds.novoId();
+        travasPorSala.travarAteFimDaTransacao(salaId);
+        ValidacaoReservaView validacao = validarReserva(salaId, usuarioId, periodo, null);
+        registrarAlteracaoNaAgenda(salaId, validacao.versaoAgenda());
 
-        Reserva reserva = new Reserva(UUID.randomUUID(), salaId, usuarioId, periodo);
+        Reserva reserva = new Reserva(reservaId, salaId, usuarioId, periodo);
         ReservaEntity salva = reservaRepositorio.save(reservaMapper.toEntity(reserva));
 
         ReservaCriadaEvent evento = new ReservaCriadaEvent(
@@ -67,6 +99,114 @@ public class ReservaAppService {
         return reservaMapper.toDomain(salva);
     }
 
+    @Transactional
+    public List<OcorrenciaSerie> criarSerie(UUID usuarioId, UUID salaId, PeriodoReserva primeira,
+                                            RegraRecorrencia regra, boolean tudoOuNada) {
+        if (usuarioId == null || salaId == null || primeira == null || regra == null) {
+            throw new RegraDeNegocioException("Dados obrigatorios para criar serie de reservas nao informados.");
+        }
+        List<PeriodoReserva> periodos = regra.expandir(primeira);
+        PeriodoReserva janela = new PeriodoReserva(periodos.getFirst().inicio(), periodos.getLast().fim());
+        travasPorSala.travarAteFimDaTransacao(salaId);
+        ValidacaoReservaView validacao = validarSalaEUsuario(salaId, usuarioId, janela, null);
+
+        boolean[] conflitos = new boolean[periodos.size()];
+        int totalConflitos = 0;
+        if (validacao.conflito()) {
+            try (Stream<IntervaloReservaView> intervalos = reservaRepositorio.streamIntervalosAtivosDaSala(
+                    salaId, janela.inicio(), janela.fim())) {
+                totalConflitos = marcarConflitos(periodos, intervalos.iterator(), conflitos);
+            }
+        }
+        if (totalConflitos == periodos.size() || (tudoOuNada && totalConflitos > 0)) {
+            List<OcorrenciaSerie> recusadas = new ArrayList<>(periodos.size());
+            for (int i = 0; i < periodos.size(); i++) {
+                recusadas.add(new OcorrenciaSerie(periodos.get(i), null, conflitos[i]));
+            }
+            return recusadas;
+        }
+        registrarAlteracaoNaAgenda(salaId, validacao.versaoAgenda());
+
+        List<ReservaEntity> novas = new ArrayList<>(periodos.size() - totalConflitos);
+        List<OcorrenciaSerie> ocorrencias = new ArrayList<>(periodos.size());
+        for (int i = 0; i < periodos.size(); i++) {
+            if (conflitos[i]) {
+                ocorrencias.add(new OcorrenciaSerie(periodos.get(i), null, true));
+                continue;
+            }
+            Reserva reserva = new Reserva(geradorIds.novoId(), salaId, usuarioId, periodos.get(i));
+            novas.add(reservaMapper.toEntity(reserva));
+            ocorrencias.add(new OcorrenciaSerie(periodos.get(i), reserva.getId(), false));
+        }
+        for (ReservaEntity salva : reservaRepositorio.saveAll(novas)) {
+            notificacaoService.notificarReservaCriada(new ReservaCriadaEvent(
+                    salva.getId(),
+                    salva.getSalaId(),
+                    salva.getUsuarioId(),
+                    salva.getInicio(),
+                    salva.getFim()
+            ));
+        }
+        return ocorrencias;
+    }
+
+    /**
+     * Cria, em uma unica transacao, as reservas solicitadas para uma sala. Cada solicitacao e avaliada
+     * na ordem recebida contra as reservas ativas da sala e contra as ja aceitas no mesmo lote; o
+     * resultado e devolvido na mesma posicao da solicitacao. Os periodos devem ser validos. Os eventos das
+     * reservas criadas vao para a caixa de saida em um unico lote, na mesma transacao.
+     */
+    @Transactional
+    public List<ResultadoSolicitacao> criarReservasDaSala(UUID salaId, List<SolicitacaoReserva> solicitacoes) {
+        if (salaId == null || solicitacoes == null || solicitacoes.isEmpty()) {
+            throw new RegraDeNegocioException("Dados obrigatorios para criar reservas em lote nao informados.");
+        }
+        List<PeriodoReserva> periodos = solicitacoes.stream().map(SolicitacaoReserva::periodo).toList();
+        PeriodoReserva janela = new PeriodoReserva(
+                periodos.stream().map(PeriodoReserva::inicio).min(Comparator.naturalOrder()).orElseThrow(),
+                periodos.stream().map(PeriodoReserva::fim).max(Comparator.naturalOrder()).orElseThrow());
+        travasPorSala.travarAteFimDaTransacao(salaId);
+        ValidacaoReservaView validacao = validarSala(salaId, null, janela, null);
+        Set<UUID> usuariosExistentes = usuariosConhecidos.existentes(
+                solicitacoes.stream().map(SolicitacaoReserva::usuarioId).collect(Collectors.toSet()));
+
+        TreeMap<LocalDateTime, LocalDateTime> ocupadosNoBanco = new TreeMap<>();
+        if (validacao.conflito()) {
+            try (Stream<IntervaloReservaView> intervalos = reservaRepositorio.streamIntervalosAtivosDaSala(
+                    salaId, janela.inicio(), janela.fim())) {
+                mesclarIntervalos(intervalos.iterator(), ocupadosNoBanco);
+            }
+        }
+        TreeMap<LocalDateTime, LocalDateTime> aceitosNoLote = new TreeMap<>();
+        List<ResultadoSolicitacao> resultados = new ArrayList<>(solicitacoes.size());
+        List<ReservaEntity> novas = new ArrayList<>(solicitacoes.size());
+        for (int i = 0; i < solicitacoes.size(); i++) {
+            UUID usuarioId = solicitacoes.get(i).usuarioId();
+            PeriodoReserva periodo = periodos.get(i);
+            if (!usuariosExistentes.contains(usuarioId)) {
+                resultados.add(ResultadoSolicitacao.invalida("Usuario nao encontrado."));
+            } else if (sobrepoe(ocupadosNoBanco, periodo)) {
+                resultados.add(ResultadoSolicitacao.conflito("Conflito de horario para a sala."));
+            } else if (sobrepoe(aceitosNoLote, periodo)) {
+                resultados.add(ResultadoSolicitacao.conflito("Conflito com outra reserva do lote."));
+            } else {
+                aceitosNoLote.put(periodo.inicio(), periodo.fim());
+                Reserva reserva = new Reserva(geradorIds.novoId(), salaId, usuarioId, periodo);
+                novas.add(reservaMapper.toEntity(reserva));
+                resultados.add(ResultadoSolicitacao.criada(reserva.getId()));
+            }
+        }
+        if (!novas.isEmpty()) {
+            registrarAlteracaoNaAgenda(salaId, validacao.versaoAgenda());
+            reservaRepositorio.saveAll(novas);
+            notificacaoService.notificarReservasCriadas(novas.stream()
+                    .map(nova -> new ReservaCriadaEvent(nova.getId(), nova.getSalaId(), nova.getUsuarioId(),
+                            nova.getInicio(), nova.getFim()))
+                    .toList());
+        }
+        return resultados;
+    }
+
     @Transactional
     public Reserva cancelarReserva(UUID reservaId, UUID solicitanteUsuarioId, boolean solicitanteAdmin) {
         if (reservaId == null || solicitanteUsuarioId == null) {
@@ -77,6 +217,8 @@ public class ReservaAppService {
 
         Reserva reserva = reservaMapper.toDomain(reservaEntity);
         Usuario solicitante = criarSolicitanteAutorizado(solicitanteUsuarioId, solicitanteAdmin);
+        // cancelar so libera horario, o que nao invalida a checagem de conflito de nenhuma transacao
+        // concorrente: a agenda da sala fica como esta e a versao da propria reserva cobre a disputa por ela
         reserva.cancelar(solicitante);
 
         reservaMapper.atualizarEntity(reserva, reservaEntity);
@@ -100,9 +242,12 @@ public class ReservaAppService {
         }
         ReservaEntity reservaEntity = buscarReservaEntity(reservaId);
         validarPermissaoAlteracao(reservaEntity, solicitanteUsuarioId, solicitanteAdmin);
-        validarSalaExistente(reservaEntity.getSalaId());
-        validarSalaAtiva(reservaEntity.getSalaId());
-        validarConflitoHorario(reservaEntity.getSalaId(), novoPeriodo, reservaId);
+        travasPorSala.travarAteFimDaTransacao(reservaEntity.getSalaId());
+        ValidacaoReservaView validacao = validarReserva(
+                reservaEntity.getSalaId(), reservaEntity.getUsuarioId(), novoPeriodo, reservaId);
+        if (ocupaHorarioNovo(reservaEntity, novoPeriodo)) {
+            registrarAlteracaoNaAgenda(reservaEntity.getSalaId(), validacao.versaoAgenda());
+        }
 
         Reserva reserva = reservaMapper.toDomain(reservaEntity);
         reserva.alterarPeriodo(novoPeriodo);
@@ -122,35 +267,24 @@ public class ReservaAppService {
     }
 
     @Transactional(readOnly = true)
-    public List<Reserva> listarReservas() {
-        return reservaRepositorio.findAll().stream()
-                .map(reservaMapper::toDomain)
-                .toList();
-    }
-
-    @Transactional(readOnly = true)
-    public Reserva obterReserva(UUID reservaId) {
-        return reservaMapper.toDomain(buscarReservaEntity(reservaId));
-    }
-
-    @Transactional(readOnly = true)
-    public List<Reserva> listarReservasPorSala(UUID salaId) {
-        return reservaRepositorio.findBySalaId(salaId).stream()
-                .map(reservaMapper::toDomain)
-                .toList();
+    public PaginaReservas listarReservas(FiltroReservas filtro, CursorReserva apos, int tamanhoPagina) {
+        if (tamanhoPagina <= 0 || tamanhoPagina > TAMANHO_MAXIMO_PAGINA) {
+            throw new RegraDeNegocioException("Tamanho da pagina deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
+        }
+        List<DadosReserva> linhas = reservaRepositorio.listarPagina(
+                ReservaEspecificacoes.pagina(filtro == null ? FiltroReservas.semFiltros() : filtro, apos),
+                tamanhoPagina + 1);
+        if (linhas.size() <= tamanhoPagina) {
+            return new PaginaReservas(linhas, null);
+        }
+        DadosReserva ultima = linhas.get(tamanhoPagina - 1);
+        return new PaginaReservas(linhas.subList(0, tamanhoPagina), new CursorReserva(ultima.inicio(), ultima.id()));
     }
 
     @Transactional(readOnly = true)
-    public List<Reserva> listarReservasPorUsuario(UUID usuarioId) {
-        return reservaRepositorio.findByUsuarioId(usuarioId).stream()
-                .map(reservaMapper::toDomain)
-                .toList();
-    }
-
-    private void validarSalaExistente(UUID salaId) {
-        if (!salaRepositorio.existsById(salaId)) {
-            throw new EntidadeNaoEncontradaException("Sala nao encontrada.");
-        }
+    public DadosReserva obterReserva(UUID reservaId) {
+        return reservaRepositorio.findDadosById(reservaId)
+                .orElseThrow(() -> new EntidadeNaoEncontradaException("Reserva nao encontrada."));
     }
 
     private void validarPermissaoCancelamento(ReservaEntity reservaEntity,
@@ -178,40 +312,118 @@ public class ReservaAppService {
         );
     }
 
-    private void validarSalaAtiva(UUID salaId) {
-        SalaEntity sala = salaRepositorio.findById(salaId)
+    private ValidacaoReservaView validarReserva(UUID salaId, UUID usuarioId, PeriodoReserva periodo, UUID reservaIgnorada) {
+        ValidacaoReservaView validacao = validarSalaEUsuario(salaId, usuarioId, periodo, reservaIgnorada);
+        if (validacao.conflito()) {
+            throw new ConflitoDeHorarioException("Conflito de horario para a sala.");
+        }
+        return validacao;
+    }
+
+    /**
+     * Com {@code usuarioAVerificar} nulo a consulta nao checa usuario e {@code usuarioExiste} vem verdadeiro.
+     * Com {@code reservaIgnorada} nulo todas as reservas ativas da sala contam como conflito.
+     */
+    private ValidacaoReservaView validarSala(UUID salaId, UUID usuarioAVerificar, PeriodoReserva periodo,
+                                             UUID reservaIgnorada) {
+        ValidacaoReservaView validacao = reservaRepositorio.findValidacaoReserva(
+                        salaId, usuarioAVerificar, periodo.inicio(), periodo.fim(), reservaIgnorada)
                 .orElseThrow(() -> new EntidadeNaoEncontradaException("Sala nao encontrada."));
-        if (!sala.isAtiva()) {
+        if (!validacao.salaAtiva()) {
             throw new RegraDeNegocioException("Sala inativa. Nao e possivel reservar.");
         }
+        return validacao;
     }
 
-    private void validarUsuarioExistente(UUID usuarioId) {
-        if (!usuarioRepositorio.existsById(usuarioId)) {
+    private ValidacaoReservaView validarSalaEUsuario(UUID salaId, UUID usuarioId, PeriodoReserva periodo,
+                                                     UUID reservaIgnorada) {
+        // usuario ja conhecido em memoria dispensa a checagem no banco; os demais sao confirmados na consulta
+        boolean conhecido = usuariosConhecidos.contem(usuarioId);
+        ValidacaoReservaView validacao = validarSala(salaId, conhecido ? null : usuarioId, periodo, reservaIgnorada);
+        if (!validacao.usuarioExiste()) {
             throw new EntidadeNaoEncontradaException("Usuario nao encontrado.");
         }
+        if (!conhecido) {
+            usuariosConhecidos.registrar(usuarioId);
+        }
+        return validacao;
     }
 
-    private void validarConflitoHorario(UUID salaId, PeriodoReserva periodo, UUID reservaIgnorada) {
-        boolean temConflito;
-        if (reservaIgnorada == null) {
-            temConflito = !reservaRepositorio.findConflitos(
-                    salaId,
-                    periodo.inicio(),
-                    periodo.fim(),
-                    StatusReserva.CANCELADA
-            ).isEmpty();
-        } else {
-            temConflito = !reservaRepositorio.findConflitosExcluindoReserva(
-                    salaId,
-                    periodo.inicio(),
-                    periodo.fim(),
-                    StatusReserva.CANCELADA,
-                    reservaIgnorada
-            ).isEmpty();
-        }
-        if (temConflito) {
-            throw new ConflitoDeHorarioException("Conflito de horario para a sala.");
+    /**
+     * Varre as ocorrencias (ordenadas e disjuntas) junto com as reservas ativas ordenadas por inicio,
+     * marcando cada ocorrencia que se sobrepoe a alguma reserva. Retorna o total de conflitos.
+     */
+    private static int marcarConflitos(List<PeriodoReserva> ocorrencias, Iterator<IntervaloReservaView> intervalos,
+                                       boolean[] conflitos) {
+        int total = 0;
+        int primeiraAberta = 0;
+        while (intervalos.hasNext() && primeiraAberta < ocorrencias.size()) {
+            IntervaloReservaView intervalo = intervalos.next();
+            while (primeiraAberta < ocorrencias.size()
+                    && !ocorrencias.get(primeiraAberta).fim().isAfter(intervalo.inicio())) {
+                primeiraAberta++;
+            }
+            for (int i = primeiraAberta; i < ocorrencias.size() && ocorrencias.get(i).inicio().isBefore(intervalo.fim()); i++) {
+                if (!conflitos[i]) {
+                    conflitos[i] = true;
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Junta as reservas ativas (ordenadas por inicio) em blocos disjuntos, indexados pelo inicio.
+     */
+    private static void mesclarIntervalos(Iterator<IntervaloReservaView> intervalos,
+                                          TreeMap<LocalDateTime, LocalDateTime> blocos) {
+        LocalDateTime blocoInicio = null;
+        LocalDateTime blocoFim = null;
+        while (intervalos.hasNext()) {
+            IntervaloReservaView intervalo = intervalos.next();
+            if (blocoFim != null && !intervalo.inicio().isAfter(blocoFim)) {
+                if (intervalo.fim().isAfter(blocoFim)) {
+                    blocoFim = intervalo.fim();
+                }
+                continue;
+            }
+            if (blocoInicio != null) {
+                blocos.put(blocoInicio, blocoFim);
+            }
+            blocoInicio = intervalo.inicio();
+            blocoFim = intervalo.fim();
+        }
+        if (blocoInicio != null) {
+            blocos.put(blocoInicio, blocoFim);
+        }
+    }
+
+    private static boolean sobrepoe(TreeMap<LocalDateTime, LocalDateTime> blocosDisjuntos, PeriodoReserva periodo) {
+        Map.Entry<LocalDateTime, LocalDateTime> anterior = blocosDisjuntos.lowerEntry(periodo.fim());
+        return anterior != null && anterior.getValue().isAfter(periodo.inicio());
+    }
+
+    /**
+     * Encolher uma reserva ativa nao toma horario de ninguem, entao nao precisa disputar a agenda da sala.
+     */
+    private static boolean ocupaHorarioNovo(ReservaEntity reservaEntity, PeriodoReserva novoPeriodo) {
+        return reservaEntity.getStatus() == StatusReserva.CANCELADA
+                || novoPeriodo.inicio().isBefore(reservaEntity.getInicio())
+                || novoPeriodo.fim().isAfter(reservaEntity.getFim());
+    }
+
+    private void registrarAlteracaoNaAgenda(UUID salaId, Long versaoLida) {
+        if (versaoLida == null) {
+            try {
+                agendaSalaRepositorio.saveAndFlush(AgendaSalaEntity.builder().salaId(salaId).build());
+            } catch (DataIntegrityViolationException ex) {
+                throw new AgendaSalaDesatualizadaException(salaId, ex);
+            }
+            return;
+        }
+        if (agendaSalaRepositorio.incrementarVersao(salaId, versaoLida) == 0) {
+            throw new AgendaSalaDesatualizadaException(salaId);
         }
     }
 
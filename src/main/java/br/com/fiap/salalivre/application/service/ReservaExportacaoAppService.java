@@ -0,0 +1,37 @@
+package br.com.fiap.salalivre.application.service;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.fiap.salalivre.domain.valueobject.DadosReserva;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
+
+/**
+ * Exporta todas as reservas em ordem de inicio lendo o banco por cursor. As linhas chegam como
+ * {@link DadosReserva}, fora do contexto de persistencia, entao a memoria usada nao cresce com a tabela.
+ */
+@Service
+public class ReservaExportacaoAppService {
+    private final ReservaJpaRepository reservaRepositorio;
+
+    public ReservaExportacaoAppService(ReservaJpaRepository reservaRepositorio) {
+        this.reservaRepositorio = reservaRepositorio;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportar(Consumer<DadosReserva> destino) {
+        long linhas = 0;
+        try (Stream<DadosReserva> reservas = reservaRepositorio.streamTodasOrdenadas()) {
+            Iterator<DadosReserva> iterador = reservas.iterator();
+            while (iterador.hasNext()) {
+                destino.accept(iterador.next());
+                linhas++;
+            }
+        }
+        return linhas;
+    }
+}
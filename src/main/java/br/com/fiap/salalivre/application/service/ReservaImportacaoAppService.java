@@ -0,0 +1,218 @@
+package br.com.fiap.salalivre.application.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.LinhaImportacao;
+import br.com.fiap.salalivre.domain.valueobject.RejeicaoImportacao;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.ResumoImportacao;
+import br.com.fiap.salalivre.domain.valueobject.SolicitacaoReserva;
+import br.com.fiap.salalivre.infrastructure.catalogo.UsuariosConhecidos;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+
+/**
+ * Importa reservas em um pipeline de tres estagios ligados por filas limitadas: leitura e validacao das
+ * linhas, resolucao de salas e usuarios em blocos, e checagem de conflitos com gravacao em lote. Quando a
+ * gravacao fica para tras as filas enchem e a leitura para, entao a memoria usada depende apenas de
+ * {@value #LINHAS_POR_BLOCO} linhas por bloco e {@value #BLOCOS_EM_ESPERA} blocos por fila. Uma sala cujas
+ * retentativas por conflito de versao se esgotam tem as linhas do bloco rejeitadas como conflito, sem
+ * interromper a importacao.
+ */
+@Service
+public class ReservaImportacaoAppService {
+    static final int LINHAS_POR_BLOCO = 5_000;
+    static final int BLOCOS_EM_ESPERA = 2;
+    private static final Bloco FIM = new Bloco(List.of(), List.of(), null);
+    private static final Logger LOGGER = Logger.getLogger(ReservaImportacaoAppService.class.getName());
+
+    private final ReservaAppService reservaAppService;
+    private final SalaJpaRepository salaRepositorio;
+    private final UsuariosConhecidos usuariosConhecidos;
+    private final RetentativaOtimista retentativaOtimista;
+
+    public ReservaImportacaoAppService(ReservaAppService reservaAppService,
+                                       SalaJpaRepository salaRepositorio,
+                                       UsuariosConhecidos usuariosConhecidos,
+                                       RetentativaOtimista retentativaOtimista) {
+        this.reservaAppService = reservaAppService;
+        this.salaRepositorio = salaRepositorio;
+        this.usuariosConhecidos = usuariosConhecidos;
+        this.retentativaOtimista = retentativaOtimista;
+    }
+
+    public ResumoImportacao importar(Iterator<LinhaImportacao> linhas, Consumer<RejeicaoImportacao> rejeicoes) {
+        long inicio = System.nanoTime();
+        BlockingQueue<Bloco> lidos = new ArrayBlockingQueue<>(BLOCOS_EM_ESPERA);
+        BlockingQueue<Bloco> resolvidos = new ArrayBlockingQueue<>(BLOCOS_EM_ESPERA);
+        Thread leitura = Thread.ofVirtual().name("importacao-leitura").start(() -> ler(linhas, lidos));
+        Thread resolucao = Thread.ofVirtual().name("importacao-resolucao").start(() -> resolver(lidos, resolvidos));
+        long lidas = 0;
+        long rejeitadas = 0;
+        try {
+            for (Bloco bloco = receber(resolvidos); bloco != FIM; bloco = receber(resolvidos)) {
+                if (bloco.falha() != null) {
+                    throw bloco.falha();
+                }
+                List<RejeicaoImportacao> rejeicoesDoBloco = gravar(bloco);
+                rejeicoesDoBloco.sort(Comparator.comparingLong(RejeicaoImportacao::linha));
+                rejeicoesDoBloco.forEach(rejeicoes);
+                lidas += bloco.linhas().size() + bloco.rejeicoes().size();
+                rejeitadas += rejeicoesDoBloco.size();
+            }
+        } finally {
+            leitura.interrupt();
+            resolucao.interrupt();
+        }
+
+        ResumoImportacao resumo = new ResumoImportacao(lidas, lidas - rejeitadas, rejeitadas,
+                Duration.ofNanos(System.nanoTime() - inicio));
+        LOGGER.log(Level.INFO, "Importacao de reservas concluida: {0} linhas, {1} importadas, {2} rejeitadas em {3} ms",
+                new Object[]{resumo.lidas(), resumo.importadas(), resumo.rejeitadas(), resumo.duracao().toMillis()});
+        return resumo;
+    }
+
+    private void ler(Iterator<LinhaImportacao> linhas, BlockingQueue<Bloco> saida) {
+        try {
+            List<LinhaImportacao> aceitas = new ArrayList<>();
+            List<RejeicaoImportacao> rejeitadas = new ArrayList<>();
+            while (linhas.hasNext()) {
+                LinhaImportacao linha = linhas.next();
+                String erro = linha.erro() != null ? linha.erro() : ReservaLoteAppService.validar(linha.solicitacao());
+                if (erro == null) {
+                    aceitas.add(linha);
+                } else {
+                    rejeitadas.add(new RejeicaoImportacao(linha.numero(), SituacaoSolicitacao.INVALIDA, erro));
+                }
+                if (aceitas.size() + rejeitadas.size() == LINHAS_POR_BLOCO) {
+                    saida.put(new Bloco(aceitas, rejeitadas, null));
+                    aceitas = new ArrayList<>();
+                    rejeitadas = new ArrayList<>();
+                }
+            }
+            if (!aceitas.isEmpty() || !rejeitadas.isEmpty()) {
+                saida.put(new Bloco(aceitas, rejeitadas, null));
+            }
+            saida.put(FIM);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            encaminharFalha(saida, ex);
+        }
+    }
+
+    private void resolver(BlockingQueue<Bloco> entrada, BlockingQueue<Bloco> saida) {
+        try {
+            while (true) {
+                Bloco bloco = entrada.take();
+                if (bloco == FIM || bloco.falha() != null) {
+                    saida.put(bloco);
+                    return;
+                }
+                saida.put(resolverSalasEUsuarios(bloco));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException ex) {
+            encaminharFalha(saida, ex);
+        }
+    }
+
+    private Bloco resolverSalasEUsuarios(Bloco bloco) {
+        if (bloco.linhas().isEmpty()) {
+            return bloco;
+        }
+        Set<UUID> salasAtivas = new HashSet<>(salaRepositorio.findIdsAtivosByIdIn(bloco.linhas().stream()
+                .map(linha -> linha.solicitacao().salaId())
+                .collect(Collectors.toSet())));
+        Set<UUID> usuariosExistentes = usuariosConhecidos.existentes(bloco.linhas().stream()
+                .map(linha -> linha.solicitacao().usuarioId())
+                .collect(Collectors.toSet()));
+        List<LinhaImportacao> aceitas = new ArrayList<>(bloco.linhas().size());
+        List<RejeicaoImportacao> rejeitadas = new ArrayList<>(bloco.rejeicoes());
+        for (LinhaImportacao linha : bloco.linhas()) {
+            if (!salasAtivas.contains(linha.solicitacao().salaId())) {
+                rejeitadas.add(new RejeicaoImportacao(linha.numero(), SituacaoSolicitacao.INVALIDA,
+                        "Sala nao encontrada ou inativa."));
+            } else if (!usuariosExistentes.contains(linha.solicitacao().usuarioId())) {
+                rejeitadas.add(new RejeicaoImportacao(linha.numero(), SituacaoSolicitacao.INVALIDA,
+                        "Usuario nao encontrado."));
+            } else {
+                aceitas.add(linha);
+            }
+        }
+        return new Bloco(aceitas, rejeitadas, null);
+    }
+
+    private List<RejeicaoImportacao> gravar(Bloco bloco) {
+        Map<UUID, List<LinhaImportacao>> linhasPorSala = new LinkedHashMap<>();
+        for (LinhaImportacao linha : bloco.linhas()) {
+            linhasPorSala.computeIfAbsent(linha.solicitacao().salaId(), id -> new ArrayList<>()).add(linha);
+        }
+        List<RejeicaoImportacao> rejeitadas = new ArrayList<>(bloco.rejeicoes());
+        for (Map.Entry<UUID, List<LinhaImportacao>> grupo : linhasPorSala.entrySet()) {
+            List<LinhaImportacao> linhasDaSala = grupo.getValue();
+            List<SolicitacaoReserva> solicitacoes = linhasDaSala.stream().map(LinhaImportacao::solicitacao).toList();
+            try {
+                List<ResultadoSolicitacao> resultados = retentativaOtimista.executar("importar",
+                        () -> reservaAppService.criarReservasDaSala(grupo.getKey(), solicitacoes));
+                for (int i = 0; i < resultados.size(); i++) {
+                    ResultadoSolicitacao resultado = resultados.get(i);
+                    if (resultado.situacao() != SituacaoSolicitacao.CRIADA) {
+                        rejeitadas.add(new RejeicaoImportacao(linhasDaSala.get(i).numero(), resultado.situacao(),
+                                resultado.mensagem()));
+                    }
+                }
+            } catch (RegraDeNegocioException ex) {
+                for (LinhaImportacao linha : linhasDaSala) {
+                    rejeitadas.add(new RejeicaoImportacao(linha.numero(), SituacaoSolicitacao.INVALIDA, ex.getMessage()));
+                }
+            } catch (OptimisticLockingFailureException ex) {
+                for (LinhaImportacao linha : linhasDaSala) {
+                    rejeitadas.add(new RejeicaoImportacao(linha.numero(), SituacaoSolicitacao.CONFLITO,
+                            ReservaLoteAppService.AGENDA_EM_DISPUTA));
+                }
+            }
+        }
+        return rejeitadas;
+    }
+
+    private static Bloco receber(BlockingQueue<Bloco> fila) {
+        try {
+            return fila.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Importacao de reservas interrompida.", ex);
+        }
+    }
+
+    private static void encaminharFalha(BlockingQueue<Bloco> saida, RuntimeException falha) {
+        try {
+            saida.put(new Bloco(List.of(), List.of(), falha));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Bloco(List<LinhaImportacao> linhas, List<RejeicaoImportacao> rejeicoes, RuntimeException falha) {
+    }
+}
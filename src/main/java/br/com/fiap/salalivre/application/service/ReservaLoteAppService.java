@@ -0,0 +1,155 @@
+package br.com.fiap.salalivre.application.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.salalivre.domain.exception.PeriodoInvalidoException;
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.LinhaImportacao;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoLote;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.SolicitacaoReserva;
+
+/**
+ * Cria reservas em lote: agrupa as solicitacoes por sala e processa cada grupo em pedacos de ate
+ * {@value #ITENS_POR_TRANSACAO} itens, cada pedaco em sua propria transacao, sem precisar do lote inteiro
+ * em memoria. Uma falha de sala (inexistente ou inativa) invalida apenas os itens daquele pedaco, e um
+ * pedaco que esgota as retentativas por conflito de versao volta como conflito.
+ */
+@Service
+public class ReservaLoteAppService {
+    static final int ITENS_POR_TRANSACAO = 500;
+    static final int MAXIMO_ITENS_LOTE = 100_000;
+    static final int MAXIMO_ITENS_PENDENTES = 5_000;
+    static final String AGENDA_EM_DISPUTA = "Agenda da sala alterada por outras gravacoes; tente novamente.";
+    private static final Logger LOGGER = Logger.getLogger(ReservaLoteAppService.class.getName());
+
+    private final ReservaAppService reservaAppService;
+    private final RetentativaOtimista retentativaOtimista;
+
+    public ReservaLoteAppService(ReservaAppService reservaAppService, RetentativaOtimista retentativaOtimista) {
+        this.reservaAppService = reservaAppService;
+        this.retentativaOtimista = retentativaOtimista;
+    }
+
+    public ResultadoLote criarEmLote(List<SolicitacaoReserva> solicitacoes) {
+        if (solicitacoes == null || solicitacoes.isEmpty()) {
+            throw new RegraDeNegocioException("Lote de reservas vazio.");
+        }
+        if (solicitacoes.size() > MAXIMO_ITENS_LOTE) {
+            throw new RegraDeNegocioException("Lote limitado a " + MAXIMO_ITENS_LOTE + " reservas.");
+        }
+        return criarEmLote(IntStream.range(0, solicitacoes.size())
+                .mapToObj(i -> LinhaImportacao.lida(i + 1, solicitacoes.get(i)))
+                .iterator());
+    }
+
+    /**
+     * Consome as solicitacoes conforme chegam: cada sala acumula ate {@value #ITENS_POR_TRANSACAO} itens
+     * antes de gravar, e com mais de {@value #MAXIMO_ITENS_PENDENTES} itens acumulados no total todas as
+     * salas gravam o que tem. Linhas que nao puderam ser lidas voltam como invalidas. Passando de
+     * {@value #MAXIMO_ITENS_LOTE} itens a leitura para, os pendentes sao gravados e o resultado sai marcado
+     * como truncado; os itens seguintes ao ultimo resultado nao foram processados.
+     */
+    public ResultadoLote criarEmLote(Iterator<LinhaImportacao> linhas) {
+        List<ResultadoSolicitacao> resultados = new ArrayList<>();
+        Map<UUID, Pendentes> pendentesPorSala = new LinkedHashMap<>();
+        Set<UUID> salas = new HashSet<>();
+        int totalPendentes = 0;
+        boolean truncado = false;
+        while (linhas.hasNext()) {
+            if (resultados.size() == MAXIMO_ITENS_LOTE) {
+                truncado = true;
+                break;
+            }
+            LinhaImportacao linha = linhas.next();
+            String invalida = linha.erro() != null ? linha.erro() : validar(linha.solicitacao());
+            if (invalida != null) {
+                resultados.add(ResultadoSolicitacao.invalida(invalida));
+                continue;
+            }
+            SolicitacaoReserva solicitacao = linha.solicitacao();
+            resultados.add(null);
+            salas.add(solicitacao.salaId());
+            Pendentes pendentes = pendentesPorSala.computeIfAbsent(solicitacao.salaId(), id -> new Pendentes());
+            pendentes.adicionar(resultados.size() - 1, solicitacao);
+            totalPendentes++;
+            if (pendentes.tamanho() == ITENS_POR_TRANSACAO) {
+                gravar(solicitacao.salaId(), pendentesPorSala.remove(solicitacao.salaId()), resultados);
+                totalPendentes -= ITENS_POR_TRANSACAO;
+            } else if (totalPendentes > MAXIMO_ITENS_PENDENTES) {
+                pendentesPorSala.forEach((salaId, daSala) -> gravar(salaId, daSala, resultados));
+                pendentesPorSala.clear();
+                totalPendentes = 0;
+            }
+        }
+        if (resultados.isEmpty()) {
+            throw new RegraDeNegocioException("Lote de reservas vazio.");
+        }
+        pendentesPorSala.forEach((salaId, daSala) -> gravar(salaId, daSala, resultados));
+
+        long criadas = resultados.stream()
+                .filter(resultado -> resultado.situacao() == SituacaoSolicitacao.CRIADA)
+                .count();
+        LOGGER.log(Level.INFO, "Lote de reservas processado: {0} itens, {1} criadas, {2} salas, truncado: {3}",
+                new Object[]{resultados.size(), criadas, salas.size(), truncado});
+        return new ResultadoLote(resultados, truncado);
+    }
+
+    private void gravar(UUID salaId, Pendentes pendentes, List<ResultadoSolicitacao> resultados) {
+        List<ResultadoSolicitacao> parciais;
+        try {
+            parciais = retentativaOtimista.executar("criar-lote",
+                    () -> reservaAppService.criarReservasDaSala(salaId, pendentes.solicitacoes()));
+        } catch (RegraDeNegocioException ex) {
+            parciais = Collections.nCopies(pendentes.tamanho(), ResultadoSolicitacao.invalida(ex.getMessage()));
+        } catch (OptimisticLockingFailureException ex) {
+            parciais = Collections.nCopies(pendentes.tamanho(), ResultadoSolicitacao.conflito(AGENDA_EM_DISPUTA));
+        }
+        for (int i = 0; i < pendentes.tamanho(); i++) {
+            resultados.set(pendentes.indices().get(i), parciais.get(i));
+        }
+    }
+
+    static String validar(SolicitacaoReserva solicitacao) {
+        if (solicitacao == null || solicitacao.salaId() == null || solicitacao.usuarioId() == null
+                || solicitacao.inicio() == null || solicitacao.fim() == null) {
+            return "Dados obrigatorios para criar reserva nao informados.";
+        }
+        try {
+            solicitacao.periodo();
+            return null;
+        } catch (PeriodoInvalidoException ex) {
+            return ex.getMessage();
+        }
+    }
+
+    private record Pendentes(List<Integer> indices, List<SolicitacaoReserva> solicitacoes) {
+        Pendentes() {
+            this(new ArrayList<>(), new ArrayList<>());
+        }
+
+        void adicionar(int indice, SolicitacaoReserva solicitacao) {
+            indices.add(indice);
+            solicitacoes.add(solicitacao);
+        }
+
+        int tamanho() {
+            return indices.size();
+        }
+    }
+}
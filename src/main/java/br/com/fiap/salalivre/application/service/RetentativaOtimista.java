@@ -0,0 +1,87 @@
+package br.com.fiap.salalivre.application.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.salalivre.infrastructure.concorrencia.AgendaSalaDesatualizadaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Reexecuta um comando transacional que falhou por conflito de versao, com backoff exponencial e
+ * jitter total. Deve envolver a chamada ao servico, fora da transacao, para que cada tentativa abra
+ * uma transacao nova e releia o estado atual. As metricas sao marcadas so pela operacao; a sala
+ * disputada aparece no log.
+ */
+@Component
+public class RetentativaOtimista {
+    static final String METRICA_RETENTATIVAS = "salalivre.reservas.retentativas";
+    static final String METRICA_ESGOTADAS = "salalivre.reservas.retentativas.esgotadas";
+    private static final Logger LOGGER = Logger.getLogger(RetentativaOtimista.class.getName());
+    private static final int MAXIMO_TENTATIVAS = 5;
+    private static final Duration ESPERA_BASE = Duration.ofMillis(10);
+    private static final Duration ESPERA_MAXIMA = Duration.ofMillis(200);
+
+    private final MeterRegistry meterRegistry;
+    private final int maximoTentativas;
+    private final long esperaBaseNanos;
+    private final long esperaMaximaNanos;
+
+    @Autowired
+    public RetentativaOtimista(MeterRegistry meterRegistry) {
+        this(meterRegistry, MAXIMO_TENTATIVAS, ESPERA_BASE, ESPERA_MAXIMA);
+    }
+
+    RetentativaOtimista(MeterRegistry meterRegistry, int maximoTentativas, Duration esperaBase, Duration esperaMaxima) {
+        this.meterRegistry = meterRegistry;
+        this.maximoTentativas = maximoTentativas;
+        this.esperaBaseNanos = esperaBase.toNanos();
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+    }
+
+    public <T> T executar(String operacao, Supplier<T> comando) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return comando.get();
+            } catch (OptimisticLockingFailureException ex) {
+                String sala = ex instanceof AgendaSalaDesatualizadaException agenda
+                        ? agenda.getSalaId().toString()
+                        : "desconhecida";
+                if (tentativa >= maximoTentativas) {
+                    contador(METRICA_ESGOTADAS, operacao).increment();
+                    LOGGER.log(Level.WARNING, "Retentativas esgotadas em {0} na sala {1} apos {2} tentativas.",
+                            new Object[]{operacao, sala, tentativa});
+                    throw ex;
+                }
+                contador(METRICA_RETENTATIVAS, operacao).increment();
+                LOGGER.log(Level.FINE, "Conflito de versao em {0} na sala {1}; tentativa {2}.",
+                        new Object[]{operacao, sala, tentativa});
+                aguardar(tentativa, ex);
+            }
+        }
+    }
+
+    private void aguardar(int tentativa, OptimisticLockingFailureException falha) {
+        long teto = Math.min(esperaMaximaNanos, esperaBaseNanos << Math.min(tentativa - 1, 20));
+        long espera = ThreadLocalRandom.current().nextLong(teto + 1);
+        try {
+            Thread.sleep(Duration.ofNanos(espera));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw falha;
+        }
+    }
+
+    private Counter contador(String nome, String operacao) {
+        return Counter.builder(nome)
+                .tag("operacao", operacao)
+                .register(meterRegistry);
+    }
+}
@@ -10,6 +10,12 @@ import org.springframework.transaction.annotation.Transactional;
 import br.com.fiap.salalivre.domain.exception.EntidadeNaoEncontradaException;
 import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
 import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.CriteriosBuscaSala;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoRecursos;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoSalas;
+import br.com.fiap.salalivre.infrastructure.catalogo.IndiceSalas;
+import br.com.fiap.salalivre.infrastructure.id.GeradorIds;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.mapper.SalaMapper;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
@@ -17,35 +23,53 @@ import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaReposi
 @Service
 public class SalaAppService {
     private final SalaJpaRepository salaRepositorio;
+    private final CatalogoSalas catalogoSalas;
+    private final CatalogoRecursos catalogoRecursos;
+    private final IndiceSalas indiceSalas;
+    private final GeradorIds geradorIds;
     private final SalaMapper salaMapper = new SalaMapper();
 
-    public SalaAppService(SalaJpaRepository salaRepositorio) {
+    public SalaAppService(SalaJpaRepository salaRepositorio,
+                          CatalogoSalas catalogoSalas,
+                          CatalogoRecursos catalogoRecursos,
+                          IndiceSalas indiceSalas,
+                          GeradorIds geradorIds) {
         this.salaRepositorio = salaRepositorio;
+        this.catalogoSalas = catalogoSalas;
+        this.catalogoRecursos = catalogoRecursos;
+        this.indiceSalas = indiceSalas;
+        this.geradorIds = geradorIds;
     }
 
-    @Transactional
+    /**
+     * Registra os recursos novos no dicionario antes de gravar a sala: o registro abre transacao propria,
+     * e aqui nenhuma conexao fica presa esperando por ele. A sala e gravada na transacao do repositorio.
+     */
     public Sala cadastrarSala(String nome, int capacidade, String localizacao, List<String> recursos) {
         if (nome == null || nome.isBlank() || localizacao == null || localizacao.isBlank()) {
             throw new RegraDeNegocioException("Dados obrigatorios para cadastrar sala nao informados.");
         }
-        Sala sala = new Sala(UUID.randomUUID(), nome, capacidade, localizacao,
+        Sala sala = new Sala(geradorIds.novoId(), nome, capacidade, localizacao,
                 recursos == null ? new ArrayList<>() : recursos, true);
-        SalaEntity salva = salaRepositorio.save(salaMapper.toEntity(sala));
+        long recursosMascara = catalogoRecursos.mascara(sala.getRecursos());
+        SalaEntity salva = salaRepositorio.save(salaMapper.toEntity(sala, recursosMascara));
         return salaMapper.toDomain(salva);
     }
 
-    @Transactional(readOnly = true)
-    public List<Sala> listarSalas() {
-        return salaRepositorio.findAll().stream()
-                .map(salaMapper::toDomain)
-                .toList();
+    public List<DadosSala> listarSalas() {
+        return catalogoSalas.listar();
     }
 
-    @Transactional(readOnly = true)
-    public Sala obterSala(UUID id) {
-        SalaEntity entity = salaRepositorio.findById(id)
+    /**
+     * Salas ativas que atendem aos criterios, respondidas pelo indice em memoria sem ir ao banco.
+     */
+    public List<DadosSala> buscarSalas(CriteriosBuscaSala criterios) {
+        return indiceSalas.buscar(criterios == null ? CriteriosBuscaSala.semFiltros() : criterios);
+    }
+
+    public DadosSala obterSala(UUID id) {
+        return catalogoSalas.obter(id)
                 .orElseThrow(() -> new EntidadeNaoEncontradaException("Sala nao encontrada."));
-        return salaMapper.toDomain(entity);
     }
 
     @Transactional
@@ -66,7 +90,7 @@ public class SalaAppService {
 
     @Transactional(readOnly = true)
     public List<Sala> listarSalasAtivas() {
-        return salaRepositorio.findByAtivaTrue().stream()
+        return salaRepositorio.findComRecursosByAtivaTrue().stream()
                 .map(salaMapper::toDomain)
                 .toList();
     }
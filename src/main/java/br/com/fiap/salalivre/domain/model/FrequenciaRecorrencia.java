@@ -0,0 +1,6 @@
+package br.com.fiap.salalivre.domain.model;
+
+public enum FrequenciaRecorrencia {
+    DIARIA,
+    SEMANAL
+}
@@ -0,0 +1,7 @@
+package br.com.fiap.salalivre.domain.model;
+
+public enum SituacaoSolicitacao {
+    CRIADA,
+    CONFLITO,
+    INVALIDA
+}
@@ -0,0 +1,27 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.util.List;
+import java.util.Locale;
+
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+
+public record CriteriosBuscaSala(Integer capacidadeMinima, String localizacao, List<String> recursos, Integer limite) {
+    public CriteriosBuscaSala {
+        if (capacidadeMinima != null && capacidadeMinima <= 0) {
+            throw new RegraDeNegocioException("Capacidade minima deve ser maior que zero.");
+        }
+        if (limite != null && limite <= 0) {
+            throw new RegraDeNegocioException("Limite deve ser maior que zero.");
+        }
+        localizacao = localizacao == null || localizacao.isBlank() ? null : localizacao.trim();
+        recursos = recursos == null ? List.of() : recursos.stream()
+                .filter(recurso -> recurso != null && !recurso.isBlank())
+                .map(recurso -> recurso.trim().toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+    }
+
+    public static CriteriosBuscaSala semFiltros() {
+        return new CriteriosBuscaSala(null, null, null, null);
+    }
+}
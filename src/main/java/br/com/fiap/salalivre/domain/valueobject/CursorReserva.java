@@ -0,0 +1,38 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+
+/**
+ * Posicao da ultima reserva de uma pagina na ordem (inicio, id). Trafega como texto opaco em base64.
+ */
+public record CursorReserva(LocalDateTime inicio, UUID id) {
+    private static final String SEPARADOR = "|";
+
+    public CursorReserva {
+        if (inicio == null || id == null) {
+            throw new RegraDeNegocioException("Cursor invalido.");
+        }
+    }
+
+    public String codificar() {
+        byte[] texto = (inicio + SEPARADOR + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto);
+    }
+
+    public static CursorReserva decodificar(String cursor) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = texto.indexOf(SEPARADOR);
+            return new CursorReserva(LocalDateTime.parse(texto.substring(0, separador)),
+                    UUID.fromString(texto.substring(separador + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new RegraDeNegocioException("Cursor invalido.");
+        }
+    }
+}
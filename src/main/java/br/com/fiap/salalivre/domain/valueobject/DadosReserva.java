@@ -0,0 +1,22 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+
+/**
+ * Leitura de uma reserva preenchida direto pela consulta, sem passar por entidade gerenciada nem pelo
+ * modelo de dominio. Usada apenas para exibir reservas.
+ */
+public record DadosReserva(
+        UUID id,
+        UUID salaId,
+        UUID usuarioId,
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        StatusReserva status,
+        LocalDateTime criadoEm,
+        LocalDateTime atualizadoEm
+) {
+}
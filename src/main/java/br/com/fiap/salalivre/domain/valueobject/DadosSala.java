@@ -0,0 +1,17 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.util.List;
+import java.util.UUID;
+
+public record DadosSala(
+        UUID id,
+        String nome,
+        int capacidade,
+        String localizacao,
+        List<String> recursos,
+        boolean ativa
+) {
+    public DadosSala {
+        recursos = List.copyOf(recursos);
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+
+/**
+ * Filtros da listagem de reservas. {@code de} e {@code ate} restringem o inicio da reserva ao
+ * intervalo [de, ate).
+ */
+public record FiltroReservas(UUID salaId, UUID usuarioId, LocalDateTime de, LocalDateTime ate, StatusReserva status) {
+    public FiltroReservas {
+        if (de != null && ate != null && !ate.isAfter(de)) {
+            throw new RegraDeNegocioException("Data final do filtro deve ser posterior a data inicial.");
+        }
+    }
+
+    public static FiltroReservas semFiltros() {
+        return new FiltroReservas(null, null, null, null, null);
+    }
+}
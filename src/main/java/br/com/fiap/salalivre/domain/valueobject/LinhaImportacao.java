@@ -0,0 +1,11 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+public record LinhaImportacao(long numero, SolicitacaoReserva solicitacao, String erro) {
+    public static LinhaImportacao lida(long numero, SolicitacaoReserva solicitacao) {
+        return new LinhaImportacao(numero, solicitacao, null);
+    }
+
+    public static LinhaImportacao invalida(long numero, String erro) {
+        return new LinhaImportacao(numero, null, erro);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.util.List;
+import java.util.UUID;
+
+public record MapaOcupacaoSala(UUID salaId, String nome, List<OcupacaoDiaria> dias) {
+    public MapaOcupacaoSala {
+        dias = List.copyOf(dias);
+    }
+}
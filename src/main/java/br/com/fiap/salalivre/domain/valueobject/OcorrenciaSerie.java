@@ -0,0 +1,9 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.util.UUID;
+
+public record OcorrenciaSerie(PeriodoReserva periodo, UUID reservaId, boolean conflito) {
+    public boolean criada() {
+        return reservaId != null;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record OcupacaoDiaria(LocalDate data, List<PeriodoReserva> periodosOcupados) {
+    public OcupacaoDiaria {
+        periodosOcupados = List.copyOf(periodosOcupados);
+    }
+}
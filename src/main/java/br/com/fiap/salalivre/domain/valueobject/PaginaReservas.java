@@ -0,0 +1,9 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.util.List;
+
+public record PaginaReservas(List<DadosReserva> reservas, CursorReserva proximo) {
+    public PaginaReservas {
+        reservas = List.copyOf(reservas);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+import br.com.fiap.salalivre.domain.model.FrequenciaRecorrencia;
+
+/**
+ * Regra de repeticao de uma serie de reservas: a cada {@code intervalo} dias ou semanas, ate a data
+ * {@code ate} (inclusive) e/ou ate gerar {@code quantidade} ocorrencias. As datas em {@code excecoes}
+ * contam para a quantidade, mas nao viram reserva.
+ */
+public record RegraRecorrencia(FrequenciaRecorrencia frequencia, int intervalo, LocalDate ate, Integer quantidade,
+                               Set<LocalDate> excecoes) {
+    public static final int MAXIMO_OCORRENCIAS = 366;
+
+    public RegraRecorrencia {
+        if (frequencia == null) {
+            throw new RegraDeNegocioException("Frequencia da recorrencia obrigatoria.");
+        }
+        if (intervalo <= 0) {
+            throw new RegraDeNegocioException("Intervalo da recorrencia deve ser maior que zero.");
+        }
+        if (ate == null && quantidade == null) {
+            throw new RegraDeNegocioException("Informe a data final ou a quantidade de ocorrencias.");
+        }
+        if (quantidade != null && (quantidade <= 0 || quantidade > MAXIMO_OCORRENCIAS)) {
+            throw new RegraDeNegocioException("Quantidade de ocorrencias deve estar entre 1 e " + MAXIMO_OCORRENCIAS + ".");
+        }
+        excecoes = excecoes == null ? Set.of() : Set.copyOf(excecoes);
+    }
+
+    public List<PeriodoReserva> expandir(PeriodoReserva primeira) {
+        Duration passo = frequencia == FrequenciaRecorrencia.DIARIA
+                ? Duration.ofDays(intervalo)
+                : Duration.ofDays(7L * intervalo);
+        if (Duration.between(primeira.inicio(), primeira.fim()).compareTo(passo) > 0) {
+            throw new RegraDeNegocioException("Duracao da reserva maior que o intervalo da recorrencia.");
+        }
+        List<PeriodoReserva> ocorrencias = new ArrayList<>();
+        for (int geradas = 0; quantidade == null || geradas < quantidade; geradas++) {
+            LocalDateTime inicio = primeira.inicio().plus(passo.multipliedBy(geradas));
+            if (ate != null && inicio.toLocalDate().isAfter(ate)) {
+                break;
+            }
+            if (geradas == MAXIMO_OCORRENCIAS) {
+                throw new RegraDeNegocioException("Serie limitada a " + MAXIMO_OCORRENCIAS + " ocorrencias.");
+            }
+            if (!excecoes.contains(inicio.toLocalDate())) {
+                ocorrencias.add(new PeriodoReserva(inicio, primeira.fim().plus(passo.multipliedBy(geradas))));
+            }
+        }
+        if (ocorrencias.isEmpty()) {
+            throw new RegraDeNegocioException("Recorrencia nao gera nenhuma ocorrencia.");
+        }
+        return ocorrencias;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+
+public record RejeicaoImportacao(long linha, SituacaoSolicitacao situacao, String mensagem) {
+}
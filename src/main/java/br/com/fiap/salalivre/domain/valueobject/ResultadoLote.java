@@ -0,0 +1,6 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.util.List;
+
+public record ResultadoLote(List<ResultadoSolicitacao> resultados, boolean truncado) {
+}
@@ -0,0 +1,19 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.util.UUID;
+
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+
+public record ResultadoSolicitacao(SituacaoSolicitacao situacao, UUID reservaId, String mensagem) {
+    public static ResultadoSolicitacao criada(UUID reservaId) {
+        return new ResultadoSolicitacao(SituacaoSolicitacao.CRIADA, reservaId, null);
+    }
+
+    public static ResultadoSolicitacao conflito(String mensagem) {
+        return new ResultadoSolicitacao(SituacaoSolicitacao.CONFLITO, null, mensagem);
+    }
+
+    public static ResultadoSolicitacao invalida(String mensagem) {
+        return new ResultadoSolicitacao(SituacaoSolicitacao.INVALIDA, null, mensagem);
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.time.Duration;
+
+public record ResumoImportacao(long lidas, long importadas, long rejeitadas, Duration duracao) {
+}
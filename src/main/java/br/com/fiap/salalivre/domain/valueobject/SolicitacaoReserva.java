@@ -0,0 +1,10 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record SolicitacaoReserva(UUID salaId, UUID usuarioId, LocalDateTime inicio, LocalDateTime fim) {
+    public PeriodoReserva periodo() {
+        return new PeriodoReserva(inicio, fim);
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.fiap.salalivre.infrastructure.agenda;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Agenda de uma sala: por dia, quantas reservas tocam cada slot de {@value #MINUTOS_POR_SLOT} minutos e um
+ * bitset com os slots em que essa contagem passa de zero. Incluir ou tirar uma reserva so mexe nos slots
+ * dela; o dia sai da agenda quando nenhuma reserva o toca.
+ */
+class AgendaSala {
+    static final int MINUTOS_POR_SLOT = 15;
+    static final int SLOTS_POR_DIA = 24 * 60 / MINUTOS_POR_SLOT;
+    static final int PALAVRAS_POR_DIA = (SLOTS_POR_DIA + Long.SIZE - 1) / Long.SIZE;
+
+    private final Map<LocalDate, Dia> dias = new HashMap<>();
+
+    synchronized void inserir(LocalDateTime inicio, LocalDateTime fim) {
+        paraCadaDia(inicio, fim, (dia, primeiro, ultimo) -> {
+            Dia ocupacao = dias.computeIfAbsent(dia, d -> new Dia());
+            for (int slot = primeiro; slot < ultimo; slot++) {
+                if (ocupacao.contagem[slot]++ == 0) {
+                    ocupacao.ocupados[slot / Long.SIZE] |= 1L << (slot % Long.SIZE);
+                }
+            }
+            ocupacao.reservas++;
+        });
+    }
+
+    synchronized void remover(LocalDateTime inicio, LocalDateTime fim) {
+        paraCadaDia(inicio, fim, (dia, primeiro, ultimo) -> {
+            Dia ocupacao = dias.get(dia);
+            if (ocupacao == null) {
+                return;
+            }
+            for (int slot = primeiro; slot < ultimo; slot++) {
+                if (--ocupacao.contagem[slot] == 0) {
+                    ocupacao.ocupados[slot / Long.SIZE] &= ~(1L << (slot % Long.SIZE));
+                }
+            }
+            if (--ocupacao.reservas == 0) {
+                dias.remove(dia);
+            }
+        });
+    }
+
+    synchronized boolean ocupada(MascaraPeriodo mascara) {
+        for (int i = 0; i < mascara.dias().length; i++) {
+            Dia dia = dias.get(mascara.dias()[i]);
+            if (dia == null) {
+                continue;
+            }
+            long[] ocupacao = dia.ocupados;
+            long[] palavras = mascara.palavras()[i];
+            long intersecao = 0;
+            for (int p = 0; p < PALAVRAS_POR_DIA; p++) {
+                intersecao |= ocupacao[p] & palavras[p];
+            }
+            if (intersecao != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void paraCadaDia(LocalDateTime inicio, LocalDateTime fim, SlotsDoDia acao) {
+        LocalDate primeiroDia = inicio.toLocalDate();
+        LocalDate ultimoDia = fim.minusNanos(1).toLocalDate();
+        for (LocalDate dia = primeiroDia; !dia.isAfter(ultimoDia); dia = dia.plusDays(1)) {
+            int primeiro = dia.equals(primeiroDia) ? slotInicial(inicio.toLocalTime()) : 0;
+            int ultimo = dia.equals(fim.toLocalDate()) ? slotFinal(fim.toLocalTime()) : SLOTS_POR_DIA;
+            acao.aplicar(dia, primeiro, ultimo);
+        }
+    }
+
+    static boolean alinhadoAosSlots(LocalDateTime momento) {
+        return momento.getSecond() == 0 && momento.getNano() == 0 && momento.getMinute() % MINUTOS_POR_SLOT == 0;
+    }
+
+    static MascaraPeriodo mascara(LocalDateTime inicio, LocalDateTime fim) {
+        LocalDate primeiroDia = inicio.toLocalDate();
+        LocalDate ultimoDia = fim.minusNanos(1).toLocalDate();
+        int quantidadeDias = (int) (ultimoDia.toEpochDay() - primeiroDia.toEpochDay()) + 1;
+        LocalDate[] dias = new LocalDate[quantidadeDias];
+        long[][] palavras = new long[quantidadeDias][PALAVRAS_POR_DIA];
+        for (int i = 0; i < quantidadeDias; i++) {
+            LocalDate dia = primeiroDia.plusDays(i);
+            int primeiro = dia.equals(primeiroDia) ? slotInicial(inicio.toLocalTime()) : 0;
+            int ultimo = dia.equals(fim.toLocalDate()) ? slotFinal(fim.toLocalTime()) : SLOTS_POR_DIA;
+            dias[i] = dia;
+            marcar(palavras[i], primeiro, ultimo);
+        }
+        return new MascaraPeriodo(dias, palavras);
+    }
+
+    private static int slotInicial(LocalTime horario) {
+        return (horario.getHour() * 60 + horario.getMinute()) / MINUTOS_POR_SLOT;
+    }
+
+    private static int slotFinal(LocalTime horario) {
+        int minutos = horario.getHour() * 60 + horario.getMinute();
+        boolean fracao = minutos % MINUTOS_POR_SLOT != 0 || horario.getSecond() != 0 || horario.getNano() != 0;
+        return minutos / MINUTOS_POR_SLOT + (fracao ? 1 : 0);
+    }
+
+    private static void marcar(long[] palavras, int primeiro, int ultimo) {
+        for (int slot = primeiro; slot < ultimo; slot++) {
+            palavras[slot / Long.SIZE] |= 1L << (slot % Long.SIZE);
+        }
+    }
+
+    record MascaraPeriodo(LocalDate[] dias, long[][] palavras) {
+    }
+
+    @FunctionalInterface
+    private interface SlotsDoDia {
+        void aplicar(LocalDate dia, int primeiro, int ultimo);
+    }
+
+    private static final class Dia {
+        private final int[] contagem = new int[SLOTS_POR_DIA];
+        private final long[] ocupados = new long[PALAVRAS_POR_DIA];
+        private int reservas;
+    }
+}
@@ -0,0 +1,218 @@
+package br.com.fiap.salalivre.infrastructure.agenda;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.agenda.AgendaSala.MascaraPeriodo;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.ReservaAgendaView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
+
+/**
+ * Agendas em memoria das reservas ativas que ainda nao terminaram: o indice guarda as reservas com fim
+ * depois de {@code limite}, que avanca a cada poda, e so responde por periodos que comecam depois dele;
+ * os demais ficam com o banco. Antes da primeira carga o indice nao responde por nenhum periodo. O indice
+ * serve as consultas de disponibilidade; a gravacao de reservas confere conflitos so no banco, ja que o
+ * indice de uma instancia nao ve as reservas gravadas pelas outras.
+ *
+ * <p>As reservas gravadas em outras instancias entram a cada {@code salalivre.agenda.recarga}, quando o
+ * indice e remontado do banco ao lado do atual e trocado de uma vez; ate la a disponibilidade pode mostrar
+ * livre uma sala reservada em outra instancia. As reservas alteradas nesta instancia durante a recarga sao
+ * reaplicadas sobre o indice novo antes da troca.
+ */
+@Component
+public class AgendaSalasIndice {
+    private final ReservaJpaRepository reservaRepositorio;
+    private final TransactionTemplate transacao;
+    private final Clock clock;
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private volatile Map<UUID, AgendaSala> agendasPorSala = new ConcurrentHashMap<>();
+    private volatile Map<UUID, ReservaIndexada> reservasIndexadas = new ConcurrentHashMap<>();
+    private volatile Set<UUID> alteradasNaRecarga;
+    private volatile LocalDateTime limite = LocalDateTime.MAX;
+    private volatile boolean carregado;
+
+    public AgendaSalasIndice(ReservaJpaRepository reservaRepositorio,
+                             PlatformTransactionManager transactionManager,
+                             Clock clock) {
+        this.reservaRepositorio = reservaRepositorio;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacao.setReadOnly(true);
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${salalivre.agenda.recarga:5m}", fixedDelayString = "${salalivre.agenda.recarga:5m}")
+    public synchronized void recarregar() {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        trava.writeLock().lock();
+        try {
+            if (!carregado) {
+                limite = agora;
+            }
+            // as gravacoes a partir daqui podem nao estar na leitura: ficam anotadas para reaplicar na troca
+            alteradasNaRecarga = ConcurrentHashMap.newKeySet();
+        } finally {
+            trava.writeLock().unlock();
+        }
+        Map<UUID, AgendaSala> novasAgendas = new ConcurrentHashMap<>();
+        Map<UUID, ReservaIndexada> novasReservas = new ConcurrentHashMap<>();
+        try {
+            transacao.executeWithoutResult(status -> {
+                try (Stream<ReservaAgendaView> reservas = reservaRepositorio.streamAtivasTerminandoApos(agora)) {
+                    reservas.forEach(reserva -> inserir(novasAgendas, novasReservas,
+                            reserva.id(), reserva.salaId(), reserva.inicio(), reserva.fim()));
+                }
+            });
+        } catch (RuntimeException e) {
+            alteradasNaRecarga = null;
+            throw e;
+        }
+        trava.writeLock().lock();
+        try {
+            LocalDateTime novoLimite = agora.isAfter(limite) ? agora : limite;
+            for (UUID reservaId : alteradasNaRecarga) {
+                remover(novasAgendas, novasReservas, reservaId);
+                ReservaIndexada atual = reservasIndexadas.get(reservaId);
+                if (atual != null && atual.fim().isAfter(novoLimite)) {
+                    inserir(novasAgendas, novasReservas, reservaId, atual.salaId(), atual.inicio(), atual.fim());
+                }
+            }
+            alteradasNaRecarga = null;
+            agendasPorSala = novasAgendas;
+            reservasIndexadas = novasReservas;
+            limite = novoLimite;
+            carregado = true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tira do indice as reservas que ja terminaram; os bitsets dos dias que ficam vazios saem junto.
+     */
+    @Scheduled(initialDelayString = "${salalivre.agenda.poda:1h}", fixedDelayString = "${salalivre.agenda.poda:1h}")
+    public void podar() {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        trava.readLock().lock();
+        try {
+            if (!agora.isAfter(limite)) {
+                return;
+            }
+            limite = agora;
+            Map<UUID, AgendaSala> agendas = agendasPorSala;
+            Map<UUID, ReservaIndexada> reservas = reservasIndexadas;
+            reservas.forEach((reservaId, reserva) -> {
+                if (!reserva.fim().isAfter(agora)) {
+                    remover(agendas, reservas, reservaId);
+                }
+            });
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public boolean suportaConsultaPorSlots(PeriodoReserva periodo) {
+        return carregado
+                && !periodo.inicio().isBefore(limite)
+                && AgendaSala.alinhadoAosSlots(periodo.inicio())
+                && AgendaSala.alinhadoAosSlots(periodo.fim());
+    }
+
+    public Set<UUID> filtrarSalasLivres(Collection<UUID> salaIds, PeriodoReserva periodo) {
+        if (!suportaConsultaPorSlots(periodo)) {
+            throw new IllegalArgumentException("Periodo fora do alcance do indice ou nao alinhado aos slots de "
+                    + AgendaSala.MINUTOS_POR_SLOT + " minutos.");
+        }
+        MascaraPeriodo mascara = AgendaSala.mascara(periodo.inicio(), periodo.fim());
+        Map<UUID, AgendaSala> agendas = agendasPorSala;
+        Set<UUID> livres = new HashSet<>();
+        for (UUID salaId : salaIds) {
+            AgendaSala agenda = agendas.get(salaId);
+            if (agenda == null || !agenda.ocupada(mascara)) {
+                livres.add(salaId);
+            }
+        }
+        return livres;
+    }
+
+    public void registrar(UUID reservaId, UUID salaId, LocalDateTime inicio, LocalDateTime fim, StatusReserva status) {
+        trava.readLock().lock();
+        try {
+            anotarAlteracao(reservaId);
+            remover(agendasPorSala, reservasIndexadas, reservaId);
+            if (status == StatusReserva.CANCELADA || !fim.isAfter(limite)) {
+                return;
+            }
+            inserir(agendasPorSala, reservasIndexadas, reservaId, salaId, inicio, fim);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public void remover(UUID reservaId) {
+        trava.readLock().lock();
+        try {
+            anotarAlteracao(reservaId);
+            remover(agendasPorSala, reservasIndexadas, reservaId);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private void anotarAlteracao(UUID reservaId) {
+        Set<UUID> alteradas = alteradasNaRecarga;
+        if (alteradas != null) {
+            alteradas.add(reservaId);
+        }
+    }
+
+    private static void inserir(Map<UUID, AgendaSala> agendas, Map<UUID, ReservaIndexada> reservas,
+                                UUID reservaId, UUID salaId, LocalDateTime inicio, LocalDateTime fim) {
+        AgendaSala agenda = agendas.computeIfAbsent(salaId, id -> new AgendaSala());
+        synchronized (agenda) {
+            agenda.inserir(inicio, fim);
+            reservas.put(reservaId, new ReservaIndexada(salaId, inicio, fim));
+        }
+    }
+
+    private static void remover(Map<UUID, AgendaSala> agendas, Map<UUID, ReservaIndexada> reservas, UUID reservaId) {
+        ReservaIndexada anterior = reservas.get(reservaId);
+        if (anterior == null) {
+            return;
+        }
+        AgendaSala agenda = agendas.get(anterior.salaId());
+        if (agenda == null) {
+            reservas.remove(reservaId);
+            return;
+        }
+        synchronized (agenda) {
+            if (reservas.remove(reservaId, anterior)) {
+                agenda.remover(anterior.inicio(), anterior.fim());
+            }
+        }
+    }
+
+    public int totalReservasIndexadas() {
+        return reservasIndexadas.size();
+    }
+
+    private record ReservaIndexada(UUID salaId, LocalDateTime inicio, LocalDateTime fim) {
+    }
+}
@@ -0,0 +1,272 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de inteiros nao negativos no formato do Roaring bitmap: os 16 bits altos escolhem um
+ * conteiner e os 16 baixos ficam nele, como {@code char[]} ordenado enquanto houver ate
+ * {@value #LIMITE_ARRAY} valores ou como mapa de 65536 bits ({@code long[1024]}) acima disso. Assim
+ * um conjunto esparso custa 2 bytes por valor e um denso no maximo 1 bit por ordinal. Nao e seguro
+ * para uso concorrente.
+ */
+public final class BitmapCompactado {
+    static final int LIMITE_ARRAY = 4096;
+    private static final int PALAVRAS_BITMAP = 1024;
+
+    private char[] chaves = new char[0];
+    private Object[] conteineres = new Object[0];
+    private int[] cardinalidades = new int[0];
+    private int quantidade;
+
+    public boolean adicionar(int valor) {
+        char chave = (char) (valor >>> 16);
+        char baixo = (char) valor;
+        int indice = Arrays.binarySearch(chaves, 0, quantidade, chave);
+        if (indice < 0) {
+            inserirConteiner(-indice - 1, chave, new char[]{baixo}, 1);
+            return true;
+        }
+        int cardinalidade = cardinalidades[indice];
+        if (conteineres[indice] instanceof long[] palavras) {
+            long bit = 1L << baixo;
+            if ((palavras[baixo >>> 6] & bit) != 0) {
+                return false;
+            }
+            palavras[baixo >>> 6] |= bit;
+        } else {
+            char[] valores = (char[]) conteineres[indice];
+            int posicao = Arrays.binarySearch(valores, 0, cardinalidade, baixo);
+            if (posicao >= 0) {
+                return false;
+            }
+            posicao = -posicao - 1;
+            if (cardinalidade == LIMITE_ARRAY) {
+                long[] palavras = paraBitmap(valores, cardinalidade);
+                palavras[baixo >>> 6] |= 1L << baixo;
+                conteineres[indice] = palavras;
+            } else {
+                if (cardinalidade == valores.length) {
+                    valores = Arrays.copyOf(valores, Math.min(LIMITE_ARRAY, cardinalidade * 2));
+                    conteineres[indice] = valores;
+                }
+                System.arraycopy(valores, posicao, valores, posicao + 1, cardinalidade - posicao);
+                valores[posicao] = baixo;
+            }
+        }
+        cardinalidades[indice] = cardinalidade + 1;
+        return true;
+    }
+
+    public boolean remover(int valor) {
+        char chave = (char) (valor >>> 16);
+        char baixo = (char) valor;
+        int indice = Arrays.binarySearch(chaves, 0, quantidade, chave);
+        if (indice < 0) {
+            return false;
+        }
+        int cardinalidade = cardinalidades[indice];
+        if (conteineres[indice] instanceof long[] palavras) {
+            long bit = 1L << baixo;
+            if ((palavras[baixo >>> 6] & bit) == 0) {
+                return false;
+            }
+            palavras[baixo >>> 6] &= ~bit;
+            if (cardinalidade - 1 <= LIMITE_ARRAY) {
+                conteineres[indice] = paraArray(palavras, cardinalidade - 1);
+            }
+        } else {
+            char[] valores = (char[]) conteineres[indice];
+            int posicao = Arrays.binarySearch(valores, 0, cardinalidade, baixo);
+            if (posicao < 0) {
+                return false;
+            }
+            System.arraycopy(valores, posicao + 1, valores, posicao, cardinalidade - posicao - 1);
+        }
+        if (cardinalidade == 1) {
+            removerConteiner(indice);
+        } else {
+            cardinalidades[indice] = cardinalidade - 1;
+        }
+        return true;
+    }
+
+    public boolean contem(int valor) {
+        char baixo = (char) valor;
+        int indice = Arrays.binarySearch(chaves, 0, quantidade, (char) (valor >>> 16));
+        if (indice < 0) {
+            return false;
+        }
+        if (conteineres[indice] instanceof long[] palavras) {
+            return (palavras[baixo >>> 6] & (1L << baixo)) != 0;
+        }
+        return Arrays.binarySearch((char[]) conteineres[indice], 0, cardinalidades[indice], baixo) >= 0;
+    }
+
+    public int cardinalidade() {
+        int total = 0;
+        for (int i = 0; i < quantidade; i++) {
+            total += cardinalidades[i];
+        }
+        return total;
+    }
+
+    public boolean vazio() {
+        return quantidade == 0;
+    }
+
+    /**
+     * Novo bitmap com os valores presentes nos dois.
+     */
+    public BitmapCompactado intersecao(BitmapCompactado outro) {
+        BitmapCompactado resultado = new BitmapCompactado();
+        int i = 0;
+        int j = 0;
+        while (i < quantidade && j < outro.quantidade) {
+            if (chaves[i] < outro.chaves[j]) {
+                i++;
+            } else if (chaves[i] > outro.chaves[j]) {
+                j++;
+            } else {
+                resultado.intersecaoDeConteineres(chaves[i], conteineres[i], cardinalidades[i],
+                        outro.conteineres[j], outro.cardinalidades[j]);
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Valores em ordem crescente.
+     */
+    public int[] paraArray() {
+        int[] resultado = new int[cardinalidade()];
+        int k = 0;
+        for (int i = 0; i < quantidade; i++) {
+            int alto = chaves[i] << 16;
+            if (conteineres[i] instanceof long[] palavras) {
+                for (int palavra = 0; palavra < PALAVRAS_BITMAP; palavra++) {
+                    long bits = palavras[palavra];
+                    while (bits != 0) {
+                        resultado[k++] = alto | ((palavra << 6) + Long.numberOfTrailingZeros(bits));
+                        bits &= bits - 1;
+                    }
+                }
+            } else {
+                char[] valores = (char[]) conteineres[i];
+                for (int j = 0; j < cardinalidades[i]; j++) {
+                    resultado[k++] = alto | valores[j];
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Bytes dos conteineres e das chaves, sem cabecalhos de objeto.
+     */
+    public long bytesOcupados() {
+        long total = (long) chaves.length * Character.BYTES + (long) cardinalidades.length * Integer.BYTES;
+        for (int i = 0; i < quantidade; i++) {
+            total += conteineres[i] instanceof long[] palavras
+                    ? (long) palavras.length * Long.BYTES
+                    : (long) ((char[]) conteineres[i]).length * Character.BYTES;
+        }
+        return total;
+    }
+
+    private void intersecaoDeConteineres(char chave, Object a, int cardinalidadeA, Object b, int cardinalidadeB) {
+        if (a instanceof long[] palavrasA && b instanceof long[] palavrasB) {
+            long[] palavras = new long[PALAVRAS_BITMAP];
+            int cardinalidade = 0;
+            for (int k = 0; k < PALAVRAS_BITMAP; k++) {
+                palavras[k] = palavrasA[k] & palavrasB[k];
+                cardinalidade += Long.bitCount(palavras[k]);
+            }
+            if (cardinalidade > LIMITE_ARRAY) {
+                inserirConteiner(quantidade, chave, palavras, cardinalidade);
+            } else if (cardinalidade > 0) {
+                inserirConteiner(quantidade, chave, paraArray(palavras, cardinalidade), cardinalidade);
+            }
+            return;
+        }
+        if (a instanceof long[]) {
+            intersecaoDeConteineres(chave, b, cardinalidadeB, a, cardinalidadeA);
+            return;
+        }
+        char[] valoresA = (char[]) a;
+        char[] valores = new char[b instanceof long[] ? cardinalidadeA : Math.min(cardinalidadeA, cardinalidadeB)];
+        int cardinalidade = 0;
+        if (b instanceof long[] palavrasB) {
+            for (int k = 0; k < cardinalidadeA; k++) {
+                char valor = valoresA[k];
+                if ((palavrasB[valor >>> 6] & (1L << valor)) != 0) {
+                    valores[cardinalidade++] = valor;
+                }
+            }
+        } else {
+            char[] valoresB = (char[]) b;
+            int i = 0;
+            int j = 0;
+            while (i < cardinalidadeA && j < cardinalidadeB) {
+                if (valoresA[i] < valoresB[j]) {
+                    i++;
+                } else if (valoresA[i] > valoresB[j]) {
+                    j++;
+                } else {
+                    valores[cardinalidade++] = valoresA[i];
+                    i++;
+                    j++;
+                }
+            }
+        }
+        if (cardinalidade > 0) {
+            inserirConteiner(quantidade, chave, valores, cardinalidade);
+        }
+    }
+
+    private void inserirConteiner(int indice, char chave, Object conteiner, int cardinalidade) {
+        if (quantidade == chaves.length) {
+            int capacidade = Math.max(4, quantidade * 2);
+            chaves = Arrays.copyOf(chaves, capacidade);
+            conteineres = Arrays.copyOf(conteineres, capacidade);
+            cardinalidades = Arrays.copyOf(cardinalidades, capacidade);
+        }
+        System.arraycopy(chaves, indice, chaves, indice + 1, quantidade - indice);
+        System.arraycopy(conteineres, indice, conteineres, indice + 1, quantidade - indice);
+        System.arraycopy(cardinalidades, indice, cardinalidades, indice + 1, quantidade - indice);
+        chaves[indice] = chave;
+        conteineres[indice] = conteiner;
+        cardinalidades[indice] = cardinalidade;
+        quantidade++;
+    }
+
+    private void removerConteiner(int indice) {
+        System.arraycopy(chaves, indice + 1, chaves, indice, quantidade - indice - 1);
+        System.arraycopy(conteineres, indice + 1, conteineres, indice, quantidade - indice - 1);
+        System.arraycopy(cardinalidades, indice + 1, cardinalidades, indice, quantidade - indice - 1);
+        quantidade--;
+        conteineres[quantidade] = null;
+    }
+
+    private static long[] paraBitmap(char[] valores, int cardinalidade) {
+        long[] palavras = new long[PALAVRAS_BITMAP];
+        for (int k = 0; k < cardinalidade; k++) {
+            palavras[valores[k] >>> 6] |= 1L << valores[k];
+        }
+        return palavras;
+    }
+
+    private static char[] paraArray(long[] palavras, int cardinalidade) {
+        char[] valores = new char[cardinalidade];
+        int k = 0;
+        for (int palavra = 0; palavra < PALAVRAS_BITMAP; palavra++) {
+            long bits = palavras[palavra];
+            while (bits != 0) {
+                valores[k++] = (char) ((palavra << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return valores;
+    }
+}
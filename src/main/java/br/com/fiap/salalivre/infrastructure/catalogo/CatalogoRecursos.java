@@ -0,0 +1,169 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.RecursoEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.SalaMascaraView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.RecursoJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+
+/**
+ * Dicionario de recursos: cada nome distinto (sem espacos nas pontas e em minusculas) recebe um codigo
+ * sequencial, e os {@value #BITS_MASCARA} primeiros viram bits da mascara de recursos da sala, para que
+ * o filtro por recursos seja um AND de bits. Recursos alem desse limite continuam filtrados pelo nome.
+ * Codigos novos vem de uma sequencia do banco e sao gravados em transacao propria, entao sobrevivem ao
+ * rollback de quem os pediu. Se outra instancia registrou o mesmo nome antes, vale o codigo dela.
+ */
+@Component
+public class CatalogoRecursos {
+    public static final int BITS_MASCARA = Long.SIZE;
+
+    private final RecursoJpaRepository recursoRepositorio;
+    private final SalaJpaRepository salaRepositorio;
+    private final TransactionTemplate transacaoPropria;
+    private final Map<String, Integer> codigos = new ConcurrentHashMap<>();
+
+    public CatalogoRecursos(RecursoJpaRepository recursoRepositorio,
+                            SalaJpaRepository salaRepositorio,
+                            PlatformTransactionManager transactionManager) {
+        this.recursoRepositorio = recursoRepositorio;
+        this.salaRepositorio = salaRepositorio;
+        this.transacaoPropria = new TransactionTemplate(transactionManager);
+        this.transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Carrega o dicionario e recalcula a mascara das salas gravadas sem ela (anteriores a coluna ou
+     * inseridas fora da aplicacao).
+     */
+    @PostConstruct
+    public void recarregar() {
+        codigos.clear();
+        recursoRepositorio.findAll().forEach(recurso -> codigos.put(recurso.getNome(), recurso.getCodigo()));
+        List<SalaMascaraView> linhas = transacaoPropria.execute(status -> salaRepositorio.findMascarasComRecursos());
+        // mascaras calculadas fora da transacao de escrita, ja que podem registrar recursos novos
+        Map<UUID, Long> desatualizadas = new LinkedHashMap<>();
+        int i = 0;
+        while (i < linhas.size()) {
+            SalaMascaraView sala = linhas.get(i);
+            List<String> recursos = new ArrayList<>();
+            for (; i < linhas.size() && linhas.get(i).id().equals(sala.id()); i++) {
+                if (linhas.get(i).recurso() != null) {
+                    recursos.add(linhas.get(i).recurso());
+                }
+            }
+            long mascara = mascara(recursos);
+            if (mascara != sala.recursosMascara()) {
+                desatualizadas.put(sala.id(), mascara);
+            }
+        }
+        if (!desatualizadas.isEmpty()) {
+            transacaoPropria.executeWithoutResult(status ->
+                    desatualizadas.forEach(salaRepositorio::atualizarMascaraRecursos));
+        }
+    }
+
+    /**
+     * Mascara dos recursos informados, registrando no dicionario os que ainda nao tem codigo. O registro abre
+     * transacao propria, entao deve ser chamada antes de quem grava a sala abrir a sua.
+     */
+    public long mascara(Collection<String> recursos) {
+        long mascara = 0;
+        for (String recurso : recursos) {
+            if (recurso == null || recurso.isBlank()) {
+                continue;
+            }
+            int codigo = codigo(normalizar(recurso));
+            if (codigo < BITS_MASCARA) {
+                mascara |= 1L << codigo;
+            }
+        }
+        return mascara;
+    }
+
+    /**
+     * Separa os recursos exigidos (ja normalizados) entre os cobertos pela mascara e os que precisam ser
+     * conferidos pelo nome, sem registrar nada no dicionario.
+     */
+    public FiltroRecursos filtro(Collection<String> recursosExigidos) {
+        long mascara = 0;
+        List<String> semBit = new ArrayList<>();
+        for (String recurso : recursosExigidos) {
+            Integer codigo = codigos.get(recurso);
+            if (codigo != null && codigo < BITS_MASCARA) {
+                mascara |= 1L << codigo;
+            } else {
+                semBit.add(recurso);
+            }
+        }
+        return new FiltroRecursos(mascara, semBit);
+    }
+
+    private int codigo(String nome) {
+        Integer codigo = codigos.get(nome);
+        if (codigo != null) {
+            return codigo;
+        }
+        synchronized (this) {
+            codigo = codigos.get(nome);
+            if (codigo == null) {
+                codigo = registrar(nome);
+                codigos.put(nome, codigo);
+            }
+            return codigo;
+        }
+    }
+
+    private int registrar(String nome) {
+        long tentativasRestantes = -1;
+        while (true) {
+            try {
+                return transacaoPropria.execute(status -> recursoRepositorio.saveAndFlush(RecursoEntity.builder()
+                        .nome(nome)
+                        .build()).getCodigo());
+            } catch (DataIntegrityViolationException ex) {
+                Optional<RecursoEntity> existente =
+                        transacaoPropria.execute(status -> recursoRepositorio.findByNome(nome));
+                if (existente.isPresent()) {
+                    return existente.get().getCodigo();
+                }
+                // o codigo ja era de uma linha gravada antes da sequencia; cada tentativa avanca a sequencia
+                if (tentativasRestantes < 0) {
+                    tentativasRestantes = transacaoPropria.execute(status -> recursoRepositorio.count());
+                }
+                if (tentativasRestantes-- == 0) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private static String normalizar(String recurso) {
+        return recurso.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Recursos exigidos em uma busca: {@code mascara} com os que tem bit e {@code semBit} com os demais.
+     */
+    public record FiltroRecursos(long mascara, List<String> semBit) {
+        public FiltroRecursos {
+            semBit = List.copyOf(semBit);
+        }
+    }
+}
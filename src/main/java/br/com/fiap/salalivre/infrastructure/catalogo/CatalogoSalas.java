@@ -0,0 +1,172 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.infrastructure.persistence.mapper.SalaMapper;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Copia em memoria do catalogo de salas, carregada na subida e recarregada por inteiro na primeira
+ * consulta depois de {@link #invalidar()} ou de vencida a validade. Se o catalogo passar de
+ * {@code tamanhoMaximo} salas a copia nao e mantida e toda consulta vai ao banco; o excesso sai no gauge
+ * {@value #METRICA_EXCEDENTE} e no log, uma vez ao passar do limite e outra ao voltar para ele.
+ */
+@Component
+public class CatalogoSalas {
+    static final String METRICA_CONSULTAS = "salalivre.salas.catalogo.consultas";
+    static final String METRICA_EXCEDENTE = "salalivre.salas.catalogo.excedente";
+    private static final Logger LOGGER = Logger.getLogger(CatalogoSalas.class.getName());
+
+    private final SalaJpaRepository salaRepositorio;
+    private final Clock clock;
+    private final int tamanhoMaximo;
+    private final Duration validade;
+    private final Counter acertos;
+    private final Counter faltas;
+    private final AtomicLong excedente = new AtomicLong();
+    private final SalaMapper salaMapper = new SalaMapper();
+    private volatile Copia copia;
+    private long geracao;
+
+    public CatalogoSalas(SalaJpaRepository salaRepositorio,
+                         MeterRegistry meterRegistry,
+                         Clock clock,
+                         @Value("${salalivre.salas.catalogo.tamanho-maximo:10000}") int tamanhoMaximo,
+                         @Value("${salalivre.salas.catalogo.validade:PT5M}") Duration validade) {
+        this.salaRepositorio = salaRepositorio;
+        this.clock = clock;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.validade = validade;
+        this.acertos = meterRegistry.counter(METRICA_CONSULTAS, "resultado", "acerto");
+        this.faltas = meterRegistry.counter(METRICA_CONSULTAS, "resultado", "falta");
+        meterRegistry.gauge(METRICA_EXCEDENTE, excedente);
+    }
+
+    @PostConstruct
+    public void recarregar() {
+        invalidar();
+        carregar();
+    }
+
+    public List<DadosSala> listar() {
+        Copia atual = copiaValida();
+        if (atual == null) {
+            return salaMapper.toDados(salaRepositorio.findTodasComRecursos());
+        }
+        return atual.salas();
+    }
+
+    /**
+     * Retorna a sala pelo id. Uma sala ausente da copia e procurada no banco, ja que pode ter sido cadastrada
+     * em outra instancia; se existir, entra na copia atual, que segue valida ate o vencimento.
+     */
+    public Optional<DadosSala> obter(UUID salaId) {
+        Copia atual = copiaValida();
+        DadosSala sala = atual == null ? null : atual.porId().get(salaId);
+        if (sala != null) {
+            return Optional.of(sala);
+        }
+        Optional<DadosSala> doBanco = salaMapper.toDados(salaRepositorio.findComRecursosById(salaId)).stream().findFirst();
+        if (atual != null) {
+            doBanco.ifPresent(encontrada -> acrescentar(atual, encontrada));
+        }
+        return doBanco;
+    }
+
+    public synchronized void invalidar() {
+        geracao++;
+        copia = null;
+    }
+
+    private synchronized void acrescentar(Copia lida, DadosSala sala) {
+        // se a copia mudou durante a leitura, a sala ja esta nela ou sera lida na proxima carga
+        if (copia != lida) {
+            return;
+        }
+        List<DadosSala> salas = new ArrayList<>(lida.salas());
+        salas.add(sala);
+        Map<UUID, DadosSala> porId = new HashMap<>(lida.porId());
+        porId.put(sala.id(), sala);
+        copia = new Copia(List.copyOf(salas), porId, lida.venceEm());
+    }
+
+    private Copia copiaValida() {
+        Copia atual = copia;
+        if (atual != null && atual.vigente(clock.instant()) && atual.porId() != null) {
+            acertos.increment();
+            return atual;
+        }
+        faltas.increment();
+        if (atual == null || !atual.vigente(clock.instant())) {
+            atual = carregar();
+        }
+        return atual.porId() == null ? null : atual;
+    }
+
+    private Copia carregar() {
+        long geracaoLida;
+        synchronized (this) {
+            Copia atual = copia;
+            if (atual != null && atual.vigente(clock.instant())) {
+                return atual;
+            }
+            geracaoLida = geracao;
+        }
+        Instant venceEm = clock.instant().plus(validade);
+        Copia nova;
+        long total = salaRepositorio.count();
+        long excedenteAnterior = excedente.getAndSet(Math.max(0, total - tamanhoMaximo));
+        if (total > tamanhoMaximo) {
+            if (excedenteAnterior == 0) {
+                LOGGER.log(Level.WARNING, "Catalogo com {0} salas excede o limite de {1}; consultas irao ao banco.",
+                        new Object[]{total, tamanhoMaximo});
+            }
+            nova = new Copia(null, null, venceEm);
+        } else {
+            if (excedenteAnterior > 0) {
+                LOGGER.log(Level.INFO, "Catalogo com {0} salas voltou ao limite de {1}; copia em memoria retomada.",
+                        new Object[]{total, tamanhoMaximo});
+            }
+            List<DadosSala> salas = List.copyOf(salaMapper.toDados(salaRepositorio.findTodasComRecursos()));
+            Map<UUID, DadosSala> porId = new HashMap<>();
+            salas.forEach(sala -> porId.put(sala.id(), sala));
+            nova = new Copia(salas, porId, venceEm);
+        }
+        synchronized (this) {
+            // uma invalidacao durante a leitura torna a copia suspeita: ela serve a esta consulta, mas nao fica
+            if (geracao == geracaoLida) {
+                copia = nova;
+            }
+        }
+        return nova;
+    }
+
+    /**
+     * Copia imutavel do catalogo. Sem {@code salas} e {@code porId} quando o catalogo excede o limite,
+     * para que a contagem nao se repita a cada consulta ate o vencimento.
+     */
+    private record Copia(List<DadosSala> salas, Map<UUID, DadosSala> porId, Instant venceEm) {
+        boolean vigente(Instant agora) {
+            return agora.isBefore(venceEm);
+        }
+    }
+}
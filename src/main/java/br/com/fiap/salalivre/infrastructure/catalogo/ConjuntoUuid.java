@@ -0,0 +1,205 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Conjunto de UUIDs em enderecamento aberto: cada id ocupa duas posicoes consecutivas de um
+ * {@code long[]} (metade alta e metade baixa), sem objeto por elemento. Usa sondagem linear, fator de
+ * carga de ate 3/4 e remocao por deslocamento para tras, entao nao ha marcadores de removido. O par
+ * {@code (0, 0)} marca posicao vazia; o UUID nulo e guardado a parte.
+ *
+ * <p>Leituras sao otimistas ({@link StampedLock#tryOptimisticRead()}) e so travam se uma escrita
+ * concorrente as invalidar; escritas sao exclusivas.
+ */
+public final class ConjuntoUuid {
+    private static final int POSICOES_MINIMAS = 16;
+
+    private final StampedLock trava = new StampedLock();
+    private long[] tabela;
+    private int tamanho;
+    private boolean contemNulo;
+
+    public ConjuntoUuid() {
+        this(0);
+    }
+
+    public ConjuntoUuid(int capacidadeEsperada) {
+        tabela = new long[2 * posicoesPara(capacidadeEsperada)];
+    }
+
+    public boolean contem(UUID id) {
+        long alta = id.getMostSignificantBits();
+        long baixa = id.getLeastSignificantBits();
+        long carimbo = trava.tryOptimisticRead();
+        boolean encontrado = procurar(alta, baixa);
+        if (trava.validate(carimbo)) {
+            return encontrado;
+        }
+        carimbo = trava.readLock();
+        try {
+            return procurar(alta, baixa);
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    /**
+     * Retorna {@code true} se o id nao estava no conjunto.
+     */
+    public boolean adicionar(UUID id) {
+        long alta = id.getMostSignificantBits();
+        long baixa = id.getLeastSignificantBits();
+        long carimbo = trava.writeLock();
+        try {
+            if (alta == 0 && baixa == 0) {
+                boolean novo = !contemNulo;
+                contemNulo = true;
+                return novo;
+            }
+            int mascara = (tabela.length >>> 1) - 1;
+            int posicao = espalhar(alta, baixa) & mascara;
+            while (!vazia(tabela, posicao)) {
+                if (tabela[2 * posicao] == alta && tabela[2 * posicao + 1] == baixa) {
+                    return false;
+                }
+                posicao = (posicao + 1) & mascara;
+            }
+            tabela[2 * posicao + 1] = baixa;
+            tabela[2 * posicao] = alta;
+            if (++tamanho > limite(mascara + 1)) {
+                redimensionar(2 * (mascara + 1));
+            }
+            return true;
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    /**
+     * Retorna {@code true} se o id estava no conjunto.
+     */
+    public boolean remover(UUID id) {
+        long alta = id.getMostSignificantBits();
+        long baixa = id.getLeastSignificantBits();
+        long carimbo = trava.writeLock();
+        try {
+            if (alta == 0 && baixa == 0) {
+                boolean presente = contemNulo;
+                contemNulo = false;
+                return presente;
+            }
+            int mascara = (tabela.length >>> 1) - 1;
+            int buraco = espalhar(alta, baixa) & mascara;
+            while (tabela[2 * buraco] != alta || tabela[2 * buraco + 1] != baixa) {
+                if (vazia(tabela, buraco)) {
+                    return false;
+                }
+                buraco = (buraco + 1) & mascara;
+            }
+            // puxa para o buraco cada elemento seguinte da sequencia cuja posicao ideal nao esteja entre os dois
+            for (int posicao = (buraco + 1) & mascara; !vazia(tabela, posicao); posicao = (posicao + 1) & mascara) {
+                int ideal = espalhar(tabela[2 * posicao], tabela[2 * posicao + 1]) & mascara;
+                boolean idealEntreBuracoEPosicao = buraco <= posicao
+                        ? buraco < ideal && ideal <= posicao
+                        : buraco < ideal || ideal <= posicao;
+                if (!idealEntreBuracoEPosicao) {
+                    tabela[2 * buraco] = tabela[2 * posicao];
+                    tabela[2 * buraco + 1] = tabela[2 * posicao + 1];
+                    buraco = posicao;
+                }
+            }
+            tabela[2 * buraco] = 0;
+            tabela[2 * buraco + 1] = 0;
+            tamanho--;
+            return true;
+        } finally {
+            trava.unlockWrite(carimbo);
+        }
+    }
+
+    public int tamanho() {
+        long carimbo = trava.readLock();
+        try {
+            return tamanho + (contemNulo ? 1 : 0);
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    /**
+     * Bytes ocupados pela tabela, sem o cabecalho do array.
+     */
+    public long bytesDaTabela() {
+        long carimbo = trava.readLock();
+        try {
+            return (long) tabela.length * Long.BYTES;
+        } finally {
+            trava.unlockRead(carimbo);
+        }
+    }
+
+    private boolean procurar(long alta, long baixa) {
+        if (alta == 0 && baixa == 0) {
+            return contemNulo;
+        }
+        // na leitura otimista a tabela pode estar no meio de uma escrita: o laco e limitado e o resultado,
+        // se invalidado, e descartado pelo chamador
+        long[] atual = tabela;
+        int mascara = (atual.length >>> 1) - 1;
+        int posicao = espalhar(alta, baixa) & mascara;
+        for (int sondas = 0; sondas <= mascara; sondas++) {
+            long a = atual[2 * posicao];
+            long b = atual[2 * posicao + 1];
+            if (a == alta && b == baixa) {
+                return true;
+            }
+            if (a == 0 && b == 0) {
+                return false;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        return false;
+    }
+
+    private void redimensionar(int posicoes) {
+        long[] anterior = tabela;
+        long[] nova = new long[2 * posicoes];
+        int mascara = posicoes - 1;
+        for (int i = 0; i < anterior.length; i += 2) {
+            long alta = anterior[i];
+            long baixa = anterior[i + 1];
+            if (alta == 0 && baixa == 0) {
+                continue;
+            }
+            int posicao = espalhar(alta, baixa) & mascara;
+            while (!vazia(nova, posicao)) {
+                posicao = (posicao + 1) & mascara;
+            }
+            nova[2 * posicao] = alta;
+            nova[2 * posicao + 1] = baixa;
+        }
+        tabela = nova;
+    }
+
+    private static boolean vazia(long[] tabela, int posicao) {
+        return tabela[2 * posicao] == 0 && tabela[2 * posicao + 1] == 0;
+    }
+
+    private static int espalhar(long alta, long baixa) {
+        long h = (alta ^ Long.rotateLeft(baixa, 32)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int limite(int posicoes) {
+        return posicoes - (posicoes >>> 2);
+    }
+
+    private static int posicoesPara(int capacidadeEsperada) {
+        int posicoes = POSICOES_MINIMAS;
+        while (limite(posicoes) < capacidadeEsperada) {
+            posicoes <<= 1;
+        }
+        return posicoes;
+    }
+}
@@ -0,0 +1,318 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.salalivre.domain.valueobject.CriteriosBuscaSala;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.infrastructure.persistence.mapper.SalaMapper;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+
+/**
+ * Indice invertido das salas em memoria: cada sala recebe um ordinal denso (os liberados sao
+ * reaproveitados) e cada recurso, localizacao e faixa de capacidade aponta para o
+ * {@link BitmapCompactado} dos ordinais que a tem. A busca por varios filtros vira a intersecao desses
+ * bitmaps, da menor cardinalidade para a maior. As faixas sao cumulativas (capacidade de pelo menos
+ * {@link #FAIXAS_CAPACIDADE}[i]); so quando a capacidade minima nao coincide com uma faixa as salas
+ * resultantes sao conferidas uma a uma. A ordem de melhor encaixe de todas as salas tambem e mantida, de
+ * modo que o resultado sai ordenado sem comparar salas.
+ *
+ * <p>Carregado na subida e mantido pelas alteracoes de sala depois do commit; leituras compartilham uma
+ * trava de leitura e alteracoes sao exclusivas. Como as alteracoes feitas em outras instancias nao chegam
+ * aqui, o indice e recarregado do banco a cada {@code salalivre.salas.indice.recarga}; uma recarga que
+ * cruzou com uma alteracao local e descartada, e a seguinte a recupera.
+ */
+@Component
+public class IndiceSalas {
+    static final int[] FAIXAS_CAPACIDADE = {1, 2, 4, 6, 8, 10, 12, 16, 20, 30, 40, 50, 100, 200, 500};
+    private static final Comparator<DadosSala> MELHOR_ENCAIXE = Comparator.comparingInt(DadosSala::capacidade)
+            .thenComparing(DadosSala::nome)
+            .thenComparing(DadosSala::id);
+
+    private final SalaJpaRepository salaRepositorio;
+    private final SalaMapper salaMapper = new SalaMapper();
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinais = new HashMap<>();
+    private final List<DadosSala> salas = new ArrayList<>();
+    private final Deque<Integer> ordinaisLivres = new ArrayDeque<>();
+    private final Map<String, BitmapCompactado> porRecurso = new HashMap<>();
+    private final Map<String, BitmapCompactado> porLocalizacao = new HashMap<>();
+    private final BitmapCompactado[] porFaixa = new BitmapCompactado[FAIXAS_CAPACIDADE.length];
+    private BitmapCompactado ativas = new BitmapCompactado();
+    private int[] ordem = new int[0];
+    private int[] posicaoNaOrdem = new int[0];
+    private int tamanhoOrdem;
+    private long geracao;
+    private boolean carregado;
+
+    public IndiceSalas(SalaJpaRepository salaRepositorio) {
+        this.salaRepositorio = salaRepositorio;
+    }
+
+    @PostConstruct
+    @Scheduled(initialDelayString = "${salalivre.salas.indice.recarga:5m}",
+            fixedDelayString = "${salalivre.salas.indice.recarga:5m}")
+    public void recarregar() {
+        long geracaoLida;
+        trava.readLock().lock();
+        try {
+            geracaoLida = geracao;
+        } finally {
+            trava.readLock().unlock();
+        }
+        List<DadosSala> todas = salaMapper.toDados(salaRepositorio.findTodasComRecursos());
+        trava.writeLock().lock();
+        try {
+            // uma alteracao durante a leitura pode nao estar nela: fica o indice atual ate a proxima recarga
+            if (carregado && geracao != geracaoLida) {
+                return;
+            }
+            carregado = true;
+            ordinais.clear();
+            salas.clear();
+            ordinaisLivres.clear();
+            porRecurso.clear();
+            porLocalizacao.clear();
+            for (int i = 0; i < porFaixa.length; i++) {
+                porFaixa[i] = new BitmapCompactado();
+            }
+            ativas = new BitmapCompactado();
+            todas.forEach(this::incluir);
+            ordem = ordinais.values().stream()
+                    .sorted(Comparator.comparing(salas::get, MELHOR_ENCAIXE))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            tamanhoOrdem = ordem.length;
+            posicaoNaOrdem = new int[salas.size()];
+            atualizarPosicoes(0);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui a sala ou substitui seus dados, mantendo o ordinal.
+     */
+    public void atualizar(DadosSala sala) {
+        trava.writeLock().lock();
+        try {
+            geracao++;
+            Integer ordinal = ordinais.get(sala.id());
+            if (ordinal == null) {
+                ordinal = incluir(sala);
+            } else {
+                desindexar(ordinal, salas.get(ordinal));
+                removerDaOrdem(ordinal);
+                salas.set(ordinal, sala);
+                indexar(ordinal, sala);
+            }
+            inserirNaOrdem(ordinal);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void remover(UUID salaId) {
+        trava.writeLock().lock();
+        try {
+            geracao++;
+            Integer ordinal = ordinais.remove(salaId);
+            if (ordinal != null) {
+                desindexar(ordinal, salas.get(ordinal));
+                removerDaOrdem(ordinal);
+                salas.set(ordinal, null);
+                ordinaisLivres.push(ordinal);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Salas ativas que atendem aos criterios, da menor capacidade para a maior, como na busca por
+     * disponibilidade.
+     */
+    public List<DadosSala> buscar(CriteriosBuscaSala criterios) {
+        trava.readLock().lock();
+        try {
+            List<BitmapCompactado> filtros = new ArrayList<>();
+            filtros.add(ativas);
+            int faixa = -1;
+            if (criterios.capacidadeMinima() != null) {
+                faixa = faixaDe(criterios.capacidadeMinima());
+                filtros.add(porFaixa[faixa]);
+            }
+            if (criterios.localizacao() != null) {
+                filtros.add(porLocalizacao.get(normalizar(criterios.localizacao())));
+            }
+            criterios.recursos().forEach(recurso -> filtros.add(porRecurso.get(recurso)));
+            if (filtros.contains(null)) {
+                return List.of();
+            }
+            filtros.sort(Comparator.comparingInt(BitmapCompactado::cardinalidade));
+            BitmapCompactado resultado = filtros.get(0);
+            for (int i = 1; i < filtros.size() && !resultado.vazio(); i++) {
+                resultado = resultado.intersecao(filtros.get(i));
+            }
+            boolean conferirCapacidade = faixa >= 0 && FAIXAS_CAPACIDADE[faixa] != criterios.capacidadeMinima();
+            // a ordem de melhor encaixe ja esta mantida: marcar as posicoes e percorre-las basta, sem comparar salas
+            BitSet posicoes = new BitSet(tamanhoOrdem);
+            for (int ordinal : resultado.paraArray()) {
+                if (!conferirCapacidade || salas.get(ordinal).capacidade() >= criterios.capacidadeMinima()) {
+                    posicoes.set(posicaoNaOrdem[ordinal]);
+                }
+            }
+            int limite = criterios.limite() == null ? Integer.MAX_VALUE : criterios.limite();
+            List<DadosSala> resposta = new ArrayList<>(Math.min(limite, posicoes.cardinality()));
+            for (int posicao = posicoes.nextSetBit(0); posicao >= 0 && resposta.size() < limite;
+                 posicao = posicoes.nextSetBit(posicao + 1)) {
+                resposta.add(salas.get(ordem[posicao]));
+            }
+            return resposta;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        trava.readLock().lock();
+        try {
+            return ordinais.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes ocupados pelos bitmaps, sem os mapas de chaves nem os dados das salas.
+     */
+    public long bytesDosBitmaps() {
+        trava.readLock().lock();
+        try {
+            long total = ativas.bytesOcupados();
+            for (BitmapCompactado bitmap : porFaixa) {
+                total += bitmap.bytesOcupados();
+            }
+            for (BitmapCompactado bitmap : porRecurso.values()) {
+                total += bitmap.bytesOcupados();
+            }
+            for (BitmapCompactado bitmap : porLocalizacao.values()) {
+                total += bitmap.bytesOcupados();
+            }
+            return total;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private int incluir(DadosSala sala) {
+        int ordinal;
+        if (ordinaisLivres.isEmpty()) {
+            ordinal = salas.size();
+            salas.add(sala);
+        } else {
+            ordinal = ordinaisLivres.pop();
+            salas.set(ordinal, sala);
+        }
+        ordinais.put(sala.id(), ordinal);
+        indexar(ordinal, sala);
+        return ordinal;
+    }
+
+    private void inserirNaOrdem(int ordinal) {
+        DadosSala sala = salas.get(ordinal);
+        int inicio = 0;
+        int fim = tamanhoOrdem;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (MELHOR_ENCAIXE.compare(salas.get(ordem[meio]), sala) < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        if (tamanhoOrdem == ordem.length) {
+            ordem = Arrays.copyOf(ordem, Math.max(16, tamanhoOrdem * 2));
+        }
+        if (salas.size() > posicaoNaOrdem.length) {
+            posicaoNaOrdem = Arrays.copyOf(posicaoNaOrdem, Math.max(16, salas.size() * 2));
+        }
+        System.arraycopy(ordem, inicio, ordem, inicio + 1, tamanhoOrdem - inicio);
+        ordem[inicio] = ordinal;
+        tamanhoOrdem++;
+        atualizarPosicoes(inicio);
+    }
+
+    private void removerDaOrdem(int ordinal) {
+        int posicao = posicaoNaOrdem[ordinal];
+        System.arraycopy(ordem, posicao + 1, ordem, posicao, tamanhoOrdem - posicao - 1);
+        tamanhoOrdem--;
+        atualizarPosicoes(posicao);
+    }
+
+    private void atualizarPosicoes(int aPartirDe) {
+        for (int posicao = aPartirDe; posicao < tamanhoOrdem; posicao++) {
+            posicaoNaOrdem[ordem[posicao]] = posicao;
+        }
+    }
+
+    private void indexar(int ordinal, DadosSala sala) {
+        if (sala.ativa()) {
+            ativas.adicionar(ordinal);
+        }
+        for (int i = 0; i < FAIXAS_CAPACIDADE.length && FAIXAS_CAPACIDADE[i] <= sala.capacidade(); i++) {
+            porFaixa[i].adicionar(ordinal);
+        }
+        porLocalizacao.computeIfAbsent(normalizar(sala.localizacao()), chave -> new BitmapCompactado())
+                .adicionar(ordinal);
+        for (String recurso : sala.recursos()) {
+            porRecurso.computeIfAbsent(normalizar(recurso.trim()), chave -> new BitmapCompactado())
+                    .adicionar(ordinal);
+        }
+    }
+
+    private void desindexar(int ordinal, DadosSala sala) {
+        ativas.remover(ordinal);
+        for (BitmapCompactado bitmap : porFaixa) {
+            bitmap.remover(ordinal);
+        }
+        removerDaChave(porLocalizacao, normalizar(sala.localizacao()), ordinal);
+        for (String recurso : sala.recursos()) {
+            removerDaChave(porRecurso, normalizar(recurso.trim()), ordinal);
+        }
+    }
+
+    private static void removerDaChave(Map<String, BitmapCompactado> bitmaps, String chave, int ordinal) {
+        BitmapCompactado bitmap = bitmaps.get(chave);
+        if (bitmap != null && bitmap.remover(ordinal) && bitmap.vazio()) {
+            bitmaps.remove(chave);
+        }
+    }
+
+    private static int faixaDe(int capacidadeMinima) {
+        int faixa = 0;
+        while (faixa + 1 < FAIXAS_CAPACIDADE.length && FAIXAS_CAPACIDADE[faixa + 1] <= capacidadeMinima) {
+            faixa++;
+        }
+        return faixa;
+    }
+
+    private static String normalizar(String valor) {
+        return valor.toLowerCase(Locale.ROOT);
+    }
+}
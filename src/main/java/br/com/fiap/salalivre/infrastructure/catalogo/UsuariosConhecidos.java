@@ -0,0 +1,72 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.salalivre.infrastructure.persistence.repository.UsuarioJpaRepository;
+
+/**
+ * Ids de todos os usuarios cadastrados, carregados na subida e mantidos pelos inserts e remocoes
+ * confirmados. Um id presente dispensa o banco; um id ausente nao e prova de inexistencia (usuario
+ * gravado fora da aplicacao, por exemplo), entao quem precisa de resposta exata consulta o banco
+ * nesse caso e o id encontrado passa a ser conhecido.
+ */
+@Component
+public class UsuariosConhecidos {
+    private final UsuarioJpaRepository usuarioRepositorio;
+    private volatile ConjuntoUuid ids = new ConjuntoUuid();
+
+    public UsuariosConhecidos(UsuarioJpaRepository usuarioRepositorio) {
+        this.usuarioRepositorio = usuarioRepositorio;
+    }
+
+    @PostConstruct
+    public void recarregar() {
+        List<UUID> existentes = usuarioRepositorio.findTodosIds();
+        ConjuntoUuid novo = new ConjuntoUuid(existentes.size());
+        existentes.forEach(novo::adicionar);
+        ids = novo;
+    }
+
+    public boolean contem(UUID usuarioId) {
+        return ids.contem(usuarioId);
+    }
+
+    public void registrar(UUID usuarioId) {
+        ids.adicionar(usuarioId);
+    }
+
+    public void remover(UUID usuarioId) {
+        ids.remover(usuarioId);
+    }
+
+    /**
+     * Filtra os ids de usuarios existentes, indo ao banco apenas pelos que nao estao em memoria.
+     */
+    public Set<UUID> existentes(Collection<UUID> usuarioIds) {
+        Set<UUID> existentes = new HashSet<>();
+        List<UUID> desconhecidos = new ArrayList<>();
+        for (UUID usuarioId : usuarioIds) {
+            if (contem(usuarioId)) {
+                existentes.add(usuarioId);
+            } else {
+                desconhecidos.add(usuarioId);
+            }
+        }
+        if (!desconhecidos.isEmpty()) {
+            for (UUID usuarioId : usuarioRepositorio.findIdsExistentes(desconhecidos)) {
+                existentes.add(usuarioId);
+                registrar(usuarioId);
+            }
+        }
+        return existentes;
+    }
+}
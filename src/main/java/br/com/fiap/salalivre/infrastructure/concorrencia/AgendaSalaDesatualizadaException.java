@@ -0,0 +1,23 @@
+package br.com.fiap.salalivre.infrastructure.concorrencia;
+
+import java.util.UUID;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+public class AgendaSalaDesatualizadaException extends OptimisticLockingFailureException {
+    private final UUID salaId;
+
+    public AgendaSalaDesatualizadaException(UUID salaId) {
+        super("Agenda da sala " + salaId + " alterada por outra transacao.");
+        this.salaId = salaId;
+    }
+
+    public AgendaSalaDesatualizadaException(UUID salaId, Throwable causa) {
+        super("Agenda da sala " + salaId + " alterada por outra transacao.", causa);
+        this.salaId = salaId;
+    }
+
+    public UUID getSalaId() {
+        return salaId;
+    }
+}
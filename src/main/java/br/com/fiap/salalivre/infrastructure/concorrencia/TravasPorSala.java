@@ -0,0 +1,53 @@
+package br.com.fiap.salalivre.infrastructure.concorrencia;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Travas listradas por sala: um array fixo de locks indexado pelo hash do id da sala. A trava e
+ * liberada so no fim da transacao, depois do commit e da atualizacao da agenda em memoria, para que
+ * a proxima validacao da mesma sala ja enxergue a reserva gravada.
+ */
+@Component
+public class TravasPorSala {
+    private static final int QUANTIDADE_TRAVAS = 1024;
+
+    private final ReentrantLock[] travas;
+
+    public TravasPorSala() {
+        this(QUANTIDADE_TRAVAS);
+    }
+
+    TravasPorSala(int quantidade) {
+        if (Integer.bitCount(quantidade) != 1) {
+            throw new IllegalArgumentException("Quantidade de travas deve ser potencia de 2.");
+        }
+        travas = new ReentrantLock[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    public void travarAteFimDaTransacao(UUID salaId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Trava por sala exige uma transacao ativa.");
+        }
+        ReentrantLock trava = travaDa(salaId);
+        trava.lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                trava.unlock();
+            }
+        });
+    }
+
+    ReentrantLock travaDa(UUID salaId) {
+        int hash = salaId.hashCode();
+        return travas[(hash ^ (hash >>> 16)) & (travas.length - 1)];
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.fiap.salalivre.infrastructure.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Agendadores das tarefas {@code @Scheduled}. As tarefas comuns dividem o {@code taskScheduler}, montado
+ * pelo Spring Boot a partir de {@code spring.task.scheduling.*}. O batimento das particoes e o tick da roda
+ * de lembretes rodam no {@value #AGENDADOR_LEMBRETES}, com uma thread para cada: uma recarga de indice ou
+ * um relay demorado no agendador comum nao atrasa o tick nem deixa as concessoes vencerem.
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+    public static final String AGENDADOR_LEMBRETES = "agendadorLembretes";
+
+    // declarar outro TaskScheduler desliga o padrao do Spring Boot, entao o comum e declarado aqui tambem
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(AGENDADOR_LEMBRETES)
+    public ThreadPoolTaskScheduler agendadorLembretes() {
+        ThreadPoolTaskScheduler agendador = new ThreadPoolTaskScheduler();
+        agendador.setPoolSize(2);
+        agendador.setThreadNamePrefix("lembretes-");
+        return agendador;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.salalivre.infrastructure.id;
+
+import java.util.UUID;
+
+/**
+ * Fonte dos ids de novas entidades. A implementacao padrao e o {@link GeradorUuidV7}; outra pode ser
+ * registrada como bean no lugar dele (por exemplo {@code UUID::randomUUID} em testes).
+ */
+@FunctionalInterface
+public interface GeradorIds {
+    UUID novoId();
+}
@@ -0,0 +1,51 @@
+package br.com.fiap.salalivre.infrastructure.id;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * UUIDv7 (RFC 9562): 48 bits de milissegundos Unix, versao, 12 bits de contador, variante e 62 bits
+ * aleatorios. Ids gerados em sequencia caem no fim do indice da chave primaria em vez de espalhados pela
+ * arvore, como os v4.
+ *
+ * <p>Milissegundo e contador ficam juntos em um {@link AtomicLong} atualizado por CAS, sem trava: cada id
+ * e estritamente maior que o anterior mesmo no mesmo milissegundo ou se o relogio voltar. O contador
+ * comeca em um valor aleatorio da metade inferior a cada milissegundo e, se estourar, avanca o
+ * milissegundo. Os bits aleatorios vem do {@link ThreadLocalRandom}: os ids nao sao segredo, o acesso as
+ * reservas e controlado pelos cabecalhos do solicitante.
+ */
+@Component
+public class GeradorUuidV7 implements GeradorIds {
+    private static final int BITS_CONTADOR = 12;
+    private static final long VERSAO = 0x7000L;
+    private static final long VARIANTE = 0x8000000000000000L;
+
+    private final Clock clock;
+    private final AtomicLong ultimo = new AtomicLong();
+
+    public GeradorUuidV7(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID novoId() {
+        long inicioDoMilissegundo = clock.millis() << BITS_CONTADOR;
+        long anterior;
+        long atual;
+        do {
+            anterior = ultimo.get();
+            atual = inicioDoMilissegundo > anterior
+                    ? inicioDoMilissegundo | ThreadLocalRandom.current().nextInt(1 << (BITS_CONTADOR - 1))
+                    : anterior + 1;
+        } while (!ultimo.compareAndSet(anterior, atual));
+        long milissegundo = atual >>> BITS_CONTADOR;
+        long contador = atual & ((1L << BITS_CONTADOR) - 1);
+        long alta = milissegundo << 16 | VERSAO | contador;
+        long baixa = ThreadLocalRandom.current().nextLong() >>> 2 | VARIANTE;
+        return new UUID(alta, baixa);
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.fiap.salalivre.infrastructure.notificacao;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.salalivre.infrastructure.id.GeradorIds;
+import br.com.fiap.salalivre.infrastructure.persistence.mapper.EventoSaidaMapper;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.EventoSaidaJpaRepository;
+
+/**
+ * Grava eventos de reserva na caixa de saida ({@code eventos_saida}) dentro da transacao corrente, para
+ * que so existam se a alteracao que os gerou for confirmada. A entrega fica com o {@link RelayCaixaSaida}.
+ */
+@Component
+public class CaixaSaidaEventos {
+    private final EventoSaidaJpaRepository eventoSaidaRepositorio;
+    private final GeradorIds geradorIds;
+    private final Clock clock;
+    private final EventoSaidaMapper eventoSaidaMapper = new EventoSaidaMapper();
+
+    public CaixaSaidaEventos(EventoSaidaJpaRepository eventoSaidaRepositorio, GeradorIds geradorIds, Clock clock) {
+        this.eventoSaidaRepositorio = eventoSaidaRepositorio;
+        this.geradorIds = geradorIds;
+        this.clock = clock;
+    }
+
+    public void registrar(Object evento) {
+        eventoSaidaRepositorio.inserir(eventoSaidaMapper.toEntity(geradorIds.novoId(), evento, LocalDateTime.now(clock)));
+    }
+
+    public void registrarTodos(List<?> eventos) {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        eventoSaidaRepositorio.inserirTodos(eventos.stream()
+                .map(evento -> eventoSaidaMapper.toEntity(geradorIds.novoId(), evento, agora))
+                .toList());
+    }
+}
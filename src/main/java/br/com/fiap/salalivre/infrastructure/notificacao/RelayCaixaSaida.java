@@ -0,0 +1,178 @@
+package br.com.fiap.salalivre.infrastructure.notificacao;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.salalivre.application.service.NotificacaoService;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.EventoSaidaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.mapper.EventoSaidaMapper;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.EventoSaidaJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Esvazia a caixa de saida em lotes. Cada lote e reservado em uma transacao curta, marcando dono e prazo
+ * nas linhas livres (o que faz o papel de {@code FOR UPDATE SKIP LOCKED}: duas instancias nunca ficam com
+ * a mesma linha), entregue pelo {@link NotificacaoService} fora de transacao e apagado de uma vez. Eventos
+ * cuja entrega falhou, ou que ficaram com uma instancia que caiu no meio do lote, voltam a ser tentados
+ * quando o prazo da reserva vence; a entrega e, portanto, pelo menos uma vez. Cada reserva conta uma
+ * tentativa, e o evento que falha na tentativa {@code maximoTentativas} e descartado: fica na tabela com
+ * {@code descartadoEm}, fora dos lotes, e conta em {@value #METRICA_DESCARTADAS}. Os gauges
+ * {@value #METRICA_FILA} e {@value #METRICA_FILA_DESCARTADOS} contam as linhas a entregar e as descartadas
+ * a cada leitura; as descartadas sao apagadas depois de {@code retencaoDescartados}.
+ */
+@Component
+public class RelayCaixaSaida {
+    static final String METRICA_ENTREGUES = "salalivre.notificacoes.entregues";
+    static final String METRICA_FALHAS = "salalivre.notificacoes.falhas";
+    static final String METRICA_DESCARTADAS = "salalivre.notificacoes.descartadas";
+    static final String METRICA_FILA = "salalivre.notificacoes.fila";
+    static final String METRICA_FILA_DESCARTADOS = "salalivre.notificacoes.fila.descartados";
+    private static final Logger LOGGER = Logger.getLogger(RelayCaixaSaida.class.getName());
+
+    private final EventoSaidaJpaRepository eventoSaidaRepositorio;
+    private final NotificacaoService notificacaoService;
+    private final TransactionTemplate transacao;
+    private final Clock clock;
+    private final int tamanhoLote;
+    private final int lotesPorExecucao;
+    private final Duration prazoReserva;
+    private final int maximoTentativas;
+    private final Duration retencaoDescartados;
+    private final Counter entregues;
+    private final Counter falhas;
+    private final Counter descartadas;
+    private final EventoSaidaMapper eventoSaidaMapper = new EventoSaidaMapper();
+
+    public RelayCaixaSaida(EventoSaidaJpaRepository eventoSaidaRepositorio,
+                           NotificacaoService notificacaoService,
+                           PlatformTransactionManager transactionManager,
+                           Clock clock,
+                           MeterRegistry meterRegistry,
+                           @Value("${salalivre.notificacoes.tamanho-lote:500}") int tamanhoLote,
+                           @Value("${salalivre.notificacoes.lotes-por-execucao:20}") int lotesPorExecucao,
+                           @Value("${salalivre.notificacoes.prazo-reserva:1m}") Duration prazoReserva,
+                           @Value("${salalivre.notificacoes.tentativas:10}") int maximoTentativas,
+                           @Value("${salalivre.notificacoes.retencao-descartados:7d}") Duration retencaoDescartados) {
+        this.eventoSaidaRepositorio = eventoSaidaRepositorio;
+        this.notificacaoService = notificacaoService;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.tamanhoLote = tamanhoLote;
+        this.lotesPorExecucao = lotesPorExecucao;
+        this.prazoReserva = prazoReserva;
+        this.maximoTentativas = maximoTentativas;
+        this.retencaoDescartados = retencaoDescartados;
+        this.entregues = meterRegistry.counter(METRICA_ENTREGUES);
+        this.falhas = meterRegistry.counter(METRICA_FALHAS);
+        this.descartadas = meterRegistry.counter(METRICA_DESCARTADAS);
+        Gauge.builder(METRICA_FILA, eventoSaidaRepositorio, EventoSaidaJpaRepository::countByDescartadoEmIsNull)
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder(METRICA_FILA_DESCARTADOS, eventoSaidaRepositorio, EventoSaidaJpaRepository::countByDescartadoEmIsNotNull)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Encaminha lotes enquanto vierem cheios, ate {@code lotesPorExecucao}; o que sobrar fica para a proxima
+     * execucao, para que uma fila grande nao prenda a thread do agendador.
+     */
+    @Scheduled(initialDelayString = "${salalivre.notificacoes.intervalo:500ms}",
+            fixedDelayString = "${salalivre.notificacoes.intervalo:500ms}")
+    public void encaminharPendentes() {
+        for (int lote = 0; lote < lotesPorExecucao; lote++) {
+            if (encaminharLote() < tamanhoLote) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${salalivre.notificacoes.limpeza:1h}",
+            fixedDelayString = "${salalivre.notificacoes.limpeza:1h}")
+    public void apagarDescartadosAntigos() {
+        LocalDateTime limite = LocalDateTime.now(clock).minus(retencaoDescartados);
+        Integer apagados = transacao.execute(status -> eventoSaidaRepositorio.apagarDescartadosAntesDe(limite));
+        if (apagados != null && apagados > 0) {
+            LOGGER.log(Level.INFO, "{0} eventos descartados da caixa de saida apagados apos {1}.",
+                    new Object[]{apagados, retencaoDescartados});
+        }
+    }
+
+    /**
+     * Reserva, entrega e apaga um lote; devolve quantos eventos foram reservados.
+     */
+    public int encaminharLote() {
+        UUID dono = UUID.randomUUID();
+        List<EventoSaidaEntity> lote = transacao.execute(status -> {
+            LocalDateTime agora = LocalDateTime.now(clock);
+            List<UUID> livres = eventoSaidaRepositorio.findIdsLivres(agora, Limit.of(tamanhoLote));
+            if (livres.isEmpty()) {
+                return List.<EventoSaidaEntity>of();
+            }
+            eventoSaidaRepositorio.reservar(livres, dono, agora.plus(prazoReserva), agora);
+            return eventoSaidaRepositorio.findByReservadoPorOrderById(dono);
+        });
+        List<UUID> entreguesNoLote = new ArrayList<>(lote.size());
+        List<UUID> descartadosNoLote = new ArrayList<>();
+        for (EventoSaidaEntity evento : lote) {
+            // passou do limite sem falhar aqui: a instancia que o tinha caiu no meio da entrega
+            if (evento.getTentativas() > maximoTentativas) {
+                descartadosNoLote.add(evento.getId());
+                LOGGER.log(Level.SEVERE, "Evento {0} da caixa de saida descartado apos {1} tentativas.",
+                        new Object[]{evento.getId(), maximoTentativas});
+                continue;
+            }
+            try {
+                notificacaoService.entregar(eventoSaidaMapper.toEvento(evento));
+                entreguesNoLote.add(evento.getId());
+            } catch (RuntimeException e) {
+                falhas.increment();
+                if (evento.getTentativas() == maximoTentativas) {
+                    descartadosNoLote.add(evento.getId());
+                    log(Level.SEVERE, e, "Evento {0} da caixa de saida descartado apos {1} tentativas.",
+                            evento.getId(), maximoTentativas);
+                } else {
+                    log(Level.WARNING, e, "Falha ao entregar o evento {0} da caixa de saida.", evento.getId());
+                }
+            }
+        }
+        if (!entreguesNoLote.isEmpty() || !descartadosNoLote.isEmpty()) {
+            LocalDateTime agora = LocalDateTime.now(clock);
+            transacao.executeWithoutResult(status -> {
+                if (!entreguesNoLote.isEmpty()) {
+                    eventoSaidaRepositorio.apagarEntregues(dono, entreguesNoLote);
+                }
+                if (!descartadosNoLote.isEmpty()) {
+                    eventoSaidaRepositorio.descartar(dono, descartadosNoLote, agora);
+                }
+            });
+            entregues.increment(entreguesNoLote.size());
+            descartadas.increment(descartadosNoLote.size());
+        }
+        return lote.size();
+    }
+
+    private static void log(Level nivel, Throwable erro, String mensagem, Object... parametros) {
+        LogRecord registro = new LogRecord(nivel, mensagem);
+        registro.setLoggerName(LOGGER.getName());
+        registro.setParameters(parametros);
+        registro.setThrown(erro);
+        LOGGER.log(registro);
+    }
+}
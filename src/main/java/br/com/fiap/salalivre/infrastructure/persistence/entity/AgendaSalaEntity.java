@@ -0,0 +1,28 @@
+package br.com.fiap.salalivre.infrastructure.persistence.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "agenda_salas")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgendaSalaEntity {
+    @Id
+    private UUID salaId;
+
+    @Version
+    private Long versao;
+}
@@ -0,0 +1,67 @@
+package br.com.fiap.salalivre.infrastructure.persistence.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Evento de reserva aguardando entrega (caixa de saida). Gravado na mesma transacao da reserva e apagado
+ * depois de entregue; o id e um UUIDv7, entao a ordem dos ids e a ordem de registro.
+ * {@code reservadoPor}/{@code reservadoAte} marcam o lote de quem o esta entregando, {@code tentativas}
+ * conta as vezes que o evento foi reservado e {@code descartadoEm} marca o que esgotou as tentativas e
+ * fica na tabela so para consulta.
+ */
+@Entity
+@Table(name = "eventos_saida", indexes = {
+        @Index(name = "idx_eventos_saida_reservado_por", columnList = "reservadoPor")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoSaidaEntity {
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    private TipoEvento tipo;
+
+    private UUID reservaId;
+
+    private UUID salaId;
+
+    private UUID usuarioId;
+
+    private LocalDateTime inicio;
+
+    private LocalDateTime fim;
+
+    private LocalDateTime registradoEm;
+
+    private UUID reservadoPor;
+
+    private LocalDateTime reservadoAte;
+
+    private int tentativas;
+
+    private LocalDateTime descartadoEm;
+
+    public enum TipoEvento {
+        RESERVA_CRIADA,
+        RESERVA_CANCELADA,
+        RESERVA_ALTERADA,
+        RESERVA_LEMBRETE
+    }
+}
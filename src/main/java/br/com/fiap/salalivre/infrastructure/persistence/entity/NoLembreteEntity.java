@@ -0,0 +1,30 @@
+package br.com.fiap.salalivre.infrastructure.persistence.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Batimento de uma instancia que processa lembretes; as vivas dividem as particoes entre si.
+ */
+@Entity
+@Table(name = "nos_lembrete")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NoLembreteEntity {
+    @Id
+    private UUID id;
+
+    private LocalDateTime expiraEm;
+}
@@ -0,0 +1,33 @@
+package br.com.fiap.salalivre.infrastructure.persistence.entity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Concessao de uma particao dos lembretes (um balde do hash do id da reserva) a uma instancia. Livre
+ * quando nao tem dono ou quando {@code expiraEm} passou sem renovacao.
+ */
+@Entity
+@Table(name = "particoes_lembrete")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ParticaoLembreteEntity {
+    @Id
+    private Integer particao;
+
+    private UUID dono;
+
+    private LocalDateTime expiraEm;
+}
@@ -0,0 +1,32 @@
+package br.com.fiap.salalivre.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "recursos")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecursoEntity {
+    // os codigos sao posicoes de bit na mascara de recursos, entao comecam em zero
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recursos_codigo")
+    @SequenceGenerator(name = "recursos_codigo", sequenceName = "recursos_codigo_seq", initialValue = 0, allocationSize = 1)
+    private Integer codigo;
+
+    @Column(nullable = false, unique = true)
+    private String nome;
+}
@@ -4,11 +4,15 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.infrastructure.persistence.listener.ReservaEntityListener;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,7 +20,14 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "reservas")
+@Table(name = "reservas", indexes = {
+        @Index(name = "idx_reservas_inicio_fim", columnList = "inicio, fim"),
+        @Index(name = "idx_reservas_sala_fim", columnList = "salaId, fim"),
+        @Index(name = "idx_reservas_inicio_id", columnList = "inicio, id"),
+        @Index(name = "idx_reservas_sala_inicio_id", columnList = "salaId, inicio, id"),
+        @Index(name = "idx_reservas_usuario_inicio_id", columnList = "usuarioId, inicio, id")
+})
+@EntityListeners(ReservaEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,7 +50,13 @@ public class ReservaEntity {
 
     private boolean lembreteEnviado;
 
+    // marca de quem enviou o lembrete: separa as linhas que um update marcou das que ja estavam marcadas
+    private UUID lembreteMarcadoPor;
+
     private LocalDateTime criadoEm;
 
     private LocalDateTime atualizadoEm;
+
+    @Version
+    private Long versao;
 }
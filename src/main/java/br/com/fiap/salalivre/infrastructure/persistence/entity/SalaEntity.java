@@ -8,18 +8,25 @@ import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Table;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import br.com.fiap.salalivre.infrastructure.persistence.listener.SalaEntityListener;
+
 @Entity
 @Table(name = "salas")
+@EntityListeners(SalaEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -38,8 +45,16 @@ public class SalaEntity {
     @ElementCollection
     @CollectionTable(name = "sala_recursos", joinColumns = @JoinColumn(name = "sala_id"))
     @Column(name = "recurso")
+    @BatchSize(size = 100)
     @Builder.Default
     private List<String> recursos = new ArrayList<>();
 
+    /**
+     * Um bit por recurso do {@code CatalogoRecursos}; calculada por quem grava a sala, antes de abrir a
+     * transacao, ja que registrar um recurso novo abre transacao propria.
+     */
+    @ColumnDefault("0")
+    private long recursosMascara;
+
     private boolean ativa;
 }
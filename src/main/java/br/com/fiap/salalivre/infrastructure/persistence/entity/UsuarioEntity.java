@@ -3,7 +3,9 @@ package br.com.fiap.salalivre.infrastructure.persistence.entity;
 import java.util.UUID;
 
 import br.com.fiap.salalivre.domain.model.TipoUsuario;
+import br.com.fiap.salalivre.infrastructure.persistence.listener.UsuarioEntityListener;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
@@ -15,6 +17,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(UsuarioEntityListener.class)
 @Table(name = "usuarios")
 @Getter
 @Setter
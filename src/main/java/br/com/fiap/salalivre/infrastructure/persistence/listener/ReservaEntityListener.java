@@ -0,0 +1,54 @@
+package br.com.fiap.salalivre.infrastructure.persistence.listener;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.infrastructure.agenda.AgendaSalasIndice;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
+import br.com.fiap.salalivre.infrastructure.scheduler.LembreteReservaScheduler;
+
+@Component
+public class ReservaEntityListener {
+    private final ObjectProvider<AgendaSalasIndice> agendaSalasIndice;
+    private final ObjectProvider<LembreteReservaScheduler> lembretes;
+
+    public ReservaEntityListener(ObjectProvider<AgendaSalasIndice> agendaSalasIndice,
+                                 ObjectProvider<LembreteReservaScheduler> lembretes) {
+        this.agendaSalasIndice = agendaSalasIndice;
+        this.lembretes = lembretes;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void aoGravar(ReservaEntity reserva) {
+        UUID reservaId = reserva.getId();
+        UUID salaId = reserva.getSalaId();
+        UUID usuarioId = reserva.getUsuarioId();
+        LocalDateTime inicio = reserva.getInicio();
+        LocalDateTime fim = reserva.getFim();
+        StatusReserva status = reserva.getStatus();
+        boolean lembreteEnviado = reserva.isLembreteEnviado();
+        AposCommit.executar(() -> {
+            agendaSalasIndice.ifAvailable(indice -> indice.registrar(reservaId, salaId, inicio, fim, status));
+            lembretes.ifAvailable(agenda -> agenda.reservaGravada(reservaId, salaId, usuarioId, inicio, fim, status,
+                    lembreteEnviado));
+        });
+    }
+
+    @PostRemove
+    public void aoRemover(ReservaEntity reserva) {
+        UUID reservaId = reserva.getId();
+        AposCommit.executar(() -> {
+            agendaSalasIndice.ifAvailable(indice -> indice.remover(reservaId));
+            lembretes.ifAvailable(agenda -> agenda.reservaRemovida(reservaId));
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.fiap.salalivre.infrastructure.persistence.listener;
+
+import java.util.UUID;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoSalas;
+import br.com.fiap.salalivre.infrastructure.catalogo.IndiceSalas;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+
+@Component
+public class SalaEntityListener {
+    private final ObjectProvider<CatalogoSalas> catalogoSalas;
+    private final ObjectProvider<IndiceSalas> indiceSalas;
+
+    public SalaEntityListener(ObjectProvider<CatalogoSalas> catalogoSalas,
+                              ObjectProvider<IndiceSalas> indiceSalas) {
+        this.catalogoSalas = catalogoSalas;
+        this.indiceSalas = indiceSalas;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void aoAlterar(SalaEntity sala) {
+        // copia tirada ainda na transacao: depois do commit a entidade pode ja estar desanexada
+        DadosSala dados = new DadosSala(sala.getId(), sala.getNome(), sala.getCapacidade(), sala.getLocalizacao(),
+                sala.getRecursos(), sala.isAtiva());
+        AposCommit.executar(() -> {
+            catalogoSalas.ifAvailable(CatalogoSalas::invalidar);
+            indiceSalas.ifAvailable(indice -> indice.atualizar(dados));
+        });
+    }
+
+    @PostRemove
+    public void aoRemover(SalaEntity sala) {
+        UUID salaId = sala.getId();
+        AposCommit.executar(() -> {
+            catalogoSalas.ifAvailable(CatalogoSalas::invalidar);
+            indiceSalas.ifAvailable(indice -> indice.remover(salaId));
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.fiap.salalivre.infrastructure.persistence.listener;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.salalivre.infrastructure.catalogo.UsuariosConhecidos;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.UsuarioEntity;
+
+@Component
+public class UsuarioEntityListener {
+    private final ObjectProvider<UsuariosConhecidos> usuariosConhecidos;
+
+    public UsuarioEntityListener(ObjectProvider<UsuariosConhecidos> usuariosConhecidos) {
+        this.usuariosConhecidos = usuariosConhecidos;
+    }
+
+    @PostPersist
+    public void aoInserir(UsuarioEntity usuario) {
+        AposCommit.executar(() -> usuariosConhecidos.ifAvailable(conhecidos -> conhecidos.registrar(usuario.getId())));
+    }
+
+    @PostRemove
+    public void aoRemover(UsuarioEntity usuario) {
+        AposCommit.executar(() -> usuariosConhecidos.ifAvailable(conhecidos -> conhecidos.remover(usuario.getId())));
+    }
+}
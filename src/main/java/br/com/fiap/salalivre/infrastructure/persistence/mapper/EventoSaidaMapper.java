@@ -0,0 +1,48 @@
+package br.com.fiap.salalivre.infrastructure.persistence.mapper;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import br.com.fiap.salalivre.domain.event.ReservaAlteradaEvent;
+import br.com.fiap.salalivre.domain.event.ReservaCanceladaEvent;
+import br.com.fiap.salalivre.domain.event.ReservaCriadaEvent;
+import br.com.fiap.salalivre.domain.event.ReservaLembreteEvent;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.EventoSaidaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.EventoSaidaEntity.TipoEvento;
+
+public class EventoSaidaMapper {
+    public EventoSaidaEntity toEntity(UUID id, Object evento, LocalDateTime registradoEm) {
+        return switch (evento) {
+            case ReservaCriadaEvent e -> entity(id, TipoEvento.RESERVA_CRIADA, registradoEm)
+                    .reservaId(e.reservaId()).salaId(e.salaId()).usuarioId(e.usuarioId())
+                    .inicio(e.inicio()).fim(e.fim()).build();
+            case ReservaCanceladaEvent e -> entity(id, TipoEvento.RESERVA_CANCELADA, registradoEm)
+                    .reservaId(e.reservaId()).salaId(e.salaId()).usuarioId(e.usuarioId())
+                    .inicio(e.inicio()).fim(e.fim()).build();
+            case ReservaAlteradaEvent e -> entity(id, TipoEvento.RESERVA_ALTERADA, registradoEm)
+                    .reservaId(e.reservaId()).salaId(e.salaId()).usuarioId(e.usuarioId())
+                    .inicio(e.inicio()).fim(e.fim()).build();
+            case ReservaLembreteEvent e -> entity(id, TipoEvento.RESERVA_LEMBRETE, registradoEm)
+                    .reservaId(e.reservaId()).salaId(e.salaId()).usuarioId(e.usuarioId())
+                    .inicio(e.inicio()).fim(e.fim()).build();
+            default -> throw new IllegalArgumentException("Evento sem tipo na caixa de saida: " + evento);
+        };
+    }
+
+    public Object toEvento(EventoSaidaEntity entity) {
+        return switch (entity.getTipo()) {
+            case RESERVA_CRIADA -> new ReservaCriadaEvent(entity.getReservaId(), entity.getSalaId(),
+                    entity.getUsuarioId(), entity.getInicio(), entity.getFim());
+            case RESERVA_CANCELADA -> new ReservaCanceladaEvent(entity.getReservaId(), entity.getSalaId(),
+                    entity.getUsuarioId(), entity.getInicio(), entity.getFim());
+            case RESERVA_ALTERADA -> new ReservaAlteradaEvent(entity.getReservaId(), entity.getSalaId(),
+                    entity.getUsuarioId(), entity.getInicio(), entity.getFim());
+            case RESERVA_LEMBRETE -> new ReservaLembreteEvent(entity.getReservaId(), entity.getSalaId(),
+                    entity.getUsuarioId(), entity.getInicio(), entity.getFim());
+        };
+    }
+
+    private static EventoSaidaEntity.EventoSaidaEntityBuilder entity(UUID id, TipoEvento tipo, LocalDateTime registradoEm) {
+        return EventoSaidaEntity.builder().id(id).tipo(tipo).registradoEm(registradoEm);
+    }
+}
@@ -1,9 +1,12 @@
 package br.com.fiap.salalivre.infrastructure.persistence.mapper;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.SalaRecursoView;
 
 public class SalaMapper {
     public Sala toDomain(SalaEntity entity) {
@@ -20,7 +23,7 @@ public class SalaMapper {
         );
     }
 
-    public SalaEntity toEntity(Sala domain) {
+    public SalaEntity toEntity(Sala domain, long recursosMascara) {
         if (domain == null) {
             return null;
         }
@@ -30,11 +33,12 @@ public class SalaMapper {
                 .capacidade(domain.getCapacidade())
                 .localizacao(domain.getLocalizacao())
                 .recursos(new ArrayList<>(domain.getRecursos()))
+                .recursosMascara(recursosMascara)
                 .ativa(domain.isAtiva())
                 .build();
     }
 
-    public void atualizarEntity(Sala domain, SalaEntity entity) {
+    public void atualizarEntity(Sala domain, long recursosMascara, SalaEntity entity) {
         if (domain == null || entity == null) {
             return;
         }
@@ -42,6 +46,28 @@ public class SalaMapper {
         entity.setCapacidade(domain.getCapacidade());
         entity.setLocalizacao(domain.getLocalizacao());
         entity.setRecursos(new ArrayList<>(domain.getRecursos()));
+        entity.setRecursosMascara(recursosMascara);
         entity.setAtiva(domain.isAtiva());
     }
+
+    /**
+     * Agrupa as linhas da consulta de salas com recursos, que chegam uma por recurso e ordenadas por sala.
+     * Sala sem recurso vem em uma unica linha com recurso nulo.
+     */
+    public List<DadosSala> toDados(List<SalaRecursoView> linhas) {
+        List<DadosSala> salas = new ArrayList<>();
+        int i = 0;
+        while (i < linhas.size()) {
+            SalaRecursoView sala = linhas.get(i);
+            List<String> recursos = new ArrayList<>();
+            for (; i < linhas.size() && linhas.get(i).id().equals(sala.id()); i++) {
+                if (linhas.get(i).recurso() != null) {
+                    recursos.add(linhas.get(i).recurso());
+                }
+            }
+            salas.add(new DadosSala(sala.id(), sala.nome(), sala.capacidade(), sala.localizacao(), recursos,
+                    sala.ativa()));
+        }
+        return salas;
+    }
 }
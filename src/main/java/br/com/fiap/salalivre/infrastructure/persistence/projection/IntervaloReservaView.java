@@ -0,0 +1,11 @@
+package br.com.fiap.salalivre.infrastructure.persistence.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record IntervaloReservaView(
+        UUID salaId,
+        LocalDateTime inicio,
+        LocalDateTime fim
+) {
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.salalivre.infrastructure.persistence.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ReservaAgendaView(
+        UUID id,
+        UUID salaId,
+        LocalDateTime inicio,
+        LocalDateTime fim
+) {
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.salalivre.infrastructure.persistence.projection;
+
+import java.util.UUID;
+
+public record SalaMascaraView(
+        UUID id,
+        long recursosMascara,
+        String recurso
+) {
+}
@@ -0,0 +1,13 @@
+package br.com.fiap.salalivre.infrastructure.persistence.projection;
+
+import java.util.UUID;
+
+public record SalaRecursoView(
+        UUID id,
+        String nome,
+        int capacidade,
+        String localizacao,
+        boolean ativa,
+        String recurso
+) {
+}
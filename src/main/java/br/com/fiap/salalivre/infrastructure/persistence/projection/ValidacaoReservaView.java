@@ -0,0 +1,9 @@
+package br.com.fiap.salalivre.infrastructure.persistence.projection;
+
+public record ValidacaoReservaView(
+        boolean salaAtiva,
+        boolean usuarioExiste,
+        boolean conflito,
+        Long versaoAgenda
+) {
+}
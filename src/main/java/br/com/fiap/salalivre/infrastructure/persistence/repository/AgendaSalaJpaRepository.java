@@ -0,0 +1,17 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.AgendaSalaEntity;
+
+public interface AgendaSalaJpaRepository extends JpaRepository<AgendaSalaEntity, UUID> {
+
+    @Modifying
+    @Query("update AgendaSalaEntity a set a.versao = a.versao + 1 where a.salaId = :salaId and a.versao = :versao")
+    int incrementarVersao(@Param("salaId") UUID salaId, @Param("versao") long versao);
+}
@@ -0,0 +1,17 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.util.List;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.EventoSaidaEntity;
+
+public interface EventoSaidaInsercao {
+    /**
+     * Insere sem o {@code select} que o {@code save} faz antes de gravar uma entidade de id atribuido.
+     */
+    void inserir(EventoSaidaEntity evento);
+
+    /**
+     * Insere todos em um unico lote JDBC, qualquer que seja o tamanho de lote configurado.
+     */
+    void inserirTodos(List<EventoSaidaEntity> eventos);
+}
@@ -0,0 +1,35 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.Session;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.EventoSaidaEntity;
+
+public class EventoSaidaInsercaoImpl implements EventoSaidaInsercao {
+    private final EntityManager entityManager;
+
+    public EventoSaidaInsercaoImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void inserir(EventoSaidaEntity evento) {
+        entityManager.persist(evento);
+    }
+
+    @Override
+    public void inserirTodos(List<EventoSaidaEntity> eventos) {
+        Session sessao = entityManager.unwrap(Session.class);
+        Integer loteAnterior = sessao.getJdbcBatchSize();
+        sessao.setJdbcBatchSize(Math.max(eventos.size(), loteAnterior == null ? 1 : loteAnterior));
+        try {
+            eventos.forEach(entityManager::persist);
+            entityManager.flush();
+        } finally {
+            sessao.setJdbcBatchSize(loteAnterior);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.EventoSaidaEntity;
+
+public interface EventoSaidaJpaRepository extends JpaRepository<EventoSaidaEntity, UUID>, EventoSaidaInsercao {
+
+    @Query("""
+            select e.id from EventoSaidaEntity e
+            where e.descartadoEm is null and (e.reservadoAte is null or e.reservadoAte < :agora)
+            order by e.id
+            """)
+    List<UUID> findIdsLivres(@Param("agora") LocalDateTime agora, Limit limite);
+
+    /**
+     * Reserva os eventos que continuam livres, contando uma tentativa para cada; os que outro relay
+     * reservou no meio tempo ficam de fora.
+     */
+    @Modifying
+    @Query("""
+            update EventoSaidaEntity e
+            set e.reservadoPor = :dono, e.reservadoAte = :ate, e.tentativas = e.tentativas + 1
+            where e.id in :ids and (e.reservadoAte is null or e.reservadoAte < :agora)
+            """)
+    int reservar(@Param("ids") Collection<UUID> ids,
+                 @Param("dono") UUID dono,
+                 @Param("ate") LocalDateTime ate,
+                 @Param("agora") LocalDateTime agora);
+
+    List<EventoSaidaEntity> findByReservadoPorOrderById(UUID reservadoPor);
+
+    @Modifying
+    @Query("delete from EventoSaidaEntity e where e.reservadoPor = :dono and e.id in :ids")
+    int apagarEntregues(@Param("dono") UUID dono, @Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("update EventoSaidaEntity e set e.descartadoEm = :agora where e.reservadoPor = :dono and e.id in :ids")
+    int descartar(@Param("dono") UUID dono, @Param("ids") Collection<UUID> ids, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("delete from EventoSaidaEntity e where e.descartadoEm < :limite")
+    int apagarDescartadosAntesDe(@Param("limite") LocalDateTime limite);
+
+    long countByDescartadoEmIsNull();
+
+    long countByDescartadoEmIsNotNull();
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.NoLembreteEntity;
+
+public interface NoLembreteJpaRepository extends JpaRepository<NoLembreteEntity, UUID> {
+
+    @Modifying
+    @Query("update NoLembreteEntity n set n.expiraEm = :ate where n.id = :id")
+    int renovar(@Param("id") UUID id, @Param("ate") LocalDateTime ate);
+
+    @Query("select count(n) from NoLembreteEntity n where n.expiraEm >= :agora")
+    long contarVivos(@Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("delete from NoLembreteEntity n where n.expiraEm < :agora")
+    int apagarExpirados(@Param("agora") LocalDateTime agora);
+}
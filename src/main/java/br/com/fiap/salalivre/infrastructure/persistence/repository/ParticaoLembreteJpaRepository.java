@@ -0,0 +1,64 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.ParticaoLembreteEntity;
+
+public interface ParticaoLembreteJpaRepository extends JpaRepository<ParticaoLembreteEntity, Integer> {
+
+    @Query("select p.particao from ParticaoLembreteEntity p")
+    List<Integer> findParticoes();
+
+    @Query("""
+            select p.particao from ParticaoLembreteEntity p
+            where p.dono is null or p.expiraEm < :agora
+            order by p.particao
+            """)
+    List<Integer> findParticoesLivres(@Param("agora") LocalDateTime agora, Limit limite);
+
+    @Query("""
+            select p.particao from ParticaoLembreteEntity p
+            where p.dono = :dono and p.expiraEm >= :agora
+            order by p.particao
+            """)
+    List<Integer> findParticoesDoDono(@Param("dono") UUID dono, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Toma as particoes que continuam livres; as que outra instancia tomou no meio tempo ficam de fora.
+     */
+    @Modifying
+    @Query("""
+            update ParticaoLembreteEntity p set p.dono = :dono, p.expiraEm = :ate
+            where p.particao in :particoes and (p.dono is null or p.expiraEm < :agora)
+            """)
+    int reservar(@Param("particoes") Collection<Integer> particoes,
+                 @Param("dono") UUID dono,
+                 @Param("ate") LocalDateTime ate,
+                 @Param("agora") LocalDateTime agora);
+
+    /**
+     * Renova so as concessoes ainda validas: uma que expirou pode ja estar com outra instancia.
+     */
+    @Modifying
+    @Query("""
+            update ParticaoLembreteEntity p set p.expiraEm = :ate
+            where p.dono = :dono and p.expiraEm >= :agora
+            """)
+    int renovar(@Param("dono") UUID dono, @Param("ate") LocalDateTime ate, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("""
+            update ParticaoLembreteEntity p set p.dono = null, p.expiraEm = null
+            where p.dono = :dono and p.particao in :particoes
+            """)
+    int liberar(@Param("dono") UUID dono, @Param("particoes") Collection<Integer> particoes);
+}
@@ -0,0 +1,11 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.RecursoEntity;
+
+public interface RecursoJpaRepository extends JpaRepository<RecursoEntity, Integer> {
+    Optional<RecursoEntity> findByNome(String nome);
+}
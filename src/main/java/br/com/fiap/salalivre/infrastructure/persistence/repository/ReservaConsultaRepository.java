@@ -0,0 +1,12 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.fiap.salalivre.domain.valueobject.DadosReserva;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
+
+public interface ReservaConsultaRepository {
+    List<DadosReserva> listarPagina(Specification<ReservaEntity> especificacao, int limite);
+}
@@ -0,0 +1,44 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.fiap.salalivre.domain.valueobject.DadosReserva;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
+
+/**
+ * Aplica as mesmas especificacoes de {@link ReservaEspecificacoes}, mas seleciona as colunas direto em
+ * {@link DadosReserva}: as linhas nao entram no contexto de persistencia nem geram copias para dirty checking.
+ */
+public class ReservaConsultaRepositoryImpl implements ReservaConsultaRepository {
+    private final EntityManager entityManager;
+
+    public ReservaConsultaRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<DadosReserva> listarPagina(Specification<ReservaEntity> especificacao, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DadosReserva> consulta = cb.createQuery(DadosReserva.class);
+        Root<ReservaEntity> root = consulta.from(ReservaEntity.class);
+        consulta.select(cb.construct(DadosReserva.class,
+                        root.get("id"),
+                        root.get("salaId"),
+                        root.get("usuarioId"),
+                        root.get("inicio"),
+                        root.get("fim"),
+                        root.get("status"),
+                        root.get("criadoEm"),
+                        root.get("atualizadoEm")))
+                .where(especificacao.toPredicate(root, consulta, cb))
+                .orderBy(cb.asc(root.get("inicio")), cb.asc(root.get("id")));
+        return entityManager.createQuery(consulta).setMaxResults(limite).getResultList();
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.fiap.salalivre.infrastructure.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.fiap.salalivre.domain.valueobject.CursorReserva;
+import br.com.fiap.salalivre.domain.valueobject.FiltroReservas;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
+
+/**
+ * Monta apenas os predicados informados, para que cada combinacao de filtros use diretamente o indice
+ * (salaId|usuarioId, inicio, id) ou (inicio, id) em vez de condicoes "parametro is null or ...".
+ */
+public final class ReservaEspecificacoes {
+    private ReservaEspecificacoes() {
+    }
+
+    public static Specification<ReservaEntity> pagina(FiltroReservas filtro, CursorReserva apos) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> inicio = root.get("inicio");
+            Path<UUID> id = root.get("id");
+            List<Predicate> predicados = new ArrayList<>();
+            if (filtro.salaId() != null) {
+                predicados.add(cb.equal(root.get("salaId"), filtro.salaId()));
+            }
+            if (filtro.usuarioId() != null) {
+                predicados.add(cb.equal(root.get("usuarioId"), filtro.usuarioId()));
+            }
+            if (filtro.status() != null) {
+                predicados.add(cb.equal(root.get("status"), filtro.status()));
+            }
+            if (filtro.de() != null) {
+                predicados.add(cb.greaterThanOrEqualTo(inicio, filtro.de()));
+            }
+            if (filtro.ate() != null) {
+                predicados.add(cb.lessThan(inicio, filtro.ate()));
+            }
+            if (apos != null) {
+                // inicio >= c restringe a varredura do indice; o "or" desempata pelo id no mesmo inicio
+                predicados.add(cb.greaterThanOrEqualTo(inicio, apos.inicio()));
+                predicados.add(cb.or(cb.greaterThan(inicio, apos.inicio()), cb.greaterThan(id, apos.id())));
+            }
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,17 +1,32 @@
 package br.com.fiap.salalivre.infrastructure.persistence.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import br.com.fiap.salalivre.domain.event.ReservaLembreteEvent;
 import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.domain.valueobject.DadosReserva;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.IntervaloReservaView;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.ReservaAgendaView;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.ValidacaoReservaView;
 
-public interface ReservaJpaRepository extends JpaRepository<ReservaEntity, UUID> {
+public interface ReservaJpaRepository extends JpaRepository<ReservaEntity, UUID>, JpaSpecificationExecutor<ReservaEntity>,
+        ReservaConsultaRepository {
 
     @Query("""
             select r from ReservaEntity r
@@ -39,11 +54,125 @@ public interface ReservaJpaRepository extends JpaRepository<ReservaEntity, UUID>
                                                       @Param("statusCancelada") StatusReserva statusCancelada,
                                                       @Param("reservaId") UUID reservaId);
 
+    @Query("""
+            select new br.com.fiap.salalivre.infrastructure.persistence.projection.ValidacaoReservaView(
+                s.ativa,
+                case when :usuarioId is null
+                          or exists (select u.id from UsuarioEntity u where u.id = :usuarioId) then true else false end,
+                case when exists (
+                    select r.id from ReservaEntity r
+                    where r.salaId = s.id
+                      and r.status <> br.com.fiap.salalivre.domain.model.StatusReserva.CANCELADA
+                      and :inicio < r.fim
+                      and :fim > r.inicio
+                      and (:reservaIgnorada is null or r.id <> :reservaIgnorada)
+                ) then true else false end,
+                (select a.versao from AgendaSalaEntity a where a.salaId = s.id))
+            from SalaEntity s
+            where s.id = :salaId
+            """)
+    Optional<ValidacaoReservaView> findValidacaoReserva(@Param("salaId") UUID salaId,
+                                                        @Param("usuarioId") UUID usuarioId,
+                                                        @Param("inicio") LocalDateTime inicio,
+                                                        @Param("fim") LocalDateTime fim,
+                                                        @Param("reservaIgnorada") UUID reservaIgnorada);
+
+    @Query("""
+            select new br.com.fiap.salalivre.infrastructure.persistence.projection.IntervaloReservaView(
+                r.salaId, r.inicio, r.fim)
+            from ReservaEntity r
+            where r.status <> br.com.fiap.salalivre.domain.model.StatusReserva.CANCELADA
+              and r.inicio < :fim
+              and r.fim > :inicio
+            order by r.salaId, r.inicio
+            """)
+    Stream<IntervaloReservaView> streamIntervalosAtivosNoPeriodo(@Param("inicio") LocalDateTime inicio,
+                                                                  @Param("fim") LocalDateTime fim);
+
+    @Query("""
+            select new br.com.fiap.salalivre.infrastructure.persistence.projection.IntervaloReservaView(
+                r.salaId, r.inicio, r.fim)
+            from ReservaEntity r
+            where r.salaId = :salaId
+              and r.fim > :inicio
+              and r.inicio < :fim
+              and r.status <> br.com.fiap.salalivre.domain.model.StatusReserva.CANCELADA
+            order by r.inicio
+            """)
+    Stream<IntervaloReservaView> streamIntervalosAtivosDaSala(@Param("salaId") UUID salaId,
+                                                               @Param("inicio") LocalDateTime inicio,
+                                                               @Param("fim") LocalDateTime fim);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new br.com.fiap.salalivre.infrastructure.persistence.projection.ReservaAgendaView(
+                r.id, r.salaId, r.inicio, r.fim)
+            from ReservaEntity r
+            where r.status <> br.com.fiap.salalivre.domain.model.StatusReserva.CANCELADA
+              and r.fim > :apos
+            """)
+    Stream<ReservaAgendaView> streamAtivasTerminandoApos(@Param("apos") LocalDateTime apos);
+
     List<ReservaEntity> findBySalaId(UUID salaId);
 
     List<ReservaEntity> findByUsuarioId(UUID usuarioId);
 
-    List<ReservaEntity> findByStatusInAndLembreteEnviadoFalseAndInicioBetween(List<StatusReserva> status,
-                                                                               LocalDateTime inicio,
-                                                                               LocalDateTime fim);
+    @Query("""
+            select new br.com.fiap.salalivre.domain.event.ReservaLembreteEvent(r.id, r.salaId, r.usuarioId, r.inicio, r.fim)
+            from ReservaEntity r
+            where r.status in :status
+              and r.lembreteEnviado = false
+              and r.inicio between :inicio and :fim
+            """)
+    List<ReservaLembreteEvent> findLembretesPendentes(@Param("status") Collection<StatusReserva> status,
+                                                      @Param("inicio") LocalDateTime inicio,
+                                                      @Param("fim") LocalDateTime fim);
+
+    /**
+     * Marca de uma vez o lembrete das reservas informadas que continuam elegiveis, gravando {@code marca}
+     * para identificar as linhas deste update, e incrementa a versao para que uma alteracao concorrente da
+     * reserva falhe por conflito de versao em vez de desfazer a marca.
+     */
+    @Modifying
+    @Query("""
+            update ReservaEntity r set r.lembreteEnviado = true, r.lembreteMarcadoPor = :marca, r.versao = r.versao + 1
+            where r.id in :ids
+              and r.status in :status
+              and r.lembreteEnviado = false
+              and r.inicio between :inicio and :fim
+            """)
+    int marcarLembretesEnviados(@Param("ids") Collection<UUID> ids,
+                                @Param("marca") UUID marca,
+                                @Param("status") Collection<StatusReserva> status,
+                                @Param("inicio") LocalDateTime inicio,
+                                @Param("fim") LocalDateTime fim);
+
+    /**
+     * Lembretes que o update com esta {@code marca} marcou; os ja marcados antes, por outra instancia ou
+     * por uma execucao anterior, ficam de fora.
+     */
+    @Query("""
+            select new br.com.fiap.salalivre.domain.event.ReservaLembreteEvent(r.id, r.salaId, r.usuarioId, r.inicio, r.fim)
+            from ReservaEntity r
+            where r.id in :ids
+              and r.lembreteMarcadoPor = :marca
+            """)
+    List<ReservaLembreteEvent> findLembretesMarcados(@Param("ids") Collection<UUID> ids, @Param("marca") UUID marca);
+
+    @Query("""
+            select new br.com.fiap.salalivre.domain.valueobject.DadosReserva(
+                r.id, r.salaId, r.usuarioId, r.inicio, r.fim, r.status, r.criadoEm, r.atualizadoEm)
+            from ReservaEntity r
+            where r.id = :id
+            """)
+    Optional<DadosReserva> findDadosById(@Param("id") UUID id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new br.com.fiap.salalivre.domain.valueobject.DadosReserva(
+                r.id, r.salaId, r.usuarioId, r.inicio, r.fim, r.status, r.criadoEm, r.atualizadoEm)
+            from ReservaEntity r
+            order by r.inicio, r.id
+            """)
+    Stream<DadosReserva> streamTodasOrdenadas();
 }
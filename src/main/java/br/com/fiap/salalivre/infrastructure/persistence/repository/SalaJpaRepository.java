@@ -1,18 +1,27 @@
 package br.com.fiap.salalivre.infrastructure.persistence.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.SalaMascaraView;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.SalaRecursoView;
 
 public interface SalaJpaRepository extends JpaRepository<SalaEntity, UUID> {
     List<SalaEntity> findByAtivaTrue();
 
+    @EntityGraph(attributePaths = "recursos")
+    List<SalaEntity> findComRecursosByAtivaTrue();
+
     @Query("""
             select s from SalaEntity s
             where s.ativa = true
@@ -26,4 +35,91 @@ public interface SalaJpaRepository extends JpaRepository<SalaEntity, UUID> {
             """)
     List<SalaEntity> findDisponiveis(@Param("inicio") LocalDateTime inicio,
                                      @Param("fim") LocalDateTime fim);
+
+    @Query("""
+            select s.id from SalaEntity s
+            where s.ativa = true
+              and (:capacidadeMinima is null or s.capacidade >= :capacidadeMinima)
+              and (:localizacao is null or lower(s.localizacao) = :localizacao)
+              and bitand(s.recursosMascara, cast(:mascaraRecursos as Long)) = :mascaraRecursos
+              and (:quantidadeRecursos = 0 or :quantidadeRecursos = (
+                select count(distinct lower(trim(recurso))) from SalaEntity comRecursos
+                join comRecursos.recursos recurso
+                where comRecursos.id = s.id
+                  and lower(trim(recurso)) in :recursos
+              ))
+              and not exists (
+                select r.id from ReservaEntity r
+                where r.salaId = s.id
+                  and r.status <> br.com.fiap.salalivre.domain.model.StatusReserva.CANCELADA
+                  and :inicio < r.fim
+                  and :fim > r.inicio
+              )
+            order by s.capacidade asc, s.nome asc, s.id asc
+            """)
+    List<UUID> findIdsDisponiveisPorCriterios(@Param("inicio") LocalDateTime inicio,
+                                              @Param("fim") LocalDateTime fim,
+                                              @Param("capacidadeMinima") Integer capacidadeMinima,
+                                              @Param("localizacao") String localizacao,
+                                              @Param("mascaraRecursos") long mascaraRecursos,
+                                              @Param("recursos") Collection<String> recursos,
+                                              @Param("quantidadeRecursos") long quantidadeRecursos,
+                                              Limit limite);
+
+    @Query("""
+            select s.id from SalaEntity s
+            where s.ativa = true
+              and (:capacidadeMinima is null or s.capacidade >= :capacidadeMinima)
+              and (:localizacao is null or lower(s.localizacao) = :localizacao)
+              and bitand(s.recursosMascara, cast(:mascaraRecursos as Long)) = :mascaraRecursos
+              and (:quantidadeRecursos = 0 or :quantidadeRecursos = (
+                select count(distinct lower(trim(recurso))) from SalaEntity comRecursos
+                join comRecursos.recursos recurso
+                where comRecursos.id = s.id
+                  and lower(trim(recurso)) in :recursos
+              ))
+            order by s.capacidade asc, s.nome asc, s.id asc
+            """)
+    List<UUID> findIdsAtivosPorCriterios(@Param("capacidadeMinima") Integer capacidadeMinima,
+                                         @Param("localizacao") String localizacao,
+                                         @Param("mascaraRecursos") long mascaraRecursos,
+                                         @Param("recursos") Collection<String> recursos,
+                                         @Param("quantidadeRecursos") long quantidadeRecursos);
+
+    @Query("select s.id from SalaEntity s where s.ativa = true and s.id in :ids")
+    List<UUID> findIdsAtivosByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("""
+            select new br.com.fiap.salalivre.infrastructure.persistence.projection.SalaRecursoView(
+                s.id, s.nome, s.capacidade, s.localizacao, s.ativa, recurso)
+            from SalaEntity s
+            left join s.recursos recurso
+            order by s.id
+            """)
+    List<SalaRecursoView> findTodasComRecursos();
+
+    @Query("""
+            select new br.com.fiap.salalivre.infrastructure.persistence.projection.SalaRecursoView(
+                s.id, s.nome, s.capacidade, s.localizacao, s.ativa, recurso)
+            from SalaEntity s
+            left join s.recursos recurso
+            where s.id = :id
+            """)
+    List<SalaRecursoView> findComRecursosById(@Param("id") UUID id);
+
+    @Query("""
+            select new br.com.fiap.salalivre.infrastructure.persistence.projection.SalaMascaraView(
+                s.id, s.recursosMascara, recurso)
+            from SalaEntity s
+            left join s.recursos recurso
+            order by s.id
+            """)
+    List<SalaMascaraView> findMascarasComRecursos();
+
+    @Modifying
+    @Query("update SalaEntity s set s.recursosMascara = :mascara where s.id = :id")
+    int atualizarMascaraRecursos(@Param("id") UUID id, @Param("mascara") long mascara);
+
+    @Query("select distinct s from SalaEntity s left join fetch s.recursos where s.id in :ids")
+    List<SalaEntity> findComRecursosByIdIn(@Param("ids") Collection<UUID> ids);
 }
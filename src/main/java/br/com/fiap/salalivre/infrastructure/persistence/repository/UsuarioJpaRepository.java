@@ -1,10 +1,19 @@
 package br.com.fiap.salalivre.infrastructure.persistence.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import br.com.fiap.salalivre.infrastructure.persistence.entity.UsuarioEntity;
 
 public interface UsuarioJpaRepository extends JpaRepository<UsuarioEntity, UUID> {
+    @Query("select u.id from UsuarioEntity u")
+    List<UUID> findTodosIds();
+
+    @Query("select u.id from UsuarioEntity u where u.id in :ids")
+    List<UUID> findIdsExistentes(@Param("ids") Collection<UUID> ids);
 }
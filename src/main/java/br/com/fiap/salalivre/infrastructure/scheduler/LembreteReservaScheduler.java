@@ -1,21 +1,56 @@
 package br.com.fiap.salalivre.infrastructure.scheduler;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import br.com.fiap.salalivre.application.service.NotificacaoService;
 import br.com.fiap.salalivre.domain.event.ReservaLembreteEvent;
 import br.com.fiap.salalivre.domain.model.StatusReserva;
-import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
+import br.com.fiap.salalivre.infrastructure.config.AgendamentoConfig;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
 
+/**
+ * Mantem os lembretes das reservas do proximo {@code horizonte} numa {@link RodaTemporizacao} e dispara
+ * cada um quando faltam {@link #ANTECEDENCIA} minutos para o inicio, sem consultar o banco a cada tick. A
+ * roda e carregada na subida e a cada reconciliacao, e acompanhada pelas gravacoes de reserva depois do
+ * commit. Os disparados sao marcados em pedacos de {@value #TAMANHO_PEDACO}: cada pedaco e uma transacao
+ * curta com um unico {@code update} e a gravacao dos eventos na caixa de saida, de onde o relay os entrega
+ * depois, fora dela.
+ * <p>
+ * Com varias instancias, cada uma so agenda e dispara os lembretes das particoes que {@link ParticoesLembrete}
+ * lhe concede; quando as particoes mudam de dono a roda descarta as que sairam e recarrega as que entraram.
+ * <p>
+ * Atraso no pior caso, contado de {@link #ANTECEDENCIA} antes do inicio ate o evento ir para a caixa de saida:
+ * <ul>
+ *   <li>reserva gravada na instancia dona da particao: duas {@code resolucao} (o vencimento e arredondado
+ *   para o tick seguinte e o tick agendado nao e alinhado a ele) mais a duracao do tick em curso; o tick tem
+ *   thread propria, entao nao espera tarefas do agendador comum;</li>
+ *   <li>reserva gravada em outra instancia ou direto no banco: ate uma {@code reconciliacao} da dona, mais a
+ *   duracao dela. Lembretes que passam de {@link #ANTECEDENCIA_MINIMA} antes do inicio nao saem mais, entao a
+ *   reconciliacao precisa ficar abaixo da diferenca entre as duas (5 minutos);</li>
+ *   <li>dona que caiu: {@code prazo-particao} ate a concessao vencer, mais um {@code batimento} ate outra
+ *   instancia tomar a particao e reconciliar.</li>
+ * </ul>
+ * Depois disso o relay entrega o evento na sua execucao seguinte.
+ */
 @Component
 public class LembreteReservaScheduler {
+    static final int TAMANHO_PEDACO = 1000;
+    static final Duration ANTECEDENCIA = Duration.ofMinutes(15);
+    static final Duration ANTECEDENCIA_MINIMA = Duration.ofMinutes(10);
+    private static final int BALDES = 4096;
     private static final List<StatusReserva> STATUS_ELEGIVEIS = List.of(
             StatusReserva.CONFIRMADA,
             StatusReserva.ALTERADA
@@ -23,39 +58,116 @@ public class LembreteReservaScheduler {
 
     private final ReservaJpaRepository reservaRepositorio;
     private final NotificacaoService notificacaoService;
+    private final ParticoesLembrete particoes;
+    private final TransactionTemplate transacao;
     private final Clock clock;
+    private final Duration horizonte;
+    private final RodaTemporizacao<UUID, ReservaLembreteEvent> roda;
 
     public LembreteReservaScheduler(ReservaJpaRepository reservaRepositorio,
                                     NotificacaoService notificacaoService,
-                                    Clock clock) {
+                                    ParticoesLembrete particoes,
+                                    PlatformTransactionManager transactionManager,
+                                    Clock clock,
+                                    @Value("${salalivre.lembretes.resolucao:1s}") Duration resolucao,
+                                    @Value("${salalivre.lembretes.horizonte:1h}") Duration horizonte) {
         this.reservaRepositorio = reservaRepositorio;
         this.notificacaoService = notificacaoService;
+        this.particoes = particoes;
+        this.transacao = new TransactionTemplate(transactionManager);
         this.clock = clock;
+        this.horizonte = horizonte;
+        this.roda = new RodaTemporizacao<>(clock.instant(), resolucao, BALDES);
     }
 
-    @Scheduled(fixedDelay = 60000)
-    @Transactional
-    public void enviarLembretesPendentes() {
+    /**
+     * Varredura lenta de seguranca: recarrega na roda os lembretes pendentes ate o horizonte, cobrindo
+     * gravacoes feitas por outras instancias ou direto no banco, e dispara os que ja venceram.
+     */
+    @Scheduled(initialDelayString = "${salalivre.lembretes.reconciliacao:5m}",
+            fixedDelayString = "${salalivre.lembretes.reconciliacao:5m}")
+    public void reconciliar() {
         LocalDateTime agora = LocalDateTime.now(clock);
-        LocalDateTime janelaInicio = agora.plusMinutes(10);
-        LocalDateTime janelaFim = agora.plusMinutes(15);
-
-        List<ReservaEntity> elegiveis = reservaRepositorio.findByStatusInAndLembreteEnviadoFalseAndInicioBetween(
-                STATUS_ELEGIVEIS,
-                janelaInicio,
-                janelaFim
-        );
-
-        for (ReservaEntity reserva : elegiveis) {
-            reserva.setLembreteEnviado(true);
-            ReservaEntity salva = reservaRepositorio.save(reserva);
-            notificacaoService.logEvento(new ReservaLembreteEvent(
-                    salva.getId(),
-                    salva.getSalaId(),
-                    salva.getUsuarioId(),
-                    salva.getInicio(),
-                    salva.getFim()
-            ));
+        reservaRepositorio.findLembretesPendentes(STATUS_ELEGIVEIS, agora.plus(ANTECEDENCIA_MINIMA), agora.plus(horizonte))
+                .stream()
+                .filter(lembrete -> particoes.possui(lembrete.reservaId()))
+                .forEach(this::agendar);
+        dispararVencidos();
+    }
+
+    /**
+     * Batimento das particoes; o primeiro roda na subida e ja carrega a roda. Roda no agendador dos
+     * lembretes, para que tarefas lentas do agendador comum nao deixem as concessoes vencerem.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${salalivre.lembretes.batimento:10s}",
+            fixedDelayString = "${salalivre.lembretes.batimento:10s}",
+            scheduler = AgendamentoConfig.AGENDADOR_LEMBRETES)
+    public void renovarParticoes() {
+        if (particoes.renovar()) {
+            roda.removerSe(reservaId -> !particoes.possui(reservaId));
+            reconciliar();
+        }
+    }
+
+    @Scheduled(fixedRateString = "${salalivre.lembretes.resolucao:1s}", scheduler = AgendamentoConfig.AGENDADOR_LEMBRETES)
+    public synchronized void dispararVencidos() {
+        // a roda pode guardar lembretes de particoes que a instancia perdeu por nao renovar a tempo
+        List<ReservaLembreteEvent> vencidos = roda.avancar(clock.instant()).stream()
+                .filter(lembrete -> particoes.possui(lembrete.reservaId()))
+                .toList();
+        if (vencidos.isEmpty()) {
+            return;
         }
+        LocalDateTime agora = LocalDateTime.now(clock);
+        LocalDateTime janelaInicio = agora.plus(ANTECEDENCIA_MINIMA);
+        LocalDateTime janelaFim = agora.plus(ANTECEDENCIA);
+        for (int inicio = 0; inicio < vencidos.size(); inicio += TAMANHO_PEDACO) {
+            List<ReservaLembreteEvent> pedaco = vencidos.subList(inicio, Math.min(inicio + TAMANHO_PEDACO, vencidos.size()));
+            transacao.executeWithoutResult(status -> marcarENotificar(pedaco, janelaInicio, janelaFim));
+        }
+    }
+
+    /**
+     * Acompanha uma reserva gravada: agenda, reagenda ou tira o lembrete da roda conforme ela ainda espera
+     * lembrete dentro do horizonte. Reservas alem do horizonte entram numa reconciliacao seguinte.
+     */
+    public void reservaGravada(UUID reservaId, UUID salaId, UUID usuarioId, LocalDateTime inicio, LocalDateTime fim,
+                               StatusReserva status, boolean lembreteEnviado) {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        if (STATUS_ELEGIVEIS.contains(status)
+                && !lembreteEnviado
+                && particoes.possui(reservaId)
+                && !inicio.isBefore(agora.plus(ANTECEDENCIA_MINIMA))
+                && !inicio.isAfter(agora.plus(horizonte))) {
+            agendar(new ReservaLembreteEvent(reservaId, salaId, usuarioId, inicio, fim));
+        } else {
+            roda.cancelar(reservaId);
+        }
+    }
+
+    public void reservaRemovida(UUID reservaId) {
+        roda.cancelar(reservaId);
+    }
+
+    int lembretesAgendados() {
+        return roda.tamanho();
+    }
+
+    private void agendar(ReservaLembreteEvent lembrete) {
+        Instant vencimento = lembrete.inicio().minus(ANTECEDENCIA).atZone(clock.getZone()).toInstant();
+        roda.agendar(lembrete.reservaId(), lembrete, vencimento);
+    }
+
+    private void marcarENotificar(List<ReservaLembreteEvent> pedaco, LocalDateTime janelaInicio,
+                                  LocalDateTime janelaFim) {
+        List<UUID> ids = pedaco.stream().map(ReservaLembreteEvent::reservaId).toList();
+        UUID marca = UUID.randomUUID();
+        int marcadas = reservaRepositorio.marcarLembretesEnviados(ids, marca, STATUS_ELEGIVEIS, janelaInicio, janelaFim);
+        // alguma reserva foi cancelada, alterada ou marcada desde o agendamento: notificar so as que este update marcou
+        List<ReservaLembreteEvent> lembretes = marcadas == ids.size()
+                ? pedaco
+                : reservaRepositorio.findLembretesMarcados(ids, marca);
+        notificacaoService.notificarLembretes(lembretes);
     }
 }
@@ -0,0 +1,134 @@
+package br.com.fiap.salalivre.infrastructure.scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.NoLembreteEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.ParticaoLembreteEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.NoLembreteJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ParticaoLembreteJpaRepository;
+
+/**
+ * Divide os lembretes entre as instancias: o id de cada reserva cai numa de {@code particoes} particoes e
+ * cada instancia so processa as que tem concedidas na tabela {@code particoes_lembrete}. A cada batimento
+ * a instancia renova o proprio registro em {@code nos_lembrete} e as proprias concessoes, devolve o que
+ * passa da sua cota (particoes por instancia viva, arredondado para cima) e toma particoes livres ate a
+ * cota. Uma instancia que cai para de renovar: o registro e as concessoes dela expiram depois de
+ * {@code prazo} e as particoes passam para as demais nos batimentos seguintes.
+ */
+@Component
+public class ParticoesLembrete {
+    private final ParticaoLembreteJpaRepository particaoRepositorio;
+    private final NoLembreteJpaRepository noRepositorio;
+    private final TransactionTemplate transacao;
+    private final Clock clock;
+    private final int quantidade;
+    private final Duration prazo;
+    private final UUID no = UUID.randomUUID();
+    private volatile Set<Integer> concedidas = Set.of();
+    private volatile Instant validasAte = Instant.MIN;
+    private boolean particoesCriadas;
+
+    public ParticoesLembrete(ParticaoLembreteJpaRepository particaoRepositorio,
+                             NoLembreteJpaRepository noRepositorio,
+                             PlatformTransactionManager transactionManager,
+                             Clock clock,
+                             @Value("${salalivre.lembretes.particoes:16}") int quantidade,
+                             @Value("${salalivre.lembretes.prazo-particao:30s}") Duration prazo) {
+        this.particaoRepositorio = particaoRepositorio;
+        this.noRepositorio = noRepositorio;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.quantidade = quantidade;
+        this.prazo = prazo;
+    }
+
+    public int particao(UUID reservaId) {
+        return Math.floorMod(reservaId.hashCode(), quantidade);
+    }
+
+    /**
+     * Se esta instancia responde pelo lembrete da reserva. Concessoes que nao foram renovadas a tempo
+     * deixam de valer, pois outra instancia pode te-las tomado.
+     */
+    public boolean possui(UUID reservaId) {
+        return concessoesValidas(clock.instant()) && concedidas.contains(particao(reservaId));
+    }
+
+    /**
+     * Batimento; devolve se as particoes desta instancia mudaram.
+     */
+    public synchronized boolean renovar() {
+        criarParticoesQueFaltam();
+        Instant instante = clock.instant();
+        LocalDateTime agora = LocalDateTime.ofInstant(instante, clock.getZone());
+        LocalDateTime ate = agora.plus(prazo);
+        List<Integer> atuais = transacao.execute(status -> {
+            if (noRepositorio.renovar(no, ate) == 0) {
+                noRepositorio.save(new NoLembreteEntity(no, ate));
+            }
+            noRepositorio.apagarExpirados(agora);
+            long vivas = noRepositorio.contarVivos(agora);
+            int cota = (int) ((quantidade + vivas - 1) / vivas);
+
+            particaoRepositorio.renovar(no, ate, agora);
+            List<Integer> minhas = particaoRepositorio.findParticoesDoDono(no, agora);
+            if (minhas.size() > cota) {
+                particaoRepositorio.liberar(no, minhas.subList(cota, minhas.size()));
+                return minhas.subList(0, cota);
+            }
+            List<Integer> livres = minhas.size() < cota
+                    ? particaoRepositorio.findParticoesLivres(agora, Limit.of(cota - minhas.size()))
+                    : List.of();
+            if (livres.isEmpty()) {
+                return minhas;
+            }
+            particaoRepositorio.reservar(livres, no, ate, agora);
+            return particaoRepositorio.findParticoesDoDono(no, agora);
+        });
+        Set<Integer> anteriores = concessoesValidas(instante) ? concedidas : Set.of();
+        concedidas = Set.copyOf(atuais);
+        validasAte = instante.plus(prazo);
+        return !anteriores.equals(concedidas);
+    }
+
+    Set<Integer> concedidas() {
+        return concessoesValidas(clock.instant()) ? concedidas : Set.of();
+    }
+
+    private boolean concessoesValidas(Instant instante) {
+        return instante.isBefore(validasAte);
+    }
+
+    private void criarParticoesQueFaltam() {
+        if (particoesCriadas) {
+            return;
+        }
+        try {
+            transacao.executeWithoutResult(status -> {
+                Set<Integer> existentes = new HashSet<>(particaoRepositorio.findParticoes());
+                particaoRepositorio.saveAll(IntStream.range(0, quantidade)
+                        .filter(particao -> !existentes.contains(particao))
+                        .mapToObj(particao -> new ParticaoLembreteEntity(particao, null, null))
+                        .toList());
+            });
+            particoesCriadas = true;
+        } catch (DataIntegrityViolationException e) {
+            // outra instancia criou as mesmas particoes ao mesmo tempo; o proximo batimento confere de novo
+        }
+    }
+}
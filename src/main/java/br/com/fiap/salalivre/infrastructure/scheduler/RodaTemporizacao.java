@@ -0,0 +1,117 @@
+package br.com.fiap.salalivre.infrastructure.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Roda de temporizacao com hash (hashed timer wheel): o tempo e contado em ticks de {@code resolucao} a
+ * partir da origem e cada entrada fica no balde {@code tick % baldes} do tick em que vence; as que vencem
+ * depois de uma volta dividem o balde ate a volta certa. Agendar e cancelar custam O(1) e avancar custa
+ * um balde por tick decorrido (no maximo uma volta), qualquer que seja o numero de entradas. Uma entrada
+ * nunca sai antes do vencimento e sai no primeiro tick depois dele; as agendadas ja vencidas saem no
+ * proximo avanco.
+ */
+public class RodaTemporizacao<K, V> {
+    private final Instant origem;
+    private final long resolucaoNanos;
+    private final Set<K>[] baldes;
+    private final Map<K, Entrada<V>> entradas = new HashMap<>();
+    private final Map<K, V> vencidas = new LinkedHashMap<>();
+    private long tickAtual;
+
+    @SuppressWarnings("unchecked")
+    public RodaTemporizacao(Instant origem, Duration resolucao, int quantidadeBaldes) {
+        this.origem = origem;
+        this.resolucaoNanos = resolucao.toNanos();
+        this.baldes = new Set[quantidadeBaldes];
+        for (int i = 0; i < quantidadeBaldes; i++) {
+            baldes[i] = new LinkedHashSet<>();
+        }
+    }
+
+    /**
+     * Agenda a entrada, substituindo o agendamento anterior da mesma chave.
+     */
+    public synchronized void agendar(K chave, V valor, Instant vencimento) {
+        cancelar(chave);
+        long tick = tickDoVencimento(vencimento);
+        if (tick <= tickAtual) {
+            vencidas.put(chave, valor);
+            return;
+        }
+        entradas.put(chave, new Entrada<>(tick, valor));
+        baldes[balde(tick)].add(chave);
+    }
+
+    public synchronized void cancelar(K chave) {
+        Entrada<V> entrada = entradas.remove(chave);
+        if (entrada != null) {
+            baldes[balde(entrada.tick())].remove(chave);
+        } else {
+            vencidas.remove(chave);
+        }
+    }
+
+    /**
+     * Tira da roda as entradas cujas chaves atendem ao filtro; percorre todas as entradas.
+     */
+    public synchronized void removerSe(Predicate<K> filtro) {
+        entradas.entrySet().removeIf(entrada -> {
+            if (!filtro.test(entrada.getKey())) {
+                return false;
+            }
+            baldes[balde(entrada.getValue().tick())].remove(entrada.getKey());
+            return true;
+        });
+        vencidas.keySet().removeIf(filtro);
+    }
+
+    /**
+     * Avanca ate {@code agora} e devolve as entradas vencidas, retirando-as da roda.
+     */
+    public synchronized List<V> avancar(Instant agora) {
+        List<V> resultado = new ArrayList<>(vencidas.values());
+        vencidas.clear();
+        long alvo = Math.floorDiv(Duration.between(origem, agora).toNanos(), resolucaoNanos);
+        // depois de uma volta completa todos os baldes ja foram vistos
+        long ultimo = Math.min(alvo, tickAtual + baldes.length);
+        for (long tick = tickAtual + 1; tick <= ultimo; tick++) {
+            Iterator<K> chaves = baldes[balde(tick)].iterator();
+            while (chaves.hasNext()) {
+                K chave = chaves.next();
+                Entrada<V> entrada = entradas.get(chave);
+                if (entrada.tick() <= alvo) {
+                    chaves.remove();
+                    entradas.remove(chave);
+                    resultado.add(entrada.valor());
+                }
+            }
+        }
+        tickAtual = Math.max(tickAtual, alvo);
+        return resultado;
+    }
+
+    public synchronized int tamanho() {
+        return entradas.size() + vencidas.size();
+    }
+
+    private long tickDoVencimento(Instant vencimento) {
+        return -Math.floorDiv(-Duration.between(origem, vencimento).toNanos(), resolucaoNanos);
+    }
+
+    private int balde(long tick) {
+        return (int) Math.floorMod(tick, (long) baldes.length);
+    }
+
+    private record Entrada<V>(long tick, V valor) {
+    }
+}
@@ -13,6 +13,7 @@ import br.com.fiap.salalivre.domain.model.Sala;
 import br.com.fiap.salalivre.domain.model.TipoUsuario;
 import br.com.fiap.salalivre.domain.model.Usuario;
 import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoRecursos;
 import br.com.fiap.salalivre.infrastructure.persistence.mapper.ReservaMapper;
 import br.com.fiap.salalivre.infrastructure.persistence.mapper.SalaMapper;
 import br.com.fiap.salalivre.infrastructure.persistence.mapper.UsuarioMapper;
@@ -26,16 +27,19 @@ public class DataSeeder implements CommandLineRunner {
     private final SalaJpaRepository salaRepositorio;
     private final UsuarioJpaRepository usuarioRepositorio;
     private final ReservaJpaRepository reservaRepositorio;
+    private final CatalogoRecursos catalogoRecursos;
     private final SalaMapper salaMapper = new SalaMapper();
     private final UsuarioMapper usuarioMapper = new UsuarioMapper();
     private final ReservaMapper reservaMapper = new ReservaMapper();
 
     public DataSeeder(SalaJpaRepository salaRepositorio,
                       UsuarioJpaRepository usuarioRepositorio,
-                      ReservaJpaRepository reservaRepositorio) {
+                      ReservaJpaRepository reservaRepositorio,
+                      CatalogoRecursos catalogoRecursos) {
         this.salaRepositorio = salaRepositorio;
         this.usuarioRepositorio = usuarioRepositorio;
         this.reservaRepositorio = reservaRepositorio;
+        this.catalogoRecursos = catalogoRecursos;
     }
 
     @Override
@@ -77,8 +81,8 @@ public class DataSeeder implements CommandLineRunner {
                 true
         );
 
-        salaRepositorio.save(salaMapper.toEntity(salaAzul));
-        salaRepositorio.save(salaMapper.toEntity(salaVerde));
+        salaRepositorio.save(salaMapper.toEntity(salaAzul, catalogoRecursos.mascara(salaAzul.getRecursos())));
+        salaRepositorio.save(salaMapper.toEntity(salaVerde, catalogoRecursos.mascara(salaVerde.getRecursos())));
 
         LocalDateTime inicio = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
         PeriodoReserva periodo = new PeriodoReserva(inicio, inicio.plusHours(1));
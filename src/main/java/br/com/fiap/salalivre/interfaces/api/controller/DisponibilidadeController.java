@@ -1,21 +1,36 @@
 package br.com.fiap.salalivre.interfaces.api.controller;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.UUID;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.fiap.salalivre.application.service.DisponibilidadeAppService;
 import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.CriteriosBuscaSala;
+import br.com.fiap.salalivre.domain.valueobject.MapaOcupacaoSala;
+import br.com.fiap.salalivre.domain.valueobject.OcupacaoDiaria;
 import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.interfaces.api.response.DiaOcupacaoResponse;
+import br.com.fiap.salalivre.interfaces.api.response.HorarioLivreResponse;
+import br.com.fiap.salalivre.interfaces.api.response.IntervaloOcupadoResponse;
+import br.com.fiap.salalivre.interfaces.api.response.MapaOcupacaoResponse;
+import br.com.fiap.salalivre.interfaces.api.response.SalaOcupacaoResponse;
 import br.com.fiap.salalivre.interfaces.api.response.SalaResponse;
 
 @RestController
@@ -30,13 +45,71 @@ public class DisponibilidadeController {
 
     @GetMapping
     public List<SalaResponse> listar(@RequestParam @NotNull @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime inicio,
-                                     @RequestParam @NotNull @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime fim) {
+                                     @RequestParam @NotNull @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime fim,
+                                     @RequestParam(required = false) @Min(1) Integer capacidadeMinima,
+                                     @RequestParam(required = false) String localizacao,
+                                     @RequestParam(required = false) List<String> recursos,
+                                     @RequestParam(required = false) @Min(1) @Max(1000) Integer limite) {
         PeriodoReserva periodo = new PeriodoReserva(inicio, fim);
-        return disponibilidadeAppService.listarSalasDisponiveis(periodo).stream()
+        CriteriosBuscaSala criterios = new CriteriosBuscaSala(capacidadeMinima, localizacao, recursos, limite);
+        return disponibilidadeAppService.listarSalasDisponiveis(periodo, criterios).stream()
                 .map(this::toResponse)
                 .toList();
     }
 
+    @GetMapping("/mapa")
+    public MapaOcupacaoResponse mapa(@RequestParam @NotNull @DateTimeFormat(iso = ISO.DATE) LocalDate de,
+                                     @RequestParam @NotNull @DateTimeFormat(iso = ISO.DATE) LocalDate ate) {
+        List<SalaOcupacaoResponse> salas = disponibilidadeAppService.gerarMapaOcupacao(de, ate).stream()
+                .map(this::toResponse)
+                .toList();
+        return new MapaOcupacaoResponse(de, ate, salas);
+    }
+
+    @GetMapping("/salas/{salaId}/proximos-livres")
+    public List<HorarioLivreResponse> proximosLivres(@PathVariable UUID salaId,
+                                                     @RequestParam @Min(1) @Max(1440) int duracaoMinutos,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime inicio,
+                                                     @RequestParam @NotNull @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime fim,
+                                                     @RequestParam(defaultValue = "1") @Min(1) @Max(50) int quantidade) {
+        return disponibilidadeAppService.buscarProximosHorariosLivres(
+                        salaId, Duration.ofMinutes(duracaoMinutos), inicio, fim, quantidade).stream()
+                .map(periodo -> new HorarioLivreResponse(
+                        periodo.inicio(),
+                        periodo.fim(),
+                        Duration.between(periodo.inicio(), periodo.fim()).toMinutes()))
+                .toList();
+    }
+
+    private SalaOcupacaoResponse toResponse(MapaOcupacaoSala mapa) {
+        return new SalaOcupacaoResponse(
+                mapa.salaId(),
+                mapa.nome(),
+                mapa.dias().stream().map(this::toResponse).toList()
+        );
+    }
+
+    private DiaOcupacaoResponse toResponse(OcupacaoDiaria ocupacao) {
+        LocalDateTime inicioDia = ocupacao.data().atStartOfDay();
+        List<IntervaloOcupadoResponse> ocupados = ocupacao.periodosOcupados().stream()
+                .map(periodo -> new IntervaloOcupadoResponse(
+                        minutoDoDia(inicioDia, periodo.inicio()),
+                        minutoDoDia(inicioDia, periodo.fim())))
+                .toList();
+        int minutosOcupados = ocupados.stream()
+                .mapToInt(intervalo -> intervalo.fimMinuto() - intervalo.inicioMinuto())
+                .sum();
+        return new DiaOcupacaoResponse(ocupacao.data(), minutosOcupados, ocupados);
+    }
+
+    private int minutoDoDia(LocalDateTime inicioDia, LocalDateTime momento) {
+        if (!momento.toLocalDate().equals(inicioDia.toLocalDate())) {
+            return 24 * 60;
+        }
+        LocalTime horario = momento.toLocalTime();
+        return horario.getHour() * 60 + horario.getMinute();
+    }
+
     private SalaResponse toResponse(Sala sala) {
         return new SalaResponse(
                 sala.getId(),
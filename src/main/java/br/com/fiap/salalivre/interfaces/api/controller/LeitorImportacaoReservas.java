@@ -0,0 +1,114 @@
+package br.com.fiap.salalivre.interfaces.api.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+import br.com.fiap.salalivre.domain.valueobject.LinhaImportacao;
+import br.com.fiap.salalivre.domain.valueobject.SolicitacaoReserva;
+import br.com.fiap.salalivre.interfaces.api.request.ReservaCreateRequest;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Le o corpo de uma importacao, ou de um lote NDJSON, linha a linha, sem carregar o arquivo inteiro. Linhas malformadas viram
+ * {@link LinhaImportacao#invalida} e nao interrompem a leitura; linhas em branco sao ignoradas.
+ */
+final class LeitorImportacaoReservas implements Iterator<LinhaImportacao> {
+    private static final List<String> COLUNAS_CSV = List.of("salaId", "usuarioId", "inicio", "fim");
+
+    private final BufferedReader leitor;
+    private final ObjectReader leitorJson;
+    private final int[] colunas;
+    private long numeroLinha;
+    private LinhaImportacao proxima;
+
+    private LeitorImportacaoReservas(BufferedReader leitor, ObjectReader leitorJson, int[] colunas, long numeroLinha) {
+        this.leitor = leitor;
+        this.leitorJson = leitorJson;
+        this.colunas = colunas;
+        this.numeroLinha = numeroLinha;
+    }
+
+    static LeitorImportacaoReservas csv(BufferedReader leitor) {
+        String cabecalho = lerLinha(leitor);
+        List<String> nomes = cabecalho == null ? List.of() : Arrays.stream(cabecalho.split(",", -1)).map(String::trim).toList();
+        int[] colunas = COLUNAS_CSV.stream().mapToInt(nomes::indexOf).toArray();
+        if (Arrays.stream(colunas).anyMatch(indice -> indice < 0)) {
+            throw new RegraDeNegocioException("Cabecalho CSV deve conter as colunas salaId, usuarioId, inicio e fim.");
+        }
+        return new LeitorImportacaoReservas(leitor, null, colunas, 1);
+    }
+
+    static LeitorImportacaoReservas ndjson(BufferedReader leitor, JsonMapper jsonMapper) {
+        return new LeitorImportacaoReservas(leitor, jsonMapper.readerFor(ReservaCreateRequest.class), null, 0);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (proxima == null) {
+            String linha = lerLinha(leitor);
+            if (linha == null) {
+                return false;
+            }
+            numeroLinha++;
+            if (!linha.isBlank()) {
+                proxima = leitorJson == null ? converterCsv(linha) : converterNdjson(linha);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public LinhaImportacao next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        LinhaImportacao linha = proxima;
+        proxima = null;
+        return linha;
+    }
+
+    private LinhaImportacao converterCsv(String linha) {
+        String[] campos = linha.split(",", -1);
+        try {
+            return LinhaImportacao.lida(numeroLinha, new SolicitacaoReserva(
+                    UUID.fromString(campos[colunas[0]].trim()),
+                    UUID.fromString(campos[colunas[1]].trim()),
+                    LocalDateTime.parse(campos[colunas[2]].trim()),
+                    LocalDateTime.parse(campos[colunas[3]].trim())));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            return LinhaImportacao.invalida(numeroLinha, "Linha CSV invalida.");
+        }
+    }
+
+    private LinhaImportacao converterNdjson(String linha) {
+        try {
+            ReservaCreateRequest request = leitorJson.readValue(linha);
+            if (request == null) {
+                return LinhaImportacao.invalida(numeroLinha, "JSON invalido.");
+            }
+            return LinhaImportacao.lida(numeroLinha,
+                    new SolicitacaoReserva(request.salaId(), request.usuarioId(), request.inicio(), request.fim()));
+        } catch (JacksonException ex) {
+            return LinhaImportacao.invalida(numeroLinha, "JSON invalido.");
+        }
+    }
+
+    private static String lerLinha(BufferedReader leitor) {
+        try {
+            return leitor.readLine();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
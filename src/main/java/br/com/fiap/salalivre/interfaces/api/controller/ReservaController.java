@@ -1,12 +1,33 @@
 package br.com.fiap.salalivre.interfaces.api.controller;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,63 +35,236 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.com.fiap.salalivre.application.service.ReservaAppService;
+import br.com.fiap.salalivre.application.service.ReservaExportacaoAppService;
+import br.com.fiap.salalivre.application.service.ReservaImportacaoAppService;
+import br.com.fiap.salalivre.application.service.ReservaLoteAppService;
+import br.com.fiap.salalivre.application.service.RetentativaOtimista;
 import br.com.fiap.salalivre.domain.exception.PermissaoNegadaException;
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
 import br.com.fiap.salalivre.domain.model.Reserva;
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.domain.valueobject.CursorReserva;
+import br.com.fiap.salalivre.domain.valueobject.DadosReserva;
+import br.com.fiap.salalivre.domain.valueobject.FiltroReservas;
+import br.com.fiap.salalivre.domain.valueobject.OcorrenciaSerie;
+import br.com.fiap.salalivre.domain.valueobject.PaginaReservas;
 import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.domain.valueobject.RegraRecorrencia;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoLote;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.ResumoImportacao;
+import br.com.fiap.salalivre.domain.valueobject.SolicitacaoReserva;
 import br.com.fiap.salalivre.interfaces.api.request.ReservaAlterarRequest;
 import br.com.fiap.salalivre.interfaces.api.request.ReservaCancelarRequest;
 import br.com.fiap.salalivre.interfaces.api.request.ReservaCreateRequest;
+import br.com.fiap.salalivre.interfaces.api.request.ReservaRecorrenteCreateRequest;
+import br.com.fiap.salalivre.interfaces.api.response.ErroExportacaoResponse;
+import br.com.fiap.salalivre.interfaces.api.response.ItemLoteResponse;
+import br.com.fiap.salalivre.interfaces.api.response.OcorrenciaSerieResponse;
+import br.com.fiap.salalivre.interfaces.api.response.PaginaReservasResponse;
+import br.com.fiap.salalivre.interfaces.api.response.RejeicaoImportacaoResponse;
+import br.com.fiap.salalivre.interfaces.api.response.ReservaLoteResponse;
 import br.com.fiap.salalivre.interfaces.api.response.ReservaResponse;
+import br.com.fiap.salalivre.interfaces.api.response.ResumoImportacaoResponse;
+import br.com.fiap.salalivre.interfaces.api.response.SerieReservasResponse;
+import tools.jackson.databind.json.JsonMapper;
 
 @RestController
 @RequestMapping("/api/v1/reservas")
+@Validated
 public class ReservaController {
+    static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    static final String MEDIA_TYPE_CSV = "text/csv";
+    static final String PREFIXO_ERRO_CSV = "#erro,";
+    private static final String CABECALHO_CSV = "id,salaId,usuarioId,inicio,fim,status,criadoEm,atualizadoEm";
+    private static final int TAMANHO_BUFFER_EXPORTACAO = 64 * 1024;
+
     private final ReservaAppService reservaAppService;
+    private final ReservaLoteAppService reservaLoteAppService;
+    private final ReservaExportacaoAppService reservaExportacaoAppService;
+    private final ReservaImportacaoAppService reservaImportacaoAppService;
+    private final RetentativaOtimista retentativaOtimista;
+    private final JsonMapper jsonMapper;
 
-    public ReservaController(ReservaAppService reservaAppService) {
+    public ReservaController(ReservaAppService reservaAppService,
+                             ReservaLoteAppService reservaLoteAppService,
+                             ReservaExportacaoAppService reservaExportacaoAppService,
+                             ReservaImportacaoAppService reservaImportacaoAppService,
+                             RetentativaOtimista retentativaOtimista,
+                             JsonMapper jsonMapper) {
         this.reservaAppService = reservaAppService;
+        this.reservaLoteAppService = reservaLoteAppService;
+        this.reservaExportacaoAppService = reservaExportacaoAppService;
+        this.reservaImportacaoAppService = reservaImportacaoAppService;
+        this.retentativaOtimista = retentativaOtimista;
+        this.jsonMapper = jsonMapper;
     }
 
     @PostMapping
     public ResponseEntity<ReservaResponse> criar(@Valid @RequestBody ReservaCreateRequest request) {
         PeriodoReserva periodo = new PeriodoReserva(request.inicio(), request.fim());
-        Reserva reserva = reservaAppService.criarReserva(request.usuarioId(), request.salaId(), periodo);
+        Reserva reserva = retentativaOtimista.executar("criar",
+                () -> reservaAppService.criarReserva(request.usuarioId(), request.salaId(), periodo));
         return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(reserva));
     }
 
+    @PostMapping("/recorrentes")
+    public ResponseEntity<SerieReservasResponse> criarSerie(@Valid @RequestBody ReservaRecorrenteCreateRequest request) {
+        PeriodoReserva primeira = new PeriodoReserva(request.inicio(), request.fim());
+        RegraRecorrencia regra = new RegraRecorrencia(
+                request.frequencia(),
+                request.intervalo() == null ? 1 : request.intervalo(),
+                request.ate(),
+                request.quantidade(),
+                request.excecoes()
+        );
+        List<OcorrenciaSerie> ocorrencias = retentativaOtimista.executar("criar-serie",
+                () -> reservaAppService.criarSerie(request.usuarioId(), request.salaId(), primeira, regra,
+                        Boolean.TRUE.equals(request.tudoOuNada())));
+        SerieReservasResponse response = new SerieReservasResponse(
+                (int) ocorrencias.stream().filter(OcorrenciaSerie::criada).count(),
+                (int) ocorrencias.stream().filter(OcorrenciaSerie::conflito).count(),
+                ocorrencias.stream()
+                        .map(ocorrencia -> new OcorrenciaSerieResponse(
+                                ocorrencia.periodo().inicio(),
+                                ocorrencia.periodo().fim(),
+                                ocorrencia.criada() ? "CRIADA" : ocorrencia.conflito() ? "CONFLITO" : "NAO_CRIADA",
+                                ocorrencia.reservaId()))
+                        .toList()
+        );
+        HttpStatus status = response.criadas() > 0 ? HttpStatus.CREATED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ReservaLoteResponse criarEmLote(@RequestBody List<ReservaCreateRequest> requests) {
+        if (requests == null) {
+            throw new RegraDeNegocioException("Lote de reservas vazio.");
+        }
+        return toResponse(reservaLoteAppService.criarEmLote(requests.stream().map(this::toSolicitacao).toList()));
+    }
+
+    @PostMapping(value = "/lote", consumes = MEDIA_TYPE_NDJSON)
+    public ReservaLoteResponse criarEmLoteNdjson(InputStream corpo) {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+        return toResponse(reservaLoteAppService.criarEmLote(LeitorImportacaoReservas.ndjson(leitor, jsonMapper)));
+    }
+
+    @PostMapping(value = "/importacao", consumes = {MEDIA_TYPE_CSV, MEDIA_TYPE_NDJSON}, produces = MEDIA_TYPE_NDJSON)
+    public ResponseEntity<StreamingResponseBody> importar(@RequestHeader("X-User-Id") UUID solicitanteUsuarioId,
+                                                          @RequestHeader(value = "X-User-Role", required = false) String solicitanteRole,
+                                                          @RequestHeader(value = "X-Admin", required = false, defaultValue = "false") boolean adminHeader,
+                                                          @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipoConteudo,
+                                                          InputStream corpo) {
+        validarPermissaoAdmin(solicitanteUsuarioId, solicitanteRole, adminHeader);
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+        LeitorImportacaoReservas linhas = tipoConteudo.isCompatibleWith(MediaType.parseMediaType(MEDIA_TYPE_CSV))
+                ? LeitorImportacaoReservas.csv(leitor)
+                : LeitorImportacaoReservas.ndjson(leitor, jsonMapper);
+        StreamingResponseBody resposta = saida -> {
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            ResumoImportacao resumo;
+            try {
+                resumo = reservaImportacaoAppService.importar(linhas, rejeicao -> escreverJson(escritor,
+                        new RejeicaoImportacaoResponse(rejeicao.linha(), rejeicao.situacao(), rejeicao.mensagem())));
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            escreverJson(escritor, new ResumoImportacaoResponse(resumo.lidas(), resumo.importadas(),
+                    resumo.rejeitadas(), resumo.duracao().toMillis()));
+            escritor.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE_NDJSON))
+                .body(resposta);
+    }
+
     @GetMapping
-    public List<ReservaResponse> listar(@RequestHeader("X-User-Id") UUID solicitanteUsuarioId,
-                                        @RequestHeader(value = "X-User-Role", required = false) String solicitanteRole,
-                                        @RequestHeader(value = "X-Admin", required = false, defaultValue = "false") boolean adminHeader) {
+    public PaginaReservasResponse listar(@RequestHeader("X-User-Id") UUID solicitanteUsuarioId,
+                                         @RequestHeader(value = "X-User-Role", required = false) String solicitanteRole,
+                                         @RequestHeader(value = "X-Admin", required = false, defaultValue = "false") boolean adminHeader,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime de,
+                                         @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime ate,
+                                         @RequestParam(required = false) StatusReserva status,
+                                         @RequestParam(defaultValue = "50") @Min(1) @Max(ReservaAppService.TAMANHO_MAXIMO_PAGINA) int tamanho) {
         validarPermissaoAdmin(solicitanteUsuarioId, solicitanteRole, adminHeader);
-        return reservaAppService.listarReservas().stream()
-                .map(this::toResponse)
-                .toList();
+        return listarPagina(new FiltroReservas(null, null, de, ate, status), cursor, tamanho);
     }
 
     @GetMapping("/sala/{salaId}")
-    public List<ReservaResponse> listarPorSala(@PathVariable UUID salaId,
-                                               @RequestHeader("X-User-Id") UUID solicitanteUsuarioId,
-                                               @RequestHeader(value = "X-User-Role", required = false) String solicitanteRole,
-                                               @RequestHeader(value = "X-Admin", required = false, defaultValue = "false") boolean adminHeader) {
+    public PaginaReservasResponse listarPorSala(@PathVariable UUID salaId,
+                                                @RequestHeader("X-User-Id") UUID solicitanteUsuarioId,
+                                                @RequestHeader(value = "X-User-Role", required = false) String solicitanteRole,
+                                                @RequestHeader(value = "X-Admin", required = false, defaultValue = "false") boolean adminHeader,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime de,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime ate,
+                                                @RequestParam(required = false) StatusReserva status,
+                                                @RequestParam(defaultValue = "50") @Min(1) @Max(ReservaAppService.TAMANHO_MAXIMO_PAGINA) int tamanho) {
         validarPermissaoAdmin(solicitanteUsuarioId, solicitanteRole, adminHeader);
-        return reservaAppService.listarReservasPorSala(salaId).stream()
-                .map(this::toResponse)
-                .toList();
+        return listarPagina(new FiltroReservas(salaId, null, de, ate, status), cursor, tamanho);
     }
 
     @GetMapping("/usuario/{usuarioId}")
-    public List<ReservaResponse> listarPorUsuario(@PathVariable UUID usuarioId,
-                                                  @RequestHeader("X-User-Id") UUID solicitanteUsuarioId,
-                                                  @RequestHeader(value = "X-User-Role", required = false) String solicitanteRole,
-                                                  @RequestHeader(value = "X-Admin", required = false, defaultValue = "false") boolean adminHeader) {
+    public PaginaReservasResponse listarPorUsuario(@PathVariable UUID usuarioId,
+                                                   @RequestHeader("X-User-Id") UUID solicitanteUsuarioId,
+                                                   @RequestHeader(value = "X-User-Role", required = false) String solicitanteRole,
+                                                   @RequestHeader(value = "X-Admin", required = false, defaultValue = "false") boolean adminHeader,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime de,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime ate,
+                                                   @RequestParam(required = false) StatusReserva status,
+                                                   @RequestParam(defaultValue = "50") @Min(1) @Max(ReservaAppService.TAMANHO_MAXIMO_PAGINA) int tamanho) {
+        validarPermissaoAdmin(solicitanteUsuarioId, solicitanteRole, adminHeader);
+        return listarPagina(new FiltroReservas(null, usuarioId, de, ate, status), cursor, tamanho);
+    }
+
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestHeader("X-User-Id") UUID solicitanteUsuarioId,
+                                                          @RequestHeader(value = "X-User-Role", required = false) String solicitanteRole,
+                                                          @RequestHeader(value = "X-Admin", required = false, defaultValue = "false") boolean adminHeader,
+                                                          @RequestParam(defaultValue = "ndjson") String formato) {
         validarPermissaoAdmin(solicitanteUsuarioId, solicitanteRole, adminHeader);
-        return reservaAppService.listarReservasPorUsuario(usuarioId).stream()
-                .map(this::toResponse)
-                .toList();
+        boolean csv = switch (formato.toLowerCase(Locale.ROOT)) {
+            case "csv" -> true;
+            case "ndjson" -> false;
+            default -> throw new RegraDeNegocioException("Formato de exportacao invalido. Use ndjson ou csv.");
+        };
+        StreamingResponseBody corpo = saida -> {
+            Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8),
+                    TAMANHO_BUFFER_EXPORTACAO);
+            if (csv) {
+                escritor.write(CABECALHO_CSV);
+                escritor.write('\n');
+            }
+            long[] exportadas = {0};
+            try {
+                reservaExportacaoAppService.exportar(reserva -> {
+                    escreverLinha(escritor, reserva, csv);
+                    exportadas[0]++;
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            } catch (RuntimeException ex) {
+                // o 200 ja foi enviado: a ultima linha avisa o cliente de que o arquivo esta incompleto
+                escreverErroExportacao(escritor, exportadas[0], csv);
+                escritor.flush();
+                throw ex;
+            }
+            escritor.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? MEDIA_TYPE_CSV : MEDIA_TYPE_NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"reservas." + (csv ? "csv" : "ndjson") + "\"")
+                .body(corpo);
     }
 
     @GetMapping("/{id}")
@@ -89,7 +283,8 @@ public class ReservaController {
                                     @RequestHeader(value = "X-Admin", required = false, defaultValue = "false") boolean adminHeader,
                                     @RequestBody(required = false) ReservaCancelarRequest request) {
         boolean solicitanteAdmin = ehAdmin(solicitanteRole, adminHeader);
-        Reserva reserva = reservaAppService.cancelarReserva(id, solicitanteUsuarioId, solicitanteAdmin);
+        Reserva reserva = retentativaOtimista.executar("cancelar",
+                () -> reservaAppService.cancelarReserva(id, solicitanteUsuarioId, solicitanteAdmin));
         return toResponse(reserva);
     }
 
@@ -101,10 +296,89 @@ public class ReservaController {
                                    @Valid @RequestBody ReservaAlterarRequest request) {
         boolean solicitanteAdmin = ehAdmin(solicitanteRole, adminHeader);
         PeriodoReserva periodo = new PeriodoReserva(request.inicio(), request.fim());
-        Reserva reserva = reservaAppService.alterarReserva(id, periodo, solicitanteUsuarioId, solicitanteAdmin);
+        Reserva reserva = retentativaOtimista.executar("alterar",
+                () -> reservaAppService.alterarReserva(id, periodo, solicitanteUsuarioId, solicitanteAdmin));
         return toResponse(reserva);
     }
 
+    private PaginaReservasResponse listarPagina(FiltroReservas filtro, String cursor, int tamanho) {
+        PaginaReservas pagina = reservaAppService.listarReservas(filtro,
+                cursor == null || cursor.isBlank() ? null : CursorReserva.decodificar(cursor), tamanho);
+        return new PaginaReservasResponse(
+                pagina.reservas().stream().map(this::toResponse).toList(),
+                pagina.proximo() == null ? null : pagina.proximo().codificar()
+        );
+    }
+
+    private ReservaLoteResponse toResponse(ResultadoLote lote) {
+        List<ResultadoSolicitacao> resultados = lote.resultados();
+        Map<SituacaoSolicitacao, Long> porSituacao = resultados.stream()
+                .collect(Collectors.groupingBy(ResultadoSolicitacao::situacao, Collectors.counting()));
+        List<ItemLoteResponse> itens = new ArrayList<>(resultados.size());
+        for (int i = 0; i < resultados.size(); i++) {
+            ResultadoSolicitacao resultado = resultados.get(i);
+            itens.add(new ItemLoteResponse(i, resultado.situacao(), resultado.reservaId(), resultado.mensagem()));
+        }
+        return new ReservaLoteResponse(
+                porSituacao.getOrDefault(SituacaoSolicitacao.CRIADA, 0L).intValue(),
+                porSituacao.getOrDefault(SituacaoSolicitacao.CONFLITO, 0L).intValue(),
+                porSituacao.getOrDefault(SituacaoSolicitacao.INVALIDA, 0L).intValue(),
+                lote.truncado(),
+                itens
+        );
+    }
+
+    private void escreverLinha(Writer escritor, DadosReserva reserva, boolean csv) {
+        if (!csv) {
+            escreverJson(escritor, toResponse(reserva));
+            return;
+        }
+        try {
+            escritor.write(String.join(",",
+                    reserva.id().toString(),
+                    reserva.salaId().toString(),
+                    reserva.usuarioId().toString(),
+                    reserva.inicio().toString(),
+                    reserva.fim().toString(),
+                    reserva.status().name(),
+                    reserva.criadoEm() == null ? "" : reserva.criadoEm().toString(),
+                    reserva.atualizadoEm() == null ? "" : reserva.atualizadoEm().toString()));
+            escritor.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void escreverErroExportacao(Writer escritor, long exportadas, boolean csv) {
+        String mensagem = "Exportacao interrompida apos " + exportadas + " reservas.";
+        if (!csv) {
+            escreverJson(escritor, new ErroExportacaoResponse(mensagem, exportadas));
+            return;
+        }
+        try {
+            escritor.write(PREFIXO_ERRO_CSV + mensagem);
+            escritor.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void escreverJson(Writer escritor, Object valor) {
+        try {
+            escritor.write(jsonMapper.writeValueAsString(valor));
+            escritor.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private SolicitacaoReserva toSolicitacao(ReservaCreateRequest request) {
+        if (request == null) {
+            return null;
+        }
+        return new SolicitacaoReserva(request.salaId(), request.usuarioId(), request.inicio(), request.fim());
+    }
+
     private boolean ehAdmin(String roleHeader, boolean adminHeader) {
         return adminHeader || "ADMIN".equalsIgnoreCase(roleHeader);
     }
@@ -127,4 +401,17 @@ public class ReservaController {
                 reserva.getAtualizadoEm()
         );
     }
+
+    private ReservaResponse toResponse(DadosReserva reserva) {
+        return new ReservaResponse(
+                reserva.id(),
+                reserva.salaId(),
+                reserva.usuarioId(),
+                reserva.inicio(),
+                reserva.fim(),
+                reserva.status(),
+                reserva.criadoEm(),
+                reserva.atualizadoEm()
+        );
+    }
 }
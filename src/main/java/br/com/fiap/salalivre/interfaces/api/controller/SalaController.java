@@ -4,9 +4,12 @@ import java.util.List;
 import java.util.UUID;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,16 +17,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.fiap.salalivre.application.service.SalaAppService;
 import br.com.fiap.salalivre.domain.exception.PermissaoNegadaException;
 import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.CriteriosBuscaSala;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
 import br.com.fiap.salalivre.interfaces.api.request.SalaCreateRequest;
 import br.com.fiap.salalivre.interfaces.api.response.SalaResponse;
 
 @RestController
 @RequestMapping("/api/v1/salas")
+@Validated
 public class SalaController {
     private final SalaAppService salaAppService;
 
@@ -53,6 +60,17 @@ public class SalaController {
                 .toList();
     }
 
+    @GetMapping("/busca")
+    public List<SalaResponse> buscar(@RequestParam(required = false) @Min(1) Integer capacidadeMinima,
+                                     @RequestParam(required = false) String localizacao,
+                                     @RequestParam(required = false) List<String> recursos,
+                                     @RequestParam(required = false) @Min(1) @Max(1000) Integer limite) {
+        CriteriosBuscaSala criterios = new CriteriosBuscaSala(capacidadeMinima, localizacao, recursos, limite);
+        return salaAppService.buscarSalas(criterios).stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
     @GetMapping("/{id}")
     public SalaResponse obter(@PathVariable UUID id) {
         return toResponse(salaAppService.obterSala(id));
@@ -96,4 +114,15 @@ public class SalaController {
                 sala.isAtiva()
         );
     }
+
+    private SalaResponse toResponse(DadosSala sala) {
+        return new SalaResponse(
+                sala.id(),
+                sala.nome(),
+                sala.capacidade(),
+                sala.localizacao(),
+                sala.recursos(),
+                sala.ativa()
+        );
+    }
 }
@@ -7,6 +7,7 @@ import java.util.Map;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -37,6 +38,13 @@ public class ApiExceptionHandler {
         return buildResponse(HttpStatus.CONFLICT, ex.getMessage(), request.getRequestURI(), null);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleConcorrencia(OptimisticLockingFailureException ex,
+                                                               HttpServletRequest request) {
+        return buildResponse(HttpStatus.CONFLICT, "Reserva alterada concorrentemente. Tente novamente.",
+                request.getRequestURI(), null);
+    }
+
     @ExceptionHandler(PermissaoNegadaException.class)
     public ResponseEntity<ApiErrorResponse> handlePermissaoNegada(PermissaoNegadaException ex,
                                                                   HttpServletRequest request) {
@@ -0,0 +1,25 @@
+package br.com.fiap.salalivre.interfaces.api.request;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import br.com.fiap.salalivre.domain.model.FrequenciaRecorrencia;
+
+public record ReservaRecorrenteCreateRequest(
+        @NotNull UUID salaId,
+        @NotNull UUID usuarioId,
+        @NotNull LocalDateTime inicio,
+        @NotNull LocalDateTime fim,
+        @NotNull FrequenciaRecorrencia frequencia,
+        @Positive Integer intervalo,
+        LocalDate ate,
+        @Positive Integer quantidade,
+        Set<LocalDate> excecoes,
+        Boolean tudoOuNada
+) {
+}
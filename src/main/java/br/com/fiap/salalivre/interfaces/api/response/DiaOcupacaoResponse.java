@@ -0,0 +1,11 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record DiaOcupacaoResponse(
+        LocalDate data,
+        int minutosOcupados,
+        List<IntervaloOcupadoResponse> ocupados
+) {
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import java.time.LocalDateTime;
+
+public record HorarioLivreResponse(
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        long minutosLivres
+) {
+}
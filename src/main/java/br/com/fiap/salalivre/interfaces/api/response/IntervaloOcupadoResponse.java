@@ -0,0 +1,7 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+public record IntervaloOcupadoResponse(
+        int inicioMinuto,
+        int fimMinuto
+) {
+}
@@ -0,0 +1,13 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import java.util.UUID;
+
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+
+public record ItemLoteResponse(
+        int indice,
+        SituacaoSolicitacao situacao,
+        UUID reservaId,
+        String mensagem
+) {
+}
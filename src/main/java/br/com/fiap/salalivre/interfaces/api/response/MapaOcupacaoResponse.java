@@ -0,0 +1,11 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record MapaOcupacaoResponse(
+        LocalDate de,
+        LocalDate ate,
+        List<SalaOcupacaoResponse> salas
+) {
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OcorrenciaSerieResponse(
+        LocalDateTime inicio,
+        LocalDateTime fim,
+        String situacao,
+        UUID reservaId
+) {
+}
@@ -0,0 +1,9 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import java.util.List;
+
+public record PaginaReservasResponse(
+        List<ReservaResponse> itens,
+        String proximoCursor
+) {
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+
+public record RejeicaoImportacaoResponse(
+        long linha,
+        SituacaoSolicitacao situacao,
+        String mensagem
+) {
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import java.util.List;
+
+public record ReservaLoteResponse(
+        int criadas,
+        int conflitos,
+        int invalidas,
+        boolean truncado,
+        List<ItemLoteResponse> itens
+) {
+}
@@ -0,0 +1,9 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+public record ResumoImportacaoResponse(
+        long lidas,
+        long importadas,
+        long rejeitadas,
+        long duracaoMs
+) {
+}
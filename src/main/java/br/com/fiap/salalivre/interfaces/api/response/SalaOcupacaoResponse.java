@@ -0,0 +1,11 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import java.util.List;
+import java.util.UUID;
+
+public record SalaOcupacaoResponse(
+        UUID salaId,
+        String nome,
+        List<DiaOcupacaoResponse> dias
+) {
+}
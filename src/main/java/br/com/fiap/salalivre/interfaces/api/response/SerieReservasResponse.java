@@ -0,0 +1,10 @@
+package br.com.fiap.salalivre.interfaces.api.response;
+
+import java.util.List;
+
+public record SerieReservasResponse(
+        int criadas,
+        int conflitos,
+        List<OcorrenciaSerieResponse> ocorrencias
+) {
+}
@@ -0,0 +1,169 @@
+package br.com.fiap.salalivre.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.salalivre.domain.exception.EntidadeNaoEncontradaException;
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.agenda.AgendaSalasIndice;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoRecursos;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.IntervaloReservaView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DisponibilidadeAppServiceTest {
+    private static final UUID SALA_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 1, 10, 8, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2026, 1, 10, 18, 0);
+
+    @Mock
+    private SalaJpaRepository salaRepositorio;
+
+    @Mock
+    private ReservaJpaRepository reservaRepositorio;
+
+    @Mock
+    private AgendaSalasIndice agendaSalasIndice;
+
+    @Mock
+    private CatalogoRecursos catalogoRecursos;
+
+    private DisponibilidadeAppService disponibilidadeAppService;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(INICIO.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+        disponibilidadeAppService = new DisponibilidadeAppService(salaRepositorio, reservaRepositorio,
+                agendaSalasIndice, catalogoRecursos, clock);
+    }
+
+    @Test
+    void listarSalasDisponiveis_deveCarregarAsSalasEmBlocosMantendoAOrdem() {
+        PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
+        List<UUID> ids = IntStream.range(0, DisponibilidadeAppService.SALAS_POR_CONSULTA * 2 + 1)
+                .mapToObj(i -> new UUID(0, i))
+                .toList();
+        when(catalogoRecursos.filtro(any())).thenReturn(new CatalogoRecursos.FiltroRecursos(0, List.of()));
+        when(agendaSalasIndice.suportaConsultaPorSlots(periodo)).thenReturn(true);
+        when(salaRepositorio.findIdsAtivosPorCriterios(any(), any(), any(Long.class), anyList(), any(Long.class)))
+                .thenReturn(ids);
+        when(agendaSalasIndice.filtrarSalasLivres(ids, periodo)).thenReturn(new HashSet<>(ids));
+        when(salaRepositorio.findComRecursosByIdIn(anyList())).thenAnswer(invocation -> invocation.<List<UUID>>getArgument(0)
+                .reversed().stream()
+                .map(id -> SalaEntity.builder().id(id).nome("Sala").capacidade(10).localizacao("Andar 1").ativa(true).build())
+                .toList());
+
+        List<Sala> salas = disponibilidadeAppService.listarSalasDisponiveis(periodo);
+
+        assertEquals(ids, salas.stream().map(Sala::getId).toList());
+        verify(salaRepositorio, times(3)).findComRecursosByIdIn(anyList());
+    }
+
+    @Test
+    void buscarProximosHorariosLivres_deveRetornarPrimeirasJanelasComDuracaoSuficiente() {
+        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaAtiva(true)));
+        when(reservaRepositorio.streamIntervalosAtivosDaSala(SALA_ID, INICIO, FIM)).thenReturn(Stream.of(
+                intervalo(7, 0, 8, 30),
+                intervalo(9, 0, 10, 0),
+                intervalo(9, 30, 11, 0),
+                intervalo(12, 0, 13, 0),
+                intervalo(15, 0, 16, 0)));
+
+        List<PeriodoReserva> livres = disponibilidadeAppService.buscarProximosHorariosLivres(
+                SALA_ID, Duration.ofMinutes(60), INICIO, FIM, 2);
+
+        assertEquals(List.of(periodo(11, 0, 12, 0), periodo(13, 0, 15, 0)), livres);
+    }
+
+    @Test
+    void buscarProximosHorariosLivres_deveIncluirJanelaAteOHorizonte() {
+        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaAtiva(true)));
+        when(reservaRepositorio.streamIntervalosAtivosDaSala(SALA_ID, INICIO, FIM)).thenReturn(Stream.of(
+                intervalo(8, 0, 9, 0),
+                intervalo(9, 30, 17, 0)));
+
+        List<PeriodoReserva> livres = disponibilidadeAppService.buscarProximosHorariosLivres(
+                SALA_ID, Duration.ofMinutes(45), null, FIM, 5);
+
+        assertEquals(List.of(periodo(17, 0, 18, 0)), livres);
+    }
+
+    @Test
+    void buscarProximosHorariosLivres_deveRetornarVazioQuandoNaoHaJanela() {
+        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaAtiva(true)));
+        when(reservaRepositorio.streamIntervalosAtivosDaSala(SALA_ID, INICIO, FIM)).thenReturn(Stream.of(
+                intervalo(8, 0, 13, 0),
+                intervalo(14, 0, 18, 0)));
+
+        List<PeriodoReserva> livres = disponibilidadeAppService.buscarProximosHorariosLivres(
+                SALA_ID, Duration.ofMinutes(90), INICIO, FIM, 1);
+
+        assertTrue(livres.isEmpty());
+    }
+
+    @Test
+    void buscarProximosHorariosLivres_deveFalharQuandoSalaNaoExiste() {
+        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.empty());
+
+        assertThrows(EntidadeNaoEncontradaException.class, () -> disponibilidadeAppService
+                .buscarProximosHorariosLivres(SALA_ID, Duration.ofMinutes(30), INICIO, FIM, 1));
+        verifyNoInteractions(reservaRepositorio);
+    }
+
+    @Test
+    void buscarProximosHorariosLivres_deveFalharQuandoDuracaoInvalida() {
+        assertThrows(RegraDeNegocioException.class, () -> disponibilidadeAppService
+                .buscarProximosHorariosLivres(SALA_ID, Duration.ZERO, INICIO, FIM, 1));
+        verifyNoInteractions(salaRepositorio, reservaRepositorio);
+    }
+
+    private SalaEntity salaAtiva(boolean ativa) {
+        return SalaEntity.builder()
+                .id(SALA_ID)
+                .nome("Sala Azul")
+                .capacidade(10)
+                .localizacao("Andar 1")
+                .recursos(List.of("Projetor"))
+                .ativa(ativa)
+                .build();
+    }
+
+    private IntervaloReservaView intervalo(int horaInicio, int minutoInicio, int horaFim, int minutoFim) {
+        PeriodoReserva periodo = periodo(horaInicio, minutoInicio, horaFim, minutoFim);
+        return new IntervaloReservaView(SALA_ID, periodo.inicio(), periodo.fim());
+    }
+
+    private PeriodoReserva periodo(int horaInicio, int minutoInicio, int horaFim, int minutoFim) {
+        return new PeriodoReserva(LocalDateTime.of(2026, 1, 10, horaInicio, minutoInicio),
+                LocalDateTime.of(2026, 1, 10, horaFim, minutoFim));
+    }
+}
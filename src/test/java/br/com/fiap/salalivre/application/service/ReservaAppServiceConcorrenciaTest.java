@@ -0,0 +1,197 @@
+package br.com.fiap.salalivre.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.salalivre.domain.exception.ConflitoDeHorarioException;
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.domain.model.TipoUsuario;
+import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.catalogo.UsuariosConhecidos;
+import br.com.fiap.salalivre.infrastructure.concorrencia.TravasPorSala;
+import br.com.fiap.salalivre.infrastructure.id.GeradorIds;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.UsuarioEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.AgendaSalaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.UsuarioJpaRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ReservaAppServiceConcorrenciaTest {
+    private static final int TOTAL_REQUISICOES = 3000;
+    private static final LocalDateTime DIA = LocalDateTime.of(2026, 6, 1, 8, 0);
+
+    @Autowired
+    private ReservaAppService reservaAppService;
+
+    @Autowired
+    private ReservaJpaRepository reservaRepositorio;
+
+    @Autowired
+    private SalaJpaRepository salaRepositorio;
+
+    @Autowired
+    private AgendaSalaJpaRepository agendaSalaRepositorio;
+
+    @Autowired
+    private NotificacaoService notificacaoService;
+
+    @Autowired
+    private RetentativaOtimista retentativaOtimista;
+
+    @Autowired
+    private UsuariosConhecidos usuariosConhecidos;
+
+    @Autowired
+    private GeradorIds geradorIds;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UsuarioJpaRepository usuarioRepositorio;
+
+    private final List<UUID> salas = new ArrayList<>();
+    private UUID usuarioId;
+
+    @BeforeEach
+    void setUp() {
+        reservaRepositorio.deleteAll();
+        agendaSalaRepositorio.deleteAll();
+        salaRepositorio.deleteAll();
+        usuarioRepositorio.deleteAll();
+        for (int i = 0; i < 3; i++) {
+            salas.add(salaRepositorio.save(SalaEntity.builder()
+                    .id(UUID.randomUUID())
+                    .nome("Sala " + i)
+                    .capacidade(10)
+                    .localizacao("Andar 1")
+                    .recursos(List.of("Projetor"))
+                    .ativa(true)
+                    .build()).getId());
+        }
+        usuarioId = usuarioRepositorio.save(UsuarioEntity.builder()
+                .id(UUID.randomUUID())
+                .nome("Usuario")
+                .email("usuario@sala.com")
+                .tipo(TipoUsuario.COMUM)
+                .build()).getId();
+    }
+
+    @Test
+    void criarReserva_naoDevePermitirSobreposicaoSobConcorrencia() throws Exception {
+        Random random = new Random(42);
+        AtomicInteger criadas = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> falhas = new ConcurrentLinkedQueue<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < TOTAL_REQUISICOES; i++) {
+                UUID salaId = salas.get(random.nextInt(salas.size()));
+                LocalDateTime inicio = DIA.plusMinutes(15L * random.nextInt(40));
+                PeriodoReserva periodo = new PeriodoReserva(inicio, inicio.plusMinutes(15L * (1 + random.nextInt(8))));
+                executor.submit(() -> {
+                    try {
+                        reservaAppService.criarReserva(usuarioId, salaId, periodo);
+                        criadas.incrementAndGet();
+                    } catch (ConflitoDeHorarioException ex) {
+                        conflitos.incrementAndGet();
+                    } catch (Throwable ex) {
+                        falhas.add(ex);
+                    }
+                });
+            }
+        }
+
+        assertTrue(falhas.isEmpty(), () -> "Falhas inesperadas: " + falhas);
+        assertEquals(TOTAL_REQUISICOES, criadas.get() + conflitos.get());
+        List<ReservaEntity> reservas = reservaRepositorio.findAll();
+        assertEquals(criadas.get(), reservas.size());
+        assertTrue(reservas.stream().allMatch(reserva -> reserva.getStatus() == StatusReserva.CONFIRMADA));
+
+        assertSemSobreposicao(reservas);
+    }
+
+    @Test
+    void criarReserva_naoDevePermitirSobreposicaoEntreInstanciasSemTravaCompartilhada() throws Exception {
+        List<ReservaAppService> instancias = List.of(novaInstancia(), novaInstancia());
+        Random random = new Random(7);
+        AtomicInteger criadas = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        AtomicInteger esgotadas = new AtomicInteger();
+        ConcurrentLinkedQueue<Throwable> falhas = new ConcurrentLinkedQueue<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < TOTAL_REQUISICOES / 3; i++) {
+                ReservaAppService instancia = instancias.get(i % instancias.size());
+                UUID salaId = salas.get(random.nextInt(salas.size()));
+                LocalDateTime inicio = DIA.plusMinutes(15L * random.nextInt(40));
+                PeriodoReserva periodo = new PeriodoReserva(inicio, inicio.plusMinutes(15L * (1 + random.nextInt(8))));
+                executor.submit(() -> {
+                    try {
+                        retentativaOtimista.executar("criar", () -> transactionTemplate.execute(
+                                status -> instancia.criarReserva(usuarioId, salaId, periodo)));
+                        criadas.incrementAndGet();
+                    } catch (ConflitoDeHorarioException ex) {
+                        conflitos.incrementAndGet();
+                    } catch (OptimisticLockingFailureException ex) {
+                        esgotadas.incrementAndGet();
+                    } catch (Throwable ex) {
+                        falhas.add(ex);
+                    }
+                });
+            }
+        }
+
+        assertTrue(falhas.isEmpty(), () -> "Falhas inesperadas: " + falhas);
+        assertEquals(TOTAL_REQUISICOES / 3, criadas.get() + conflitos.get() + esgotadas.get());
+        List<ReservaEntity> reservas = reservaRepositorio.findAll();
+        assertEquals(criadas.get(), reservas.size());
+        assertSemSobreposicao(reservas);
+    }
+
+    private ReservaAppService novaInstancia() {
+        return new ReservaAppService(reservaRepositorio, agendaSalaRepositorio, usuariosConhecidos, notificacaoService,
+                new TravasPorSala(), geradorIds);
+    }
+
+    private void assertSemSobreposicao(List<ReservaEntity> reservas) {
+        Map<UUID, List<ReservaEntity>> porSala = reservas.stream()
+                .collect(Collectors.groupingBy(ReservaEntity::getSalaId));
+        for (List<ReservaEntity> daSala : porSala.values()) {
+            List<ReservaEntity> ordenadas = new ArrayList<>(daSala);
+            Collections.sort(ordenadas, Comparator.comparing(ReservaEntity::getInicio));
+            for (int i = 1; i < ordenadas.size(); i++) {
+                ReservaEntity anterior = ordenadas.get(i - 1);
+                ReservaEntity atual = ordenadas.get(i);
+                assertTrue(!atual.getInicio().isBefore(anterior.getFim()),
+                        () -> "Sobreposicao entre " + anterior.getId() + " e " + atual.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package br.com.fiap.salalivre.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.fiap.salalivre.domain.exception.ConflitoDeHorarioException;
+import br.com.fiap.salalivre.domain.exception.EntidadeNaoEncontradaException;
+import br.com.fiap.salalivre.domain.model.FrequenciaRecorrencia;
+import br.com.fiap.salalivre.domain.model.Reserva;
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.domain.model.TipoUsuario;
+import br.com.fiap.salalivre.domain.valueobject.FiltroReservas;
+import br.com.fiap.salalivre.domain.valueobject.OcorrenciaSerie;
+import br.com.fiap.salalivre.domain.valueobject.PaginaReservas;
+import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.domain.valueobject.RegraRecorrencia;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.SolicitacaoReserva;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoSalas;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.UsuarioEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.AgendaSalaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.UsuarioJpaRepository;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class ReservaAppServiceConsultasTest {
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 4, 6, 9, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2026, 4, 6, 10, 0);
+
+    @Autowired
+    private ReservaAppService reservaAppService;
+
+    @Autowired
+    private ReservaJpaRepository reservaRepositorio;
+
+    @Autowired
+    private AgendaSalaJpaRepository agendaSalaRepositorio;
+
+    @Autowired
+    private SalaJpaRepository salaRepositorio;
+
+    @Autowired
+    private UsuarioJpaRepository usuarioRepositorio;
+
+    @Autowired
+    private CatalogoSalas catalogoSalas;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private UUID salaId;
+    private UUID usuarioId;
+
+    @BeforeEach
+    void setUp() {
+        reservaRepositorio.deleteAll();
+        agendaSalaRepositorio.deleteAll();
+        salaRepositorio.deleteAll();
+        usuarioRepositorio.deleteAll();
+        salaId = salaRepositorio.save(SalaEntity.builder()
+                .id(UUID.randomUUID())
+                .nome("Sala Azul")
+                .capacidade(10)
+                .localizacao("Andar 1")
+                .recursos(List.of("Projetor"))
+                .ativa(true)
+                .build()).getId();
+        usuarioId = usuarioRepositorio.save(UsuarioEntity.builder()
+                .id(UUID.randomUUID())
+                .nome("Usuario")
+                .email("usuario@sala.com")
+                .tipo(TipoUsuario.COMUM)
+                .build()).getId();
+        catalogoSalas.recarregar();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void criarReserva_deveValidarEmUmaUnicaConsulta() {
+        reservaAppService.criarReserva(usuarioId, salaId, new PeriodoReserva(INICIO, FIM));
+
+        // validacao + insert da versao da agenda + insert da reserva + insert do evento na caixa de saida
+        assertEquals(4, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void criarReserva_deveIncrementarVersaoDaAgendaSemLeituraExtra() {
+        reservaAppService.criarReserva(usuarioId, salaId, new PeriodoReserva(INICIO, FIM));
+        estatisticas.clear();
+
+        reservaAppService.criarReserva(usuarioId, salaId, new PeriodoReserva(INICIO.plusHours(1), FIM.plusHours(1)));
+
+        // validacao (ja traz a versao da agenda) + update condicional da versao + insert + evento
+        assertEquals(4, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void criarReserva_deveEmitirApenasAConsultaDeValidacaoQuandoHaConflito() {
+        reservaAppService.criarReserva(usuarioId, salaId, new PeriodoReserva(INICIO, FIM));
+        estatisticas.clear();
+
+        assertThrows(ConflitoDeHorarioException.class, () -> reservaAppService.criarReserva(
+                usuarioId, salaId, new PeriodoReserva(INICIO.plusMinutes(30), FIM.plusMinutes(30))));
+
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void criarReserva_deveRecusarSalaInexistenteApenasComAConsultaDeValidacao() {
+        assertThrows(EntidadeNaoEncontradaException.class, () -> reservaAppService.criarReserva(
+                usuarioId, UUID.randomUUID(), new PeriodoReserva(INICIO, FIM)));
+
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void criarSerie_deveAvaliarConflitosEmUmaConsultaDeIntervaloEInserirEmLote() {
+        reservaAppService.criarReserva(usuarioId, salaId, new PeriodoReserva(INICIO.plusWeeks(5), FIM.plusWeeks(5)));
+        estatisticas.clear();
+
+        List<OcorrenciaSerie> ocorrencias = reservaAppService.criarSerie(usuarioId, salaId, new PeriodoReserva(INICIO, FIM),
+                new RegraRecorrencia(FrequenciaRecorrencia.SEMANAL, 1, null, 40, null), false);
+
+        assertEquals(39, ocorrencias.stream().filter(OcorrenciaSerie::criada).count());
+        // validacao + intervalos da janela + update da versao da agenda + um lote de inserts de reservas e
+        // outro de eventos
+        assertEquals(5, estatisticas.getPrepareStatementCount());
+        assertEquals(39 * 2, estatisticas.getEntityInsertCount());
+    }
+
+    @Test
+    void criarReservasDaSala_deveValidarPedacoComPoucasConsultasEInserirEmLote() {
+        reservaAppService.criarReserva(usuarioId, salaId, new PeriodoReserva(INICIO, FIM));
+        List<SolicitacaoReserva> solicitacoes = new ArrayList<>();
+        for (int i = 0; i < 41; i++) {
+            solicitacoes.add(new SolicitacaoReserva(salaId, usuarioId, INICIO.plusDays(i), FIM.plusDays(i)));
+        }
+        estatisticas.clear();
+
+        List<ResultadoSolicitacao> resultados = reservaAppService.criarReservasDaSala(salaId, solicitacoes);
+
+        assertEquals(40, resultados.stream().filter(resultado -> resultado.situacao() == SituacaoSolicitacao.CRIADA).count());
+        // validacao da sala + intervalos da janela + update da versao da agenda + um lote de inserts de reservas e
+        // outro de eventos; o usuario ja e conhecido
+        assertEquals(5, estatisticas.getPrepareStatementCount());
+        assertEquals(40 * 2, estatisticas.getEntityInsertCount());
+    }
+
+    @Test
+    void listarReservas_deveCustarUmaConsultaPorPaginaMesmoComCursorProfundo() {
+        List<SolicitacaoReserva> solicitacoes = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            solicitacoes.add(new SolicitacaoReserva(salaId, usuarioId, INICIO.plusHours(i), FIM.plusHours(i)));
+        }
+        reservaAppService.criarReservasDaSala(salaId, solicitacoes);
+        FiltroReservas filtro = new FiltroReservas(salaId, null, null, null, StatusReserva.CONFIRMADA);
+        PaginaReservas pagina = reservaAppService.listarReservas(filtro, null, 100);
+        pagina = reservaAppService.listarReservas(filtro, pagina.proximo(), 100);
+        estatisticas.clear();
+
+        PaginaReservas ultima = reservaAppService.listarReservas(filtro, pagina.proximo(), 100);
+
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(100, ultima.reservas().size());
+        assertEquals(INICIO.plusHours(200), ultima.reservas().getFirst().inicio());
+        assertNull(ultima.proximo());
+    }
+
+    @Test
+    void alterarReserva_deveValidarEmUmaUnicaConsulta() {
+        Reserva reserva = reservaAppService.criarReserva(usuarioId, salaId, new PeriodoReserva(INICIO, FIM));
+        estatisticas.clear();
+
+        reservaAppService.alterarReserva(reserva.getId(),
+                new PeriodoReserva(INICIO.plusHours(1), FIM.plusHours(1)), usuarioId, false);
+
+        // busca da reserva + validacao + update da versao da agenda + update versionado da reserva + evento
+        assertEquals(5, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void alterarReserva_naoDeveMexerNaAgendaAoEncolherAReserva() {
+        Reserva reserva = reservaAppService.criarReserva(usuarioId, salaId, new PeriodoReserva(INICIO, FIM));
+        estatisticas.clear();
+
+        reservaAppService.alterarReserva(reserva.getId(), new PeriodoReserva(INICIO, FIM.minusMinutes(30)), usuarioId, false);
+
+        // busca da reserva + validacao + update versionado da reserva + evento
+        assertEquals(4, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void cancelarReserva_deveBuscarEAtualizarSoAReserva() {
+        Reserva reserva = reservaAppService.criarReserva(usuarioId, salaId, new PeriodoReserva(INICIO, FIM));
+        estatisticas.clear();
+
+        reservaAppService.cancelarReserva(reserva.getId(), usuarioId, false);
+
+        // busca da reserva + update da reserva + evento; liberar horario nao mexe na agenda
+        assertEquals(3, estatisticas.getPrepareStatementCount());
+    }
+}
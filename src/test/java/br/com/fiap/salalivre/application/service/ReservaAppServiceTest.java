@@ -3,8 +3,14 @@ package br.com.fiap.salalivre.application.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -12,7 +18,9 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,14 +36,24 @@ import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
 import br.com.fiap.salalivre.domain.event.ReservaAlteradaEvent;
 import br.com.fiap.salalivre.domain.event.ReservaCanceladaEvent;
 import br.com.fiap.salalivre.domain.event.ReservaCriadaEvent;
+import br.com.fiap.salalivre.domain.model.FrequenciaRecorrencia;
 import br.com.fiap.salalivre.domain.model.Reserva;
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
 import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.domain.valueobject.OcorrenciaSerie;
 import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.domain.valueobject.RegraRecorrencia;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.SolicitacaoReserva;
+import br.com.fiap.salalivre.infrastructure.catalogo.UsuariosConhecidos;
+import br.com.fiap.salalivre.infrastructure.concorrencia.AgendaSalaDesatualizadaException;
+import br.com.fiap.salalivre.infrastructure.concorrencia.TravasPorSala;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.AgendaSalaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
-import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.IntervaloReservaView;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.ValidacaoReservaView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.AgendaSalaJpaRepository;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
-import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
-import br.com.fiap.salalivre.infrastructure.persistence.repository.UsuarioJpaRepository;
 
 @ExtendWith(MockitoExtension.class)
 class ReservaAppServiceTest {
@@ -46,38 +64,40 @@ class ReservaAppServiceTest {
     private static final UUID OUTRO_USUARIO_ID = UUID.fromString("00000000-0000-0000-0000-000000000005");
     private static final LocalDateTime INICIO = LocalDateTime.of(2026, 1, 10, 9, 0);
     private static final LocalDateTime FIM = LocalDateTime.of(2026, 1, 10, 10, 0);
+    private static final Long VERSAO_AGENDA = 3L;
     private static final LocalDateTime CRIADO_EM = LocalDateTime.of(2026, 1, 1, 8, 0);
     private static final LocalDateTime ATUALIZADO_EM = LocalDateTime.of(2026, 1, 1, 8, 0);
 
     @Mock
-    private SalaJpaRepository salaRepositorio;
+    private ReservaJpaRepository reservaRepositorio;
 
     @Mock
-    private UsuarioJpaRepository usuarioRepositorio;
+    private AgendaSalaJpaRepository agendaSalaRepositorio;
 
     @Mock
-    private ReservaJpaRepository reservaRepositorio;
+    private UsuariosConhecidos usuariosConhecidos;
 
     @Mock
     private NotificacaoService notificacaoService;
 
+    @Mock
+    private TravasPorSala travasPorSala;
+
     private ReservaAppService reservaAppService;
 
     @BeforeEach
     void setUp() {
-        reservaAppService = new ReservaAppService(salaRepositorio, usuarioRepositorio, reservaRepositorio, notificacaoService);
+        reservaAppService = new ReservaAppService(reservaRepositorio, agendaSalaRepositorio, usuariosConhecidos,
+                notificacaoService, travasPorSala, UUID::randomUUID);
     }
 
     @Test
     void criarReserva_deveCriarQuandoNaoHaConflito() {
         PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
 
-        when(salaRepositorio.existsById(SALA_ID)).thenReturn(true);
-        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaEntity(SALA_ID, true)));
-        when(usuarioRepositorio.existsById(USUARIO_ID)).thenReturn(true);
-
-        when(reservaRepositorio.findConflitos(SALA_ID, INICIO, FIM, StatusReserva.CANCELADA))
-                .thenReturn(List.of());
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, false, VERSAO_AGENDA)));
+        when(agendaSalaRepositorio.incrementarVersao(SALA_ID, VERSAO_AGENDA)).thenReturn(1);
 
         ReservaEntity salva = reservaEntity(RESERVA_ID, SALA_ID, USUARIO_ID, INICIO, FIM, StatusReserva.CONFIRMADA);
         when(reservaRepositorio.save(any(ReservaEntity.class))).thenReturn(salva);
@@ -91,7 +111,9 @@ class ReservaAppServiceTest {
         assertEquals(USUARIO_ID, reserva.getUsuarioId());
         assertEquals(periodo, reserva.getPeriodo());
         assertEquals(StatusReserva.CONFIRMADA, reserva.getStatus());
-        verify(reservaRepositorio).findConflitos(SALA_ID, INICIO, FIM, StatusReserva.CANCELADA);
+        verify(reservaRepositorio).findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM), isNull());
+        verify(travasPorSala).travarAteFimDaTransacao(SALA_ID);
+        verify(usuariosConhecidos).registrar(USUARIO_ID);
         verify(reservaRepositorio).save(any(ReservaEntity.class));
         verify(notificacaoService).notificarReservaCriada(captor.capture());
         ReservaCriadaEvent evento = captor.getValue();
@@ -103,14 +125,11 @@ class ReservaAppServiceTest {
     }
 
     @Test
-    void criarReserva_deveLancarConflitoQuandoHaConflito() {
+    void criarReserva_deveLancarConflitoQuandoConsultaDeValidacaoIndicaConflito() {
         PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
 
-        when(salaRepositorio.existsById(SALA_ID)).thenReturn(true);
-        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaEntity(SALA_ID, true)));
-        when(usuarioRepositorio.existsById(USUARIO_ID)).thenReturn(true);
-        when(reservaRepositorio.findConflitos(SALA_ID, INICIO, FIM, StatusReserva.CANCELADA))
-                .thenReturn(List.of(reservaEntity(UUID.randomUUID(), SALA_ID, USUARIO_ID, INICIO, FIM, StatusReserva.CONFIRMADA)));
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, true, VERSAO_AGENDA)));
 
         assertThrows(ConflitoDeHorarioException.class,
                 () -> reservaAppService.criarReserva(USUARIO_ID, SALA_ID, periodo));
@@ -119,18 +138,48 @@ class ReservaAppServiceTest {
         verifyNoInteractions(notificacaoService);
     }
 
+    @Test
+    void criarReserva_deveFalharQuandoAgendaDaSalaMudouAposValidacao() {
+        PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
+
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, false, VERSAO_AGENDA)));
+        when(agendaSalaRepositorio.incrementarVersao(SALA_ID, VERSAO_AGENDA)).thenReturn(0);
+
+        AgendaSalaDesatualizadaException ex = assertThrows(AgendaSalaDesatualizadaException.class,
+                () -> reservaAppService.criarReserva(USUARIO_ID, SALA_ID, periodo));
+
+        assertEquals(SALA_ID, ex.getSalaId());
+        verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
+        verifyNoInteractions(notificacaoService);
+    }
+
+    @Test
+    void criarReserva_deveCriarVersaoDaAgendaQuandoSalaAindaNaoTemAgenda() {
+        PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
+
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, false, null)));
+        when(reservaRepositorio.save(any(ReservaEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        reservaAppService.criarReserva(USUARIO_ID, SALA_ID, periodo);
+
+        ArgumentCaptor<AgendaSalaEntity> agenda = ArgumentCaptor.forClass(AgendaSalaEntity.class);
+        verify(agendaSalaRepositorio).saveAndFlush(agenda.capture());
+        assertEquals(SALA_ID, agenda.getValue().getSalaId());
+        verify(agendaSalaRepositorio, never()).incrementarVersao(any(UUID.class), anyLong());
+    }
+
     @Test
     void criarReserva_deveLancarEntidadeNaoEncontradaQuandoSalaNaoExiste() {
         PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
 
-        when(salaRepositorio.existsById(SALA_ID)).thenReturn(false);
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.empty());
 
         assertThrows(EntidadeNaoEncontradaException.class,
                 () -> reservaAppService.criarReserva(USUARIO_ID, SALA_ID, periodo));
 
-        verify(usuarioRepositorio, never()).existsById(any(UUID.class));
-        verify(reservaRepositorio, never()).findConflitos(any(UUID.class), any(LocalDateTime.class),
-                any(LocalDateTime.class), any(StatusReserva.class));
         verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
         verifyNoInteractions(notificacaoService);
     }
@@ -139,31 +188,44 @@ class ReservaAppServiceTest {
     void criarReserva_deveLancarEntidadeNaoEncontradaQuandoUsuarioNaoExiste() {
         PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
 
-        when(salaRepositorio.existsById(SALA_ID)).thenReturn(true);
-        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaEntity(SALA_ID, true)));
-        when(usuarioRepositorio.existsById(USUARIO_ID)).thenReturn(false);
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, false, false, VERSAO_AGENDA)));
 
         assertThrows(EntidadeNaoEncontradaException.class,
                 () -> reservaAppService.criarReserva(USUARIO_ID, SALA_ID, periodo));
 
-        verify(reservaRepositorio, never()).findConflitos(any(UUID.class), any(LocalDateTime.class),
-                any(LocalDateTime.class), any(StatusReserva.class));
+        verify(usuariosConhecidos, never()).registrar(any());
         verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
         verifyNoInteractions(notificacaoService);
     }
 
+    @Test
+    void criarReserva_deveDispensarChecagemDoUsuarioJaConhecido() {
+        PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
+
+        when(usuariosConhecidos.contem(USUARIO_ID)).thenReturn(true);
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), isNull(), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, false, VERSAO_AGENDA)));
+        when(agendaSalaRepositorio.incrementarVersao(SALA_ID, VERSAO_AGENDA)).thenReturn(1);
+        when(reservaRepositorio.save(any(ReservaEntity.class))).thenReturn(
+                reservaEntity(RESERVA_ID, SALA_ID, USUARIO_ID, INICIO, FIM, StatusReserva.CONFIRMADA));
+
+        reservaAppService.criarReserva(USUARIO_ID, SALA_ID, periodo);
+
+        verify(reservaRepositorio, never()).findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), any(), any(), any());
+        verify(usuariosConhecidos, never()).registrar(any());
+    }
+
     @Test
     void criarReserva_deveLancarRegraDeNegocioQuandoSalaInativa() {
         PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
 
-        when(salaRepositorio.existsById(SALA_ID)).thenReturn(true);
-        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaEntity(SALA_ID, false)));
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(false, true, false, VERSAO_AGENDA)));
 
         assertThrows(RegraDeNegocioException.class,
                 () -> reservaAppService.criarReserva(USUARIO_ID, SALA_ID, periodo));
 
-        verify(reservaRepositorio, never()).findConflitos(any(UUID.class), any(LocalDateTime.class),
-                any(LocalDateTime.class), any(StatusReserva.class));
         verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
         verifyNoInteractions(notificacaoService);
     }
@@ -174,11 +236,8 @@ class ReservaAppServiceTest {
         ReservaEntity existente = reservaEntity(RESERVA_ID, SALA_ID, USUARIO_ID, INICIO, FIM, StatusReserva.CONFIRMADA);
 
         when(reservaRepositorio.findById(RESERVA_ID)).thenReturn(Optional.of(existente));
-        when(salaRepositorio.existsById(SALA_ID)).thenReturn(true);
-        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaEntity(SALA_ID, true)));
-
-        when(reservaRepositorio.findConflitosExcluindoReserva(SALA_ID, INICIO, FIM, StatusReserva.CANCELADA, RESERVA_ID))
-                .thenReturn(List.of());
+        when(reservaRepositorio.findValidacaoReserva(SALA_ID, USUARIO_ID, INICIO, FIM, RESERVA_ID))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, false, VERSAO_AGENDA)));
         when(reservaRepositorio.save(any(ReservaEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         Reserva reserva = reservaAppService.alterarReserva(RESERVA_ID, periodo, USUARIO_ID, false);
@@ -189,7 +248,8 @@ class ReservaAppServiceTest {
         assertEquals(SALA_ID, reserva.getSalaId());
         assertEquals(USUARIO_ID, reserva.getUsuarioId());
         assertEquals(periodo, reserva.getPeriodo());
-        verify(reservaRepositorio).findConflitosExcluindoReserva(SALA_ID, INICIO, FIM, StatusReserva.CANCELADA, RESERVA_ID);
+        verify(travasPorSala).travarAteFimDaTransacao(SALA_ID);
+        verifyNoInteractions(agendaSalaRepositorio);
         verify(reservaRepositorio).save(any(ReservaEntity.class));
         verify(notificacaoService).notificarReservaAlterada(captor.capture());
         ReservaAlteradaEvent evento = captor.getValue();
@@ -200,16 +260,31 @@ class ReservaAppServiceTest {
         assertEquals(FIM, evento.fim());
     }
 
+    @Test
+    void alterarReserva_deveDisputarAAgendaQuandoONovoPeriodoPassaDoAtual() {
+        PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM.plusMinutes(30));
+        ReservaEntity existente = reservaEntity(RESERVA_ID, SALA_ID, USUARIO_ID, INICIO, FIM, StatusReserva.CONFIRMADA);
+
+        when(reservaRepositorio.findById(RESERVA_ID)).thenReturn(Optional.of(existente));
+        when(reservaRepositorio.findValidacaoReserva(SALA_ID, USUARIO_ID, periodo.inicio(), periodo.fim(), RESERVA_ID))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, false, VERSAO_AGENDA)));
+        when(agendaSalaRepositorio.incrementarVersao(SALA_ID, VERSAO_AGENDA)).thenReturn(0);
+
+        assertThrows(AgendaSalaDesatualizadaException.class,
+                () -> reservaAppService.alterarReserva(RESERVA_ID, periodo, USUARIO_ID, false));
+
+        verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
+        verifyNoInteractions(notificacaoService);
+    }
+
     @Test
     void alterarReserva_deveLancarConflitoQuandoOutraReservaConflita() {
         PeriodoReserva periodo = new PeriodoReserva(INICIO, FIM);
         ReservaEntity existente = reservaEntity(RESERVA_ID, SALA_ID, USUARIO_ID, INICIO, FIM, StatusReserva.CONFIRMADA);
 
         when(reservaRepositorio.findById(RESERVA_ID)).thenReturn(Optional.of(existente));
-        when(salaRepositorio.existsById(SALA_ID)).thenReturn(true);
-        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaEntity(SALA_ID, true)));
-        when(reservaRepositorio.findConflitosExcluindoReserva(SALA_ID, INICIO, FIM, StatusReserva.CANCELADA, RESERVA_ID))
-                .thenReturn(List.of(reservaEntity(UUID.randomUUID(), SALA_ID, USUARIO_ID, INICIO, FIM, StatusReserva.CONFIRMADA)));
+        when(reservaRepositorio.findValidacaoReserva(SALA_ID, USUARIO_ID, INICIO, FIM, RESERVA_ID))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, true, VERSAO_AGENDA)));
 
         assertThrows(ConflitoDeHorarioException.class,
                 () -> reservaAppService.alterarReserva(RESERVA_ID, periodo, USUARIO_ID, false));
@@ -224,14 +299,12 @@ class ReservaAppServiceTest {
         ReservaEntity existente = reservaEntity(RESERVA_ID, SALA_ID, USUARIO_ID, INICIO, FIM, StatusReserva.CONFIRMADA);
 
         when(reservaRepositorio.findById(RESERVA_ID)).thenReturn(Optional.of(existente));
-        when(salaRepositorio.existsById(SALA_ID)).thenReturn(true);
-        when(salaRepositorio.findById(SALA_ID)).thenReturn(Optional.of(salaEntity(SALA_ID, false)));
+        when(reservaRepositorio.findValidacaoReserva(SALA_ID, USUARIO_ID, INICIO, FIM, RESERVA_ID))
+                .thenReturn(Optional.of(new ValidacaoReservaView(false, true, false, VERSAO_AGENDA)));
 
         assertThrows(RegraDeNegocioException.class,
                 () -> reservaAppService.alterarReserva(RESERVA_ID, periodo, USUARIO_ID, false));
 
-        verify(reservaRepositorio, never()).findConflitosExcluindoReserva(any(UUID.class), any(LocalDateTime.class),
-                any(LocalDateTime.class), any(StatusReserva.class), any(UUID.class));
         verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
         verifyNoInteractions(notificacaoService);
     }
@@ -246,9 +319,8 @@ class ReservaAppServiceTest {
         assertThrows(PermissaoNegadaException.class,
                 () -> reservaAppService.alterarReserva(RESERVA_ID, periodo, OUTRO_USUARIO_ID, false));
 
-        verify(salaRepositorio, never()).existsById(any(UUID.class));
-        verify(reservaRepositorio, never()).findConflitosExcluindoReserva(any(UUID.class), any(LocalDateTime.class),
-                any(LocalDateTime.class), any(StatusReserva.class), any(UUID.class));
+        verifyNoInteractions(travasPorSala);
+        verify(reservaRepositorio, never()).findValidacaoReserva(any(), any(), any(), any(), any());
         verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
         verifyNoInteractions(notificacaoService);
     }
@@ -259,13 +331,12 @@ class ReservaAppServiceTest {
         ReservaEntity existente = reservaEntity(RESERVA_ID, SALA_ID, USUARIO_ID, INICIO, FIM, StatusReserva.CONFIRMADA);
 
         when(reservaRepositorio.findById(RESERVA_ID)).thenReturn(Optional.of(existente));
-        when(salaRepositorio.existsById(SALA_ID)).thenReturn(false);
+        when(reservaRepositorio.findValidacaoReserva(SALA_ID, USUARIO_ID, INICIO, FIM, RESERVA_ID))
+                .thenReturn(Optional.empty());
 
         assertThrows(EntidadeNaoEncontradaException.class,
                 () -> reservaAppService.alterarReserva(RESERVA_ID, periodo, USUARIO_ID, false));
 
-        verify(reservaRepositorio, never()).findConflitosExcluindoReserva(any(UUID.class), any(LocalDateTime.class),
-                any(LocalDateTime.class), any(StatusReserva.class), any(UUID.class));
         verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
         verifyNoInteractions(notificacaoService);
     }
@@ -279,6 +350,7 @@ class ReservaAppServiceTest {
 
         Reserva reserva = reservaAppService.cancelarReserva(RESERVA_ID, ADMIN_ID, true);
 
+        verifyNoInteractions(agendaSalaRepositorio);
         ArgumentCaptor<ReservaCanceladaEvent> captor = ArgumentCaptor.forClass(ReservaCanceladaEvent.class);
         assertEquals(StatusReserva.CANCELADA, reserva.getStatus());
         verify(reservaRepositorio).save(any(ReservaEntity.class));
@@ -375,6 +447,135 @@ class ReservaAppServiceTest {
         verifyNoInteractions(notificacaoService);
     }
 
+    @Test
+    void criarSerie_deveCriarOcorrenciasLivresEReportarConflitos() {
+        PeriodoReserva primeira = new PeriodoReserva(INICIO, FIM);
+        RegraRecorrencia regra = new RegraRecorrencia(FrequenciaRecorrencia.SEMANAL, 1, null, 4, null);
+        LocalDateTime ultimoFim = FIM.plusWeeks(3);
+
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(ultimoFim), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, true, VERSAO_AGENDA)));
+        when(reservaRepositorio.streamIntervalosAtivosDaSala(SALA_ID, INICIO, ultimoFim)).thenReturn(Stream.of(
+                new IntervaloReservaView(SALA_ID, INICIO.plusWeeks(1).minusMinutes(30), INICIO.plusWeeks(1).plusMinutes(15)),
+                new IntervaloReservaView(SALA_ID, FIM.plusWeeks(2), FIM.plusWeeks(2).plusHours(1)),
+                new IntervaloReservaView(SALA_ID, INICIO.plusWeeks(3).plusMinutes(30), FIM.plusWeeks(3))));
+        when(agendaSalaRepositorio.incrementarVersao(SALA_ID, VERSAO_AGENDA)).thenReturn(1);
+        when(reservaRepositorio.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<OcorrenciaSerie> ocorrencias = reservaAppService.criarSerie(USUARIO_ID, SALA_ID, primeira, regra, false);
+
+        assertEquals(List.of(false, true, false, true), ocorrencias.stream().map(OcorrenciaSerie::conflito).toList());
+        assertEquals(List.of(true, false, true, false), ocorrencias.stream().map(OcorrenciaSerie::criada).toList());
+        ArgumentCaptor<List<ReservaEntity>> salvas = ArgumentCaptor.captor();
+        verify(reservaRepositorio).saveAll(salvas.capture());
+        assertEquals(List.of(INICIO, INICIO.plusWeeks(2)), salvas.getValue().stream().map(ReservaEntity::getInicio).toList());
+        verify(travasPorSala).travarAteFimDaTransacao(SALA_ID);
+        verify(notificacaoService, times(2)).notificarReservaCriada(any(ReservaCriadaEvent.class));
+    }
+
+    @Test
+    void criarSerie_naoDeveConsultarIntervalosQuandoJanelaEstaLivre() {
+        PeriodoReserva primeira = new PeriodoReserva(INICIO, FIM);
+        RegraRecorrencia regra = new RegraRecorrencia(FrequenciaRecorrencia.DIARIA, 1, INICIO.toLocalDate().plusDays(2),
+                null, Set.of(INICIO.toLocalDate().plusDays(1)));
+
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM.plusDays(2)), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, false, VERSAO_AGENDA)));
+        when(agendaSalaRepositorio.incrementarVersao(SALA_ID, VERSAO_AGENDA)).thenReturn(1);
+        when(reservaRepositorio.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<OcorrenciaSerie> ocorrencias = reservaAppService.criarSerie(USUARIO_ID, SALA_ID, primeira, regra, true);
+
+        assertEquals(List.of(INICIO, INICIO.plusDays(2)), ocorrencias.stream().map(o -> o.periodo().inicio()).toList());
+        assertTrue(ocorrencias.stream().allMatch(OcorrenciaSerie::criada));
+        verify(reservaRepositorio, never()).streamIntervalosAtivosDaSala(any(UUID.class), any(), any());
+    }
+
+    @Test
+    void criarSerie_tudoOuNadaNaoDeveCriarNadaQuandoHaConflito() {
+        PeriodoReserva primeira = new PeriodoReserva(INICIO, FIM);
+        RegraRecorrencia regra = new RegraRecorrencia(FrequenciaRecorrencia.DIARIA, 1, null, 3, null);
+
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), eq(USUARIO_ID), eq(INICIO), eq(FIM.plusDays(2)), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, true, VERSAO_AGENDA)));
+        when(reservaRepositorio.streamIntervalosAtivosDaSala(SALA_ID, INICIO, FIM.plusDays(2))).thenReturn(Stream.of(
+                new IntervaloReservaView(SALA_ID, INICIO.plusDays(1), FIM.plusDays(1))));
+
+        List<OcorrenciaSerie> ocorrencias = reservaAppService.criarSerie(USUARIO_ID, SALA_ID, primeira, regra, true);
+
+        assertEquals(List.of(false, true, false), ocorrencias.stream().map(OcorrenciaSerie::conflito).toList());
+        assertTrue(ocorrencias.stream().noneMatch(OcorrenciaSerie::criada));
+        verify(reservaRepositorio, never()).saveAll(anyList());
+        verify(agendaSalaRepositorio, never()).incrementarVersao(any(UUID.class), anyLong());
+        verify(notificacaoService, never()).notificarReservasCriadas(anyList());
+        verifyNoInteractions(notificacaoService);
+    }
+
+    @Test
+    void criarReservasDaSala_deveAvaliarCadaSolicitacaoContraBancoELote() {
+        UUID desconhecido = UUID.randomUUID();
+        List<SolicitacaoReserva> solicitacoes = List.of(
+                new SolicitacaoReserva(SALA_ID, USUARIO_ID, INICIO, FIM),
+                new SolicitacaoReserva(SALA_ID, USUARIO_ID, INICIO.plusMinutes(30), FIM.plusMinutes(30)),
+                new SolicitacaoReserva(SALA_ID, USUARIO_ID, INICIO.plusHours(2), FIM.plusHours(2)),
+                new SolicitacaoReserva(SALA_ID, desconhecido, INICIO.plusHours(4), FIM.plusHours(4)),
+                new SolicitacaoReserva(SALA_ID, USUARIO_ID, INICIO.plusHours(5), FIM.plusHours(5)));
+        LocalDateTime fimJanela = FIM.plusHours(5);
+
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), isNull(), eq(INICIO), eq(fimJanela), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, true, VERSAO_AGENDA)));
+        when(usuariosConhecidos.existentes(Set.of(USUARIO_ID, desconhecido))).thenReturn(Set.of(USUARIO_ID));
+        when(reservaRepositorio.streamIntervalosAtivosDaSala(SALA_ID, INICIO, fimJanela)).thenReturn(Stream.of(
+                new IntervaloReservaView(SALA_ID, INICIO.plusHours(2).plusMinutes(30), INICIO.plusHours(3)),
+                new IntervaloReservaView(SALA_ID, INICIO.plusHours(2).plusMinutes(45), INICIO.plusHours(3).plusMinutes(30))));
+        when(agendaSalaRepositorio.incrementarVersao(SALA_ID, VERSAO_AGENDA)).thenReturn(1);
+
+        List<ResultadoSolicitacao> resultados = reservaAppService.criarReservasDaSala(SALA_ID, solicitacoes);
+
+        assertEquals(List.of(SituacaoSolicitacao.CRIADA, SituacaoSolicitacao.CONFLITO, SituacaoSolicitacao.CONFLITO,
+                        SituacaoSolicitacao.INVALIDA, SituacaoSolicitacao.CRIADA),
+                resultados.stream().map(ResultadoSolicitacao::situacao).toList());
+        assertEquals("Conflito com outra reserva do lote.", resultados.get(1).mensagem());
+        assertEquals("Conflito de horario para a sala.", resultados.get(2).mensagem());
+        ArgumentCaptor<List<ReservaEntity>> salvas = ArgumentCaptor.captor();
+        verify(reservaRepositorio).saveAll(salvas.capture());
+        assertEquals(List.of(resultados.get(0).reservaId(), resultados.get(4).reservaId()),
+                salvas.getValue().stream().map(ReservaEntity::getId).toList());
+        ArgumentCaptor<List<ReservaCriadaEvent>> eventos = ArgumentCaptor.captor();
+        verify(notificacaoService).notificarReservasCriadas(eventos.capture());
+        assertEquals(List.of(resultados.get(0).reservaId(), resultados.get(4).reservaId()),
+                eventos.getValue().stream().map(ReservaCriadaEvent::reservaId).toList());
+        verify(travasPorSala).travarAteFimDaTransacao(SALA_ID);
+    }
+
+    @Test
+    void criarReservasDaSala_naoDeveGravarQuandoNenhumaSolicitacaoEAceita() {
+        List<SolicitacaoReserva> solicitacoes = List.of(new SolicitacaoReserva(SALA_ID, USUARIO_ID, INICIO, FIM));
+
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), isNull(), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(true, true, false, VERSAO_AGENDA)));
+        when(usuariosConhecidos.existentes(Set.of(USUARIO_ID))).thenReturn(Set.of());
+
+        List<ResultadoSolicitacao> resultados = reservaAppService.criarReservasDaSala(SALA_ID, solicitacoes);
+
+        assertEquals(SituacaoSolicitacao.INVALIDA, resultados.getFirst().situacao());
+        verify(reservaRepositorio, never()).streamIntervalosAtivosDaSala(any(UUID.class), any(), any());
+        verify(reservaRepositorio, never()).saveAll(anyList());
+        verify(agendaSalaRepositorio, never()).incrementarVersao(any(UUID.class), anyLong());
+    }
+
+    @Test
+    void criarReservasDaSala_deveLancarQuandoSalaInativa() {
+        List<SolicitacaoReserva> solicitacoes = List.of(new SolicitacaoReserva(SALA_ID, USUARIO_ID, INICIO, FIM));
+
+        when(reservaRepositorio.findValidacaoReserva(eq(SALA_ID), isNull(), eq(INICIO), eq(FIM), isNull()))
+                .thenReturn(Optional.of(new ValidacaoReservaView(false, true, false, VERSAO_AGENDA)));
+
+        assertThrows(RegraDeNegocioException.class, () -> reservaAppService.criarReservasDaSala(SALA_ID, solicitacoes));
+
+        verify(reservaRepositorio, never()).saveAll(anyList());
+    }
+
     @Test
     void alterarReserva_deveLancarRegraDeNegocioQuandoPeriodoNulo() {
         assertThrows(RegraDeNegocioException.class,
@@ -384,17 +585,6 @@ class ReservaAppServiceTest {
         verifyNoInteractions(notificacaoService);
     }
 
-    private static SalaEntity salaEntity(UUID salaId, boolean ativa) {
-        return SalaEntity.builder()
-                .id(salaId)
-                .nome("Sala Azul")
-                .capacidade(10)
-                .localizacao("Andar 1")
-                .recursos(List.of("Projetor"))
-                .ativa(ativa)
-                .build();
-    }
-
     private static ReservaEntity reservaEntity(UUID reservaId,
                                                UUID salaId,
                                                UUID usuarioId,
@@ -0,0 +1,70 @@
+package br.com.fiap.salalivre.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.domain.valueobject.DadosReserva;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ReservaExportacaoAppServiceTest {
+    private static final UUID SALA_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID USUARIO_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Mock
+    private ReservaJpaRepository reservaRepositorio;
+
+    private ReservaExportacaoAppService reservaExportacaoAppService;
+
+    @BeforeEach
+    void setUp() {
+        reservaExportacaoAppService = new ReservaExportacaoAppService(reservaRepositorio);
+    }
+
+    @Test
+    void exportar_deveEntregarReservasNaOrdemEFecharCursor() {
+        int total = 2_001;
+        AtomicBoolean fechado = new AtomicBoolean();
+        when(reservaRepositorio.streamTodasOrdenadas()).thenReturn(IntStream.range(0, total)
+                .mapToObj(ReservaExportacaoAppServiceTest::dadosReserva)
+                .onClose(() -> fechado.set(true)));
+        List<DadosReserva> exportadas = new ArrayList<>();
+
+        long linhas = reservaExportacaoAppService.exportar(exportadas::add);
+
+        assertEquals(total, linhas);
+        assertEquals(INICIO, exportadas.getFirst().inicio());
+        assertEquals(INICIO.plusMinutes(30L * (total - 1)), exportadas.getLast().inicio());
+        assertTrue(fechado.get());
+    }
+
+    @Test
+    void exportar_deveRetornarZeroSemReservas() {
+        when(reservaRepositorio.streamTodasOrdenadas()).thenReturn(Stream.empty());
+
+        assertEquals(0, reservaExportacaoAppService.exportar(reserva -> { }));
+    }
+
+    private static DadosReserva dadosReserva(int indice) {
+        LocalDateTime inicio = INICIO.plusMinutes(30L * indice);
+        return new DadosReserva(UUID.randomUUID(), SALA_ID, USUARIO_ID, inicio, inicio.plusMinutes(30),
+                StatusReserva.CONFIRMADA, INICIO, INICIO);
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.fiap.salalivre.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.LinhaImportacao;
+import br.com.fiap.salalivre.domain.valueobject.RejeicaoImportacao;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.ResumoImportacao;
+import br.com.fiap.salalivre.domain.valueobject.SolicitacaoReserva;
+import br.com.fiap.salalivre.infrastructure.catalogo.UsuariosConhecidos;
+import br.com.fiap.salalivre.infrastructure.concorrencia.AgendaSalaDesatualizadaException;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ReservaImportacaoAppServiceTest {
+    private static final UUID SALA_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID SALA_INATIVA = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID SALA_LIVRE = UUID.fromString("00000000-0000-0000-0000-00000000000c");
+    private static final UUID USUARIO_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID USUARIO_INEXISTENTE = UUID.fromString("00000000-0000-0000-0000-000000000003");
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Mock
+    private ReservaAppService reservaAppService;
+
+    @Mock
+    private SalaJpaRepository salaRepositorio;
+
+    @Mock
+    private UsuariosConhecidos usuariosConhecidos;
+
+    private ReservaImportacaoAppService reservaImportacaoAppService;
+
+    @BeforeEach
+    void setUp() {
+        RetentativaOtimista retentativaOtimista =
+                new RetentativaOtimista(new SimpleMeterRegistry(), 3, Duration.ofMillis(1), Duration.ofMillis(2));
+        reservaImportacaoAppService = new ReservaImportacaoAppService(reservaAppService, salaRepositorio,
+                usuariosConhecidos, retentativaOtimista);
+    }
+
+    @Test
+    void importar_deveRejeitarLinhasInvalidasSalasEUsuariosDesconhecidosEConflitosNaOrdemDasLinhas() {
+        SolicitacaoReserva criada = solicitacao(SALA_A, USUARIO_ID, 0);
+        SolicitacaoReserva emConflito = solicitacao(SALA_A, USUARIO_ID, 1);
+        List<LinhaImportacao> linhas = List.of(
+                LinhaImportacao.lida(2, criada),
+                LinhaImportacao.invalida(3, "Linha CSV invalida."),
+                LinhaImportacao.lida(4, solicitacao(SALA_INATIVA, USUARIO_ID, 0)),
+                LinhaImportacao.lida(5, emConflito),
+                LinhaImportacao.lida(6, solicitacao(SALA_A, USUARIO_INEXISTENTE, 2)),
+                LinhaImportacao.lida(7, new SolicitacaoReserva(SALA_A, USUARIO_ID, INICIO, INICIO.minusHours(1))));
+        when(salaRepositorio.findIdsAtivosByIdIn(anyCollection())).thenReturn(List.of(SALA_A));
+        when(usuariosConhecidos.existentes(anyCollection())).thenReturn(Set.of(USUARIO_ID));
+        when(reservaAppService.criarReservasDaSala(SALA_A, List.of(criada, emConflito))).thenReturn(List.of(
+                ResultadoSolicitacao.criada(UUID.randomUUID()),
+                ResultadoSolicitacao.conflito("Conflito de horario para a sala.")));
+        List<RejeicaoImportacao> rejeicoes = new ArrayList<>();
+
+        ResumoImportacao resumo = reservaImportacaoAppService.importar(linhas.iterator(), rejeicoes::add);
+
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), rejeicoes.stream().map(RejeicaoImportacao::linha).toList());
+        assertEquals(new RejeicaoImportacao(4, SituacaoSolicitacao.INVALIDA, "Sala nao encontrada ou inativa."),
+                rejeicoes.get(1));
+        assertEquals(new RejeicaoImportacao(5, SituacaoSolicitacao.CONFLITO, "Conflito de horario para a sala."),
+                rejeicoes.get(2));
+        assertEquals(new RejeicaoImportacao(6, SituacaoSolicitacao.INVALIDA, "Usuario nao encontrado."),
+                rejeicoes.get(3));
+        assertEquals(6, resumo.lidas());
+        assertEquals(1, resumo.importadas());
+        assertEquals(5, resumo.rejeitadas());
+    }
+
+    @Test
+    void importar_deveProcessarArquivoEmBlocosLimitados() {
+        int total = ReservaImportacaoAppService.LINHAS_POR_BLOCO * 2 + 1;
+        Iterator<LinhaImportacao> linhas = LongStream.rangeClosed(1, total)
+                .mapToObj(numero -> LinhaImportacao.lida(numero, solicitacao(SALA_A, USUARIO_ID, (int) numero)))
+                .iterator();
+        when(salaRepositorio.findIdsAtivosByIdIn(anyCollection())).thenReturn(List.of(SALA_A));
+        when(usuariosConhecidos.existentes(anyCollection())).thenReturn(Set.of(USUARIO_ID));
+        when(reservaAppService.criarReservasDaSala(eq(SALA_A), anyList())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(1).size(), ResultadoSolicitacao.criada(UUID.randomUUID())));
+
+        ResumoImportacao resumo = reservaImportacaoAppService.importar(linhas, rejeicao -> { });
+
+        assertEquals(total, resumo.importadas());
+        verify(salaRepositorio, times(3)).findIdsAtivosByIdIn(anyCollection());
+        verify(reservaAppService, times(3)).criarReservasDaSala(eq(SALA_A), anyList());
+    }
+
+    @Test
+    void importar_deveRejeitarComoConflitoAsLinhasDaSalaQuandoAsRetentativasSeEsgotam() {
+        SolicitacaoReserva disputada = solicitacao(SALA_A, USUARIO_ID, 0);
+        SolicitacaoReserva livre = solicitacao(SALA_LIVRE, USUARIO_ID, 0);
+        when(salaRepositorio.findIdsAtivosByIdIn(anyCollection())).thenReturn(List.of(SALA_A, SALA_LIVRE));
+        when(usuariosConhecidos.existentes(anyCollection())).thenReturn(Set.of(USUARIO_ID));
+        when(reservaAppService.criarReservasDaSala(SALA_A, List.of(disputada)))
+                .thenThrow(new AgendaSalaDesatualizadaException(SALA_A));
+        when(reservaAppService.criarReservasDaSala(SALA_LIVRE, List.of(livre)))
+                .thenReturn(List.of(ResultadoSolicitacao.criada(UUID.randomUUID())));
+        List<RejeicaoImportacao> rejeicoes = new ArrayList<>();
+
+        ResumoImportacao resumo = reservaImportacaoAppService.importar(List.of(
+                LinhaImportacao.lida(2, disputada),
+                LinhaImportacao.lida(3, livre)).iterator(), rejeicoes::add);
+
+        assertEquals(List.of(new RejeicaoImportacao(2, SituacaoSolicitacao.CONFLITO,
+                ReservaLoteAppService.AGENDA_EM_DISPUTA)), rejeicoes);
+        assertEquals(1, resumo.importadas());
+        verify(reservaAppService, times(3)).criarReservasDaSala(SALA_A, List.of(disputada));
+    }
+
+    @Test
+    void importar_devePropagarFalhaDeLeituraDoArquivo() {
+        Iterator<LinhaImportacao> linhas = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                throw new UncheckedIOException(new IOException("conexao encerrada"));
+            }
+
+            @Override
+            public LinhaImportacao next() {
+                throw new AssertionError();
+            }
+        };
+
+        assertThrows(UncheckedIOException.class, () -> reservaImportacaoAppService.importar(linhas, rejeicao -> { }));
+    }
+
+    private static SolicitacaoReserva solicitacao(UUID salaId, UUID usuarioId, int meiaHora) {
+        LocalDateTime inicio = INICIO.plusMinutes(30L * meiaHora);
+        return new SolicitacaoReserva(salaId, usuarioId, inicio, inicio.plusMinutes(30));
+    }
+}
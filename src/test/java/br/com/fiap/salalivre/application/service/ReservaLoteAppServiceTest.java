@@ -0,0 +1,257 @@
+package br.com.fiap.salalivre.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.salalivre.domain.exception.EntidadeNaoEncontradaException;
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+import br.com.fiap.salalivre.domain.model.SituacaoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.LinhaImportacao;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoLote;
+import br.com.fiap.salalivre.domain.valueobject.ResultadoSolicitacao;
+import br.com.fiap.salalivre.domain.valueobject.SolicitacaoReserva;
+import br.com.fiap.salalivre.infrastructure.concorrencia.AgendaSalaDesatualizadaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ReservaLoteAppServiceTest {
+    private static final UUID SALA_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID SALA_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID USUARIO_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    @Mock
+    private ReservaAppService reservaAppService;
+
+    private ReservaLoteAppService reservaLoteAppService;
+
+    @BeforeEach
+    void setUp() {
+        RetentativaOtimista retentativaOtimista =
+                new RetentativaOtimista(new SimpleMeterRegistry(), 3, Duration.ofMillis(1), Duration.ofMillis(2));
+        reservaLoteAppService = new ReservaLoteAppService(reservaAppService, retentativaOtimista);
+    }
+
+    @Test
+    void criarEmLote_deveAgruparPorSalaEDevolverResultadosNaOrdemDasSolicitacoes() {
+        SolicitacaoReserva a1 = solicitacao(SALA_A, 0);
+        SolicitacaoReserva b1 = solicitacao(SALA_B, 0);
+        SolicitacaoReserva a2 = solicitacao(SALA_A, 1);
+        UUID reservaA1 = UUID.randomUUID();
+        UUID reservaB1 = UUID.randomUUID();
+        when(reservaAppService.criarReservasDaSala(SALA_A, List.of(a1, a2))).thenReturn(List.of(
+                ResultadoSolicitacao.criada(reservaA1), ResultadoSolicitacao.conflito("Conflito de horario para a sala.")));
+        when(reservaAppService.criarReservasDaSala(SALA_B, List.of(b1))).thenReturn(List.of(
+                ResultadoSolicitacao.criada(reservaB1)));
+
+        List<ResultadoSolicitacao> resultados = reservaLoteAppService.criarEmLote(List.of(a1, b1, a2)).resultados();
+
+        assertEquals(reservaA1, resultados.get(0).reservaId());
+        assertEquals(reservaB1, resultados.get(1).reservaId());
+        assertEquals(SituacaoSolicitacao.CONFLITO, resultados.get(2).situacao());
+    }
+
+    @Test
+    void criarEmLote_deveMarcarItensInvalidosSemEnviaLosAoServico() {
+        SolicitacaoReserva semSala = new SolicitacaoReserva(null, USUARIO_ID, INICIO, INICIO.plusHours(1));
+        SolicitacaoReserva periodoInvertido = new SolicitacaoReserva(SALA_A, USUARIO_ID, INICIO, INICIO.minusHours(1));
+
+        List<ResultadoSolicitacao> resultados =
+                reservaLoteAppService.criarEmLote(List.of(semSala, periodoInvertido)).resultados();
+
+        assertEquals(SituacaoSolicitacao.INVALIDA, resultados.get(0).situacao());
+        assertEquals(SituacaoSolicitacao.INVALIDA, resultados.get(1).situacao());
+        verifyNoInteractions(reservaAppService);
+    }
+
+    @Test
+    void criarEmLote_deveDividirSalaEmPedacosDeUmaTransacaoCada() {
+        List<SolicitacaoReserva> solicitacoes = new ArrayList<>();
+        for (int i = 0; i < ReservaLoteAppService.ITENS_POR_TRANSACAO + 1; i++) {
+            solicitacoes.add(solicitacao(SALA_A, i));
+        }
+        when(reservaAppService.criarReservasDaSala(eq(SALA_A), anyList())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(1).size(), ResultadoSolicitacao.criada(UUID.randomUUID())));
+
+        List<ResultadoSolicitacao> resultados = reservaLoteAppService.criarEmLote(solicitacoes).resultados();
+
+        assertEquals(solicitacoes.size(), resultados.size());
+        verify(reservaAppService).criarReservasDaSala(SALA_A,
+                solicitacoes.subList(0, ReservaLoteAppService.ITENS_POR_TRANSACAO));
+        verify(reservaAppService).criarReservasDaSala(SALA_A,
+                solicitacoes.subList(ReservaLoteAppService.ITENS_POR_TRANSACAO, solicitacoes.size()));
+    }
+
+    @Test
+    void criarEmLote_deveGravarCadaPedacoAntesDeLerORestoDoIterador() {
+        List<SolicitacaoReserva> solicitacoes = new ArrayList<>();
+        for (int i = 0; i < ReservaLoteAppService.ITENS_POR_TRANSACAO + 1; i++) {
+            solicitacoes.add(solicitacao(SALA_A, i));
+        }
+        AtomicInteger lidos = new AtomicInteger();
+        Iterator<LinhaImportacao> iterador = linhas(solicitacoes).stream().peek(linha -> lidos.incrementAndGet()).iterator();
+        List<Integer> lidosAoGravar = new ArrayList<>();
+        when(reservaAppService.criarReservasDaSala(eq(SALA_A), anyList())).thenAnswer(invocation -> {
+            lidosAoGravar.add(lidos.get());
+            return Collections.nCopies(invocation.<List<?>>getArgument(1).size(), ResultadoSolicitacao.criada(UUID.randomUUID()));
+        });
+
+        List<ResultadoSolicitacao> resultados = reservaLoteAppService.criarEmLote(iterador).resultados();
+
+        assertEquals(List.of(ReservaLoteAppService.ITENS_POR_TRANSACAO, solicitacoes.size()), lidosAoGravar);
+        assertEquals(solicitacoes.size(), resultados.size());
+    }
+
+    @Test
+    void criarEmLote_deveGravarTodasAsSalasQuandoOsPendentesPassamDoLimite() {
+        List<SolicitacaoReserva> solicitacoes = new ArrayList<>();
+        for (int i = 0; i <= ReservaLoteAppService.MAXIMO_ITENS_PENDENTES; i++) {
+            solicitacoes.add(solicitacao(new UUID(0, i % 20), i / 20));
+        }
+        when(reservaAppService.criarReservasDaSala(any(UUID.class), anyList())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(1).size(), ResultadoSolicitacao.criada(UUID.randomUUID())));
+        Iterator<LinhaImportacao> iterador = linhas(solicitacoes).iterator();
+        Iterator<LinhaImportacao> falhaNoFim = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                if (!iterador.hasNext()) {
+                    throw new UncheckedIOException(new IOException("Conexao encerrada."));
+                }
+                return true;
+            }
+
+            @Override
+            public LinhaImportacao next() {
+                return iterador.next();
+            }
+        };
+
+        assertThrows(UncheckedIOException.class, () -> reservaLoteAppService.criarEmLote(falhaNoFim));
+
+        // 20 salas com 250 itens cada: nenhuma chega ao pedaco, e o item seguinte ao limite grava todas
+        verify(reservaAppService, times(20)).criarReservasDaSala(any(UUID.class), anyList());
+    }
+
+    @Test
+    void criarEmLote_deveInvalidarApenasItensDaSalaQueFalhou() {
+        SolicitacaoReserva a1 = solicitacao(SALA_A, 0);
+        SolicitacaoReserva b1 = solicitacao(SALA_B, 0);
+        when(reservaAppService.criarReservasDaSala(SALA_A, List.of(a1)))
+                .thenThrow(new EntidadeNaoEncontradaException("Sala nao encontrada."));
+        when(reservaAppService.criarReservasDaSala(SALA_B, List.of(b1)))
+                .thenReturn(List.of(ResultadoSolicitacao.criada(UUID.randomUUID())));
+
+        List<ResultadoSolicitacao> resultados = reservaLoteAppService.criarEmLote(List.of(a1, b1)).resultados();
+
+        assertEquals(ResultadoSolicitacao.invalida("Sala nao encontrada."), resultados.get(0));
+        assertEquals(SituacaoSolicitacao.CRIADA, resultados.get(1).situacao());
+    }
+
+    @Test
+    void criarEmLote_deveRepetirPedacoQuandoAgendaDaSalaMudou() {
+        SolicitacaoReserva a1 = solicitacao(SALA_A, 0);
+        AtomicInteger tentativas = new AtomicInteger();
+        when(reservaAppService.criarReservasDaSala(SALA_A, List.of(a1))).thenAnswer(invocation -> {
+            if (tentativas.incrementAndGet() == 1) {
+                throw new AgendaSalaDesatualizadaException(SALA_A);
+            }
+            return List.of(ResultadoSolicitacao.criada(UUID.randomUUID()));
+        });
+
+        List<ResultadoSolicitacao> resultados = reservaLoteAppService.criarEmLote(List.of(a1)).resultados();
+
+        assertEquals(SituacaoSolicitacao.CRIADA, resultados.getFirst().situacao());
+        verify(reservaAppService, times(2)).criarReservasDaSala(SALA_A, List.of(a1));
+    }
+
+    @Test
+    void criarEmLote_deveDevolverConflitoQuandoAsRetentativasSeEsgotam() {
+        SolicitacaoReserva a1 = solicitacao(SALA_A, 0);
+        SolicitacaoReserva b1 = solicitacao(SALA_B, 0);
+        when(reservaAppService.criarReservasDaSala(SALA_A, List.of(a1)))
+                .thenThrow(new AgendaSalaDesatualizadaException(SALA_A));
+        when(reservaAppService.criarReservasDaSala(SALA_B, List.of(b1)))
+                .thenReturn(List.of(ResultadoSolicitacao.criada(UUID.randomUUID())));
+
+        List<ResultadoSolicitacao> resultados = reservaLoteAppService.criarEmLote(List.of(a1, b1)).resultados();
+
+        assertEquals(ResultadoSolicitacao.conflito(ReservaLoteAppService.AGENDA_EM_DISPUTA), resultados.get(0));
+        assertEquals(SituacaoSolicitacao.CRIADA, resultados.get(1).situacao());
+        verify(reservaAppService, times(3)).criarReservasDaSala(SALA_A, List.of(a1));
+    }
+
+    @Test
+    void criarEmLote_deveMarcarLinhaIlegivelComoInvalidaESeguirComAsDemais() {
+        SolicitacaoReserva a1 = solicitacao(SALA_A, 0);
+        when(reservaAppService.criarReservasDaSala(SALA_A, List.of(a1)))
+                .thenReturn(List.of(ResultadoSolicitacao.criada(UUID.randomUUID())));
+
+        ResultadoLote lote = reservaLoteAppService.criarEmLote(List.of(
+                LinhaImportacao.invalida(1, "JSON invalido."),
+                LinhaImportacao.lida(2, a1)).iterator());
+
+        assertEquals(ResultadoSolicitacao.invalida("JSON invalido."), lote.resultados().get(0));
+        assertEquals(SituacaoSolicitacao.CRIADA, lote.resultados().get(1).situacao());
+        assertFalse(lote.truncado());
+    }
+
+    @Test
+    void criarEmLote_deveGravarOsPendentesEMarcarTruncadoAoPassarDoLimite() {
+        List<SolicitacaoReserva> solicitacoes = new ArrayList<>();
+        for (int i = 0; i <= ReservaLoteAppService.MAXIMO_ITENS_LOTE; i++) {
+            solicitacoes.add(solicitacao(SALA_A, i));
+        }
+        when(reservaAppService.criarReservasDaSala(eq(SALA_A), anyList())).thenAnswer(invocation ->
+                Collections.nCopies(invocation.<List<?>>getArgument(1).size(), ResultadoSolicitacao.criada(UUID.randomUUID())));
+
+        ResultadoLote lote = reservaLoteAppService.criarEmLote(linhas(solicitacoes).iterator());
+
+        assertTrue(lote.truncado());
+        assertEquals(ReservaLoteAppService.MAXIMO_ITENS_LOTE, lote.resultados().size());
+        assertTrue(lote.resultados().stream().allMatch(resultado -> resultado.situacao() == SituacaoSolicitacao.CRIADA));
+    }
+
+    @Test
+    void criarEmLote_deveRecusarLoteVazio() {
+        assertThrows(RegraDeNegocioException.class, () -> reservaLoteAppService.criarEmLote(List.of()));
+    }
+
+    private static List<LinhaImportacao> linhas(List<SolicitacaoReserva> solicitacoes) {
+        List<LinhaImportacao> linhas = new ArrayList<>(solicitacoes.size());
+        for (int i = 0; i < solicitacoes.size(); i++) {
+            linhas.add(LinhaImportacao.lida(i + 1, solicitacoes.get(i)));
+        }
+        return linhas;
+    }
+
+    private static SolicitacaoReserva solicitacao(UUID salaId, int hora) {
+        LocalDateTime inicio = INICIO.plusHours(hora);
+        return new SolicitacaoReserva(salaId, USUARIO_ID, inicio, inicio.plusMinutes(30));
+    }
+}
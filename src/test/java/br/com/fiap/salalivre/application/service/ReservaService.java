@@ -1,5 +1,7 @@
 package br.com.fiap.salalivre.application.service;
 
+import static org.mockito.Mockito.mock;
+
 import java.util.UUID;
 
 import br.com.fiap.salalivre.application.repository.ReservaRepositorioMemoria;
@@ -14,6 +16,7 @@ import br.com.fiap.salalivre.domain.model.Sala;
 import br.com.fiap.salalivre.domain.model.StatusReserva;
 import br.com.fiap.salalivre.domain.model.Usuario;
 import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.notificacao.CaixaSaidaEventos;
 
 public class ReservaService {
     private final SalaRepositorioMemoria salaRepositorio;
@@ -22,7 +25,7 @@ public class ReservaService {
     private final NotificacaoService notificacaoService;
 
     public ReservaService() {
-        this(new SalaRepositorioMemoria(), new UsuarioRepositorioMemoria(), new ReservaRepositorioMemoria(), new NotificacaoService());
+        this(new SalaRepositorioMemoria(), new UsuarioRepositorioMemoria(), new ReservaRepositorioMemoria(), new NotificacaoService(mock(CaixaSaidaEventos.class)));
     }
 
     public ReservaService(SalaRepositorioMemoria salaRepositorio,
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -23,6 +24,7 @@ import br.com.fiap.salalivre.domain.model.StatusReserva;
 import br.com.fiap.salalivre.domain.model.TipoUsuario;
 import br.com.fiap.salalivre.domain.model.Usuario;
 import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.notificacao.CaixaSaidaEventos;
 
 class ReservaServiceTest {
     private SalaRepositorioMemoria salaRepositorio;
@@ -35,7 +37,7 @@ class ReservaServiceTest {
         salaRepositorio = new SalaRepositorioMemoria();
         usuarioRepositorio = new UsuarioRepositorioMemoria();
         reservaRepositorio = new ReservaRepositorioMemoria();
-        reservaService = new ReservaService(salaRepositorio, usuarioRepositorio, reservaRepositorio, new NotificacaoService());
+        reservaService = new ReservaService(salaRepositorio, usuarioRepositorio, reservaRepositorio, new NotificacaoService(mock(CaixaSaidaEventos.class)));
     }
 
     @Test
@@ -0,0 +1,72 @@
+package br.com.fiap.salalivre.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import br.com.fiap.salalivre.domain.exception.ConflitoDeHorarioException;
+import br.com.fiap.salalivre.infrastructure.concorrencia.AgendaSalaDesatualizadaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RetentativaOtimistaTest {
+    private static final UUID SALA_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RetentativaOtimista retentativaOtimista =
+            new RetentativaOtimista(meterRegistry, 3, Duration.ofMillis(1), Duration.ofMillis(2));
+
+    @Test
+    void executar_deveRepetirAteSucessoERegistrarRetentativasPorOperacao() {
+        AtomicInteger tentativas = new AtomicInteger();
+
+        String resultado = retentativaOtimista.executar("criar", () -> {
+            if (tentativas.incrementAndGet() < 3) {
+                throw new AgendaSalaDesatualizadaException(SALA_ID);
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultado);
+        assertEquals(3, tentativas.get());
+        assertEquals(2.0, meterRegistry.get(RetentativaOtimista.METRICA_RETENTATIVAS)
+                .tag("operacao", "criar")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void executar_deveDesistirAposMaximoDeTentativas() {
+        AtomicInteger tentativas = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retentativaOtimista.executar("cancelar", () -> {
+            tentativas.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("ReservaEntity", UUID.randomUUID());
+        }));
+
+        assertEquals(3, tentativas.get());
+        assertEquals(1, meterRegistry.get(RetentativaOtimista.METRICA_ESGOTADAS).counter().getId().getTags().size());
+        assertEquals(1.0, meterRegistry.get(RetentativaOtimista.METRICA_ESGOTADAS)
+                .tag("operacao", "cancelar")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void executar_naoDeveRepetirErrosDeNegocio() {
+        AtomicInteger tentativas = new AtomicInteger();
+
+        assertThrows(ConflitoDeHorarioException.class, () -> retentativaOtimista.executar("criar", () -> {
+            tentativas.incrementAndGet();
+            throw new ConflitoDeHorarioException("Conflito de horario para a sala.");
+        }));
+
+        assertEquals(1, tentativas.get());
+        assertEquals(0, meterRegistry.find(RetentativaOtimista.METRICA_RETENTATIVAS).counters().size());
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.fiap.salalivre.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.agenda.AgendaSalasIndice;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoSalas;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+class SalaAppServiceConsultasTest {
+    private static final int TOTAL_SALAS = 1_000;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 4, 6, 9, 0);
+
+    @Autowired
+    private SalaAppService salaAppService;
+
+    @Autowired
+    private DisponibilidadeAppService disponibilidadeAppService;
+
+    @Autowired
+    private SalaJpaRepository salaRepositorio;
+
+    @Autowired
+    private CatalogoSalas catalogoSalas;
+
+    @Autowired
+    private AgendaSalasIndice agendaSalasIndice;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        limpar();
+        List<Object[]> salas = new ArrayList<>();
+        List<Object[]> recursos = new ArrayList<>();
+        for (int i = 0; i < TOTAL_SALAS; i++) {
+            UUID id = UUID.randomUUID();
+            salas.add(new Object[]{id, "Sala " + i, 4 + i % 20, "Andar " + i % 5, true});
+            recursos.add(new Object[]{id, "Projetor"});
+            recursos.add(new Object[]{id, "TV"});
+        }
+        jdbcTemplate.batchUpdate("insert into salas (id, nome, capacidade, localizacao, ativa) values (?, ?, ?, ?, ?)",
+                salas);
+        jdbcTemplate.batchUpdate("insert into sala_recursos (sala_id, recurso) values (?, ?)", recursos);
+        agendaSalasIndice.recarregar();
+        catalogoSalas.invalidar();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+        agendaSalasIndice.recarregar();
+        catalogoSalas.recarregar();
+    }
+
+    @Test
+    void listarSalas_deveCarregarCatalogoComRecursosEmConsultasConstantes() {
+        List<DadosSala> salas = salaAppService.listarSalas();
+
+        assertEquals(TOTAL_SALAS, salas.size());
+        assertTrue(salas.stream().allMatch(sala -> sala.recursos().equals(List.of("Projetor", "TV"))));
+        // contagem + salas com recursos em um left join
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void listarSalasAtivas_deveBuscarRecursosNaMesmaConsulta() {
+        List<Sala> salas = salaAppService.listarSalasAtivas();
+
+        assertEquals(TOTAL_SALAS, salas.size());
+        assertTrue(salas.stream().allMatch(sala -> sala.getRecursos().size() == 2));
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void listarSalasDisponiveis_deveBuscarRecursosNaMesmaConsultaDasSalas() {
+        List<Sala> salas = disponibilidadeAppService.listarSalasDisponiveis(
+                new PeriodoReserva(INICIO, INICIO.plusHours(1)));
+
+        assertEquals(TOTAL_SALAS, salas.size());
+        assertTrue(salas.stream().allMatch(sala -> sala.getRecursos().size() == 2));
+        // ids candidatos + salas com recursos por fetch join
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void recursosDeEntidadesCarregadasSemFetch_devemVirEmLotes() {
+        int recursos = transactionTemplate.execute(status -> salaRepositorio.findByAtivaTrue().stream()
+                .map(SalaEntity::getRecursos)
+                .mapToInt(List::size)
+                .sum());
+
+        assertEquals(2 * TOTAL_SALAS, recursos);
+        // salas + um lote de recursos a cada 100 salas
+        assertEquals(1 + TOTAL_SALAS / 100, estatisticas.getPrepareStatementCount());
+    }
+
+    private void limpar() {
+        jdbcTemplate.update("delete from reservas");
+        jdbcTemplate.update("delete from agenda_salas");
+        jdbcTemplate.update("delete from sala_recursos");
+        jdbcTemplate.update("delete from salas");
+    }
+}
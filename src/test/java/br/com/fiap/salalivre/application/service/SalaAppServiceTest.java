@@ -4,7 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -15,12 +17,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import br.com.fiap.salalivre.domain.exception.EntidadeNaoEncontradaException;
 import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
 import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.CriteriosBuscaSala;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoRecursos;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoSalas;
+import br.com.fiap.salalivre.infrastructure.catalogo.IndiceSalas;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
 
@@ -30,11 +38,21 @@ class SalaAppServiceTest {
     @Mock
     private SalaJpaRepository salaRepositorio;
 
+    @Mock
+    private CatalogoSalas catalogoSalas;
+
+    @Mock
+    private CatalogoRecursos catalogoRecursos;
+
+    @Mock
+    private IndiceSalas indiceSalas;
+
     private SalaAppService salaAppService;
 
     @BeforeEach
     void setUp() {
-        salaAppService = new SalaAppService(salaRepositorio);
+        salaAppService = new SalaAppService(salaRepositorio, catalogoSalas, catalogoRecursos, indiceSalas,
+                UUID::randomUUID);
     }
 
     @Test
@@ -67,22 +85,42 @@ class SalaAppServiceTest {
     }
 
     @Test
-    void listarSalas_deveMapearTodas() {
-        SalaEntity salaA = salaEntity(UUID.randomUUID(), "Sala A", true);
-        SalaEntity salaB = salaEntity(UUID.randomUUID(), "Sala B", false);
-        when(salaRepositorio.findAll()).thenReturn(List.of(salaA, salaB));
+    void cadastrarSala_deveGravarAMascaraDosRecursosCalculadaAntesDoSave() {
+        when(catalogoRecursos.mascara(List.of("TV", "Projetor"))).thenReturn(0b101L);
+        when(salaRepositorio.save(any(SalaEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        salaAppService.cadastrarSala("Sala Azul", 10, "Andar 1", List.of("TV", "Projetor"));
+
+        ArgumentCaptor<SalaEntity> captor = ArgumentCaptor.forClass(SalaEntity.class);
+        InOrder ordem = inOrder(catalogoRecursos, salaRepositorio);
+        ordem.verify(catalogoRecursos).mascara(List.of("TV", "Projetor"));
+        ordem.verify(salaRepositorio).save(captor.capture());
+        assertEquals(0b101L, captor.getValue().getRecursosMascara());
+    }
+
+    @Test
+    void listarSalas_deveServirDoCatalogo() {
+        List<DadosSala> catalogo = List.of(new DadosSala(UUID.randomUUID(), "Sala A", 10, "Andar 1", List.of("TV"), true));
+        when(catalogoSalas.listar()).thenReturn(catalogo);
+
+        assertEquals(catalogo, salaAppService.listarSalas());
+        verifyNoInteractions(salaRepositorio);
+    }
 
-        List<Sala> salas = salaAppService.listarSalas();
+    @Test
+    void buscarSalas_deveResponderPeloIndiceSemIrAoBanco() {
+        CriteriosBuscaSala criterios = new CriteriosBuscaSala(6, "Andar 1", List.of("TV"), null);
+        List<DadosSala> encontradas = List.of(new DadosSala(UUID.randomUUID(), "Sala A", 10, "Andar 1", List.of("TV"), true));
+        when(indiceSalas.buscar(criterios)).thenReturn(encontradas);
 
-        assertEquals(2, salas.size());
-        assertEquals("Sala A", salas.getFirst().getNome());
-        assertEquals("Sala B", salas.get(1).getNome());
+        assertEquals(encontradas, salaAppService.buscarSalas(criterios));
+        verifyNoInteractions(salaRepositorio);
     }
 
     @Test
     void obterSala_deveLancarQuandoNaoEncontrada() {
         UUID salaId = UUID.randomUUID();
-        when(salaRepositorio.findById(salaId)).thenReturn(Optional.empty());
+        when(catalogoSalas.obter(salaId)).thenReturn(Optional.empty());
 
         assertThrows(EntidadeNaoEncontradaException.class, () -> salaAppService.obterSala(salaId));
     }
@@ -116,7 +154,7 @@ class SalaAppServiceTest {
     @Test
     void listarSalasAtivas_deveMapearSomenteAtivas() {
         SalaEntity ativa = salaEntity(UUID.randomUUID(), "Sala Ativa", true);
-        when(salaRepositorio.findByAtivaTrue()).thenReturn(List.of(ativa));
+        when(salaRepositorio.findComRecursosByAtivaTrue()).thenReturn(List.of(ativa));
 
         List<Sala> salas = salaAppService.listarSalasAtivas();
 
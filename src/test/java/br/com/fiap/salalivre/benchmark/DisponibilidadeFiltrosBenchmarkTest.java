@@ -0,0 +1,179 @@
+package br.com.fiap.salalivre.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import br.com.fiap.salalivre.infrastructure.agenda.AgendaSalasIndice;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoRecursos;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class DisponibilidadeFiltrosBenchmarkTest {
+    private static final int TOTAL_SALAS = 10_000;
+    private static final int TOTAL_RESERVAS = 20_000;
+    private static final int REPETICOES = 20;
+    private static final List<String> LOCALIZACOES = List.of("Andar 1", "Andar 2", "Andar 3", "Andar 4", "Andar 5");
+    private static final List<String> RECURSOS = List.of("Projetor", "TV", "Videoconferencia", "Lousa", "Ar");
+    private static final LocalDateTime DIA = LocalDateTime.of(2026, 5, 4, 0, 0);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AgendaSalasIndice agendaSalasIndice;
+
+    @Autowired
+    private CatalogoRecursos catalogoRecursos;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        limpar();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        Random random = new Random(11);
+        List<UUID> salas = new ArrayList<>();
+        List<Object[]> linhasSalas = new ArrayList<>();
+        List<Object[]> linhasRecursos = new ArrayList<>();
+        for (int i = 0; i < TOTAL_SALAS; i++) {
+            UUID id = UUID.randomUUID();
+            salas.add(id);
+            linhasSalas.add(new Object[]{id, "Sala " + i, 2 + random.nextInt(40),
+                    LOCALIZACOES.get(random.nextInt(LOCALIZACOES.size())), true});
+            for (String recurso : RECURSOS) {
+                if (random.nextBoolean()) {
+                    linhasRecursos.add(new Object[]{id, recurso});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into salas (id, nome, capacidade, localizacao, ativa) values (?, ?, ?, ?, ?)",
+                linhasSalas);
+        jdbcTemplate.batchUpdate("insert into sala_recursos (sala_id, recurso) values (?, ?)", linhasRecursos);
+
+        List<Object[]> linhasReservas = new ArrayList<>();
+        for (int i = 0; i < TOTAL_RESERVAS; i++) {
+            LocalDateTime inicio = DIA.plusHours(8 + random.nextInt(10));
+            linhasReservas.add(new Object[]{UUID.randomUUID(), salas.get(random.nextInt(TOTAL_SALAS)), UUID.randomUUID(),
+                    Timestamp.valueOf(inicio), Timestamp.valueOf(inicio.plusHours(1)), "CONFIRMADA", false,
+                    Timestamp.valueOf(DIA), Timestamp.valueOf(DIA), 0L});
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into reservas (id, sala_id, usuario_id, inicio, fim, status, lembrete_enviado, criado_em, atualizado_em,
+                                      versao)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, linhasReservas);
+        agendaSalasIndice.recarregar();
+        catalogoRecursos.recarregar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+        agendaSalasIndice.recarregar();
+    }
+
+    @Test
+    void compararFiltroNoServidorComFiltroNoCliente() throws Exception {
+        for (String fim : List.of("2026-05-04T11:00:00", "2026-05-04T10:50:00")) {
+            medir("inicio=09:00 fim=" + fim.substring(11), fim);
+        }
+    }
+
+    private void medir(String cenario, String fim) throws Exception {
+        List<String> esperadoServidor = null;
+        List<String> esperadoCliente = null;
+        long bytesServidor = 0;
+        long bytesCliente = 0;
+
+        long inicioServidor = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            MvcResult resultado = executar(get("/api/v1/disponibilidade")
+                    .param("inicio", "2026-05-04T09:00:00")
+                    .param("fim", fim)
+                    .param("capacidadeMinima", "20")
+                    .param("localizacao", "Andar 3")
+                    .param("recursos", "Projetor", "Videoconferencia")
+                    .param("limite", "10"));
+            byte[] corpo = resultado.getResponse().getContentAsByteArray();
+            bytesServidor = corpo.length;
+            esperadoServidor = ids(jsonMapper.readTree(corpo));
+        }
+        long nanosServidor = (System.nanoTime() - inicioServidor) / REPETICOES;
+
+        long inicioCliente = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            MvcResult resultado = executar(get("/api/v1/disponibilidade")
+                    .param("inicio", "2026-05-04T09:00:00")
+                    .param("fim", fim));
+            byte[] corpo = resultado.getResponse().getContentAsByteArray();
+            bytesCliente = corpo.length;
+            esperadoCliente = StreamSupport.stream(jsonMapper.readTree(corpo).spliterator(), false)
+                    .filter(sala -> sala.get("capacidade").asInt() >= 20)
+                    .filter(sala -> sala.get("localizacao").asString().equalsIgnoreCase("Andar 3"))
+                    .filter(sala -> {
+                        List<String> recursos = StreamSupport.stream(sala.get("recursos").spliterator(), false)
+                                .map(JsonNode::asString)
+                                .toList();
+                        return recursos.contains("Projetor") && recursos.contains("Videoconferencia");
+                    })
+                    .sorted((a, b) -> {
+                        int comparacao = Integer.compare(a.get("capacidade").asInt(), b.get("capacidade").asInt());
+                        return comparacao != 0 ? comparacao : a.get("nome").asString().compareTo(b.get("nome").asString());
+                    })
+                    .limit(10)
+                    .map(sala -> sala.get("id").asString())
+                    .toList();
+        }
+        long nanosCliente = (System.nanoTime() - inicioCliente) / REPETICOES;
+
+        System.out.printf("[benchmark] disponibilidade %s | servidor: %.2f ms, %d bytes | cliente: %.2f ms, %d bytes%n",
+                cenario, nanosServidor / 1_000_000.0, bytesServidor, nanosCliente / 1_000_000.0, bytesCliente);
+        assertEquals(esperadoCliente.size(), esperadoServidor.size());
+    }
+
+    private MvcResult executar(MockHttpServletRequestBuilder requisicao) throws Exception {
+        return mockMvc.perform(requisicao).andReturn();
+    }
+
+    private List<String> ids(JsonNode salas) {
+        return StreamSupport.stream(salas.spliterator(), false)
+                .map(sala -> sala.get("id").asString())
+                .toList();
+    }
+
+    private void limpar() {
+        jdbcTemplate.update("delete from reservas");
+        jdbcTemplate.update("delete from agenda_salas");
+        jdbcTemplate.update("delete from sala_recursos");
+        jdbcTemplate.update("delete from salas");
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.fiap.salalivre.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.salalivre.infrastructure.id.GeradorIds;
+import br.com.fiap.salalivre.infrastructure.id.GeradorUuidV7;
+
+/**
+ * Insere alguns milhoes de linhas com chave UUID em um H2 em arquivo, uma vez com ids v4 e outra com v7,
+ * e mede a vazao a cada trecho (para ver a queda conforme o indice cresce) e o tamanho final do arquivo.
+ */
+@Tag("benchmark")
+class IdsInsercaoBenchmarkTest {
+    private static final int LINHAS = 3_000_000;
+    private static final int TRECHO = 500_000;
+    private static final int LOTE = 1_000;
+    private static final Path DIRETORIO = Path.of("target", "benchmark-ids");
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 5, 4, 8, 0);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        apagarBanco();
+    }
+
+    @Test
+    void compararInsercaoComIdsV4EV7() throws Exception {
+        medir("v4", UUID::randomUUID);
+        medir("v7", new GeradorUuidV7(Clock.systemUTC()));
+    }
+
+    private void medir(String versao, GeradorIds geradorIds) throws Exception {
+        apagarBanco();
+        String url = "jdbc:h2:file:" + DIRETORIO.toAbsolutePath().resolve("ids") + ";DB_CLOSE_ON_EXIT=FALSE";
+        List<String> vazoes = new ArrayList<>();
+        long inicioTotal = System.nanoTime();
+        try (Connection conexao = DriverManager.getConnection(url, "sa", "")) {
+            conexao.setAutoCommit(false);
+            try (Statement comando = conexao.createStatement()) {
+                comando.execute("""
+                        create table reservas_benchmark (
+                            id uuid primary key,
+                            sala_id uuid not null,
+                            inicio timestamp not null,
+                            status varchar(20) not null
+                        )
+                        """);
+            }
+            UUID salaId = UUID.randomUUID();
+            try (PreparedStatement insercao = conexao.prepareStatement(
+                    "insert into reservas_benchmark (id, sala_id, inicio, status) values (?, ?, ?, ?)")) {
+                long inicioTrecho = System.nanoTime();
+                for (int i = 1; i <= LINHAS; i++) {
+                    insercao.setObject(1, geradorIds.novoId());
+                    insercao.setObject(2, salaId);
+                    insercao.setTimestamp(3, Timestamp.valueOf(INICIO.plusMinutes(i)));
+                    insercao.setString(4, "CONFIRMADA");
+                    insercao.addBatch();
+                    if (i % LOTE == 0) {
+                        insercao.executeBatch();
+                        conexao.commit();
+                    }
+                    if (i % TRECHO == 0) {
+                        double segundos = (System.nanoTime() - inicioTrecho) / 1_000_000_000.0;
+                        vazoes.add(String.format("%.0f", TRECHO / segundos));
+                        inicioTrecho = System.nanoTime();
+                    }
+                }
+            }
+            try (Statement comando = conexao.createStatement();
+                 ResultSet contagem = comando.executeQuery("select count(*) from reservas_benchmark")) {
+                contagem.next();
+                assertEquals(LINHAS, contagem.getLong(1));
+            }
+        }
+        double segundosTotal = (System.nanoTime() - inicioTotal) / 1_000_000_000.0;
+        System.out.printf("[benchmark] insercao %s | %d linhas em %.1f s (%.0f linhas/s) | linhas/s a cada %d: %s | arquivo: %d MB%n",
+                versao, LINHAS, segundosTotal, LINHAS / segundosTotal, TRECHO, String.join(" ", vazoes),
+                tamanhoDoBanco() >> 20);
+    }
+
+    private static long tamanhoDoBanco() throws IOException {
+        try (Stream<Path> arquivos = Files.list(DIRETORIO)) {
+            return arquivos.mapToLong(arquivo -> arquivo.toFile().length()).sum();
+        }
+    }
+
+    private static void apagarBanco() throws IOException {
+        if (!Files.exists(DIRETORIO)) {
+            Files.createDirectories(DIRETORIO);
+            return;
+        }
+        try (Stream<Path> arquivos = Files.list(DIRETORIO)) {
+            for (Path arquivo : arquivos.toList()) {
+                Files.delete(arquivo);
+            }
+        }
+    }
+}
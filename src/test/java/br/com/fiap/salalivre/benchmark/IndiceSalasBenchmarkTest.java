@@ -0,0 +1,155 @@
+package br.com.fiap.salalivre.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.fiap.salalivre.domain.valueobject.CriteriosBuscaSala;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoRecursos;
+import br.com.fiap.salalivre.infrastructure.catalogo.IndiceSalas;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+
+/**
+ * Compara a busca de salas por capacidade, localizacao e recursos no {@link IndiceSalas} com a mesma
+ * busca em SQL ({@code findIdsAtivosPorCriterios}, com a mascara de recursos), conferindo que as duas
+ * devolvem as mesmas salas na mesma ordem.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class IndiceSalasBenchmarkTest {
+    private static final int TOTAL_SALAS = 20_000;
+    private static final int BUSCAS = 500;
+    private static final int RODADAS = 5;
+    private static final int LIMITE = 20;
+    private static final List<String> SEM_RECURSOS = List.of("");
+    private static final List<String> RECURSOS = List.of("Projetor", "TV", "Videoconferencia", "Lousa", "Ar",
+            "Microfone", "Camera", "Palco", "Piano", "Laboratorio");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SalaJpaRepository salaRepositorio;
+
+    @Autowired
+    private CatalogoRecursos catalogoRecursos;
+
+    @Autowired
+    private IndiceSalas indiceSalas;
+
+    private final List<CriteriosBuscaSala> buscas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        limpar();
+        Random random = new Random(19);
+        List<Object[]> linhasSalas = new ArrayList<>();
+        List<Object[]> linhasRecursos = new ArrayList<>();
+        for (int i = 0; i < TOTAL_SALAS; i++) {
+            UUID id = UUID.randomUUID();
+            linhasSalas.add(new Object[]{id, "Sala " + i, 2 + random.nextInt(120),
+                    "Bloco " + random.nextInt(10) + " - Andar " + random.nextInt(8), random.nextInt(20) != 0});
+            // recursos do inicio da lista sao comuns e os do fim raros, como em um campus real
+            for (int r = 0; r < RECURSOS.size(); r++) {
+                if (random.nextInt(RECURSOS.size() + 2) >= r + 2) {
+                    linhasRecursos.add(new Object[]{id, RECURSOS.get(r)});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into salas (id, nome, capacidade, localizacao, ativa) values (?, ?, ?, ?, ?)",
+                linhasSalas);
+        jdbcTemplate.batchUpdate("insert into sala_recursos (sala_id, recurso) values (?, ?)", linhasRecursos);
+        catalogoRecursos.recarregar();
+        indiceSalas.recarregar();
+
+        for (int i = 0; i < BUSCAS; i++) {
+            List<String> recursos = new ArrayList<>();
+            for (int r = random.nextInt(4); r > 0; r--) {
+                recursos.add(RECURSOS.get(random.nextInt(RECURSOS.size())));
+            }
+            buscas.add(new CriteriosBuscaSala(
+                    random.nextBoolean() ? 1 + random.nextInt(100) : null,
+                    random.nextBoolean() ? "bloco " + random.nextInt(10) + " - andar " + random.nextInt(8) : null,
+                    recursos,
+                    null));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+        catalogoRecursos.recarregar();
+        indiceSalas.recarregar();
+    }
+
+    @Test
+    void compararBuscaNoIndiceComConsultaSql() {
+        long encontradas = 0;
+        for (CriteriosBuscaSala criterios : buscas) {
+            List<UUID> sql = buscarSql(criterios);
+            assertEquals(sql, buscarIndice(criterios), () -> "busca divergente para " + criterios);
+            CriteriosBuscaSala comLimite = comLimite(criterios);
+            assertEquals(sql.subList(0, Math.min(LIMITE, sql.size())), buscarIndice(comLimite),
+                    () -> "busca divergente para " + comLimite);
+            encontradas += sql.size();
+        }
+        System.out.printf("[benchmark] indice de salas | %d salas | bitmaps: %d KB | %d buscas, media de %.0f salas por busca%n",
+                TOTAL_SALAS, indiceSalas.bytesDosBitmaps() >> 10, BUSCAS, encontradas / (double) BUSCAS);
+
+        List<CriteriosBuscaSala> buscasComLimite = buscas.stream().map(IndiceSalasBenchmarkTest::comLimite).toList();
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            double microsIndice = medir(buscas, this::buscarIndice);
+            double microsIndiceComLimite = medir(buscasComLimite, this::buscarIndice);
+            double microsSql = medir(buscas, this::buscarSql);
+            if (rodada == RODADAS - 1) {
+                System.out.printf("[benchmark] indice de salas | indice: %.1f us/busca (todas as salas), %.1f us/busca "
+                                + "(limite %d) | SQL no H2 em memoria: %.1f us/busca%n",
+                        microsIndice, microsIndiceComLimite, LIMITE, microsSql);
+            }
+        }
+    }
+
+    private static double medir(List<CriteriosBuscaSala> buscas, Function<CriteriosBuscaSala, List<UUID>> busca) {
+        long inicio = System.nanoTime();
+        buscas.forEach(busca::apply);
+        return (System.nanoTime() - inicio) / 1_000.0 / buscas.size();
+    }
+
+    private static CriteriosBuscaSala comLimite(CriteriosBuscaSala criterios) {
+        return new CriteriosBuscaSala(criterios.capacidadeMinima(), criterios.localizacao(), criterios.recursos(), LIMITE);
+    }
+
+    private List<UUID> buscarIndice(CriteriosBuscaSala criterios) {
+        return indiceSalas.buscar(criterios).stream().map(DadosSala::id).toList();
+    }
+
+    private List<UUID> buscarSql(CriteriosBuscaSala criterios) {
+        String localizacao = criterios.localizacao() == null ? null : criterios.localizacao().toLowerCase(Locale.ROOT);
+        CatalogoRecursos.FiltroRecursos filtro = catalogoRecursos.filtro(criterios.recursos());
+        return salaRepositorio.findIdsAtivosPorCriterios(criterios.capacidadeMinima(), localizacao, filtro.mascara(),
+                filtro.semBit().isEmpty() ? SEM_RECURSOS : filtro.semBit(), filtro.semBit().size());
+    }
+
+    private void limpar() {
+        jdbcTemplate.update("delete from reservas");
+        jdbcTemplate.update("delete from agenda_salas");
+        jdbcTemplate.update("delete from sala_recursos");
+        jdbcTemplate.update("delete from salas");
+    }
+}
@@ -0,0 +1,219 @@
+package br.com.fiap.salalivre.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.salalivre.application.service.ReservaAppService;
+import br.com.fiap.salalivre.domain.model.Reserva;
+import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.CursorReserva;
+import br.com.fiap.salalivre.domain.valueobject.DadosReserva;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.domain.valueobject.FiltroReservas;
+import br.com.fiap.salalivre.domain.valueobject.PaginaReservas;
+import br.com.fiap.salalivre.infrastructure.agenda.AgendaSalasIndice;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoSalas;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.mapper.ReservaMapper;
+import br.com.fiap.salalivre.infrastructure.persistence.mapper.SalaMapper;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaEspecificacoes;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+import br.com.fiap.salalivre.interfaces.api.response.ReservaResponse;
+import br.com.fiap.salalivre.interfaces.api.response.SalaResponse;
+
+/**
+ * Compara os bytes alocados por linha listada entre o caminho antigo (entidade gerenciada, modelo de
+ * dominio e resposta) e as projecoes lidas direto da consulta. A alocacao e medida na propria thread
+ * com {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()} depois do aquecimento.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class ListagemAlocacaoBenchmarkTest {
+    private static final int TOTAL_SALAS = 2_000;
+    private static final int TOTAL_RESERVAS = 20_000;
+    private static final int TAMANHO_PAGINA = 500;
+    private static final int AQUECIMENTO = 5;
+    private static final int REPETICOES = 10;
+    private static final List<String> RECURSOS = List.of("Projetor", "TV", "Videoconferencia");
+    private static final LocalDateTime DIA = LocalDateTime.of(2026, 5, 4, 8, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservaAppService reservaAppService;
+
+    @Autowired
+    private CatalogoSalas catalogoSalas;
+
+    @Autowired
+    private ReservaJpaRepository reservaRepositorio;
+
+    @Autowired
+    private SalaJpaRepository salaRepositorio;
+
+    @Autowired
+    private AgendaSalasIndice agendaSalasIndice;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReservaMapper reservaMapper = new ReservaMapper();
+    private final SalaMapper salaMapper = new SalaMapper();
+    private TransactionTemplate somenteLeitura;
+
+    @BeforeEach
+    void setUp() {
+        limpar();
+        somenteLeitura = new TransactionTemplate(transactionManager);
+        somenteLeitura.setReadOnly(true);
+        List<UUID> salas = new ArrayList<>();
+        List<Object[]> linhasSalas = new ArrayList<>();
+        List<Object[]> linhasRecursos = new ArrayList<>();
+        for (int i = 0; i < TOTAL_SALAS; i++) {
+            UUID id = UUID.randomUUID();
+            salas.add(id);
+            linhasSalas.add(new Object[]{id, "Sala " + i, 10, "Andar " + (i % 5), true});
+            for (String recurso : RECURSOS) {
+                linhasRecursos.add(new Object[]{id, recurso});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into salas (id, nome, capacidade, localizacao, ativa) values (?, ?, ?, ?, ?)",
+                linhasSalas);
+        jdbcTemplate.batchUpdate("insert into sala_recursos (sala_id, recurso) values (?, ?)", linhasRecursos);
+
+        List<Object[]> linhasReservas = new ArrayList<>();
+        for (int i = 0; i < TOTAL_RESERVAS; i++) {
+            LocalDateTime inicio = DIA.plusMinutes(30L * (i / TOTAL_SALAS));
+            linhasReservas.add(new Object[]{UUID.randomUUID(), salas.get(i % TOTAL_SALAS), UUID.randomUUID(),
+                    Timestamp.valueOf(inicio), Timestamp.valueOf(inicio.plusMinutes(30)), "CONFIRMADA", false,
+                    Timestamp.valueOf(DIA), Timestamp.valueOf(DIA), 0L});
+        }
+        jdbcTemplate.batchUpdate("""
+                insert into reservas (id, sala_id, usuario_id, inicio, fim, status, lembrete_enviado, criado_em, atualizado_em,
+                                      versao)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, linhasReservas);
+        agendaSalasIndice.recarregar();
+        catalogoSalas.recarregar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+        agendaSalasIndice.recarregar();
+        catalogoSalas.recarregar();
+    }
+
+    @Test
+    void compararBytesAlocadosPorLinhaListada() {
+        medir("reservas (paginas de " + TAMANHO_PAGINA + ")", TOTAL_RESERVAS,
+                this::listarReservasPorEntidade, this::listarReservasPorProjecao);
+        medir("salas", TOTAL_SALAS, this::listarSalasPorEntidade, this::listarSalasPorProjecao);
+    }
+
+    private void medir(String cenario, int linhas, Supplier<List<?>> antes, Supplier<List<?>> depois) {
+        assertEquals(linhas, antes.get().size());
+        assertEquals(antes.get(), depois.get());
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            antes.get();
+            depois.get();
+        }
+        double bytesAntes = bytesPorLinha(antes, linhas);
+        double bytesDepois = bytesPorLinha(depois, linhas);
+        System.out.printf("[benchmark] listagem %s | entidade -> dominio -> resposta: %.0f bytes/linha | "
+                        + "projecao -> resposta: %.0f bytes/linha (%.1fx menos)%n",
+                cenario, bytesAntes, bytesDepois, bytesAntes / bytesDepois);
+    }
+
+    private static double bytesPorLinha(Supplier<List<?>> listagem, int linhas) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long inicio = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < REPETICOES; i++) {
+            listagem.get();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - inicio) / (double) REPETICOES / linhas;
+    }
+
+    private List<?> listarReservasPorEntidade() {
+        return somenteLeitura.execute(status -> {
+            List<ReservaResponse> respostas = new ArrayList<>();
+            CursorReserva cursor = null;
+            do {
+                List<ReservaEntity> linhas = reservaRepositorio.findBy(
+                        ReservaEspecificacoes.pagina(FiltroReservas.semFiltros(), cursor),
+                        consulta -> consulta.sortBy(Sort.by("inicio", "id")).limit(TAMANHO_PAGINA + 1).all());
+                List<Reserva> pagina = linhas.subList(0, Math.min(linhas.size(), TAMANHO_PAGINA)).stream()
+                        .map(reservaMapper::toDomain)
+                        .toList();
+                pagina.forEach(reserva -> respostas.add(new ReservaResponse(reserva.getId(), reserva.getSalaId(),
+                        reserva.getUsuarioId(), reserva.getPeriodo().inicio(), reserva.getPeriodo().fim(),
+                        reserva.getStatus(), reserva.getCriadoEm(), reserva.getAtualizadoEm())));
+                cursor = linhas.size() > TAMANHO_PAGINA
+                        ? new CursorReserva(pagina.getLast().getPeriodo().inicio(), pagina.getLast().getId())
+                        : null;
+            } while (cursor != null);
+            return respostas;
+        });
+    }
+
+    private List<?> listarReservasPorProjecao() {
+        List<ReservaResponse> respostas = new ArrayList<>();
+        CursorReserva cursor = null;
+        do {
+            PaginaReservas pagina = reservaAppService.listarReservas(FiltroReservas.semFiltros(), cursor, TAMANHO_PAGINA);
+            for (DadosReserva reserva : pagina.reservas()) {
+                respostas.add(new ReservaResponse(reserva.id(), reserva.salaId(), reserva.usuarioId(), reserva.inicio(),
+                        reserva.fim(), reserva.status(), reserva.criadoEm(), reserva.atualizadoEm()));
+            }
+            cursor = pagina.proximo();
+        } while (cursor != null);
+        return respostas;
+    }
+
+    private List<?> listarSalasPorEntidade() {
+        return somenteLeitura.execute(status -> {
+            List<Sala> salas = salaRepositorio.findAll(Sort.by("id")).stream().map(salaMapper::toDomain).toList();
+            return salas.stream()
+                    .map(sala -> new SalaResponse(sala.getId(), sala.getNome(), sala.getCapacidade(),
+                            sala.getLocalizacao(), List.copyOf(sala.getRecursos()), sala.isAtiva()))
+                    .toList();
+        });
+    }
+
+    private List<?> listarSalasPorProjecao() {
+        List<DadosSala> salas = salaMapper.toDados(salaRepositorio.findTodasComRecursos());
+        return salas.stream()
+                .map(sala -> new SalaResponse(sala.id(), sala.nome(), sala.capacidade(), sala.localizacao(),
+                        sala.recursos(), sala.ativa()))
+                .toList();
+    }
+
+    private void limpar() {
+        jdbcTemplate.update("delete from reservas");
+        jdbcTemplate.update("delete from agenda_salas");
+        jdbcTemplate.update("delete from sala_recursos");
+        jdbcTemplate.update("delete from salas");
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.fiap.salalivre.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.salalivre.application.service.NotificacaoService;
+import br.com.fiap.salalivre.domain.event.ReservaCriadaEvent;
+import br.com.fiap.salalivre.infrastructure.notificacao.RelayCaixaSaida;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.EventoSaidaJpaRepository;
+
+/**
+ * Grava eventos na caixa de saida em transacoes do tamanho de uma serie de reservas e mede a vazao do
+ * relay ao esvazia-la, com uma e com quatro instancias. A entrega em si (o log) fica desligada para que o
+ * numero seja o custo do relay: reservar, ler e apagar os lotes.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:benchmark-caixa-saida;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class RelayCaixaSaidaBenchmarkTest {
+    private static final int EVENTOS = 200_000;
+    private static final int EVENTOS_POR_TRANSACAO = 40;
+    private static final int RODADAS = 3;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 8, 3, 9, 0);
+    private static final Logger LOGGER_NOTIFICACOES = Logger.getLogger(NotificacaoService.class.getName());
+
+    @Autowired
+    private NotificacaoService notificacaoService;
+
+    @Autowired
+    private RelayCaixaSaida relay;
+
+    @Autowired
+    private EventoSaidaJpaRepository eventoSaidaRepositorio;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Level nivelAnterior;
+
+    @BeforeEach
+    void setUp() {
+        nivelAnterior = LOGGER_NOTIFICACOES.getLevel();
+        LOGGER_NOTIFICACOES.setLevel(Level.WARNING);
+        eventoSaidaRepositorio.deleteAllInBatch();
+    }
+
+    @AfterEach
+    void tearDown() {
+        LOGGER_NOTIFICACOES.setLevel(nivelAnterior);
+        eventoSaidaRepositorio.deleteAllInBatch();
+    }
+
+    @Test
+    void medirVazaoDoRelay() throws Exception {
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            double segundosRegistro = registrar();
+            long inicio = System.nanoTime();
+            // cada execucao para em lotes-por-execucao; o agendador chamaria de novo depois do intervalo
+            do {
+                relay.encaminharPendentes();
+            } while (eventoSaidaRepositorio.countByDescartadoEmIsNull() > 0);
+            double segundosUm = (System.nanoTime() - inicio) / 1_000_000_000.0;
+            assertEquals(0, eventoSaidaRepositorio.count());
+
+            registrar();
+            inicio = System.nanoTime();
+            encaminharEmParalelo(4);
+            double segundosQuatro = (System.nanoTime() - inicio) / 1_000_000_000.0;
+            assertEquals(0, eventoSaidaRepositorio.count());
+
+            if (rodada == RODADAS - 1) {
+                System.out.printf("[benchmark] caixa de saida | %d eventos | registro: %.0f eventos/s | relay: %.0f eventos/s "
+                                + "(1 instancia), %.0f eventos/s (4 instancias)%n",
+                        EVENTOS, EVENTOS / segundosRegistro, EVENTOS / segundosUm, EVENTOS / segundosQuatro);
+            }
+        }
+    }
+
+    private double registrar() {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < EVENTOS; i += EVENTOS_POR_TRANSACAO) {
+            transactionTemplate.executeWithoutResult(status -> {
+                UUID salaId = UUID.randomUUID();
+                UUID usuarioId = UUID.randomUUID();
+                for (int j = 0; j < EVENTOS_POR_TRANSACAO; j++) {
+                    notificacaoService.notificarReservaCriada(new ReservaCriadaEvent(UUID.randomUUID(), salaId,
+                            usuarioId, INICIO.plusWeeks(j), INICIO.plusWeeks(j).plusHours(1)));
+                }
+            });
+        }
+        return (System.nanoTime() - inicio) / 1_000_000_000.0;
+    }
+
+    private void encaminharEmParalelo(int instancias) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(instancias);
+        try {
+            List<Future<?>> relays = new ArrayList<>();
+            for (int i = 0; i < instancias; i++) {
+                relays.add(executor.submit(() -> {
+                    while (relay.encaminharLote() > 0) {
+                        // segue ate a caixa de saida esvaziar
+                    }
+                }));
+            }
+            for (Future<?> instancia : relays) {
+                instancia.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.fiap.salalivre.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.fiap.salalivre.application.service.ReservaAppService;
+import br.com.fiap.salalivre.domain.exception.ConflitoDeHorarioException;
+import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.agenda.AgendaSalasIndice;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoSalas;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class ReservaConcorrenciaBenchmarkTest {
+    private static final int REQUISICOES = 5_000;
+    private static final LocalDateTime DIA = LocalDateTime.of(2026, 7, 1, 8, 0);
+
+    @Autowired
+    private ReservaAppService reservaAppService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AgendaSalasIndice agendaSalasIndice;
+
+    @Autowired
+    private CatalogoSalas catalogoSalas;
+
+    private UUID usuarioId;
+
+    @BeforeEach
+    void setUp() {
+        limpar();
+        usuarioId = UUID.randomUUID();
+        jdbcTemplate.update("insert into usuarios (id, nome, email, tipo) values (?, ?, ?, ?)",
+                usuarioId, "Usuario", "usuario@sala.com", "COMUM");
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+        agendaSalasIndice.recarregar();
+        catalogoSalas.recarregar();
+    }
+
+    @Test
+    void medirVazaoDeCriacaoConcorrentePorQuantidadeDeSalas() throws Exception {
+        for (int quantidadeSalas : List.of(1, 10, 1000)) {
+            medir(criarSalas(quantidadeSalas));
+        }
+    }
+
+    private void medir(List<UUID> salas) throws Exception {
+        Random random = new Random(salas.size());
+        AtomicInteger criadas = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUISICOES; i++) {
+                UUID salaId = salas.get(random.nextInt(salas.size()));
+                LocalDateTime inicioReserva = DIA.plusDays(random.nextInt(30)).plusMinutes(30L * random.nextInt(20));
+                PeriodoReserva periodo = new PeriodoReserva(inicioReserva, inicioReserva.plusMinutes(30));
+                executor.submit(() -> {
+                    try {
+                        reservaAppService.criarReserva(usuarioId, salaId, periodo);
+                        criadas.incrementAndGet();
+                    } catch (ConflitoDeHorarioException ex) {
+                        conflitos.incrementAndGet();
+                    }
+                });
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        System.out.printf("[benchmark] criacao concorrente | salas: %d | %d requisicoes em %.2f s (%.0f req/s) | "
+                        + "criadas: %d, conflitos: %d%n",
+                salas.size(), REQUISICOES, segundos, REQUISICOES / segundos, criadas.get(), conflitos.get());
+        assertEquals(REQUISICOES, criadas.get() + conflitos.get());
+    }
+
+    private List<UUID> criarSalas(int quantidade) {
+        List<UUID> salas = new ArrayList<>();
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            UUID id = UUID.randomUUID();
+            salas.add(id);
+            linhas.add(new Object[]{id, "Sala " + salas.size() + "-" + quantidade, 10, "Andar 1", true});
+        }
+        jdbcTemplate.batchUpdate("insert into salas (id, nome, capacidade, localizacao, ativa) values (?, ?, ?, ?, ?)",
+                linhas);
+        catalogoSalas.recarregar();
+        return salas;
+    }
+
+    private void limpar() {
+        jdbcTemplate.update("delete from reservas");
+        jdbcTemplate.update("delete from agenda_salas");
+        jdbcTemplate.update("delete from sala_recursos");
+        jdbcTemplate.update("delete from salas");
+        jdbcTemplate.update("delete from usuarios");
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.fiap.salalivre.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoSalas;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Importa um arquivo CSV sintetico de um milhao de linhas gerado sob demanda durante o upload e mede a
+ * vazao e o pico de heap. O banco fica em arquivo para que as linhas gravadas nao entrem na medicao.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/importacao-benchmark/salalivre;LAZY_QUERY_EXECUTION=1;CACHE_SIZE=8192",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@ActiveProfiles("test")
+class ReservaImportacaoBenchmarkTest {
+    private static final int LINHAS = 1_000_000;
+    private static final int SALAS = 200;
+    private static final int CONFLITO_A_CADA = 1_000;
+    private static final LocalDateTime DIA = LocalDateTime.of(2020, 1, 6, 8, 0);
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogoSalas catalogoSalas;
+
+    @Test
+    void medirVazaoEPicoDeHeapDaImportacaoDeUmMilhaoDeLinhas() throws Exception {
+        UUID usuarioId = UUID.randomUUID();
+        jdbcTemplate.update("insert into usuarios (id, nome, email, tipo) values (?, ?, ?, ?)",
+                usuarioId, "Usuario", "usuario@sala.com", "COMUM");
+        List<UUID> salas = new ArrayList<>();
+        List<Object[]> linhasSala = new ArrayList<>();
+        for (int i = 0; i < SALAS; i++) {
+            UUID id = UUID.randomUUID();
+            salas.add(id);
+            linhasSala.add(new Object[]{id, "Sala " + i, 10, "Andar 1", true});
+        }
+        jdbcTemplate.batchUpdate("insert into salas (id, nome, capacidade, localizacao, ativa) values (?, ?, ?, ?, ?)",
+                linhasSala);
+        catalogoSalas.recarregar();
+
+        System.gc();
+        List<MemoryPoolMXBean> poolsHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        long heapAntes = heapUsado();
+        poolsHeap.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        HttpRequest requisicao = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + porta + "/api/v1/reservas/importacao"))
+                .header("X-User-Id", UUID.randomUUID().toString())
+                .header("X-User-Role", "ADMIN")
+                .header("Content-Type", "text/csv")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new CsvSintetico(salas, usuarioId)))
+                .build();
+        long inicio = System.nanoTime();
+        HttpResponse<Stream<String>> resposta = HttpClient.newHttpClient()
+                .send(requisicao, HttpResponse.BodyHandlers.ofLines());
+        long rejeicoes;
+        String resumo;
+        try (Stream<String> linhas = resposta.body()) {
+            List<String> ultimas = new ArrayList<>(1);
+            rejeicoes = linhas.peek(linha -> {
+                ultimas.clear();
+                ultimas.add(linha);
+            }).count() - 1;
+            resumo = ultimas.getFirst();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        long picoHeap = poolsHeap.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        System.gc();
+        long heapDepois = heapUsado();
+
+        System.out.printf("[benchmark] importacao csv | %d linhas em %.2f s (%.0f linhas/s) | %d rejeitadas%n",
+                LINHAS, segundos, LINHAS / segundos, rejeicoes);
+        System.out.printf("[benchmark] importacao csv | heap antes %d MB | pico (soma dos pools) %d MB | retido apos GC %d MB "
+                        + "(inclui o indice de agenda em memoria)%n",
+                heapAntes >> 20, picoHeap >> 20, heapDepois >> 20);
+        assertEquals(200, resposta.statusCode());
+        assertEquals(LINHAS / CONFLITO_A_CADA, rejeicoes);
+        assertEquals(LINHAS, ((Number) JsonPath.read(resumo, "$.lidas")).longValue());
+        assertEquals(LINHAS - rejeicoes, jdbcTemplate.queryForObject("select count(*) from reservas", Long.class));
+    }
+
+    private static long heapUsado() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Gera as linhas do CSV conforme o cliente HTTP le, em ordem de inicio como uma exportacao. A cada
+     * {@value #CONFLITO_A_CADA} linhas uma reserva repete o horario anterior da mesma sala.
+     */
+    private static final class CsvSintetico extends InputStream {
+        private final List<UUID> salas;
+        private final UUID usuarioId;
+        private byte[] atual = "salaId,usuarioId,inicio,fim\n".getBytes(StandardCharsets.UTF_8);
+        private int posicao;
+        private int proximaLinha;
+
+        CsvSintetico(List<UUID> salas, UUID usuarioId) {
+            this.salas = salas;
+            this.usuarioId = usuarioId;
+        }
+
+        @Override
+        public int read() {
+            byte[] umByte = new byte[1];
+            return read(umByte, 0, 1) < 0 ? -1 : umByte[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] destino, int deslocamento, int tamanho) {
+            if (posicao == atual.length && !gerarProximaLinha()) {
+                return -1;
+            }
+            int copiados = Math.min(tamanho, atual.length - posicao);
+            System.arraycopy(atual, posicao, destino, deslocamento, copiados);
+            posicao += copiados;
+            return copiados;
+        }
+
+        private boolean gerarProximaLinha() {
+            if (proximaLinha == LINHAS) {
+                return false;
+            }
+            int i = proximaLinha++;
+            int slot = i / SALAS - (i % CONFLITO_A_CADA == CONFLITO_A_CADA - 1 ? 1 : 0);
+            LocalDateTime inicio = DIA.plusMinutes(30L * slot);
+            atual = (salas.get(i % SALAS) + "," + usuarioId + "," + inicio + "," + inicio.plusMinutes(30) + "\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            posicao = 0;
+            return true;
+        }
+    }
+}
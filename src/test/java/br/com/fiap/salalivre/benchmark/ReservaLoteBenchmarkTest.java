@@ -0,0 +1,129 @@
+package br.com.fiap.salalivre.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import br.com.fiap.salalivre.infrastructure.agenda.AgendaSalasIndice;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoSalas;
+
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class ReservaLoteBenchmarkTest {
+    private static final int SALAS = 50;
+    private static final int ITENS_UNITARIOS = 2_000;
+    private static final int ITENS_LOTE = 20_000;
+    private static final LocalDateTime DIA = LocalDateTime.of(2026, 8, 3, 8, 0);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AgendaSalasIndice agendaSalasIndice;
+
+    @Autowired
+    private CatalogoSalas catalogoSalas;
+
+    private MockMvc mockMvc;
+    private UUID usuarioId;
+    private List<UUID> salas;
+
+    @BeforeEach
+    void setUp() {
+        limpar();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        usuarioId = UUID.randomUUID();
+        jdbcTemplate.update("insert into usuarios (id, nome, email, tipo) values (?, ?, ?, ?)",
+                usuarioId, "Usuario", "usuario@sala.com", "COMUM");
+        salas = new ArrayList<>();
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = 0; i < SALAS; i++) {
+            UUID id = UUID.randomUUID();
+            salas.add(id);
+            linhas.add(new Object[]{id, "Sala " + i, 10, "Andar 1", true});
+        }
+        jdbcTemplate.batchUpdate("insert into salas (id, nome, capacidade, localizacao, ativa) values (?, ?, ?, ?, ?)",
+                linhas);
+        catalogoSalas.recarregar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+        agendaSalasIndice.recarregar();
+        catalogoSalas.recarregar();
+    }
+
+    @Test
+    void medirVazaoDoLoteContraEndpointUnitario() throws Exception {
+        long inicioUnitario = System.nanoTime();
+        for (int i = 0; i < ITENS_UNITARIOS; i++) {
+            mockMvc.perform(post("/api/v1/reservas")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(item(i)))
+                    .andExpect(status().isCreated());
+        }
+        double segundosUnitario = (System.nanoTime() - inicioUnitario) / 1_000_000_000.0;
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = ITENS_UNITARIOS; i < ITENS_UNITARIOS + ITENS_LOTE; i++) {
+            ndjson.append(item(i)).append('\n');
+        }
+        long inicioLote = System.nanoTime();
+        mockMvc.perform(post("/api/v1/reservas/lote")
+                        .contentType("application/x-ndjson")
+                        .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criadas").value(ITENS_LOTE));
+        double segundosLote = (System.nanoTime() - inicioLote) / 1_000_000_000.0;
+
+        double vazaoUnitaria = ITENS_UNITARIOS / segundosUnitario;
+        double vazaoLote = ITENS_LOTE / segundosLote;
+        System.out.printf("[benchmark] criacao unitaria | %d reservas em %.2f s (%.0f reservas/s)%n",
+                ITENS_UNITARIOS, segundosUnitario, vazaoUnitaria);
+        System.out.printf("[benchmark] criacao em lote (ndjson) | %d reservas em %.2f s (%.0f reservas/s) | %.1fx%n",
+                ITENS_LOTE, segundosLote, vazaoLote, vazaoLote / vazaoUnitaria);
+        assertEquals(ITENS_UNITARIOS + ITENS_LOTE, jdbcTemplate.queryForObject("select count(*) from reservas", Integer.class));
+    }
+
+    private String item(int i) {
+        UUID salaId = salas.get(i % SALAS);
+        LocalDateTime inicio = DIA.plusMinutes(30L * (i / SALAS));
+        return "{" +
+                "\"salaId\":\"" + salaId + "\"," +
+                "\"usuarioId\":\"" + usuarioId + "\"," +
+                "\"inicio\":\"" + inicio + "\"," +
+                "\"fim\":\"" + inicio.plusMinutes(30) + "\"}";
+    }
+
+    private void limpar() {
+        jdbcTemplate.update("delete from reservas");
+        jdbcTemplate.update("delete from agenda_salas");
+        jdbcTemplate.update("delete from sala_recursos");
+        jdbcTemplate.update("delete from salas");
+        jdbcTemplate.update("delete from usuarios");
+    }
+}
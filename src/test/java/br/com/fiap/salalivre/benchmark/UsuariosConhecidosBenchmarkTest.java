@@ -0,0 +1,134 @@
+package br.com.fiap.salalivre.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.fiap.salalivre.infrastructure.catalogo.ConjuntoUuid;
+import br.com.fiap.salalivre.infrastructure.catalogo.UsuariosConhecidos;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.UsuarioJpaRepository;
+
+/**
+ * Mede a memoria retida por um milhao de ids de usuario no {@link ConjuntoUuid} e em um
+ * {@code HashSet<UUID>}, a latencia de consulta de ids presentes e ausentes nos dois e a do
+ * {@code existsById} que a checagem em memoria substitui.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+class UsuariosConhecidosBenchmarkTest {
+    private static final int USUARIOS = 1_000_000;
+    private static final int CONSULTAS = 2_000_000;
+    private static final int CONSULTAS_BANCO = 20_000;
+    private static final int RODADAS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UsuarioJpaRepository usuarioRepositorio;
+
+    @Autowired
+    private UsuariosConhecidos usuariosConhecidos;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from usuarios");
+        usuariosConhecidos.recarregar();
+    }
+
+    @Test
+    void medirMemoriaPorMilhaoDeUsuariosELatenciaDeConsulta() {
+        Random random = new Random(7);
+        List<UUID> ids = new ArrayList<>(USUARIOS);
+        for (int i = 0; i < USUARIOS; i++) {
+            ids.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+
+        long antes = heapAposGc();
+        ConjuntoUuid conjunto = new ConjuntoUuid();
+        ids.forEach(conjunto::adicionar);
+        long bytesConjunto = heapAposGc() - antes;
+        antes = heapAposGc();
+        Set<UUID> hashSet = new HashSet<>(ids);
+        long bytesHashSet = heapAposGc() - antes;
+        System.out.printf("[benchmark] usuarios conhecidos | %d ids | ConjuntoUuid: %d MB retidos (tabela %d MB, %.1f bytes/id) "
+                        + "| HashSet<UUID>: %d MB retidos (%.1f bytes/id, ids fora da conta)%n",
+                USUARIOS, bytesConjunto >> 20, conjunto.bytesDaTabela() >> 20, bytesConjunto / (double) USUARIOS,
+                bytesHashSet >> 20, bytesHashSet / (double) USUARIOS);
+
+        UUID[] presentes = new UUID[CONSULTAS];
+        UUID[] ausentes = new UUID[CONSULTAS];
+        List<UUID> embaralhados = new ArrayList<>(ids);
+        Collections.shuffle(embaralhados, random);
+        for (int i = 0; i < CONSULTAS; i++) {
+            // copias sem identidade compartilhada, como um id vindo de uma requisicao
+            UUID presente = embaralhados.get(i % USUARIOS);
+            presentes[i] = new UUID(presente.getMostSignificantBits(), presente.getLeastSignificantBits());
+            ausentes[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            medirLatencia("ConjuntoUuid", conjunto::contem, presentes, ausentes, rodada == RODADAS - 1);
+            medirLatencia("HashSet<UUID>", hashSet::contains, presentes, ausentes, rodada == RODADAS - 1);
+        }
+
+        List<Object[]> linhas = new ArrayList<>(CONSULTAS_BANCO);
+        for (int i = 0; i < CONSULTAS_BANCO; i++) {
+            linhas.add(new Object[]{ids.get(i), "Usuario " + i, "usuario" + i + "@sala.com", "COMUM"});
+        }
+        jdbcTemplate.batchUpdate("insert into usuarios (id, nome, email, tipo) values (?, ?, ?, ?)", linhas);
+        long inicio = System.nanoTime();
+        long encontrados = 0;
+        for (int i = 0; i < CONSULTAS_BANCO; i++) {
+            encontrados += usuarioRepositorio.existsById(ids.get(i)) ? 1 : 0;
+        }
+        double nanosBanco = (System.nanoTime() - inicio) / (double) CONSULTAS_BANCO;
+        System.out.printf("[benchmark] usuarios conhecidos | existsById no H2 em memoria: %.0f ns/consulta%n", nanosBanco);
+        assertEquals(CONSULTAS_BANCO, encontrados);
+    }
+
+    private static void medirLatencia(String estrutura, Predicate<UUID> contem, UUID[] presentes, UUID[] ausentes,
+                                      boolean imprimir) {
+        long inicio = System.nanoTime();
+        int acertos = 0;
+        for (UUID id : presentes) {
+            acertos += contem.test(id) ? 1 : 0;
+        }
+        double nanosPresentes = (System.nanoTime() - inicio) / (double) presentes.length;
+        inicio = System.nanoTime();
+        int falsosPositivos = 0;
+        for (UUID id : ausentes) {
+            falsosPositivos += contem.test(id) ? 1 : 0;
+        }
+        double nanosAusentes = (System.nanoTime() - inicio) / (double) ausentes.length;
+        assertEquals(presentes.length, acertos);
+        assertEquals(0, falsosPositivos);
+        if (imprimir) {
+            System.out.printf("[benchmark] usuarios conhecidos | %s: %.1f ns/consulta presente | %.1f ns/consulta ausente%n",
+                    estrutura, nanosPresentes, nanosAusentes);
+        }
+    }
+
+    private static long heapAposGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
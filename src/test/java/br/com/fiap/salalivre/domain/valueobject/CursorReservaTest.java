@@ -0,0 +1,27 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+
+class CursorReservaTest {
+
+    @Test
+    void decodificar_deveRecuperarCursorCodificado() {
+        CursorReserva cursor = new CursorReserva(LocalDateTime.of(2026, 1, 22, 9, 30), UUID.randomUUID());
+
+        assertEquals(cursor, CursorReserva.decodificar(cursor.codificar()));
+    }
+
+    @Test
+    void decodificar_deveLancarRegraDeNegocioQuandoCursorInvalido() {
+        assertThrows(RegraDeNegocioException.class, () -> CursorReserva.decodificar("nao-e-base64!"));
+        assertThrows(RegraDeNegocioException.class, () -> CursorReserva.decodificar("c2VtLXNlcGFyYWRvcg"));
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.fiap.salalivre.domain.valueobject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.salalivre.domain.exception.RegraDeNegocioException;
+import br.com.fiap.salalivre.domain.model.FrequenciaRecorrencia;
+
+class RegraRecorrenciaTest {
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 1, 5, 9, 0);
+    private static final PeriodoReserva PRIMEIRA = new PeriodoReserva(INICIO, INICIO.plusMinutes(15));
+
+    @Test
+    void expandir_deveGerarOcorrenciasSemanaisAteQuantidadeDescontandoExcecoes() {
+        RegraRecorrencia regra = new RegraRecorrencia(FrequenciaRecorrencia.SEMANAL, 2, null, 3,
+                Set.of(LocalDate.of(2026, 1, 19)));
+
+        List<PeriodoReserva> ocorrencias = regra.expandir(PRIMEIRA);
+
+        assertEquals(List.of(INICIO, INICIO.plusWeeks(4)), ocorrencias.stream().map(PeriodoReserva::inicio).toList());
+        assertEquals(INICIO.plusWeeks(4).plusMinutes(15), ocorrencias.get(1).fim());
+    }
+
+    @Test
+    void expandir_deveGerarOcorrenciasDiariasAteDataFinalInclusive() {
+        RegraRecorrencia regra = new RegraRecorrencia(FrequenciaRecorrencia.DIARIA, 1, LocalDate.of(2026, 1, 9), null, null);
+
+        assertEquals(5, regra.expandir(PRIMEIRA).size());
+    }
+
+    @Test
+    void expandir_devePararNoPrimeiroLimiteAtingido() {
+        RegraRecorrencia regra = new RegraRecorrencia(FrequenciaRecorrencia.DIARIA, 1, LocalDate.of(2026, 1, 6), 10, null);
+
+        assertEquals(2, regra.expandir(PRIMEIRA).size());
+    }
+
+    @Test
+    void expandir_deveRejeitarOcorrenciasQueSeSobrepoem() {
+        RegraRecorrencia regra = new RegraRecorrencia(FrequenciaRecorrencia.DIARIA, 1, null, 2, null);
+
+        assertThrows(RegraDeNegocioException.class,
+                () -> regra.expandir(new PeriodoReserva(INICIO, INICIO.plusHours(25))));
+    }
+
+    @Test
+    void expandir_deveRejeitarSerieAcimaDoLimite() {
+        RegraRecorrencia regra = new RegraRecorrencia(FrequenciaRecorrencia.DIARIA, 1, INICIO.toLocalDate().plusYears(2), null, null);
+
+        assertThrows(RegraDeNegocioException.class, () -> regra.expandir(PRIMEIRA));
+    }
+
+    @Test
+    void constructor_deveExigirDataFinalOuQuantidade() {
+        assertThrows(RegraDeNegocioException.class,
+                () -> new RegraRecorrencia(FrequenciaRecorrencia.SEMANAL, 1, null, null, null));
+        assertThrows(RegraDeNegocioException.class,
+                () -> new RegraRecorrencia(FrequenciaRecorrencia.SEMANAL, 0, null, 3, null));
+        assertThrows(RegraDeNegocioException.class,
+                () -> new RegraRecorrencia(FrequenciaRecorrencia.SEMANAL, 1, null, RegraRecorrencia.MAXIMO_OCORRENCIAS + 1, null));
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.fiap.salalivre.infrastructure.agenda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class AgendaSalaTest {
+    private static final LocalDateTime DIA = LocalDateTime.of(2026, 1, 20, 0, 0);
+
+    @Test
+    void ocupada_deveMarcarSlotsParcialmenteOcupados() {
+        AgendaSala agenda = new AgendaSala();
+        agenda.inserir(DIA.plusHours(9).plusMinutes(10), DIA.plusHours(9).plusMinutes(20));
+
+        assertTrue(agenda.ocupada(AgendaSala.mascara(DIA.plusHours(9), DIA.plusHours(9).plusMinutes(15))));
+        assertTrue(agenda.ocupada(AgendaSala.mascara(DIA.plusHours(9).plusMinutes(15), DIA.plusHours(9).plusMinutes(30))));
+        assertFalse(agenda.ocupada(AgendaSala.mascara(DIA.plusHours(9).plusMinutes(30), DIA.plusHours(10))));
+        assertFalse(agenda.ocupada(AgendaSala.mascara(DIA.plusHours(8), DIA.plusHours(9))));
+    }
+
+    @Test
+    void ocupada_deveConsiderarReservasQueAtravessamAMeiaNoite() {
+        AgendaSala agenda = new AgendaSala();
+        agenda.inserir(DIA.plusHours(23), DIA.plusDays(1).plusHours(1));
+
+        assertTrue(agenda.ocupada(AgendaSala.mascara(DIA.plusHours(23).plusMinutes(45), DIA.plusDays(1))));
+        assertTrue(agenda.ocupada(AgendaSala.mascara(DIA.plusDays(1), DIA.plusDays(1).plusMinutes(15))));
+        assertFalse(agenda.ocupada(AgendaSala.mascara(DIA.plusDays(1).plusHours(1), DIA.plusDays(1).plusHours(2))));
+    }
+
+    @Test
+    void remover_deveLiberarSlotsSemApagarOutraReservaDoMesmoSlot() {
+        AgendaSala agenda = new AgendaSala();
+        agenda.inserir(DIA.plusHours(9), DIA.plusHours(9).plusMinutes(5));
+        agenda.inserir(DIA.plusHours(9).plusMinutes(10), DIA.plusHours(9).plusMinutes(15));
+
+        agenda.remover(DIA.plusHours(9), DIA.plusHours(9).plusMinutes(5));
+
+        assertTrue(agenda.ocupada(AgendaSala.mascara(DIA.plusHours(9), DIA.plusHours(9).plusMinutes(15))));
+    }
+
+    @Test
+    void ocupada_deveConcordarComBuscaLinearAposInsercoesERemocoesAleatorias() {
+        Random random = new Random(42);
+        AgendaSala agenda = new AgendaSala();
+        List<LocalDateTime[]> reservas = new ArrayList<>();
+
+        for (int passo = 0; passo < 5_000; passo++) {
+            if (!reservas.isEmpty() && random.nextInt(3) == 0) {
+                LocalDateTime[] removida = reservas.remove(random.nextInt(reservas.size()));
+                agenda.remover(removida[0], removida[1]);
+            } else {
+                LocalDateTime inicio = DIA.plusMinutes(5L * random.nextInt(1_200));
+                LocalDateTime[] nova = {inicio, inicio.plusMinutes(5L * (1 + random.nextInt(48)))};
+                reservas.add(nova);
+                agenda.inserir(nova[0], nova[1]);
+            }
+
+            // consultas alinhadas aos slots cruzam uma reserva exatamente quando cruzam os slots dela
+            LocalDateTime inicio = DIA.plusMinutes(15L * random.nextInt(400));
+            LocalDateTime fim = inicio.plusMinutes(15L * (1 + random.nextInt(16)));
+            boolean esperado = reservas.stream().anyMatch(r -> inicio.isBefore(r[1]) && fim.isAfter(r[0]));
+            assertEquals(esperado, agenda.ocupada(AgendaSala.mascara(inicio, fim)));
+        }
+    }
+
+    @Test
+    void alinhadoAosSlots_deveExigirMinutosMultiplosDoSlotSemSegundos() {
+        assertTrue(AgendaSala.alinhadoAosSlots(DIA.plusHours(9).plusMinutes(45)));
+        assertFalse(AgendaSala.alinhadoAosSlots(DIA.plusHours(9).plusMinutes(10)));
+        assertFalse(AgendaSala.alinhadoAosSlots(DIA.plusHours(9).plusSeconds(30)));
+    }
+}
@@ -0,0 +1,301 @@
+package br.com.fiap.salalivre.infrastructure.agenda;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.domain.valueobject.PeriodoReserva;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.ReservaAgendaView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AgendaSalasIndiceTest {
+    // o indice so guarda reservas que ainda nao terminaram
+    private static final LocalDateTime BASE = LocalDate.now().plusDays(1).atTime(8, 0);
+    private static final StatusReserva[] STATUS = StatusReserva.values();
+
+    @Autowired
+    private ReservaJpaRepository reservaRepositorio;
+
+    @Autowired
+    private SalaJpaRepository salaRepositorio;
+
+    @Autowired
+    private AgendaSalasIndice agendaSalasIndice;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Random random = new Random(7);
+    private final List<UUID> salas = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+    @BeforeEach
+    void setUp() {
+        reservaRepositorio.deleteAll();
+        salaRepositorio.deleteAll();
+    }
+
+    @Test
+    void filtrarSalasLivres_deveConcordarComConsultaJpqlAposCriacoes() {
+        criarReservasAleatorias(300);
+
+        compararComConsultaJpql(500);
+    }
+
+    @Test
+    void filtrarSalasLivres_deveConcordarComConsultaJpqlAposAlteracoesCancelamentosERemocoes() {
+        List<ReservaEntity> reservas = criarReservasAleatorias(200);
+
+        for (int i = 0; i < 150; i++) {
+            int indice = random.nextInt(reservas.size());
+            ReservaEntity reserva = reservas.get(indice);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    reserva.setStatus(StatusReserva.CANCELADA);
+                    reservas.set(indice, reservaRepositorio.save(reserva));
+                }
+                case 1 -> {
+                    LocalDateTime inicio = inicioAleatorio();
+                    reserva.setInicio(inicio);
+                    reserva.setFim(inicio.plusMinutes(30L * (1 + random.nextInt(4))));
+                    reserva.setStatus(StatusReserva.ALTERADA);
+                    reservas.set(indice, reservaRepositorio.save(reserva));
+                }
+                default -> {
+                    reservaRepositorio.deleteById(reserva.getId());
+                    reservas.remove(indice);
+                }
+            }
+        }
+
+        compararComConsultaJpql(500);
+    }
+
+    @Test
+    void recarregar_deveReconstruirAPartirDoRepositorio() {
+        List<ReservaEntity> reservas = criarReservasAleatorias(100);
+        long ativas = reservas.stream().filter(r -> r.getStatus() != StatusReserva.CANCELADA).count();
+
+        agendaSalasIndice.recarregar();
+
+        assertEquals(ativas, agendaSalasIndice.totalReservasIndexadas());
+        compararComConsultaJpql(200);
+    }
+
+    @Test
+    void recarregar_deveCarregarSoAsReservasAtivasQueAindaNaoTerminaram() {
+        List<ReservaEntity> reservas = criarReservasAleatorias(200);
+        LocalDateTime agora = BASE.plusHours(20);
+        AgendaSalasIndice indice = new AgendaSalasIndice(reservaRepositorio, transactionManager, relogio(agora));
+
+        indice.recarregar();
+
+        assertEquals(ativasTerminandoApos(reservas, agora), indice.totalReservasIndexadas());
+    }
+
+    @Test
+    void podar_deveTirarAsReservasTerminadasEDeixarOsPeriodosAnterioresComOBanco() {
+        List<ReservaEntity> reservas = criarReservasAleatorias(200);
+        LocalDateTime[] agora = {BASE.minusHours(1)};
+        AgendaSalasIndice indice = new AgendaSalasIndice(reservaRepositorio, transactionManager, relogio(agora));
+        indice.recarregar();
+        assertEquals(ativasTerminandoApos(reservas, agora[0]), indice.totalReservasIndexadas());
+
+        agora[0] = BASE.plusHours(20);
+        indice.podar();
+
+        assertEquals(ativasTerminandoApos(reservas, agora[0]), indice.totalReservasIndexadas());
+        assertFalse(indice.suportaConsultaPorSlots(new PeriodoReserva(agora[0].minusHours(1), agora[0].plusHours(1))));
+        assertTrue(indice.suportaConsultaPorSlots(new PeriodoReserva(agora[0], agora[0].plusHours(1))));
+        for (int i = 0; i < 200; i++) {
+            UUID salaId = salas.get(random.nextInt(salas.size()));
+            LocalDateTime inicio = agora[0].plusMinutes(15L * random.nextInt(120));
+            PeriodoReserva periodo = new PeriodoReserva(inicio, inicio.plusMinutes(15L * (1 + random.nextInt(8))));
+            boolean esperado = !reservaRepositorio.findConflitos(salaId, periodo.inicio(), periodo.fim(),
+                    StatusReserva.CANCELADA).isEmpty();
+
+            assertEquals(esperado, indice.filtrarSalasLivres(List.of(salaId), periodo).isEmpty(),
+                    "Divergencia em " + periodo);
+        }
+    }
+
+    @Test
+    void recarregar_deveTrazerReservasGravadasEmOutraInstancia() {
+        AgendaSalasIndice outraInstancia = new AgendaSalasIndice(reservaRepositorio, transactionManager, relogio(BASE));
+        outraInstancia.recarregar();
+        PeriodoReserva periodo = new PeriodoReserva(BASE.plusHours(1), BASE.plusHours(2));
+        // o listener so atualiza o indice do contexto, como se a reserva tivesse sido gravada em outra instancia
+        reservaRepositorio.save(ReservaEntity.builder()
+                .id(UUID.randomUUID())
+                .salaId(salas.getFirst())
+                .usuarioId(UUID.randomUUID())
+                .inicio(periodo.inicio())
+                .fim(periodo.fim())
+                .status(StatusReserva.CONFIRMADA)
+                .criadoEm(BASE)
+                .atualizadoEm(BASE)
+                .build());
+        assertEquals(Set.of(salas.getFirst()), outraInstancia.filtrarSalasLivres(List.of(salas.getFirst()), periodo));
+
+        outraInstancia.recarregar();
+
+        assertTrue(outraInstancia.filtrarSalasLivres(List.of(salas.getFirst()), periodo).isEmpty());
+    }
+
+    @Test
+    void recarregar_deveReaplicarAsReservasGravadasNestaInstanciaDuranteALeitura() {
+        ReservaJpaRepository repositorio = mock(ReservaJpaRepository.class);
+        AgendaSalasIndice indice = new AgendaSalasIndice(repositorio, transactionManager, relogio(BASE));
+        UUID lida = UUID.randomUUID();
+        UUID cancelada = UUID.randomUUID();
+        UUID gravadaDurante = UUID.randomUUID();
+        PeriodoReserva periodo = new PeriodoReserva(BASE.plusHours(1), BASE.plusHours(2));
+        when(repositorio.streamAtivasTerminandoApos(BASE)).thenReturn(Stream.empty());
+        indice.recarregar();
+        when(repositorio.streamAtivasTerminandoApos(BASE)).thenAnswer(invocacao -> {
+            indice.registrar(gravadaDurante, salas.get(1), periodo.inicio(), periodo.fim(), StatusReserva.CONFIRMADA);
+            indice.registrar(cancelada, salas.get(2), periodo.inicio(), periodo.fim(), StatusReserva.CANCELADA);
+            return Stream.of(
+                    new ReservaAgendaView(lida, salas.getFirst(), periodo.inicio(), periodo.fim()),
+                    new ReservaAgendaView(cancelada, salas.get(2), periodo.inicio(), periodo.fim()));
+        });
+
+        indice.recarregar();
+
+        assertEquals(2, indice.totalReservasIndexadas());
+        assertEquals(Set.of(salas.get(2)), indice.filtrarSalasLivres(salas, periodo));
+    }
+
+    @Test
+    void filtrarSalasLivres_deveRecusarPeriodoQueComecaAntesDoLimite() {
+        AgendaSalasIndice indice = new AgendaSalasIndice(reservaRepositorio, transactionManager, relogio(BASE));
+        indice.recarregar();
+
+        assertThrows(IllegalArgumentException.class, () -> indice.filtrarSalasLivres(salas,
+                new PeriodoReserva(BASE.minusMinutes(15), BASE.plusMinutes(15))));
+    }
+
+    @Test
+    void filtrarSalasLivres_deveConcordarComFindDisponiveisParaPeriodosAlinhados() {
+        salas.forEach(salaId -> salaRepositorio.save(SalaEntity.builder()
+                .id(salaId)
+                .nome("Sala " + salaId)
+                .capacidade(10)
+                .localizacao("Andar 1")
+                .ativa(true)
+                .build()));
+        criarReservasAleatorias(200);
+
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime inicio = inicioAleatorio();
+            long minutos = random.nextInt(10) == 0
+                    ? 15L * (96 + random.nextInt(96))
+                    : 15L * (1 + random.nextInt(12));
+            PeriodoReserva periodo = new PeriodoReserva(inicio, inicio.plusMinutes(minutos));
+
+            Set<UUID> esperado = salaRepositorio.findDisponiveis(periodo.inicio(), periodo.fim()).stream()
+                    .map(SalaEntity::getId)
+                    .collect(Collectors.toSet());
+
+            assertEquals(esperado, agendaSalasIndice.filtrarSalasLivres(salas, periodo),
+                    "Divergencia de disponibilidade em " + periodo);
+        }
+    }
+
+    private List<ReservaEntity> criarReservasAleatorias(int quantidade) {
+        List<ReservaEntity> reservas = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            LocalDateTime inicio = inicioForaDosSlots();
+            reservas.add(reservaRepositorio.save(ReservaEntity.builder()
+                    .id(UUID.randomUUID())
+                    .salaId(salas.get(random.nextInt(salas.size())))
+                    .usuarioId(UUID.randomUUID())
+                    .inicio(inicio)
+                    .fim(inicio.plusMinutes(5L * (1 + random.nextInt(24))))
+                    .status(STATUS[random.nextInt(STATUS.length)])
+                    .criadoEm(BASE)
+                    .atualizadoEm(BASE)
+                    .build()));
+        }
+        return reservas;
+    }
+
+    private void compararComConsultaJpql(int consultas) {
+        for (int i = 0; i < consultas; i++) {
+            UUID salaId = salas.get(random.nextInt(salas.size()));
+            LocalDateTime inicio = inicioAleatorio();
+            PeriodoReserva periodo = new PeriodoReserva(inicio, inicio.plusMinutes(15L * (1 + random.nextInt(8))));
+
+            boolean esperado = !reservaRepositorio.findConflitos(salaId, periodo.inicio(), periodo.fim(),
+                    StatusReserva.CANCELADA).isEmpty();
+
+            assertEquals(esperado, agendaSalasIndice.filtrarSalasLivres(List.of(salaId), periodo).isEmpty(),
+                    "Divergencia para sala " + salaId + " em " + periodo);
+        }
+    }
+
+    private static long ativasTerminandoApos(List<ReservaEntity> reservas, LocalDateTime momento) {
+        return reservas.stream()
+                .filter(reserva -> reserva.getStatus() != StatusReserva.CANCELADA && reserva.getFim().isAfter(momento))
+                .count();
+    }
+
+    private static Clock relogio(LocalDateTime momento) {
+        return relogio(new LocalDateTime[]{momento});
+    }
+
+    private static Clock relogio(LocalDateTime[] momento) {
+        return new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneId.systemDefault();
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return momento[0].atZone(getZone()).toInstant();
+            }
+        };
+    }
+
+    private LocalDateTime inicioAleatorio() {
+        return BASE.plusMinutes(15L * random.nextInt(200));
+    }
+
+    private LocalDateTime inicioForaDosSlots() {
+        return BASE.plusMinutes(5L * random.nextInt(600));
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BitmapCompactadoTest {
+
+    @Test
+    void adicionarERemover_deveAcompanharUmBitSetAtravessandoOLimiteDoArray() {
+        Random random = new Random(11);
+        BitmapCompactado bitmap = new BitmapCompactado();
+        BitSet esperado = new BitSet();
+        // denso no primeiro conteiner (vira mapa de bits), esparso no segundo (fica array)
+        for (int i = 0; i < 30_000; i++) {
+            int valor = random.nextInt(10) == 0 ? 65_536 + random.nextInt(65_536) : random.nextInt(8_000);
+            assertEquals(!esperado.get(valor), bitmap.adicionar(valor));
+            esperado.set(valor);
+        }
+        assertEquals(esperado.cardinality(), bitmap.cardinalidade());
+        for (int i = 0; i < 30_000; i++) {
+            int valor = random.nextInt(2) == 0 ? 65_536 + random.nextInt(65_536) : random.nextInt(8_000);
+            assertEquals(esperado.get(valor), bitmap.remover(valor));
+            esperado.clear(valor);
+        }
+
+        assertEquals(esperado.cardinality(), bitmap.cardinalidade());
+        assertEquals(valores(esperado), valores(bitmap));
+        esperado.stream().forEach(valor -> assertTrue(bitmap.contem(valor)));
+        assertFalse(bitmap.contem(200_000));
+    }
+
+    @Test
+    void intersecao_deveCombinarConteineresArrayEMapaDeBits() {
+        Random random = new Random(13);
+        BitmapCompactado denso = new BitmapCompactado();
+        BitmapCompactado outroDenso = new BitmapCompactado();
+        BitmapCompactado esparso = new BitmapCompactado();
+        BitSet esperadoDenso = new BitSet();
+        BitSet esperadoOutroDenso = new BitSet();
+        BitSet esperadoEsparso = new BitSet();
+        for (int i = 0; i < 20_000; i++) {
+            int valor = random.nextInt(140_000);
+            denso.adicionar(valor);
+            esperadoDenso.set(valor);
+            valor = random.nextInt(140_000);
+            outroDenso.adicionar(valor);
+            esperadoOutroDenso.set(valor);
+            if (i % 10 == 0) {
+                valor = random.nextInt(140_000);
+                esparso.adicionar(valor);
+                esperadoEsparso.set(valor);
+            }
+        }
+
+        assertEquals(valores(e(esperadoDenso, esperadoOutroDenso)), valores(denso.intersecao(outroDenso)));
+        assertEquals(valores(e(esperadoDenso, esperadoEsparso)), valores(denso.intersecao(esparso)));
+        assertEquals(valores(e(esperadoEsparso, esperadoDenso)), valores(esparso.intersecao(denso)));
+        assertEquals(valores(esperadoDenso), valores(denso.intersecao(denso)));
+        assertEquals(valores(esperadoEsparso), valores(esparso.intersecao(esparso)));
+        assertTrue(esparso.intersecao(new BitmapCompactado()).vazio());
+    }
+
+    @Test
+    void bytesOcupados_deveCustarDoisBytesPorValorEsparsoENoMaximoUmBitPorOrdinalDenso() {
+        BitmapCompactado esparso = new BitmapCompactado();
+        BitmapCompactado denso = new BitmapCompactado();
+        for (int i = 0; i < 65_536; i++) {
+            denso.adicionar(i);
+            if (i % 64 == 0) {
+                esparso.adicionar(i);
+            }
+        }
+
+        assertTrue(esparso.bytesOcupados() <= 1_024 * Character.BYTES + 64);
+        assertTrue(denso.bytesOcupados() <= 65_536 / Byte.SIZE + 64);
+    }
+
+    private static BitSet e(BitSet a, BitSet b) {
+        BitSet resultado = (BitSet) a.clone();
+        resultado.and(b);
+        return resultado;
+    }
+
+    private static List<Integer> valores(BitSet bitSet) {
+        return bitSet.stream().boxed().toList();
+    }
+
+    private static List<Integer> valores(BitmapCompactado bitmap) {
+        return Arrays.stream(bitmap.paraArray()).boxed().toList();
+    }
+}
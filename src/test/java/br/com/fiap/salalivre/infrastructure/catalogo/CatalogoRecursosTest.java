@@ -0,0 +1,134 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.fiap.salalivre.infrastructure.persistence.entity.RecursoEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.SalaMascaraView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.RecursoJpaRepository;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoRecursosTest {
+    private static final UUID SALA_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID SALA_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @Mock
+    private RecursoJpaRepository recursoRepositorio;
+
+    @Mock
+    private SalaJpaRepository salaRepositorio;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CatalogoRecursos catalogo;
+
+    @BeforeEach
+    void setUp() {
+        catalogo = new CatalogoRecursos(recursoRepositorio, salaRepositorio, transactionManager);
+    }
+
+    @Test
+    void mascara_deveRegistrarCadaRecursoNovoUmaVezIgnorandoCaixaEEspacos() {
+        AtomicInteger sequencia = new AtomicInteger();
+        when(recursoRepositorio.saveAndFlush(any(RecursoEntity.class))).thenAnswer(invocation -> {
+            RecursoEntity recurso = invocation.getArgument(0);
+            recurso.setCodigo(sequencia.getAndIncrement());
+            return recurso;
+        });
+
+        assertEquals(0b11, catalogo.mascara(List.of("Projetor", "TV", " projetor ")));
+        assertEquals(0b10, catalogo.mascara(List.of("tv")));
+
+        verify(recursoRepositorio, times(2)).saveAndFlush(any(RecursoEntity.class));
+    }
+
+    @Test
+    void mascara_deveUsarOCodigoDeOutraInstanciaQuandoONomeJaFoiRegistrado() {
+        when(recursoRepositorio.saveAndFlush(any(RecursoEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("nome duplicado"));
+        when(recursoRepositorio.findByNome("tv")).thenReturn(Optional.of(new RecursoEntity(3, "tv")));
+
+        assertEquals(0b1000, catalogo.mascara(List.of("TV")));
+        assertEquals(0b1000, catalogo.mascara(List.of("tv")));
+
+        verify(recursoRepositorio).saveAndFlush(any(RecursoEntity.class));
+    }
+
+    @Test
+    void mascara_deveTentarOutroCodigoQuandoOGeradoJaEstaEmUso() {
+        when(recursoRepositorio.saveAndFlush(any(RecursoEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("codigo duplicado"))
+                .thenAnswer(invocation -> {
+                    RecursoEntity recurso = invocation.getArgument(0);
+                    recurso.setCodigo(2);
+                    return recurso;
+                });
+        when(recursoRepositorio.findByNome("tv")).thenReturn(Optional.empty());
+        when(recursoRepositorio.count()).thenReturn(2L);
+
+        assertEquals(0b100, catalogo.mascara(List.of("tv")));
+    }
+
+    @Test
+    void mascara_deveDesistirDepoisDeUmaTentativaPorLinhaDoDicionario() {
+        when(recursoRepositorio.saveAndFlush(any(RecursoEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("nome longo demais"));
+        when(recursoRepositorio.findByNome("tv")).thenReturn(Optional.empty());
+        when(recursoRepositorio.count()).thenReturn(2L);
+
+        assertThrows(DataIntegrityViolationException.class, () -> catalogo.mascara(List.of("tv")));
+        verify(recursoRepositorio, times(3)).saveAndFlush(any(RecursoEntity.class));
+    }
+
+    @Test
+    void filtro_deveDeixarParaComparacaoPorNomeRecursosSemBitOuDesconhecidos() {
+        when(recursoRepositorio.findAll()).thenReturn(List.of(
+                new RecursoEntity(0, "projetor"),
+                new RecursoEntity(CatalogoRecursos.BITS_MASCARA, "lousa")));
+        catalogo.recarregar();
+
+        CatalogoRecursos.FiltroRecursos filtro = catalogo.filtro(List.of("projetor", "lousa", "desconhecido"));
+
+        assertEquals(1L, filtro.mascara());
+        assertEquals(List.of("lousa", "desconhecido"), filtro.semBit());
+    }
+
+    @Test
+    void recarregar_deveRecalcularSomenteMascarasDesatualizadas() {
+        when(recursoRepositorio.findAll()).thenReturn(List.of(
+                new RecursoEntity(0, "projetor"),
+                new RecursoEntity(1, "tv")));
+        when(salaRepositorio.findMascarasComRecursos()).thenReturn(List.of(
+                new SalaMascaraView(SALA_A, 0, "Projetor"),
+                new SalaMascaraView(SALA_A, 0, "TV"),
+                new SalaMascaraView(SALA_B, 1, "Projetor")));
+
+        catalogo.recarregar();
+
+        verify(salaRepositorio).atualizarMascaraRecursos(SALA_A, 0b11);
+        verify(salaRepositorio, never()).atualizarMascaraRecursos(eq(SALA_B), anyLong());
+        verify(recursoRepositorio, never()).saveAndFlush(any(RecursoEntity.class));
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.SalaRecursoView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoSalasTest {
+    private static final UUID SALA_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final Instant AGORA = Instant.parse("2026-03-02T12:00:00Z");
+    private static final Duration VALIDADE = Duration.ofMinutes(5);
+
+    @Mock
+    private SalaJpaRepository salaRepositorio;
+
+    @Mock
+    private Clock clock;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Instant[] instante = {AGORA};
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenAnswer(invocation -> instante[0]);
+    }
+
+    @Test
+    void obter_deveResponderSalaPresenteSemIrAoBancoDepoisDeCarregado() {
+        when(salaRepositorio.count()).thenReturn(1L);
+        when(salaRepositorio.findTodasComRecursos()).thenReturn(List.of(linha("TV"), linha("Projetor")));
+        CatalogoSalas catalogo = catalogo(10);
+        catalogo.recarregar();
+
+        assertEquals(List.of("TV", "Projetor"), catalogo.obter(SALA_ID).orElseThrow().recursos());
+        assertEquals(1, catalogo.listar().size());
+
+        verify(salaRepositorio, times(1)).findTodasComRecursos();
+        verify(salaRepositorio, never()).findComRecursosById(SALA_ID);
+        assertEquals(2.0, contador("acerto"));
+    }
+
+    @Test
+    void obter_deveProcurarNoBancoSalaAusenteDaCopiaEAcrescentarSeEncontrada() {
+        UUID salaAusente = UUID.randomUUID();
+        UUID salaDeOutraInstancia = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        when(salaRepositorio.count()).thenReturn(1L);
+        when(salaRepositorio.findTodasComRecursos()).thenReturn(List.of(linha("TV")));
+        when(salaRepositorio.findComRecursosById(salaAusente)).thenReturn(List.of());
+        when(salaRepositorio.findComRecursosById(salaDeOutraInstancia)).thenReturn(List.of(
+                new SalaRecursoView(salaDeOutraInstancia, "Sala 2", 8, "Andar 2", true, null)));
+        CatalogoSalas catalogo = catalogo(10);
+        catalogo.recarregar();
+
+        assertTrue(catalogo.obter(salaAusente).isEmpty());
+        assertEquals(salaDeOutraInstancia, catalogo.obter(salaDeOutraInstancia).orElseThrow().id());
+        assertEquals(salaDeOutraInstancia, catalogo.obter(salaDeOutraInstancia).orElseThrow().id());
+        List<DadosSala> salas = catalogo.listar();
+
+        assertEquals(List.of(SALA_ID, salaDeOutraInstancia), salas.stream().map(DadosSala::id).toList());
+        verify(salaRepositorio, times(1)).findTodasComRecursos();
+        verify(salaRepositorio, times(1)).findComRecursosById(salaDeOutraInstancia);
+    }
+
+    @Test
+    void obter_naoDeveAcrescentarSalaLidaDuranteUmaInvalidacao() {
+        UUID salaNova = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        when(salaRepositorio.count()).thenReturn(1L);
+        when(salaRepositorio.findTodasComRecursos()).thenReturn(List.of(linha("TV")));
+        CatalogoSalas catalogo = catalogo(10);
+        catalogo.recarregar();
+        when(salaRepositorio.findComRecursosById(salaNova)).thenAnswer(invocation -> {
+            catalogo.invalidar();
+            return List.of(new SalaRecursoView(salaNova, "Sala 2", 8, "Andar 2", true, null));
+        });
+
+        assertEquals(salaNova, catalogo.obter(salaNova).orElseThrow().id());
+        assertEquals(List.of(SALA_ID), catalogo.listar().stream().map(DadosSala::id).toList());
+
+        verify(salaRepositorio, times(2)).findTodasComRecursos();
+    }
+
+    @Test
+    void obter_deveRecarregarDepoisDeInvalidadoOuVencido() {
+        when(salaRepositorio.count()).thenReturn(1L);
+        when(salaRepositorio.findTodasComRecursos())
+                .thenReturn(List.of(linha(null)))
+                .thenReturn(List.of(new SalaRecursoView(SALA_ID, "Sala", 10, "Andar 1", false, null)))
+                .thenReturn(List.of());
+        CatalogoSalas catalogo = catalogo(10);
+        catalogo.recarregar();
+
+        catalogo.invalidar();
+        DadosSala desativada = catalogo.obter(SALA_ID).orElseThrow();
+        instante[0] = AGORA.plus(VALIDADE);
+        List<DadosSala> depoisDeVencer = catalogo.listar();
+
+        assertFalse(desativada.ativa());
+        assertTrue(depoisDeVencer.isEmpty());
+        verify(salaRepositorio, times(3)).findTodasComRecursos();
+        assertEquals(2.0, contador("falta"));
+    }
+
+    @Test
+    void obter_deveConsultarBancoQuandoCatalogoExcedeTamanhoMaximo() {
+        when(salaRepositorio.count()).thenReturn(2L);
+        when(salaRepositorio.findComRecursosById(SALA_ID)).thenReturn(List.of(linha("TV")));
+        CatalogoSalas catalogo = catalogo(1);
+        catalogo.recarregar();
+
+        assertEquals(SALA_ID, catalogo.obter(SALA_ID).orElseThrow().id());
+        assertEquals(SALA_ID, catalogo.obter(SALA_ID).orElseThrow().id());
+
+        verify(salaRepositorio, times(1)).count();
+        verify(salaRepositorio, never()).findTodasComRecursos();
+        verify(salaRepositorio, times(2)).findComRecursosById(SALA_ID);
+        assertEquals(2.0, contador("falta"));
+        assertEquals(1.0, meterRegistry.get(CatalogoSalas.METRICA_EXCEDENTE).gauge().value());
+    }
+
+    @Test
+    void listar_deveZerarOExcedenteQuandoOCatalogoVoltaAoLimite() {
+        when(salaRepositorio.count()).thenReturn(3L).thenReturn(1L);
+        when(salaRepositorio.findTodasComRecursos()).thenReturn(List.of(linha("TV")));
+        CatalogoSalas catalogo = catalogo(1);
+        catalogo.recarregar();
+        assertEquals(2.0, meterRegistry.get(CatalogoSalas.METRICA_EXCEDENTE).gauge().value());
+
+        instante[0] = AGORA.plus(VALIDADE);
+        catalogo.listar();
+
+        assertEquals(0.0, meterRegistry.get(CatalogoSalas.METRICA_EXCEDENTE).gauge().value());
+        assertEquals(1, catalogo.listar().size());
+        verify(salaRepositorio, times(1)).findTodasComRecursos();
+    }
+
+    private CatalogoSalas catalogo(int tamanhoMaximo) {
+        return new CatalogoSalas(salaRepositorio, meterRegistry, clock, tamanhoMaximo, VALIDADE);
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.counter(CatalogoSalas.METRICA_CONSULTAS, "resultado", resultado).count();
+    }
+
+    private static SalaRecursoView linha(String recurso) {
+        return new SalaRecursoView(SALA_ID, "Sala", 10, "Andar 1", true, recurso);
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class ConjuntoUuidTest {
+
+    @Test
+    void adicionar_deveCrescerAlemDaCapacidadeInicialSemPerderIds() {
+        ConjuntoUuid conjunto = new ConjuntoUuid();
+        Set<UUID> inseridos = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            inseridos.add(id);
+            assertTrue(conjunto.adicionar(id));
+        }
+
+        assertEquals(10_000, conjunto.tamanho());
+        inseridos.forEach(id -> assertTrue(conjunto.contem(id)));
+        assertFalse(conjunto.contem(UUID.randomUUID()));
+        assertFalse(conjunto.adicionar(inseridos.iterator().next()));
+    }
+
+    @Test
+    void deveGuardarUuidNuloApesarDeZeroMarcarPosicaoVazia() {
+        ConjuntoUuid conjunto = new ConjuntoUuid();
+        UUID nulo = new UUID(0, 0);
+
+        assertFalse(conjunto.contem(nulo));
+        assertTrue(conjunto.adicionar(nulo));
+        assertTrue(conjunto.contem(nulo));
+        assertEquals(1, conjunto.tamanho());
+        assertTrue(conjunto.remover(nulo));
+        assertFalse(conjunto.contem(nulo));
+    }
+
+    @Test
+    void deveConcordarComHashSetAposInsercoesERemocoesAleatorias() {
+        Random random = new Random(42);
+        ConjuntoUuid conjunto = new ConjuntoUuid();
+        Set<UUID> referencia = new HashSet<>();
+        // universo pequeno para repetir ids e formar sequencias longas de sondagem
+        for (int i = 0; i < 50_000; i++) {
+            UUID id = new UUID(random.nextInt(8), random.nextInt(256));
+            if (random.nextInt(3) == 0) {
+                assertEquals(referencia.remove(id), conjunto.remover(id));
+            } else {
+                assertEquals(referencia.add(id), conjunto.adicionar(id));
+            }
+        }
+
+        assertEquals(referencia.size(), conjunto.tamanho());
+        for (int alta = 0; alta < 8; alta++) {
+            for (int baixa = 0; baixa < 256; baixa++) {
+                UUID id = new UUID(alta, baixa);
+                assertEquals(referencia.contains(id), conjunto.contem(id));
+            }
+        }
+    }
+
+    @Test
+    void bytesDaTabela_deveReservarDezesseisBytesPorPosicaoComCargaDeAteTresQuartos() {
+        ConjuntoUuid conjunto = new ConjuntoUuid(1_000_000);
+
+        // 1.000.000 / 0,75 arredondado para potencia de dois: 2^21 posicoes
+        assertEquals((1L << 21) * 16, conjunto.bytesDaTabela());
+    }
+}
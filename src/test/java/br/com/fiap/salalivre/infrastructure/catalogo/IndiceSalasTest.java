@@ -0,0 +1,104 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.salalivre.domain.valueobject.CriteriosBuscaSala;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.SalaRecursoView;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceSalasTest {
+    private static final UUID SALA_GRANDE = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SALA_JUSTA = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final UUID SALA_INATIVA = UUID.fromString("00000000-0000-0000-0000-000000000003");
+
+    @Mock
+    private SalaJpaRepository salaRepositorio;
+
+    private IndiceSalas indice;
+
+    @BeforeEach
+    void setUp() {
+        when(salaRepositorio.findTodasComRecursos()).thenReturn(List.of(
+                new SalaRecursoView(SALA_GRANDE, "Sala Grande", 20, "Andar 1", true, "Projetor"),
+                new SalaRecursoView(SALA_GRANDE, "Sala Grande", 20, "Andar 1", true, "TV"),
+                new SalaRecursoView(SALA_JUSTA, "Sala Justa", 7, "ANDAR 1", true, " tv "),
+                new SalaRecursoView(SALA_INATIVA, "Sala Inativa", 30, "Andar 1", false, "TV")));
+        indice = new IndiceSalas(salaRepositorio);
+        indice.recarregar();
+    }
+
+    @Test
+    void buscar_deveCruzarFacetasEOrdenarPeloMelhorEncaixe() {
+        assertEquals(List.of(SALA_JUSTA, SALA_GRANDE), ids(new CriteriosBuscaSala(null, "andar 1", List.of("TV"), null)));
+        // 7 cai na faixa de 6: a capacidade exata e conferida sala a sala
+        assertEquals(List.of(SALA_JUSTA, SALA_GRANDE), ids(new CriteriosBuscaSala(7, null, null, null)));
+        assertEquals(List.of(SALA_GRANDE), ids(new CriteriosBuscaSala(8, null, List.of("tv", "projetor"), null)));
+        assertEquals(List.of(SALA_JUSTA), ids(new CriteriosBuscaSala(null, null, null, 1)));
+        assertTrue(ids(new CriteriosBuscaSala(null, "Andar 9", null, null)).isEmpty());
+        assertTrue(ids(new CriteriosBuscaSala(null, null, List.of("lousa"), null)).isEmpty());
+        assertTrue(ids(new CriteriosBuscaSala(21, null, null, null)).isEmpty());
+    }
+
+    @Test
+    void atualizarERemover_deveManterFacetasEReaproveitarOrdinais() {
+        indice.atualizar(new DadosSala(SALA_INATIVA, "Sala Inativa", 30, "Andar 2", List.of("Lousa"), true));
+        indice.atualizar(new DadosSala(SALA_JUSTA, "Sala Justa", 7, "Andar 1", List.of("TV"), false));
+
+        assertEquals(List.of(SALA_INATIVA), ids(new CriteriosBuscaSala(null, null, List.of("lousa"), null)));
+        assertEquals(List.of(SALA_GRANDE), ids(new CriteriosBuscaSala(null, null, List.of("tv"), null)));
+        assertTrue(ids(new CriteriosBuscaSala(null, "andar 1", List.of("lousa"), null)).isEmpty());
+
+        indice.remover(SALA_GRANDE);
+        UUID nova = UUID.randomUUID();
+        indice.atualizar(new DadosSala(nova, "Sala Nova", 12, "Andar 1", List.of("TV"), true));
+
+        assertEquals(3, indice.tamanho());
+        assertEquals(List.of(nova), ids(new CriteriosBuscaSala(10, "Andar 1", List.of("tv"), null)));
+        assertTrue(ids(new CriteriosBuscaSala(null, null, List.of("projetor"), null)).isEmpty());
+    }
+
+    @Test
+    void recarregar_deveTrazerSalasAlteradasEmOutraInstancia() {
+        UUID deOutraInstancia = UUID.randomUUID();
+        when(salaRepositorio.findTodasComRecursos()).thenReturn(List.of(
+                new SalaRecursoView(SALA_GRANDE, "Sala Grande", 20, "Andar 1", true, "Projetor"),
+                new SalaRecursoView(deOutraInstancia, "Sala Remota", 4, "Andar 3", true, "TV")));
+
+        indice.recarregar();
+
+        assertEquals(2, indice.tamanho());
+        assertEquals(List.of(deOutraInstancia, SALA_GRANDE), ids(new CriteriosBuscaSala(null, null, null, null)));
+        assertEquals(List.of(deOutraInstancia), ids(new CriteriosBuscaSala(null, "andar 3", List.of("tv"), null)));
+    }
+
+    @Test
+    void recarregar_deveDescartarLeituraQueCruzouComAlteracaoLocal() {
+        UUID criadaAqui = UUID.randomUUID();
+        when(salaRepositorio.findTodasComRecursos()).thenAnswer(invocacao -> {
+            indice.atualizar(new DadosSala(criadaAqui, "Sala Nova", 12, "Andar 1", List.of("TV"), true));
+            return List.of(new SalaRecursoView(SALA_GRANDE, "Sala Grande", 20, "Andar 1", true, "TV"));
+        });
+
+        indice.recarregar();
+
+        assertEquals(4, indice.tamanho());
+        assertTrue(ids(new CriteriosBuscaSala(null, null, List.of("tv"), null)).contains(criadaAqui));
+    }
+
+    private List<UUID> ids(CriteriosBuscaSala criterios) {
+        return indice.buscar(criterios).stream().map(DadosSala::id).toList();
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.fiap.salalivre.infrastructure.catalogo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.fiap.salalivre.infrastructure.persistence.repository.UsuarioJpaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UsuariosConhecidosTest {
+    private static final UUID USUARIO_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+    @Mock
+    private UsuarioJpaRepository usuarioRepositorio;
+
+    @Test
+    void existentes_naoDeveConsultarBancoQuandoTodosSaoConhecidos() {
+        when(usuarioRepositorio.findTodosIds()).thenReturn(List.of(USUARIO_ID));
+        UsuariosConhecidos conhecidos = new UsuariosConhecidos(usuarioRepositorio);
+        conhecidos.recarregar();
+
+        assertEquals(Set.of(USUARIO_ID), conhecidos.existentes(Set.of(USUARIO_ID)));
+
+        verify(usuarioRepositorio, never()).findIdsExistentes(anyCollection());
+    }
+
+    @Test
+    void existentes_deveConfirmarDesconhecidosNoBancoEPassarAConhecerOsEncontrados() {
+        UUID gravadoForaDaAplicacao = UUID.randomUUID();
+        UUID inexistente = UUID.randomUUID();
+        when(usuarioRepositorio.findTodosIds()).thenReturn(List.of(USUARIO_ID));
+        when(usuarioRepositorio.findIdsExistentes(anyCollection())).thenReturn(List.of(gravadoForaDaAplicacao));
+        UsuariosConhecidos conhecidos = new UsuariosConhecidos(usuarioRepositorio);
+        conhecidos.recarregar();
+
+        assertEquals(Set.of(USUARIO_ID, gravadoForaDaAplicacao),
+                conhecidos.existentes(Set.of(USUARIO_ID, gravadoForaDaAplicacao, inexistente)));
+        assertTrue(conhecidos.contem(gravadoForaDaAplicacao));
+        assertFalse(conhecidos.contem(inexistente));
+    }
+
+    @Test
+    void remover_deveEsquecerUsuarioExcluido() {
+        when(usuarioRepositorio.findTodosIds()).thenReturn(List.of(USUARIO_ID));
+        UsuariosConhecidos conhecidos = new UsuariosConhecidos(usuarioRepositorio);
+        conhecidos.recarregar();
+
+        conhecidos.remover(USUARIO_ID);
+
+        assertFalse(conhecidos.contem(USUARIO_ID));
+    }
+}
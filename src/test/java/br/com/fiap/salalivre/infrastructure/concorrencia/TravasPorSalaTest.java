@@ -0,0 +1,57 @@
+package br.com.fiap.salalivre.infrastructure.concorrencia;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class TravasPorSalaTest {
+    private final TravasPorSala travasPorSala = new TravasPorSala(16);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void travarAteFimDaTransacao_deveManterTravaAteConclusaoDaTransacao() {
+        UUID salaId = UUID.randomUUID();
+        ReentrantLock trava = travasPorSala.travaDa(salaId);
+        TransactionSynchronizationManager.initSynchronization();
+
+        travasPorSala.travarAteFimDaTransacao(salaId);
+
+        assertTrue(trava.isHeldByCurrentThread());
+        for (TransactionSynchronization sincronizacao : TransactionSynchronizationManager.getSynchronizations()) {
+            sincronizacao.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertFalse(trava.isLocked());
+    }
+
+    @Test
+    void travarAteFimDaTransacao_deveExigirTransacaoAtiva() {
+        assertThrows(IllegalStateException.class, () -> travasPorSala.travarAteFimDaTransacao(UUID.randomUUID()));
+    }
+
+    @Test
+    void travaDa_deveSerEstavelParaAMesmaSala() {
+        UUID salaId = UUID.randomUUID();
+
+        assertSame(travasPorSala.travaDa(salaId), travasPorSala.travaDa(UUID.fromString(salaId.toString())));
+    }
+
+    @Test
+    void construtor_deveExigirPotenciaDeDois() {
+        assertThrows(IllegalArgumentException.class, () -> new TravasPorSala(10));
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.fiap.salalivre.infrastructure.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class GeradorUuidV7Test {
+    private static final Instant AGORA = Instant.parse("2026-03-02T12:00:00.123Z");
+
+    @Test
+    void novoId_deveGravarMilissegundoVersaoEVarianteDaRfc9562() {
+        UUID id = new GeradorUuidV7(Clock.fixed(AGORA, ZoneOffset.UTC)).novoId();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(AGORA.toEpochMilli(), id.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void novoId_deveCrescerNoMesmoMilissegundoEComRelogioVoltando() {
+        Instant[] instante = {AGORA};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return instante[0];
+            }
+        };
+        GeradorUuidV7 gerador = new GeradorUuidV7(clock);
+        List<UUID> ids = new ArrayList<>();
+        // mais ids no mesmo milissegundo do que cabem no contador: o excedente avanca o milissegundo
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(gerador.novoId());
+        }
+        instante[0] = AGORA.minusSeconds(1);
+        ids.add(gerador.novoId());
+
+        List<UUID> ordenados = new ArrayList<>(ids);
+        Collections.sort(ordenados);
+        assertEquals(ids, ordenados);
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+
+    @Test
+    void novoId_deveGerarIdsUnicosECrescentesPorThreadEmParalelo() throws Exception {
+        GeradorUuidV7 gerador = new GeradorUuidV7(Clock.systemUTC());
+        List<Future<List<UUID>>> porThread = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                porThread.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(gerador.novoId());
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        Set<UUID> todos = new HashSet<>();
+        for (Future<List<UUID>> futuro : porThread) {
+            List<UUID> ids = futuro.get();
+            List<UUID> ordenados = new ArrayList<>(ids);
+            Collections.sort(ordenados);
+            assertEquals(ids, ordenados);
+            todos.addAll(ids);
+        }
+        assertEquals(8 * 20_000, todos.size());
+    }
+}
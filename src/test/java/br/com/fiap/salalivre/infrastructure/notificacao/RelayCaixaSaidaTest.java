@@ -0,0 +1,282 @@
+package br.com.fiap.salalivre.infrastructure.notificacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.salalivre.application.service.NotificacaoService;
+import br.com.fiap.salalivre.domain.event.ReservaAlteradaEvent;
+import br.com.fiap.salalivre.domain.event.ReservaCanceladaEvent;
+import br.com.fiap.salalivre.domain.event.ReservaCriadaEvent;
+import br.com.fiap.salalivre.domain.event.ReservaLembreteEvent;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.EventoSaidaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.EventoSaidaEntity.TipoEvento;
+import br.com.fiap.salalivre.infrastructure.persistence.repository.EventoSaidaJpaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// banco proprio, para que o relay de outro contexto de teste (sem o perfil test) nao entregue estes eventos
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:relay-caixa-saida;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class RelayCaixaSaidaTest {
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 7, 6, 9, 0);
+
+    @Autowired
+    private NotificacaoService notificacaoService;
+
+    @Autowired
+    private EventoSaidaJpaRepository eventoSaidaRepositorio;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Clock clock;
+
+    @BeforeEach
+    void setUp() {
+        eventoSaidaRepositorio.deleteAllInBatch();
+    }
+
+    @Test
+    void notificar_deveGravarNaCaixaDeSaidaSoSeATransacaoForConfirmada() {
+        transactionTemplate.executeWithoutResult(status ->
+                notificacaoService.notificarReservaCriada(new ReservaCriadaEvent(UUID.randomUUID(),
+                        UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1))));
+        transactionTemplate.executeWithoutResult(status -> {
+            notificacaoService.notificarReservaCancelada(new ReservaCanceladaEvent(UUID.randomUUID(),
+                    UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1)));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(List.of(TipoEvento.RESERVA_CRIADA),
+                eventoSaidaRepositorio.findAll().stream().map(EventoSaidaEntity::getTipo).toList());
+    }
+
+    @Test
+    void encaminharLote_deveEntregarEmOrdemDeRegistroEApagarOsEntregues() {
+        UUID reservaId = UUID.randomUUID();
+        UUID salaId = UUID.randomUUID();
+        UUID usuarioId = UUID.randomUUID();
+        List<Object> eventos = List.of(
+                new ReservaCriadaEvent(reservaId, salaId, usuarioId, INICIO, INICIO.plusHours(1)),
+                new ReservaAlteradaEvent(reservaId, salaId, usuarioId, INICIO, INICIO.plusHours(2)),
+                new ReservaLembreteEvent(reservaId, salaId, usuarioId, INICIO, INICIO.plusHours(2)),
+                new ReservaCanceladaEvent(reservaId, salaId, usuarioId, INICIO, INICIO.plusHours(2)));
+        registrar(eventos);
+        NotificacaoService entrega = mock(NotificacaoService.class);
+        RelayCaixaSaida relay = relay(entrega, clock, new SimpleMeterRegistry());
+
+        assertEquals(3, relay.encaminharLote());
+        assertEquals(1, relay.encaminharLote());
+        assertEquals(0, relay.encaminharLote());
+
+        InOrder ordem = inOrder(entrega);
+        eventos.forEach(evento -> ordem.verify(entrega).entregar(evento));
+        assertEquals(0, eventoSaidaRepositorio.count());
+    }
+
+    @Test
+    void encaminharPendentes_devePararNoLimiteDeLotesEDeixarORestoParaAProximaExecucao() {
+        List<Object> eventos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            eventos.add(new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO,
+                    INICIO.plusHours(1)));
+        }
+        registrar(eventos);
+        NotificacaoService entrega = mock(NotificacaoService.class);
+        RelayCaixaSaida relay = relay(entrega, clock, new SimpleMeterRegistry());
+
+        relay.encaminharPendentes();
+        verify(entrega, times(6)).entregar(any());
+        assertEquals(2, eventoSaidaRepositorio.count());
+
+        relay.encaminharPendentes();
+        verify(entrega, times(8)).entregar(any());
+        assertEquals(0, eventoSaidaRepositorio.count());
+    }
+
+    @Test
+    void encaminharLote_deveRetentarEntregaQueFalhouSoDepoisDoPrazoDaReserva() {
+        registrar(List.of(
+                new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1)),
+                new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1))));
+        NotificacaoService entrega = mock(NotificacaoService.class);
+        doThrow(new IllegalStateException("servidor de email fora")).doNothing().when(entrega).entregar(any());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        assertEquals(2, relay(entrega, clock, meterRegistry).encaminharLote());
+        assertEquals(1, eventoSaidaRepositorio.count());
+        assertEquals(0, relay(entrega, clock, meterRegistry).encaminharLote());
+        assertEquals(1, relay(entrega, Clock.offset(clock, Duration.ofMinutes(2)), meterRegistry).encaminharLote());
+
+        assertEquals(0, eventoSaidaRepositorio.count());
+        assertEquals(1.0, meterRegistry.get(RelayCaixaSaida.METRICA_FALHAS).counter().count());
+        assertEquals(2.0, meterRegistry.get(RelayCaixaSaida.METRICA_ENTREGUES).counter().count());
+    }
+
+    @Test
+    void encaminharLote_deveDescartarEventoQueEsgotouAsTentativas() {
+        registrar(List.of(
+                new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1))));
+        NotificacaoService entrega = mock(NotificacaoService.class);
+        doThrow(new IllegalStateException("servidor de email fora")).when(entrega).entregar(any());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        assertEquals(1, relay(entrega, clock, meterRegistry).encaminharLote());
+        assertEquals(1, relay(entrega, Clock.offset(clock, Duration.ofMinutes(2)), meterRegistry).encaminharLote());
+        assertEquals(0, relay(entrega, Clock.offset(clock, Duration.ofMinutes(4)), meterRegistry).encaminharLote());
+
+        EventoSaidaEntity descartado = eventoSaidaRepositorio.findAll().getFirst();
+        assertEquals(2, descartado.getTentativas());
+        assertNotNull(descartado.getDescartadoEm());
+        verify(entrega, times(2)).entregar(any());
+        assertEquals(2.0, meterRegistry.get(RelayCaixaSaida.METRICA_FALHAS).counter().count());
+        assertEquals(1.0, meterRegistry.get(RelayCaixaSaida.METRICA_DESCARTADAS).counter().count());
+    }
+
+    @Test
+    void encaminharLote_deveDescartarSemEntregarEventoQueVoltouDeUmaInstanciaQueCaiuNaUltimaTentativa() {
+        registrar(List.of(
+                new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1))));
+        LocalDateTime agora = LocalDateTime.now(clock);
+        // duas reservas cujo prazo venceu sem entrega nem falha registrada
+        transactionTemplate.executeWithoutResult(status -> {
+            List<UUID> ids = eventoSaidaRepositorio.findIdsLivres(agora, Limit.of(1));
+            eventoSaidaRepositorio.reservar(ids, UUID.randomUUID(), agora.minusMinutes(1), agora);
+            eventoSaidaRepositorio.reservar(ids, UUID.randomUUID(), agora.minusMinutes(1), agora);
+        });
+        NotificacaoService entrega = mock(NotificacaoService.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        assertEquals(1, relay(entrega, clock, meterRegistry).encaminharLote());
+
+        verifyNoInteractions(entrega);
+        assertNotNull(eventoSaidaRepositorio.findAll().getFirst().getDescartadoEm());
+        assertEquals(1.0, meterRegistry.get(RelayCaixaSaida.METRICA_DESCARTADAS).counter().count());
+    }
+
+    @Test
+    void gauges_devemContarEventosPendentesEDescartados() {
+        registrar(List.of(
+                new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1)),
+                new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1))));
+        NotificacaoService entrega = mock(NotificacaoService.class);
+        doThrow(new IllegalStateException("servidor de email fora")).when(entrega).entregar(any());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RelayCaixaSaida relay = relay(entrega, clock, meterRegistry);
+
+        assertEquals(2.0, meterRegistry.get(RelayCaixaSaida.METRICA_FILA).gauge().value());
+        assertEquals(0.0, meterRegistry.get(RelayCaixaSaida.METRICA_FILA_DESCARTADOS).gauge().value());
+
+        relay.encaminharLote();
+        relay(entrega, Clock.offset(clock, Duration.ofMinutes(2)), new SimpleMeterRegistry()).encaminharLote();
+
+        assertEquals(0.0, meterRegistry.get(RelayCaixaSaida.METRICA_FILA).gauge().value());
+        assertEquals(2.0, meterRegistry.get(RelayCaixaSaida.METRICA_FILA_DESCARTADOS).gauge().value());
+    }
+
+    @Test
+    void apagarDescartadosAntigos_deveApagarSoOsDescartadosForaDaRetencao() {
+        registrar(List.of(
+                new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1)),
+                new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO, INICIO.plusHours(1))));
+        LocalDateTime agora = LocalDateTime.now(clock);
+        transactionTemplate.executeWithoutResult(status -> {
+            UUID dono = UUID.randomUUID();
+            List<UUID> ids = eventoSaidaRepositorio.findIdsLivres(agora, Limit.of(1));
+            eventoSaidaRepositorio.reservar(ids, dono, agora.plusMinutes(1), agora);
+            eventoSaidaRepositorio.descartar(dono, ids, agora.minusDays(8));
+        });
+
+        relay(mock(NotificacaoService.class), clock, new SimpleMeterRegistry()).apagarDescartadosAntigos();
+
+        List<EventoSaidaEntity> restantes = eventoSaidaRepositorio.findAll();
+        assertEquals(1, restantes.size());
+        assertNull(restantes.getFirst().getDescartadoEm());
+    }
+
+    @Test
+    void encaminharLote_naoDeveEntregarOMesmoEventoADuasInstancias() throws Exception {
+        List<Object> eventos = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            eventos.add(new ReservaCriadaEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                    INICIO, INICIO.plusHours(1)));
+        }
+        registrar(eventos);
+        Queue<Object> entregues = new ConcurrentLinkedQueue<>();
+        NotificacaoService entrega = mock(NotificacaoService.class);
+        doAnswer(invocacao -> entregues.add(invocacao.getArgument(0))).when(entrega).entregar(any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> relays = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                RelayCaixaSaida relay = relay(entrega, clock, new SimpleMeterRegistry());
+                relays.add(executor.submit(() -> {
+                    while (eventoSaidaRepositorio.count() > 0) {
+                        relay.encaminharLote();
+                    }
+                }));
+            }
+            for (Future<?> relay : relays) {
+                relay.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(eventos.size(), entregues.size());
+        assertEquals(new HashSet<>(eventos), new HashSet<>(entregues));
+    }
+
+    private void registrar(List<Object> eventos) {
+        transactionTemplate.executeWithoutResult(status -> eventos.forEach(evento -> {
+            switch (evento) {
+                case ReservaCriadaEvent criada -> notificacaoService.notificarReservaCriada(criada);
+                case ReservaAlteradaEvent alterada -> notificacaoService.notificarReservaAlterada(alterada);
+                case ReservaCanceladaEvent cancelada -> notificacaoService.notificarReservaCancelada(cancelada);
+                case ReservaLembreteEvent lembrete -> notificacaoService.notificarLembrete(lembrete);
+                default -> throw new IllegalArgumentException(String.valueOf(evento));
+            }
+        }));
+    }
+
+    private RelayCaixaSaida relay(NotificacaoService entrega, Clock relogio, SimpleMeterRegistry meterRegistry) {
+        return new RelayCaixaSaida(eventoSaidaRepositorio, entrega, transactionManager, relogio, meterRegistry,
+                3, 2, Duration.ofMinutes(1), 2, Duration.ofDays(7));
+    }
+}
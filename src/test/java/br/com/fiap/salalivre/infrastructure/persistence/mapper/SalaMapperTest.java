@@ -12,7 +12,9 @@ import java.util.UUID;
 import org.junit.jupiter.api.Test;
 
 import br.com.fiap.salalivre.domain.model.Sala;
+import br.com.fiap.salalivre.domain.valueobject.DadosSala;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
+import br.com.fiap.salalivre.infrastructure.persistence.projection.SalaRecursoView;
 
 class SalaMapperTest {
 
@@ -29,12 +31,13 @@ class SalaMapperTest {
                 true
         );
 
-        SalaEntity entity = mapper.toEntity(domain);
+        SalaEntity entity = mapper.toEntity(domain, 0b1L);
         assertEquals(domain.getId(), entity.getId());
         assertEquals(domain.getNome(), entity.getNome());
         assertEquals(domain.getCapacidade(), entity.getCapacidade());
         assertEquals(domain.getLocalizacao(), entity.getLocalizacao());
         assertEquals(domain.getRecursos(), entity.getRecursos());
+        assertEquals(0b1L, entity.getRecursosMascara());
         assertTrue(entity.isAtiva());
 
         Sala mappedBack = mapper.toDomain(entity);
@@ -83,21 +86,36 @@ class SalaMapperTest {
                 true
         );
 
-        mapper.atualizarEntity(domain, entity);
+        mapper.atualizarEntity(domain, 0b110L, entity);
         assertEquals("Sala Nova", entity.getNome());
         assertEquals(12, entity.getCapacidade());
         assertEquals("Andar 4", entity.getLocalizacao());
         assertEquals(List.of("Projetor", "Webcam"), entity.getRecursos());
+        assertEquals(0b110L, entity.getRecursosMascara());
         assertTrue(entity.isAtiva());
 
-        mapper.atualizarEntity(null, entity);
-        mapper.atualizarEntity(domain, null);
+        mapper.atualizarEntity(null, 0, entity);
+        mapper.atualizarEntity(domain, 0, null);
     }
 
     @Test
     void mapeamento_deveRetornarNuloQuandoEntradaNula() {
-        assertNull(mapper.toEntity(null));
+        assertNull(mapper.toEntity(null, 0));
         assertNull(mapper.toDomain(null));
     }
-}
 
+    @Test
+    void toDados_deveAgruparRecursosDasLinhasDeCadaSala() {
+        UUID salaA = UUID.randomUUID();
+        UUID salaB = UUID.randomUUID();
+
+        List<DadosSala> salas = mapper.toDados(List.of(
+                new SalaRecursoView(salaA, "Sala A", 10, "Andar 1", true, "TV"),
+                new SalaRecursoView(salaA, "Sala A", 10, "Andar 1", true, "Projetor"),
+                new SalaRecursoView(salaB, "Sala B", 4, "Andar 2", false, null)));
+
+        assertEquals(List.of(
+                new DadosSala(salaA, "Sala A", 10, "Andar 1", List.of("TV", "Projetor"), true),
+                new DadosSala(salaB, "Sala B", 4, "Andar 2", List.of(), false)), salas);
+    }
+}
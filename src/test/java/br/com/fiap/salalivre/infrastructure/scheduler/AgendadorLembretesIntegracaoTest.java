@@ -0,0 +1,69 @@
+package br.com.fiap.salalivre.infrastructure.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Batimento agendado de verdade, com prazo curto: prende todas as threads do agendador comum por varios
+ * prazos e confere que as concessoes das particoes seguem validas, renovadas pelo agendador dos lembretes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:agendador-lembretes;DB_CLOSE_DELAY=-1",
+        "salalivre.lembretes.particoes=" + AgendadorLembretesIntegracaoTest.PARTICOES,
+        "salalivre.lembretes.batimento=200ms",
+        "salalivre.lembretes.prazo-particao=1s"
+})
+@ActiveProfiles("test")
+class AgendadorLembretesIntegracaoTest {
+    static final int PARTICOES = 16;
+    private static final Duration PRAZO = Duration.ofSeconds(1);
+
+    @Autowired
+    @Qualifier("taskScheduler")
+    private ThreadPoolTaskScheduler agendadorComum;
+
+    @Autowired
+    private ParticoesLembrete particoes;
+
+    @Test
+    void concessoes_devemSobreviverAoAgendadorComumOcupado() throws InterruptedException {
+        Set<Integer> todas = IntStream.range(0, PARTICOES).boxed().collect(Collectors.toSet());
+        int threads = agendadorComum.getPoolSize();
+        CountDownLatch ocupadas = new CountDownLatch(threads);
+        CountDownLatch liberar = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            agendadorComum.execute(() -> {
+                ocupadas.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        try {
+            assertTrue(ocupadas.await(5, TimeUnit.SECONDS), "agendador comum nao ficou ocupado");
+            long fim = System.nanoTime() + PRAZO.multipliedBy(3).toNanos();
+            while (System.nanoTime() < fim) {
+                assertEquals(todas, particoes.concedidas());
+                Thread.sleep(PRAZO.toMillis() / 10);
+            }
+        } finally {
+            liberar.countDown();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.fiap.salalivre.infrastructure.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.infrastructure.persistence.entity.EventoSaidaEntity.TipoEvento;
+
+// banco proprio: o agendamento dos lembretes de outros contextos de teste nao marca estas reservas
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:lembretes-em-lote;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class LembreteReservaSchedulerIntegracaoTest {
+    private static final int LEMBRETES_DEVIDOS = 50_000;
+    private static final Duration TEMPO_MAXIMO = Duration.ofSeconds(20);
+
+    @Autowired
+    private LembreteReservaScheduler scheduler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private Clock clock;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        // unica instancia neste banco: renova a concessao de todas as particoes antes da medicao
+        scheduler.renovarParticoes();
+        limpar();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limpar();
+    }
+
+    @Test
+    void reconciliar_deveMarcarCinquentaMilLembretesVencidosComUmUpdatePorPedaco() {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        UUID salaId = UUID.randomUUID();
+        UUID usuarioId = UUID.randomUUID();
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = 0; i < LEMBRETES_DEVIDOS; i++) {
+            linhas.add(reserva(UUID.randomUUID(), salaId, usuarioId, agora.plusMinutes(12), "CONFIRMADA", false));
+        }
+        // fora do disparo: cancelada, lembrete ja enviado e ainda nao vencida
+        linhas.add(reserva(UUID.randomUUID(), salaId, usuarioId, agora.plusMinutes(12), "CANCELADA", false));
+        linhas.add(reserva(UUID.randomUUID(), salaId, usuarioId, agora.plusMinutes(12), "ALTERADA", true));
+        linhas.add(reserva(UUID.randomUUID(), salaId, usuarioId, agora.plusMinutes(40), "CONFIRMADA", false));
+        inserir(linhas);
+        estatisticas.clear();
+
+        long inicio = System.nanoTime();
+        scheduler.reconciliar();
+        Duration tempo = Duration.ofNanos(System.nanoTime() - inicio);
+
+        int pedacos = LEMBRETES_DEVIDOS / LembreteReservaScheduler.TAMANHO_PEDACO;
+        // leitura dos pendentes ate o horizonte + por pedaco: um update e um lote de inserts na caixa de saida
+        assertEquals(1 + 2L * pedacos, estatisticas.getPrepareStatementCount());
+        assertTrue(tempo.compareTo(TEMPO_MAXIMO) < 0, () -> "levou " + tempo);
+        assertEquals(LEMBRETES_DEVIDOS + 1, jdbcTemplate.queryForObject(
+                "select count(*) from reservas where lembrete_enviado", Integer.class));
+        assertEquals(LEMBRETES_DEVIDOS, jdbcTemplate.queryForObject(
+                "select count(*) from eventos_saida where tipo = ?", Integer.class, TipoEvento.RESERVA_LEMBRETE.name()));
+        // a de daqui a 40 minutos fica na roda ate o vencimento
+        assertEquals(1, scheduler.lembretesAgendados());
+    }
+
+    @Test
+    void dispararVencidos_deveNotificarSoOsLembretesQueEsteUpdateMarcouQuandoParteDoPedacoJaEstavaMarcada() {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        UUID salaId = UUID.randomUUID();
+        UUID usuarioId = UUID.randomUUID();
+        UUID nova = UUID.randomUUID();
+        List<UUID> jaMarcadas = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<Object[]> linhas = new ArrayList<>();
+        linhas.add(reserva(nova, salaId, usuarioId, agora.plusMinutes(12), "CONFIRMADA", false));
+        // marcadas por outra instancia depois que esta as agendou
+        jaMarcadas.forEach(id -> linhas.add(reserva(id, salaId, usuarioId, agora.plusMinutes(12), "CONFIRMADA", true)));
+        inserir(linhas);
+        for (UUID id : List.of(nova, jaMarcadas.get(0), jaMarcadas.get(1))) {
+            scheduler.reservaGravada(id, salaId, usuarioId, agora.plusMinutes(12), agora.plusMinutes(42),
+                    StatusReserva.CONFIRMADA, false);
+        }
+
+        scheduler.dispararVencidos();
+
+        assertEquals(List.of(nova), jdbcTemplate.queryForList(
+                "select reserva_id from eventos_saida where tipo = ?", UUID.class, TipoEvento.RESERVA_LEMBRETE.name()));
+    }
+
+    private void inserir(List<Object[]> linhas) {
+        jdbcTemplate.batchUpdate("""
+                insert into reservas (id, sala_id, usuario_id, inicio, fim, status, lembrete_enviado, criado_em, atualizado_em,
+                                      versao)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, linhas);
+    }
+
+    private Object[] reserva(UUID id, UUID salaId, UUID usuarioId, LocalDateTime inicio, String status, boolean lembreteEnviado) {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        return new Object[]{id, salaId, usuarioId, inicio, inicio.plusMinutes(30), status,
+                lembreteEnviado, agora, agora, 0L};
+    }
+
+    private void limpar() {
+        jdbcTemplate.update("delete from eventos_saida");
+        jdbcTemplate.update("delete from reservas");
+    }
+}
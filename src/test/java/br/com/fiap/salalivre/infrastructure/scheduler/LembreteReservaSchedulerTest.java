@@ -1,18 +1,26 @@
 package br.com.fiap.salalivre.infrastructure.scheduler;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertInstanceOf;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -21,15 +29,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import br.com.fiap.salalivre.application.service.NotificacaoService;
 import br.com.fiap.salalivre.domain.event.ReservaLembreteEvent;
 import br.com.fiap.salalivre.domain.model.StatusReserva;
-import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
 
 @ExtendWith(MockitoExtension.class)
 class LembreteReservaSchedulerTest {
+    private static final Instant AGORA = Instant.parse("2026-01-10T12:00:00Z");
+    private static final Duration HORIZONTE = Duration.ofHours(1);
     private static final List<StatusReserva> STATUS_ELEGIVEIS = List.of(
             StatusReserva.CONFIRMADA,
             StatusReserva.ALTERADA
@@ -41,157 +51,238 @@ class LembreteReservaSchedulerTest {
     @Mock
     private NotificacaoService notificacaoService;
 
-    private Clock clock;
+    @Mock
+    private ParticoesLembrete particoes;
+
+    private final Instant[] instante = {AGORA};
     private LembreteReservaScheduler scheduler;
 
     @BeforeEach
     void setUp() {
-        clock = Clock.fixed(Instant.parse("2026-01-10T12:00:00Z"), ZoneOffset.UTC);
-        scheduler = new LembreteReservaScheduler(reservaRepositorio, notificacaoService, clock);
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return instante[0];
+            }
+        };
+        lenient().when(particoes.possui(any())).thenReturn(true);
+        scheduler = new LembreteReservaScheduler(reservaRepositorio, notificacaoService, particoes,
+                mock(PlatformTransactionManager.class), clock, Duration.ofSeconds(1), HORIZONTE);
+    }
+
+    @Test
+    void reconciliar_deveMarcarEnviarENotificarNaHoraLembreteQueJaVenceu() {
+        ReservaLembreteEvent lembrete = lembrete(12);
+        when(reservaRepositorio.findLembretesPendentes(STATUS_ELEGIVEIS, agora().plusMinutes(10), agora().plus(HORIZONTE)))
+                .thenReturn(List.of(lembrete));
+        when(reservaRepositorio.marcarLembretesEnviados(eq(List.of(lembrete.reservaId())), any(), eq(STATUS_ELEGIVEIS),
+                eq(agora().plusMinutes(10)), eq(agora().plusMinutes(15)))).thenReturn(1);
+
+        scheduler.reconciliar();
+
+        verify(notificacaoService).notificarLembretes(List.of(lembrete));
+        verify(reservaRepositorio, never()).findLembretesMarcados(anyCollection(), any());
+        assertEquals(0, scheduler.lembretesAgendados());
+    }
+
+    @Test
+    void dispararVencidos_deveDispararExatamenteQuandoFaltamQuinzeMinutosParaOInicio() {
+        ReservaLembreteEvent lembrete = lembrete(40);
+        when(reservaRepositorio.findLembretesPendentes(STATUS_ELEGIVEIS, agora().plusMinutes(10), agora().plus(HORIZONTE)))
+                .thenReturn(List.of(lembrete));
+        scheduler.reconciliar();
+
+        instante[0] = AGORA.plus(Duration.ofMinutes(25)).minusMillis(1);
+        scheduler.dispararVencidos();
+        verify(reservaRepositorio, never()).marcarLembretesEnviados(anyCollection(), any(), any(), any(), any());
+
+        instante[0] = AGORA.plus(Duration.ofMinutes(25));
+        when(reservaRepositorio.marcarLembretesEnviados(eq(List.of(lembrete.reservaId())), any(), eq(STATUS_ELEGIVEIS),
+                eq(agora().plusMinutes(10)), eq(lembrete.inicio()))).thenReturn(1);
+        scheduler.dispararVencidos();
+
+        verify(notificacaoService).notificarLembretes(List.of(lembrete));
     }
 
     @Test
-    void enviarLembretesPendentes_deveMarcarEnviarENotificarQuandoReservaConfirmadaNaJanela() {
-        LocalDateTime agora = LocalDateTime.now(clock);
-        LocalDateTime janelaInicio = agora.plusMinutes(10);
-        LocalDateTime janelaFim = agora.plusMinutes(15);
-
-        UUID reservaId = UUID.randomUUID();
-        UUID salaId = UUID.randomUUID();
-        UUID usuarioId = UUID.randomUUID();
-
-        ReservaEntity reserva = ReservaEntity.builder()
-                .id(reservaId)
-                .salaId(salaId)
-                .usuarioId(usuarioId)
-                .inicio(agora.plusMinutes(12))
-                .fim(agora.plusMinutes(42))
-                .status(StatusReserva.CONFIRMADA)
-                .lembreteEnviado(false)
-                .criadoEm(agora.minusDays(1))
-                .atualizadoEm(agora.minusDays(1))
-                .build();
-
-        when(reservaRepositorio.findByStatusInAndLembreteEnviadoFalseAndInicioBetween(
-                STATUS_ELEGIVEIS,
-                janelaInicio,
-                janelaFim
-        )).thenReturn(List.of(reserva));
-        when(reservaRepositorio.save(any(ReservaEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        scheduler.enviarLembretesPendentes();
-
-        verify(reservaRepositorio).findByStatusInAndLembreteEnviadoFalseAndInicioBetween(
-                STATUS_ELEGIVEIS,
-                janelaInicio,
-                janelaFim
-        );
-
-        ArgumentCaptor<ReservaEntity> entidadeCaptor = ArgumentCaptor.forClass(ReservaEntity.class);
-        verify(reservaRepositorio).save(entidadeCaptor.capture());
-        assertTrue(entidadeCaptor.getValue().isLembreteEnviado());
-
-        ArgumentCaptor<Object> eventoCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(notificacaoService).logEvento(eventoCaptor.capture());
-        ReservaLembreteEvent evento = assertInstanceOf(ReservaLembreteEvent.class, eventoCaptor.getValue());
-        assertEquals(reservaId, evento.reservaId());
-        assertEquals(salaId, evento.salaId());
-        assertEquals(usuarioId, evento.usuarioId());
+    void dispararVencidos_deveMarcarEmPedacosComUmUpdatePorPedaco() {
+        List<ReservaLembreteEvent> lembretes = new ArrayList<>();
+        for (int i = 0; i < 2 * LembreteReservaScheduler.TAMANHO_PEDACO + 1; i++) {
+            lembretes.add(lembrete(10 + i % 5));
+        }
+        when(reservaRepositorio.findLembretesPendentes(any(), any(), any())).thenReturn(lembretes);
+        when(reservaRepositorio.marcarLembretesEnviados(anyCollection(), any(), eq(STATUS_ELEGIVEIS), any(), any()))
+                .thenAnswer(invocacao -> invocacao.<List<UUID>>getArgument(0).size());
+
+        scheduler.reconciliar();
+
+        ArgumentCaptor<List<ReservaLembreteEvent>> notificados = ArgumentCaptor.captor();
+        verify(reservaRepositorio, times(3)).marcarLembretesEnviados(anyCollection(), any(), eq(STATUS_ELEGIVEIS), any(), any());
+        verify(notificacaoService, times(3)).notificarLembretes(notificados.capture());
+        assertEquals(List.of(LembreteReservaScheduler.TAMANHO_PEDACO, LembreteReservaScheduler.TAMANHO_PEDACO, 1),
+                notificados.getAllValues().stream().map(List::size).toList());
+        assertEquals(lembretes.size(), notificados.getAllValues().stream().flatMap(List::stream).distinct().count());
     }
 
     @Test
-    void enviarLembretesPendentes_deveMarcarEnviarENotificarQuandoReservaAlteradaNaJanela() {
-        LocalDateTime agora = LocalDateTime.now(clock);
-        LocalDateTime janelaInicio = agora.plusMinutes(10);
-        LocalDateTime janelaFim = agora.plusMinutes(15);
-
-        UUID reservaId = UUID.randomUUID();
-        UUID salaId = UUID.randomUUID();
-        UUID usuarioId = UUID.randomUUID();
-
-        ReservaEntity reservaAlterada = ReservaEntity.builder()
-                .id(reservaId)
-                .salaId(salaId)
-                .usuarioId(usuarioId)
-                .inicio(agora.plusMinutes(13))
-                .fim(agora.plusMinutes(43))
-                .status(StatusReserva.ALTERADA)
-                .lembreteEnviado(false)
-                .criadoEm(agora.minusDays(2))
-                .atualizadoEm(agora.minusHours(1))
-                .build();
-
-        when(reservaRepositorio.findByStatusInAndLembreteEnviadoFalseAndInicioBetween(
-                STATUS_ELEGIVEIS,
-                janelaInicio,
-                janelaFim
-        )).thenReturn(List.of(reservaAlterada));
-        when(reservaRepositorio.save(any(ReservaEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        scheduler.enviarLembretesPendentes();
-
-        verify(reservaRepositorio).findByStatusInAndLembreteEnviadoFalseAndInicioBetween(
-                STATUS_ELEGIVEIS,
-                janelaInicio,
-                janelaFim
-        );
-
-        ArgumentCaptor<ReservaEntity> entidadeCaptor = ArgumentCaptor.forClass(ReservaEntity.class);
-        verify(reservaRepositorio).save(entidadeCaptor.capture());
-        assertTrue(entidadeCaptor.getValue().isLembreteEnviado());
-        assertEquals(StatusReserva.ALTERADA, entidadeCaptor.getValue().getStatus());
-
-        ArgumentCaptor<Object> eventoCaptor = ArgumentCaptor.forClass(Object.class);
-        verify(notificacaoService).logEvento(eventoCaptor.capture());
-        ReservaLembreteEvent evento = assertInstanceOf(ReservaLembreteEvent.class, eventoCaptor.getValue());
-        assertEquals(reservaId, evento.reservaId());
-        assertEquals(salaId, evento.salaId());
-        assertEquals(usuarioId, evento.usuarioId());
+    void dispararVencidos_deveNotificarSoAsQueContinuamElegiveisQuandoAlgumaMudouDesdeOAgendamento() {
+        ReservaLembreteEvent mantida = lembrete(12);
+        ReservaLembreteEvent cancelada = lembrete(13);
+        when(reservaRepositorio.findLembretesPendentes(any(), any(), any())).thenReturn(List.of(mantida, cancelada));
+        when(reservaRepositorio.marcarLembretesEnviados(anyCollection(), any(), eq(STATUS_ELEGIVEIS), any(), any())).thenReturn(1);
+        when(reservaRepositorio.findLembretesMarcados(anyCollection(), any())).thenReturn(List.of(mantida));
+
+        scheduler.reconciliar();
+
+        verify(notificacaoService).notificarLembretes(List.of(mantida));
     }
 
     @Test
-    void enviarLembretesPendentes_naoDeveEnviarQuandoReservaAntesDaJanela() {
-        LocalDateTime agora = LocalDateTime.now(clock);
-        LocalDateTime janelaInicio = agora.plusMinutes(10);
-        LocalDateTime janelaFim = agora.plusMinutes(15);
+    void dispararVencidos_deveRelerPelaMarcaDoProprioUpdateQuandoParteDoPedacoJaEstavaMarcada() {
+        ReservaLembreteEvent nova = lembrete(12);
+        ReservaLembreteEvent jaMarcada = lembrete(13);
+        List<UUID> ids = List.of(nova.reservaId(), jaMarcada.reservaId());
+        when(reservaRepositorio.findLembretesPendentes(any(), any(), any())).thenReturn(List.of(nova, jaMarcada));
+        when(reservaRepositorio.marcarLembretesEnviados(eq(ids), any(), eq(STATUS_ELEGIVEIS), any(), any())).thenReturn(1);
+        when(reservaRepositorio.findLembretesMarcados(eq(ids), any())).thenReturn(List.of(nova));
+
+        scheduler.reconciliar();
+
+        ArgumentCaptor<UUID> marcaDoUpdate = ArgumentCaptor.captor();
+        ArgumentCaptor<UUID> marcaDaLeitura = ArgumentCaptor.captor();
+        verify(reservaRepositorio).marcarLembretesEnviados(eq(ids), marcaDoUpdate.capture(), eq(STATUS_ELEGIVEIS), any(), any());
+        verify(reservaRepositorio).findLembretesMarcados(eq(ids), marcaDaLeitura.capture());
+        assertEquals(marcaDoUpdate.getValue(), marcaDaLeitura.getValue());
+        verify(notificacaoService).notificarLembretes(List.of(nova));
+    }
 
-        when(reservaRepositorio.findByStatusInAndLembreteEnviadoFalseAndInicioBetween(
-                STATUS_ELEGIVEIS,
-                janelaInicio,
-                janelaFim
-        )).thenReturn(List.of());
+    @Test
+    void reconciliar_naoDeveMarcarNemNotificarSemLembretesPendentes() {
+        when(reservaRepositorio.findLembretesPendentes(any(), any(), any())).thenReturn(List.of());
 
-        scheduler.enviarLembretesPendentes();
+        scheduler.reconciliar();
 
-        verify(reservaRepositorio).findByStatusInAndLembreteEnviadoFalseAndInicioBetween(
-                STATUS_ELEGIVEIS,
-                janelaInicio,
-                janelaFim
-        );
-        verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
-        verify(notificacaoService, never()).logEvento(any());
+        verify(reservaRepositorio, never()).marcarLembretesEnviados(anyCollection(), any(), any(), any(), any());
+        verify(notificacaoService, never()).notificarLembretes(anyList());
     }
 
     @Test
-    void enviarLembretesPendentes_quandoJaEnviadoNaoDeveSalvarNovamente() {
-        LocalDateTime agora = LocalDateTime.now(clock);
-        LocalDateTime janelaInicio = agora.plusMinutes(10);
-        LocalDateTime janelaFim = agora.plusMinutes(15);
-
-        when(reservaRepositorio.findByStatusInAndLembreteEnviadoFalseAndInicioBetween(
-                STATUS_ELEGIVEIS,
-                janelaInicio,
-                janelaFim
-        )).thenReturn(List.of());
-
-        scheduler.enviarLembretesPendentes();
-
-        verify(reservaRepositorio).findByStatusInAndLembreteEnviadoFalseAndInicioBetween(
-                STATUS_ELEGIVEIS,
-                janelaInicio,
-                janelaFim
-        );
-        verify(reservaRepositorio, never()).save(any(ReservaEntity.class));
-        verify(notificacaoService, never()).logEvento(any());
+    void reservaGravada_deveAgendarReservaConfirmadaSemConsultarOBanco() {
+        ReservaLembreteEvent lembrete = lembrete(30);
+        gravar(lembrete, StatusReserva.CONFIRMADA, false);
+
+        instante[0] = AGORA.plus(Duration.ofMinutes(15));
+        when(reservaRepositorio.marcarLembretesEnviados(anyCollection(), any(), eq(STATUS_ELEGIVEIS), any(), any())).thenReturn(1);
+        scheduler.dispararVencidos();
+
+        verify(notificacaoService).notificarLembretes(List.of(lembrete));
+        verify(reservaRepositorio, never()).findLembretesPendentes(any(), any(), any());
+    }
+
+    @Test
+    void reservaGravada_deveReagendarReservaAlteradaParaONovoInicio() {
+        ReservaLembreteEvent original = lembrete(30);
+        gravar(original, StatusReserva.CONFIRMADA, false);
+        ReservaLembreteEvent alterada = new ReservaLembreteEvent(original.reservaId(), original.salaId(),
+                original.usuarioId(), original.inicio().plusMinutes(30), original.fim().plusMinutes(30));
+        gravar(alterada, StatusReserva.ALTERADA, false);
+
+        instante[0] = AGORA.plus(Duration.ofMinutes(15));
+        scheduler.dispararVencidos();
+        verify(reservaRepositorio, never()).marcarLembretesEnviados(anyCollection(), any(), any(), any(), any());
+
+        instante[0] = AGORA.plus(Duration.ofMinutes(45));
+        when(reservaRepositorio.marcarLembretesEnviados(anyCollection(), any(), eq(STATUS_ELEGIVEIS), any(), any())).thenReturn(1);
+        scheduler.dispararVencidos();
+
+        verify(notificacaoService).notificarLembretes(List.of(alterada));
+    }
+
+    @Test
+    void reservaGravada_deveTirarDaRodaReservaCanceladaOuComLembreteEnviado() {
+        ReservaLembreteEvent cancelada = lembrete(30);
+        ReservaLembreteEvent lembrada = lembrete(30);
+        gravar(cancelada, StatusReserva.CONFIRMADA, false);
+        gravar(lembrada, StatusReserva.CONFIRMADA, false);
+
+        gravar(cancelada, StatusReserva.CANCELADA, false);
+        gravar(lembrada, StatusReserva.CONFIRMADA, true);
+
+        assertEquals(0, scheduler.lembretesAgendados());
+    }
+
+    @Test
+    void reservaGravada_naoDeveAgendarReservaAlemDoHorizonte() {
+        gravar(lembrete(90), StatusReserva.CONFIRMADA, false);
+
+        assertEquals(0, scheduler.lembretesAgendados());
+    }
+
+    @Test
+    void reconciliar_deveAgendarSoLembretesDasParticoesDestaInstancia() {
+        ReservaLembreteEvent minha = lembrete(30);
+        ReservaLembreteEvent deOutra = lembrete(30);
+        when(particoes.possui(deOutra.reservaId())).thenReturn(false);
+        when(reservaRepositorio.findLembretesPendentes(any(), any(), any())).thenReturn(List.of(minha, deOutra));
+
+        scheduler.reconciliar();
+        gravar(deOutra, StatusReserva.ALTERADA, false);
+
+        assertEquals(1, scheduler.lembretesAgendados());
+    }
+
+    @Test
+    void renovarParticoes_deveDescartarAsQueSairamERecarregarQuandoAsParticoesMudam() {
+        ReservaLembreteEvent mantida = lembrete(30);
+        ReservaLembreteEvent perdida = lembrete(30);
+        ReservaLembreteEvent recebida = lembrete(30);
+        gravar(mantida, StatusReserva.CONFIRMADA, false);
+        gravar(perdida, StatusReserva.CONFIRMADA, false);
+        when(particoes.renovar()).thenReturn(true);
+        when(particoes.possui(perdida.reservaId())).thenReturn(false);
+        when(reservaRepositorio.findLembretesPendentes(any(), any(), any())).thenReturn(List.of(recebida));
+
+        scheduler.renovarParticoes();
+
+        instante[0] = AGORA.plus(Duration.ofMinutes(15));
+        when(reservaRepositorio.marcarLembretesEnviados(anyCollection(), any(), eq(STATUS_ELEGIVEIS), any(), any())).thenReturn(2);
+        scheduler.dispararVencidos();
+        ArgumentCaptor<List<ReservaLembreteEvent>> notificados = ArgumentCaptor.captor();
+        verify(notificacaoService).notificarLembretes(notificados.capture());
+        assertEquals(Set.of(mantida, recebida), Set.copyOf(notificados.getValue()));
+    }
+
+    @Test
+    void renovarParticoes_naoDeveConsultarLembretesQuandoAsParticoesNaoMudam() {
+        when(particoes.renovar()).thenReturn(false);
+
+        scheduler.renovarParticoes();
+
+        verify(reservaRepositorio, never()).findLembretesPendentes(any(), any(), any());
+    }
+
+    private void gravar(ReservaLembreteEvent lembrete, StatusReserva status, boolean lembreteEnviado) {
+        scheduler.reservaGravada(lembrete.reservaId(), lembrete.salaId(), lembrete.usuarioId(), lembrete.inicio(),
+                lembrete.fim(), status, lembreteEnviado);
+    }
+
+    private LocalDateTime agora() {
+        return LocalDateTime.ofInstant(instante[0], ZoneOffset.UTC);
+    }
+
+    private ReservaLembreteEvent lembrete(int minutosAteInicio) {
+        LocalDateTime agora = agora();
+        return new ReservaLembreteEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                agora.plusMinutes(minutosAteInicio), agora.plusMinutes(minutosAteInicio + 30));
     }
 }
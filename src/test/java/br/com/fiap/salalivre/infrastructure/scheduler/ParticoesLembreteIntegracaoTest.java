@@ -0,0 +1,165 @@
+package br.com.fiap.salalivre.infrastructure.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.com.fiap.salalivre.SalaLivreApplication;
+
+/**
+ * Tres instancias da aplicacao no mesmo JVM, cada uma com seu contexto, dividindo um H2 em arquivo. Os
+ * batimentos sao chamados pelo teste, como faria o agendador: o perfil de teste os espaca em uma hora.
+ */
+class ParticoesLembreteIntegracaoTest {
+    private static final Path BANCO = Path.of("target", "h2", "particoes-lembrete").toAbsolutePath();
+    private static final int PARTICOES = 16;
+    private static final int INSTANCIAS = 3;
+    private static final int LEMBRETES = 600;
+    private static final Duration PRAZO = Duration.ofSeconds(4);
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(15);
+
+    private final List<ConfigurableApplicationContext> instancias = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.deleteIfExists(Path.of(BANCO + ".mv.db"));
+        for (int i = 0; i < INSTANCIAS; i++) {
+            instancias.add(new SpringApplicationBuilder(SalaLivreApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .profiles("test")
+                    .run("--spring.datasource.url=jdbc:h2:file:" + BANCO,
+                            "--salalivre.lembretes.particoes=" + PARTICOES,
+                            "--salalivre.lembretes.prazo-particao=" + PRAZO.toMillis() + "ms"));
+        }
+        renovar(instancias);
+    }
+
+    @AfterEach
+    void tearDown() {
+        instancias.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void renovar_deveDividirAsParticoesSemSobreposicaoEntreAsInstanciasVivas() {
+        List<Set<Integer>> concedidas = instancias.stream().map(instancia -> particoes(instancia).concedidas()).toList();
+
+        assertEquals(PARTICOES, concedidas.stream().mapToInt(Set::size).sum());
+        assertEquals(todasAsParticoes(), uniao(concedidas));
+        // cota de cada uma: 16 particoes para 3 instancias, arredondado para cima
+        concedidas.forEach(particoes -> assertTrue(particoes.size() <= 6, particoes::toString));
+    }
+
+    @Test
+    void reconciliar_deveFazerCadaInstanciaAgendarEDispararSoOsLembretesDasSuasParticoes() {
+        LocalDateTime agora = LocalDateTime.now(clock());
+        List<UUID> devidos = inserirReservas(agora.plusMinutes(12));
+        List<UUID> futuros = inserirReservas(agora.plusMinutes(40));
+        renovar(instancias);
+
+        CompletableFuture.allOf(instancias.stream()
+                .map(instancia -> CompletableFuture.runAsync(() -> scheduler(instancia).reconciliar()))
+                .toArray(CompletableFuture[]::new)).join();
+
+        JdbcTemplate jdbcTemplate = instancias.getFirst().getBean(JdbcTemplate.class);
+        assertEquals(devidos.size(), jdbcTemplate.queryForObject(
+                "select count(*) from reservas where lembrete_enviado", Integer.class));
+        assertEquals(devidos.size(), jdbcTemplate.queryForObject("select count(*) from eventos_saida", Integer.class));
+        for (ConfigurableApplicationContext instancia : instancias) {
+            Set<Integer> minhas = particoes(instancia).concedidas();
+            long esperados = futuros.stream().filter(id -> minhas.contains(particoes(instancia).particao(id))).count();
+            assertEquals(esperados, scheduler(instancia).lembretesAgendados());
+        }
+    }
+
+    @Test
+    void renovar_devePassarAsParticoesDeUmaInstanciaQueCaiuParaAsDemais() throws InterruptedException {
+        inserirReservas(LocalDateTime.now(clock()).plusMinutes(40));
+        renovar(instancias);
+        instancias.forEach(instancia -> scheduler(instancia).reconciliar());
+        List<ConfigurableApplicationContext> vivas = instancias.subList(0, INSTANCIAS - 1);
+
+        // sem batimento a instancia derrubada nao devolve nada: as concessoes dela so vencem com o prazo
+        instancias.getLast().close();
+        long limite = System.nanoTime() + ESPERA_MAXIMA.toNanos();
+        while (!uniao(vivas.stream().map(instancia -> particoes(instancia).concedidas()).toList()).equals(todasAsParticoes())
+                && System.nanoTime() < limite) {
+            Thread.sleep(PRAZO.toMillis() / 4);
+            renovar(vivas);
+        }
+
+        vivas.forEach(instancia -> assertEquals(PARTICOES / vivas.size(), particoes(instancia).concedidas().size()));
+        assertEquals(todasAsParticoes(), uniao(vivas.stream().map(instancia -> particoes(instancia).concedidas()).toList()));
+        assertEquals(LEMBRETES, vivas.stream().mapToInt(instancia -> scheduler(instancia).lembretesAgendados()).sum());
+    }
+
+    private void renovar(List<ConfigurableApplicationContext> vivas) {
+        // duas rodadas: na primeira as que passam da cota devolvem, na segunda as demais tomam
+        for (int rodada = 0; rodada < 2; rodada++) {
+            vivas.forEach(instancia -> scheduler(instancia).renovarParticoes());
+        }
+    }
+
+    private List<UUID> inserirReservas(LocalDateTime inicio) {
+        LocalDateTime agora = LocalDateTime.now(clock());
+        UUID salaId = UUID.randomUUID();
+        UUID usuarioId = UUID.randomUUID();
+        List<UUID> ids = new ArrayList<>();
+        List<Object[]> linhas = new ArrayList<>();
+        for (int i = 0; i < LEMBRETES; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            linhas.add(new Object[]{id, salaId, usuarioId, inicio, inicio.plusMinutes(30), "CONFIRMADA", false, agora,
+                    agora, 0L});
+        }
+        instancias.getFirst().getBean(JdbcTemplate.class).batchUpdate("""
+                insert into reservas (id, sala_id, usuario_id, inicio, fim, status, lembrete_enviado, criado_em, atualizado_em,
+                                      versao)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, linhas);
+        return ids;
+    }
+
+    private Clock clock() {
+        return instancias.getFirst().getBean(Clock.class);
+    }
+
+    private static Set<Integer> uniao(List<Set<Integer>> conjuntos) {
+        Set<Integer> uniao = new HashSet<>();
+        conjuntos.forEach(uniao::addAll);
+        return uniao;
+    }
+
+    private static Set<Integer> todasAsParticoes() {
+        return IntStream.range(0, PARTICOES).boxed().collect(Collectors.toSet());
+    }
+
+    private static LembreteReservaScheduler scheduler(ConfigurableApplicationContext instancia) {
+        return instancia.getBean(LembreteReservaScheduler.class);
+    }
+
+    private static ParticoesLembrete particoes(ConfigurableApplicationContext instancia) {
+        return instancia.getBean(ParticoesLembrete.class);
+    }
+}
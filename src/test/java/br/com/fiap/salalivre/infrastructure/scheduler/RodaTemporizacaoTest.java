@@ -0,0 +1,82 @@
+package br.com.fiap.salalivre.infrastructure.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RodaTemporizacaoTest {
+    private static final Instant ORIGEM = Instant.parse("2026-01-10T12:00:00Z");
+    private static final Duration RESOLUCAO = Duration.ofSeconds(1);
+    private static final int BALDES = 8;
+
+    private final RodaTemporizacao<String, String> roda = new RodaTemporizacao<>(ORIGEM, RESOLUCAO, BALDES);
+
+    @Test
+    void avancar_deveDevolverEntradaSoQuandoOVencimentoChega() {
+        roda.agendar("a", "lembrete", ORIGEM.plusMillis(2500));
+
+        assertTrue(roda.avancar(ORIGEM.plusSeconds(2)).isEmpty());
+        assertTrue(roda.avancar(ORIGEM.plusMillis(2999)).isEmpty());
+        assertEquals(List.of("lembrete"), roda.avancar(ORIGEM.plusSeconds(3)));
+        assertEquals(0, roda.tamanho());
+    }
+
+    @Test
+    void avancar_deveManterNoBaldeAteAVoltaCertaEntradaQueVenceDepoisDeUmaVolta() {
+        roda.agendar("proxima-volta", "b", ORIGEM.plusSeconds(BALDES + 3));
+        roda.agendar("esta-volta", "a", ORIGEM.plusSeconds(3));
+
+        assertEquals(List.of("a"), roda.avancar(ORIGEM.plusSeconds(3)));
+        assertTrue(roda.avancar(ORIGEM.plusSeconds(BALDES + 2)).isEmpty());
+        assertEquals(List.of("b"), roda.avancar(ORIGEM.plusSeconds(BALDES + 3)));
+    }
+
+    @Test
+    void avancar_deveDevolverTudoQueVenceuQuandoORelogioSaltaMaisDeUmaVolta() {
+        roda.agendar("a", "a", ORIGEM.plusSeconds(1));
+        roda.agendar("b", "b", ORIGEM.plusSeconds(5));
+        roda.agendar("c", "c", ORIGEM.plusSeconds(3L * BALDES));
+        roda.agendar("d", "d", ORIGEM.plusSeconds(10L * BALDES));
+
+        List<String> vencidas = roda.avancar(ORIGEM.plusSeconds(5L * BALDES));
+
+        assertEquals(List.of("a", "b", "c"), vencidas.stream().sorted().toList());
+        assertEquals(1, roda.tamanho());
+    }
+
+    @Test
+    void agendar_deveSubstituirOAgendamentoAnteriorDaMesmaChave() {
+        roda.agendar("a", "antigo", ORIGEM.plusSeconds(2));
+        roda.agendar("a", "novo", ORIGEM.plusSeconds(6));
+
+        assertTrue(roda.avancar(ORIGEM.plusSeconds(5)).isEmpty());
+        assertEquals(List.of("novo"), roda.avancar(ORIGEM.plusSeconds(6)));
+    }
+
+    @Test
+    void agendar_deveDevolverNoProximoAvancoEntradaJaVencida() {
+        roda.avancar(ORIGEM.plusSeconds(10));
+        roda.agendar("atrasada", "a", ORIGEM.plusSeconds(4));
+
+        assertEquals(List.of("a"), roda.avancar(ORIGEM.plusSeconds(10)));
+    }
+
+    @Test
+    void cancelar_deveTirarEntradaDaRoda() {
+        roda.agendar("a", "a", ORIGEM.plusSeconds(2));
+        roda.avancar(ORIGEM.plusSeconds(3));
+        roda.agendar("b", "b", ORIGEM.plusSeconds(5));
+        roda.agendar("vencida", "v", ORIGEM);
+
+        roda.cancelar("b");
+        roda.cancelar("vencida");
+
+        assertEquals(0, roda.tamanho());
+        assertTrue(roda.avancar(ORIGEM.plusSeconds(20)).isEmpty());
+    }
+}
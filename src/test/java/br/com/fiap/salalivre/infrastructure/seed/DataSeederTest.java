@@ -19,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import br.com.fiap.salalivre.domain.model.StatusReserva;
 import br.com.fiap.salalivre.domain.model.TipoUsuario;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoRecursos;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.UsuarioEntity;
@@ -38,11 +39,14 @@ class DataSeederTest {
     @Mock
     private ReservaJpaRepository reservaRepositorio;
 
+    @Mock
+    private CatalogoRecursos catalogoRecursos;
+
     private DataSeeder dataSeeder;
 
     @BeforeEach
     void setUp() {
-        dataSeeder = new DataSeeder(salaRepositorio, usuarioRepositorio, reservaRepositorio);
+        dataSeeder = new DataSeeder(salaRepositorio, usuarioRepositorio, reservaRepositorio, catalogoRecursos);
     }
 
     @Test
@@ -92,6 +96,8 @@ class DataSeederTest {
         when(usuarioRepositorio.save(any(UsuarioEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(salaRepositorio.save(any(SalaEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(reservaRepositorio.save(any(ReservaEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(catalogoRecursos.mascara(List.of("Projetor", "Videoconferencia"))).thenReturn(0b11L);
+        when(catalogoRecursos.mascara(List.of("TV"))).thenReturn(0b100L);
 
         dataSeeder.run();
 
@@ -108,6 +114,8 @@ class DataSeederTest {
         assertEquals(2, salas.size());
         assertEquals("Sala Azul", salas.getFirst().getNome());
         assertEquals("Sala Verde", salas.get(1).getNome());
+        assertEquals(0b11L, salas.getFirst().getRecursosMascara());
+        assertEquals(0b100L, salas.get(1).getRecursosMascara());
 
         ArgumentCaptor<ReservaEntity> reservaCaptor = ArgumentCaptor.forClass(ReservaEntity.class);
         verify(reservaRepositorio).save(reservaCaptor.capture());
@@ -1,15 +1,22 @@
 package br.com.fiap.salalivre.interfaces.api;
 
 import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,12 +32,14 @@ import org.springframework.web.context.WebApplicationContext;
 
 import br.com.fiap.salalivre.domain.model.StatusReserva;
 import br.com.fiap.salalivre.domain.model.TipoUsuario;
+import br.com.fiap.salalivre.infrastructure.catalogo.CatalogoRecursos;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.ReservaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.SalaEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.entity.UsuarioEntity;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.ReservaJpaRepository;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.SalaJpaRepository;
 import br.com.fiap.salalivre.infrastructure.persistence.repository.UsuarioJpaRepository;
+import com.jayway.jsonpath.JsonPath;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -43,6 +52,9 @@ class ApiIntegracaoTest {
     @Autowired
     private SalaJpaRepository salaRepositorio;
 
+    @Autowired
+    private CatalogoRecursos catalogoRecursos;
+
     @Autowired
     private UsuarioJpaRepository usuarioRepositorio;
 
@@ -261,7 +273,192 @@ class ApiIntegracaoTest {
                         .header("X-User-Id", UUID.randomUUID().toString())
                         .header("X-User-Role", ROLE_ADMIN))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)));
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+    }
+
+    @Test
+    void devePaginarReservasPorCursorComFiltros() throws Exception {
+        SalaEntity sala = criarSalaPadrao("Sala Paginada");
+        SalaEntity outraSala = criarSalaPadrao("Sala Paginada 2");
+        UsuarioEntity usuario = criarUsuario("usuario.paginado@sala.com", TipoUsuario.COMUM);
+        LocalDateTime inicio = LocalDateTime.of(2026, 5, 4, 9, 0);
+        List<String> esperadas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            esperadas.add(criarReservaPersistida(sala.getId(), usuario.getId(), inicio.plusHours(i),
+                    inicio.plusHours(i).plusMinutes(30), StatusReserva.CONFIRMADA).getId().toString());
+        }
+        criarReservaPersistida(outraSala.getId(), usuario.getId(), inicio, inicio.plusMinutes(30), StatusReserva.CONFIRMADA);
+        criarReservaPersistida(sala.getId(), usuario.getId(), inicio.plusHours(6), inicio.plusHours(7), StatusReserva.CANCELADA);
+
+        List<String> lidas = new ArrayList<>();
+        String cursor = null;
+        do {
+            var requisicao = get("/api/v1/reservas/sala/{salaId}", sala.getId())
+                    .header("X-User-Id", UUID.randomUUID().toString())
+                    .header("X-User-Role", ROLE_ADMIN)
+                    .param("status", "CONFIRMADA")
+                    .param("tamanho", "2");
+            if (cursor != null) {
+                requisicao.param("cursor", cursor);
+            }
+            String corpo = mockMvc.perform(requisicao)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            lidas.addAll(JsonPath.read(corpo, "$.itens[*].id"));
+            cursor = JsonPath.read(corpo, "$.proximoCursor");
+        } while (cursor != null);
+
+        assertEquals(esperadas, lidas);
+
+        mockMvc.perform(get("/api/v1/reservas/usuario/{usuarioId}", usuario.getId())
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN)
+                        .param("de", inicio.plusHours(1).toString())
+                        .param("ate", inicio.plusHours(3).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens", hasSize(2)))
+                .andExpect(jsonPath("$.itens[0].id").value(esperadas.get(1)));
+    }
+
+    @Test
+    void deveRetornar400QuandoCursorOuTamanhoDaPaginaInvalido() throws Exception {
+        mockMvc.perform(get("/api/v1/reservas")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN)
+                        .param("cursor", "invalido"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cursor invalido."));
+
+        mockMvc.perform(get("/api/v1/reservas")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN)
+                        .param("tamanho", "501"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveExportarReservasEmNdjsonECsvNaOrdemDeInicio() throws Exception {
+        SalaEntity sala = criarSalaPadrao("Sala Exportada");
+        UsuarioEntity usuario = criarUsuario("usuario.exportacao@sala.com", TipoUsuario.COMUM);
+        LocalDateTime inicio = LocalDateTime.of(2026, 6, 1, 9, 0);
+        ReservaEntity segunda = criarReservaPersistida(sala.getId(), usuario.getId(), inicio.plusHours(2),
+                inicio.plusHours(3), StatusReserva.CANCELADA);
+        ReservaEntity primeira = criarReservaPersistida(sala.getId(), usuario.getId(), inicio,
+                inicio.plusHours(1), StatusReserva.CONFIRMADA);
+
+        var ndjson = mockMvc.perform(get("/api/v1/reservas/exportacao")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] linhasNdjson = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(2, linhasNdjson.length);
+        assertEquals(primeira.getId().toString(), JsonPath.read(linhasNdjson[0], "$.id"));
+        assertEquals("CANCELADA", JsonPath.read(linhasNdjson[1], "$.status"));
+
+        var csv = mockMvc.perform(get("/api/v1/reservas/exportacao")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN)
+                        .param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] linhasCsv = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reservas.csv\""))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(3, linhasCsv.length);
+        assertEquals("id,salaId,usuarioId,inicio,fim,status,criadoEm,atualizadoEm", linhasCsv[0]);
+        assertTrue(linhasCsv[2].startsWith(String.join(",", segunda.getId().toString(), sala.getId().toString(),
+                usuario.getId().toString(), "2026-06-01T11:00", "2026-06-01T12:00", "CANCELADA,")));
+    }
+
+    @Test
+    void deveRecusarExportacaoComFormatoInvalidoOuSemAdmin() throws Exception {
+        mockMvc.perform(get("/api/v1/reservas/exportacao")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_COMUM))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/v1/reservas/exportacao")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN)
+                        .param("formato", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Formato de exportacao invalido. Use ndjson ou csv."));
+    }
+
+    @Test
+    void deveImportarCsvDevolvendoRejeicoesEResumoEmNdjson() throws Exception {
+        SalaEntity sala = criarSalaPadrao("Sala Importada");
+        UsuarioEntity usuario = criarUsuario("usuario.importacao@sala.com", TipoUsuario.COMUM);
+        LocalDateTime inicio = LocalDateTime.of(2026, 7, 6, 9, 0);
+        criarReservaPersistida(sala.getId(), usuario.getId(), inicio, inicio.plusHours(1), StatusReserva.CONFIRMADA);
+        String csv = String.join("\n",
+                "status,salaId,usuarioId,inicio,fim",
+                "CONFIRMADA," + sala.getId() + "," + usuario.getId() + "," + inicio.plusHours(1) + "," + inicio.plusHours(2),
+                "CONFIRMADA," + sala.getId() + "," + usuario.getId() + "," + inicio.plusMinutes(30) + "," + inicio.plusHours(1),
+                "CONFIRMADA," + sala.getId() + ",nao-e-uuid," + inicio.plusHours(3) + "," + inicio.plusHours(4),
+                "",
+                "CONFIRMADA," + UUID.randomUUID() + "," + usuario.getId() + "," + inicio + "," + inicio.plusHours(1));
+
+        var importacao = mockMvc.perform(post("/api/v1/reservas/importacao")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN)
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] linhas = mockMvc.perform(asyncDispatch(importacao))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(4, linhas.length);
+        assertEquals(3, (int) JsonPath.read(linhas[0], "$.linha"));
+        assertEquals("CONFLITO", JsonPath.read(linhas[0], "$.situacao"));
+        assertEquals("Linha CSV invalida.", JsonPath.read(linhas[1], "$.mensagem"));
+        assertEquals("Sala nao encontrada ou inativa.", JsonPath.read(linhas[2], "$.mensagem"));
+        assertEquals(6, (int) JsonPath.read(linhas[2], "$.linha"));
+        assertEquals(4, (int) JsonPath.read(linhas[3], "$.lidas"));
+        assertEquals(1, (int) JsonPath.read(linhas[3], "$.importadas"));
+        assertEquals(3, (int) JsonPath.read(linhas[3], "$.rejeitadas"));
+        assertEquals(2, reservaRepositorio.count());
+    }
+
+    @Test
+    void deveImportarNdjsonERecusarCsvSemColunasObrigatorias() throws Exception {
+        SalaEntity sala = criarSalaPadrao("Sala Importada NDJSON");
+        UsuarioEntity usuario = criarUsuario("usuario.importacao.ndjson@sala.com", TipoUsuario.COMUM);
+        LocalDateTime inicio = LocalDateTime.of(2026, 7, 7, 9, 0);
+        String ndjson = payloadReserva(sala.getId(), usuario.getId(), inicio, inicio.plusHours(1)) + "\n"
+                + "{nao e json}\n";
+
+        var importacao = mockMvc.perform(post("/api/v1/reservas/importacao")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN)
+                        .contentType("application/x-ndjson")
+                        .content(ndjson))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] linhas = mockMvc.perform(asyncDispatch(importacao))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(2, linhas.length);
+        assertEquals("JSON invalido.", JsonPath.read(linhas[0], "$.mensagem"));
+        assertEquals(1, (int) JsonPath.read(linhas[1], "$.importadas"));
+
+        mockMvc.perform(post("/api/v1/reservas/importacao")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN)
+                        .contentType("text/csv")
+                        .content("salaId,inicio,fim\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cabecalho CSV deve conter as colunas salaId, usuarioId, inicio e fim."));
     }
 
     @Test
@@ -341,6 +538,103 @@ class ApiIntegracaoTest {
                 .andExpect(jsonPath("$.message").value("Conflito de horario para a sala."));
     }
 
+    @Test
+    void deveCriarSerieSemanalReportandoConflitosPorOcorrencia() throws Exception {
+        SalaEntity sala = criarSalaPadrao("Sala Serie");
+        UsuarioEntity usuario = criarUsuario("usuario.serie@sala.com", TipoUsuario.COMUM);
+        criarReservaPersistida(sala.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 2, 9, 9, 0), LocalDateTime.of(2026, 2, 9, 9, 30), StatusReserva.CONFIRMADA);
+        String payload = "{" +
+                "\"salaId\":\"" + sala.getId() + "\"," +
+                "\"usuarioId\":\"" + usuario.getId() + "\"," +
+                "\"inicio\":\"2026-02-02T09:00:00\"," +
+                "\"fim\":\"2026-02-02T09:15:00\"," +
+                "\"frequencia\":\"SEMANAL\"," +
+                "\"quantidade\":5," +
+                "\"excecoes\":[\"2026-02-16\"]";
+
+        mockMvc.perform(post("/api/v1/reservas/recorrentes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload + ",\"tudoOuNada\":true}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.criadas").value(0))
+                .andExpect(jsonPath("$.ocorrencias[0].situacao").value("NAO_CRIADA"))
+                .andExpect(jsonPath("$.ocorrencias[1].situacao").value("CONFLITO"));
+
+        mockMvc.perform(post("/api/v1/reservas/recorrentes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload + "}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.criadas").value(3))
+                .andExpect(jsonPath("$.conflitos").value(1))
+                .andExpect(jsonPath("$.ocorrencias", hasSize(4)))
+                .andExpect(jsonPath("$.ocorrencias[1].inicio").value("2026-02-09T09:00:00"))
+                .andExpect(jsonPath("$.ocorrencias[1].situacao").value("CONFLITO"))
+                .andExpect(jsonPath("$.ocorrencias[2].inicio").value("2026-02-23T09:00:00"))
+                .andExpect(jsonPath("$.ocorrencias[2].situacao").value("CRIADA"));
+
+        assertEquals(4, reservaRepositorio.findBySalaId(sala.getId()).size());
+    }
+
+    @Test
+    void deveCriarReservasEmLoteComResultadoPorItem() throws Exception {
+        SalaEntity sala = criarSalaPadrao("Sala Lote");
+        SalaEntity outraSala = criarSalaPadrao("Sala Lote 2");
+        UsuarioEntity usuario = criarUsuario("usuario.lote@sala.com", TipoUsuario.COMUM);
+        LocalDateTime inicio = LocalDateTime.of(2026, 3, 2, 9, 0);
+        criarReservaPersistida(sala.getId(), usuario.getId(), inicio.plusHours(2), inicio.plusHours(3), StatusReserva.CONFIRMADA);
+        String payload = "[" +
+                payloadReserva(sala.getId(), usuario.getId(), inicio, inicio.plusHours(1)) + "," +
+                payloadReserva(outraSala.getId(), usuario.getId(), inicio, inicio.plusHours(1)) + "," +
+                payloadReserva(sala.getId(), usuario.getId(), inicio.plusMinutes(30), inicio.plusHours(1)) + "," +
+                payloadReserva(sala.getId(), usuario.getId(), inicio.plusHours(2), inicio.plusHours(3)) + "," +
+                payloadReserva(UUID.randomUUID(), usuario.getId(), inicio, inicio.plusHours(1)) + "," +
+                payloadReserva(sala.getId(), usuario.getId(), inicio.plusHours(5), inicio.plusHours(4)) + "]";
+
+        mockMvc.perform(post("/api/v1/reservas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criadas").value(2))
+                .andExpect(jsonPath("$.conflitos").value(2))
+                .andExpect(jsonPath("$.invalidas").value(2))
+                .andExpect(jsonPath("$.itens[1].situacao").value("CRIADA"))
+                .andExpect(jsonPath("$.itens[2].mensagem").value("Conflito com outra reserva do lote."))
+                .andExpect(jsonPath("$.itens[3].mensagem").value("Conflito de horario para a sala."))
+                .andExpect(jsonPath("$.itens[4].mensagem").value("Sala nao encontrada."))
+                .andExpect(jsonPath("$.itens[5].situacao").value("INVALIDA"));
+
+        assertEquals(2, reservaRepositorio.findBySalaId(sala.getId()).size());
+    }
+
+    @Test
+    void deveCriarReservasEmLoteAPartirDeNdjson() throws Exception {
+        SalaEntity sala = criarSalaPadrao("Sala Ndjson");
+        UsuarioEntity usuario = criarUsuario("usuario.ndjson@sala.com", TipoUsuario.COMUM);
+        LocalDateTime inicio = LocalDateTime.of(2026, 3, 3, 9, 0);
+        String payload = payloadReserva(sala.getId(), usuario.getId(), inicio, inicio.plusHours(1)) + "\n" +
+                payloadReserva(sala.getId(), usuario.getId(), inicio.plusHours(1), inicio.plusHours(2)) + "\n";
+
+        mockMvc.perform(post("/api/v1/reservas/lote")
+                        .contentType("application/x-ndjson")
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criadas").value(2))
+                .andExpect(jsonPath("$.itens", hasSize(2)));
+
+        mockMvc.perform(post("/api/v1/reservas/lote")
+                        .contentType("application/x-ndjson")
+                        .content(payload + "{quebrado\n"
+                                + payloadReserva(sala.getId(), usuario.getId(), inicio.plusHours(2), inicio.plusHours(3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.criadas").value(1))
+                .andExpect(jsonPath("$.conflitos").value(2))
+                .andExpect(jsonPath("$.truncado").value(false))
+                .andExpect(jsonPath("$.itens[2].situacao").value("INVALIDA"))
+                .andExpect(jsonPath("$.itens[2].mensagem").value("JSON invalido."))
+                .andExpect(jsonPath("$.itens[3].situacao").value("CRIADA"));
+    }
+
     @Test
     void deveCriarReservaMesmoComCanceladaNoMesmoPeriodo() throws Exception {
         SalaEntity sala = criarSalaPadrao("Sala Azul");
@@ -495,6 +789,201 @@ class ApiIntegracaoTest {
                 .andExpect(jsonPath("$[*].id", not(hasItem(salaOcupada.getId().toString()))));
     }
 
+    @Test
+    void deveListarSalasDisponiveisComPeriodoForaDosSlots() throws Exception {
+        SalaEntity salaOcupada = criarSala("Sala Ocupada", 10, "Andar 1", List.of("Projetor"));
+        SalaEntity salaLivre = criarSala("Sala Livre", 6, "Andar 2", List.of("TV"));
+        UsuarioEntity usuario = criarUsuario("usuario@sala.com", TipoUsuario.COMUM);
+
+        criarReservaPersistida(salaOcupada.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 9, 0), LocalDateTime.of(2026, 1, 20, 9, 10), StatusReserva.CONFIRMADA);
+
+        mockMvc.perform(get("/api/v1/disponibilidade")
+                        .param("inicio", "2026-01-20T09:10:00")
+                        .param("fim", "2026-01-20T09:50:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        mockMvc.perform(get("/api/v1/disponibilidade")
+                        .param("inicio", "2026-01-20T09:00:00")
+                        .param("fim", "2026-01-20T09:15:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[*].id", hasItem(salaLivre.getId().toString())));
+    }
+
+    @Test
+    void deveFiltrarSalasDisponiveisPorCriteriosOrdenandoPeloMelhorEncaixe() throws Exception {
+        SalaEntity salaGrande = criarSala("Sala Grande", 20, "Andar 1", List.of("Projetor", "TV", "Lousa"));
+        SalaEntity salaJusta = criarSala("Sala Justa", 8, "andar 1", List.of("projetor", "TV"));
+        SalaEntity salaOcupada = criarSala("Sala Ocupada", 10, "Andar 1", List.of("Projetor", "TV"));
+        criarSala("Sala Pequena", 4, "Andar 1", List.of("Projetor", "TV"));
+        criarSala("Sala Sem TV", 12, "Andar 1", List.of("Projetor"));
+        criarSala("Sala Outro Andar", 9, "Andar 2", List.of("Projetor", "TV"));
+        UsuarioEntity usuario = criarUsuario("usuario@sala.com", TipoUsuario.COMUM);
+
+        criarReservaPersistida(salaOcupada.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 9, 0), LocalDateTime.of(2026, 1, 20, 10, 0), StatusReserva.CONFIRMADA);
+
+        for (String fim : List.of("2026-01-20T10:00:00", "2026-01-20T09:50:00")) {
+            mockMvc.perform(get("/api/v1/disponibilidade")
+                            .param("inicio", "2026-01-20T09:00:00")
+                            .param("fim", fim)
+                            .param("capacidadeMinima", "6")
+                            .param("localizacao", "Andar 1")
+                            .param("recursos", "Projetor", "TV"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].id").value(salaJusta.getId().toString()))
+                    .andExpect(jsonPath("$[1].id").value(salaGrande.getId().toString()))
+                    .andExpect(jsonPath("$[1].recursos", hasSize(3)));
+
+            mockMvc.perform(get("/api/v1/disponibilidade")
+                            .param("inicio", "2026-01-20T09:00:00")
+                            .param("fim", fim)
+                            .param("capacidadeMinima", "6")
+                            .param("recursos", "Projetor", "TV")
+                            .param("limite", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].id").value(salaJusta.getId().toString()));
+        }
+    }
+
+    @Test
+    void deveBuscarSalasPeloIndiceAcompanhandoAsAlteracoes() throws Exception {
+        SalaEntity salaGrande = criarSala("Sala Grande", 20, "Andar 1", List.of("Projetor", "TV", "Lousa"));
+        SalaEntity salaJusta = criarSala("Sala Justa", 8, "andar 1", List.of("projetor", " TV"));
+        criarSala("Sala Pequena", 4, "Andar 1", List.of("Projetor", "TV"));
+        criarSala("Sala Sem TV", 12, "Andar 1", List.of("Projetor"));
+        criarSala("Sala Outro Andar", 9, "Andar 2", List.of("Projetor", "TV"));
+
+        mockMvc.perform(get("/api/v1/salas/busca")
+                        .param("capacidadeMinima", "7")
+                        .param("localizacao", "Andar 1")
+                        .param("recursos", "Projetor", "tv"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(salaJusta.getId().toString()))
+                .andExpect(jsonPath("$[1].id").value(salaGrande.getId().toString()));
+
+        mockMvc.perform(patch("/api/v1/salas/{id}/desativar", salaJusta.getId())
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN))
+                .andExpect(status().isOk());
+        String criada = mockMvc.perform(post("/api/v1/salas")
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", ROLE_ADMIN)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payloadSala("Sala Laranja")))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String salaLaranjaId = JsonPath.read(criada, "$.id");
+
+        mockMvc.perform(get("/api/v1/salas/busca")
+                        .param("capacidadeMinima", "7")
+                        .param("recursos", "TV"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", not(hasItem(salaJusta.getId().toString()))))
+                .andExpect(jsonPath("$[*].id", hasItem(salaLaranjaId)));
+
+        mockMvc.perform(get("/api/v1/salas/busca")
+                        .param("recursos", "Inexistente"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/api/v1/salas/busca")
+                        .param("capacidadeMinima", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveRetornar400QuandoLimiteDeDisponibilidadeInvalido() throws Exception {
+        mockMvc.perform(get("/api/v1/disponibilidade")
+                        .param("inicio", "2026-01-20T09:00:00")
+                        .param("fim", "2026-01-20T10:00:00")
+                        .param("limite", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveGerarMapaDeOcupacaoPorSalaEDia() throws Exception {
+        SalaEntity salaOcupada = criarSala("Sala Ocupada", 10, "Andar 1", List.of("Projetor"));
+        SalaEntity salaLivre = criarSala("Sala Livre", 6, "Andar 2", List.of("TV"));
+        UsuarioEntity usuario = criarUsuario("usuario@sala.com", TipoUsuario.COMUM);
+
+        criarReservaPersistida(salaOcupada.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 9, 0), LocalDateTime.of(2026, 1, 20, 10, 0), StatusReserva.CONFIRMADA);
+        criarReservaPersistida(salaOcupada.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 10, 0), LocalDateTime.of(2026, 1, 20, 11, 30), StatusReserva.CONFIRMADA);
+        criarReservaPersistida(salaOcupada.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 14, 0), LocalDateTime.of(2026, 1, 20, 15, 0), StatusReserva.CANCELADA);
+        criarReservaPersistida(salaOcupada.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 22, 0), LocalDateTime.of(2026, 1, 22, 2, 0), StatusReserva.CONFIRMADA);
+
+        mockMvc.perform(get("/api/v1/disponibilidade/mapa")
+                        .param("de", "2026-01-20")
+                        .param("ate", "2026-01-21"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.salas", hasSize(2)))
+                .andExpect(jsonPath("$.salas[?(@.salaId == '" + salaLivre.getId() + "')].dias[*]", hasSize(0)))
+                .andExpect(jsonPath("$.salas[?(@.salaId == '" + salaOcupada.getId() + "')].dias[*]", hasSize(2)))
+                .andExpect(jsonPath("$.salas[?(@.salaId == '" + salaOcupada.getId() + "')].dias[0].minutosOcupados")
+                        .value(hasItem(270)))
+                .andExpect(jsonPath("$.salas[?(@.salaId == '" + salaOcupada.getId() + "')].dias[0].ocupados[0].inicioMinuto")
+                        .value(hasItem(540)))
+                .andExpect(jsonPath("$.salas[?(@.salaId == '" + salaOcupada.getId() + "')].dias[0].ocupados[0].fimMinuto")
+                        .value(hasItem(690)))
+                .andExpect(jsonPath("$.salas[?(@.salaId == '" + salaOcupada.getId() + "')].dias[1].minutosOcupados")
+                        .value(hasItem(1440)));
+    }
+
+    @Test
+    void deveRetornar400QuandoIntervaloDoMapaInvalido() throws Exception {
+        mockMvc.perform(get("/api/v1/disponibilidade/mapa")
+                        .param("de", "2026-01-21")
+                        .param("ate", "2026-01-20"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/v1/disponibilidade/mapa")
+                        .param("de", "2026-01-01")
+                        .param("ate", "2026-03-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveBuscarProximosHorariosLivresDaSala() throws Exception {
+        SalaEntity sala = criarSalaPadrao("Sala Azul");
+        UsuarioEntity usuario = criarUsuario("usuario@sala.com", TipoUsuario.COMUM);
+
+        criarReservaPersistida(sala.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 8, 0), LocalDateTime.of(2026, 1, 20, 9, 30), StatusReserva.CONFIRMADA);
+        criarReservaPersistida(sala.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 10, 0), LocalDateTime.of(2026, 1, 20, 12, 0), StatusReserva.CONFIRMADA);
+        criarReservaPersistida(sala.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 12, 0), LocalDateTime.of(2026, 1, 20, 14, 0), StatusReserva.CANCELADA);
+        criarReservaPersistida(sala.getId(), usuario.getId(),
+                LocalDateTime.of(2026, 1, 20, 14, 0), LocalDateTime.of(2026, 1, 20, 15, 0), StatusReserva.CONFIRMADA);
+
+        mockMvc.perform(get("/api/v1/disponibilidade/salas/{salaId}/proximos-livres", sala.getId())
+                        .param("duracaoMinutos", "90")
+                        .param("inicio", "2026-01-20T09:00:00")
+                        .param("fim", "2026-01-20T18:00:00")
+                        .param("quantidade", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].inicio").value("2026-01-20T12:00:00"))
+                .andExpect(jsonPath("$[0].fim").value("2026-01-20T14:00:00"))
+                .andExpect(jsonPath("$[0].minutosLivres").value(120))
+                .andExpect(jsonPath("$[1].inicio").value("2026-01-20T15:00:00"))
+                .andExpect(jsonPath("$[1].fim").value("2026-01-20T18:00:00"));
+
+        mockMvc.perform(get("/api/v1/disponibilidade/salas/{salaId}/proximos-livres", UUID.randomUUID())
+                        .param("duracaoMinutos", "90")
+                        .param("inicio", "2026-01-20T09:00:00")
+                        .param("fim", "2026-01-20T18:00:00"))
+                .andExpect(status().isNotFound());
+    }
+
     private SalaEntity criarSalaPadrao(String nome) {
         return criarSala(nome, 10, "Andar 1", List.of("Projetor"));
     }
@@ -506,6 +995,7 @@ class ApiIntegracaoTest {
                 .capacidade(capacidade)
                 .localizacao(localizacao)
                 .recursos(recursos)
+                .recursosMascara(catalogoRecursos.mascara(recursos))
                 .ativa(true)
                 .build());
     }
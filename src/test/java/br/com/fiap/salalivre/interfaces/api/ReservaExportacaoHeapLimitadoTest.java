@@ -0,0 +1,86 @@
+package br.com.fiap.salalivre.interfaces.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Exporta um milhao de reservas com o heap limitado pelo perfil {@code heap-limitado}
+ * ({@code mvn test -Pheap-limitado}). O banco fica em arquivo para que a tabela nao ocupe o proprio heap medido.
+ */
+@Tag("heap-limitado")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/exportacao-heap-limitado/salalivre;LAZY_QUERY_EXECUTION=1;CACHE_SIZE=8192",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@ActiveProfiles("test")
+class ReservaExportacaoHeapLimitadoTest {
+    private static final int RESERVAS = 1_000_000;
+    private static final int LINHAS_POR_INSERCAO = 50_000;
+    private static final LocalDateTime PRIMEIRO_INICIO = LocalDateTime.of(2026, 1, 5, 8, 0);
+    private static final long HEAP_MAXIMO = 192L * 1024 * 1024;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void exportar_deveManterMemoriaConstanteParaUmMilhaoDeReservas() throws Exception {
+        assertTrue(Runtime.getRuntime().maxMemory() <= HEAP_MAXIMO,
+                "Teste deve rodar com heap limitado; use mvn test -Pheap-limitado.");
+        UUID salaId = UUID.randomUUID();
+        UUID usuarioId = UUID.randomUUID();
+        for (int de = 1; de <= RESERVAS; de += LINHAS_POR_INSERCAO) {
+            jdbcTemplate.update("""
+                    insert into reservas (id, sala_id, usuario_id, inicio, fim, status, lembrete_enviado, criado_em, atualizado_em, versao)
+                    select random_uuid(), ?, ?,
+                           dateadd(minute, x * 30, cast(? as timestamp)),
+                           dateadd(minute, x * 30 + 30, cast(? as timestamp)),
+                           'CONFIRMADA', false, timestamp '2026-01-01 00:00:00', timestamp '2026-01-01 00:00:00', 0
+                    from system_range(?, ?)
+                    """, salaId, usuarioId, PRIMEIRO_INICIO, PRIMEIRO_INICIO, de, de + LINHAS_POR_INSERCAO - 1);
+        }
+
+        HttpRequest requisicao = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + porta + "/api/v1/reservas/exportacao?formato=csv"))
+                .header("X-User-Id", UUID.randomUUID().toString())
+                .header("X-User-Role", "ADMIN")
+                .build();
+        HttpResponse<InputStream> resposta = HttpClient.newHttpClient()
+                .send(requisicao, HttpResponse.BodyHandlers.ofInputStream());
+
+        assertEquals(200, resposta.statusCode());
+        long linhas = 0;
+        String ultima = null;
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(resposta.body(), StandardCharsets.UTF_8))) {
+            for (String linha = leitor.readLine(); linha != null; linha = leitor.readLine()) {
+                linhas++;
+                ultima = linha;
+            }
+        }
+
+        LocalDateTime ultimoInicio = PRIMEIRO_INICIO.plusMinutes(30L * RESERVAS);
+        assertEquals(RESERVAS + 1, linhas);
+        assertTrue(ultima.contains("," + ultimoInicio + "," + ultimoInicio.plusMinutes(30) + ",CONFIRMADA,"), ultima);
+    }
+}
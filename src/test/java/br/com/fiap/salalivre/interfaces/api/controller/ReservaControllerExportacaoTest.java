@@ -0,0 +1,88 @@
+package br.com.fiap.salalivre.interfaces.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.fiap.salalivre.application.service.ReservaAppService;
+import br.com.fiap.salalivre.application.service.ReservaExportacaoAppService;
+import br.com.fiap.salalivre.application.service.ReservaImportacaoAppService;
+import br.com.fiap.salalivre.application.service.ReservaLoteAppService;
+import br.com.fiap.salalivre.application.service.RetentativaOtimista;
+import br.com.fiap.salalivre.domain.model.StatusReserva;
+import br.com.fiap.salalivre.domain.valueobject.DadosReserva;
+import tools.jackson.databind.json.JsonMapper;
+
+@ExtendWith(MockitoExtension.class)
+class ReservaControllerExportacaoTest {
+    private static final LocalDateTime INICIO = LocalDateTime.of(2026, 6, 1, 9, 0);
+
+    @Mock
+    private ReservaAppService reservaAppService;
+
+    @Mock
+    private ReservaLoteAppService reservaLoteAppService;
+
+    @Mock
+    private ReservaExportacaoAppService reservaExportacaoAppService;
+
+    @Mock
+    private ReservaImportacaoAppService reservaImportacaoAppService;
+
+    @Mock
+    private RetentativaOtimista retentativaOtimista;
+
+    private ReservaController reservaController;
+
+    @BeforeEach
+    void setUp() {
+        reservaController = new ReservaController(reservaAppService, reservaLoteAppService, reservaExportacaoAppService,
+                reservaImportacaoAppService, retentativaOtimista, JsonMapper.builder().build());
+        when(reservaExportacaoAppService.exportar(any())).thenAnswer(invocation -> {
+            Consumer<DadosReserva> destino = invocation.getArgument(0);
+            destino.accept(new DadosReserva(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), INICIO,
+                    INICIO.plusHours(1), StatusReserva.CONFIRMADA, INICIO, INICIO));
+            throw new DataAccessResourceFailureException("conexao perdida");
+        });
+    }
+
+    @Test
+    void exportar_deveTerminarONdjsonComUmRegistroDeErroQuandoALeituraFalha() {
+        String[] linhas = exportarComFalha("ndjson");
+
+        assertEquals(2, linhas.length);
+        assertEquals("{\"erro\":\"Exportacao interrompida apos 1 reservas.\",\"exportadas\":1}", linhas[1]);
+    }
+
+    @Test
+    void exportar_deveTerminarOCsvComUmaLinhaDeErroQuandoALeituraFalha() {
+        String[] linhas = exportarComFalha("csv");
+
+        assertEquals(3, linhas.length);
+        assertEquals(ReservaController.PREFIXO_ERRO_CSV + "Exportacao interrompida apos 1 reservas.", linhas[2]);
+    }
+
+    private String[] exportarComFalha(String formato) {
+        StreamingResponseBody corpo = reservaController.exportar(UUID.randomUUID(), "ADMIN", false, formato).getBody();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        assertThrows(DataAccessResourceFailureException.class, () -> corpo.writeTo(saida));
+
+        return saida.toString(StandardCharsets.UTF_8).split("\n");
+    }
+}